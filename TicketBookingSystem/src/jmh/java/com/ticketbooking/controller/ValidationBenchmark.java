@@ -0,0 +1,50 @@
+package com.ticketbooking.controller;
+
+import com.ticketbooking.utils.ValidationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the email and phone validation done on every booking, both in
+ * ValidationUtils and with the patterns BookingController uses in createBooking
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class EmailInput {
+        @Param({"jane.doe@example.com", "not-an-email"})
+        public String email;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PhoneInput {
+        @Param({"+15551234567", "555-1234"})
+        public String phone;
+    }
+
+    @Benchmark
+    public boolean validationUtilsEmail(EmailInput input) {
+        return ValidationUtils.isValidEmail(input.email);
+    }
+
+    @Benchmark
+    public boolean validationUtilsPhone(PhoneInput input) {
+        return ValidationUtils.isValidPhone(input.phone);
+    }
+
+    @Benchmark
+    public boolean bookingControllerEmail(EmailInput input) {
+        return BookingController.EMAIL_PATTERN.matcher(input.email).matches();
+    }
+
+    @Benchmark
+    public boolean bookingControllerPhone(PhoneInput input) {
+        return BookingController.PHONE_PATTERN.matcher(input.phone).matches();
+    }
+}
@@ -0,0 +1,112 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for mapping result set rows to Booking and Event objects.
+ * The result set is an in-memory stand-in, so only the mapping code is measured.
+ * The rows are a general admission booking made without an idempotency key and an
+ * event without a seat layout, the rows the application reads most, so their
+ * nullable columns are SQL NULL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RowMappingBenchmark {
+
+    private BookingDAO bookingDAO;
+    private EventDAO eventDAO;
+    private ResultSet bookingRow;
+    private ResultSet eventRow;
+
+    @Setup
+    public void setUp() {
+        bookingDAO = new BookingDAO();
+        eventDAO = new EventDAO();
+
+        Map<String, Object> booking = new HashMap<>();
+        booking.put("id", 42);
+        booking.put("customer_name", "Jane Doe");
+        booking.put("customer_email", "jane.doe@example.com");
+        booking.put("customer_phone", "+15551234567");
+        booking.put("event_id", 7);
+        booking.put("seat_type", Booking.SEAT_TYPE_VIP);
+        booking.put("quantity", 2);
+        booking.put("total_price", new BigDecimal("149.97"));
+        booking.put("booking_time", Timestamp.valueOf("2024-05-01 18:30:00"));
+        booking.put("seat_row", null);
+        booking.put("seat_start", null);
+        booking.put("idempotency_key", null);
+        bookingRow = resultSet(booking);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("id", 7);
+        event.put("name", "Summer Concert");
+        event.put("description", "Open air concert in the park");
+        event.put("date", Date.valueOf("2024-07-15"));
+        event.put("time", Time.valueOf("19:00:00"));
+        event.put("venue", "City Park");
+        event.put("total_seats", 500);
+        event.put("available_seats", 320);
+        event.put("base_price", new BigDecimal("49.99"));
+        event.put("seat_stripes", 1);
+        event.put("layout_id", null);
+        eventRow = resultSet(event);
+    }
+
+    @Benchmark
+    public Booking mapResultSetToBooking() throws SQLException {
+        return bookingDAO.mapResultSetToBooking(bookingRow);
+    }
+
+    @Benchmark
+    public Event mapResultSetToEvent() throws SQLException {
+        return eventDAO.mapResultSetToEvent(eventRow);
+    }
+
+    /**
+     * Create a result set positioned on a single row with the given column values.
+     * Null values are SQL NULL: getInt returns 0 for them and wasNull reports them,
+     * as with a real driver. Reading a column the row does not have fails.
+     */
+    private static ResultSet resultSet(Map<String, Object> row) {
+        boolean[] lastWasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("wasNull")) {
+                    return lastWasNull[0];
+                }
+                if (method.getName().startsWith("get") && args != null && args[0] instanceof String) {
+                    String column = (String) args[0];
+                    if (!row.containsKey(column)) {
+                        throw new SQLException("Column not found: " + column);
+                    }
+                    Object value = row.get(column);
+                    lastWasNull[0] = value == null;
+                    if (value == null && method.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    return value;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
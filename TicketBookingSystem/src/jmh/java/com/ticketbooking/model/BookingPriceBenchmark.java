@@ -0,0 +1,55 @@
+package com.ticketbooking.model;
+
+import com.ticketbooking.pricing.PriceTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Booking.calculateTotalPrice and quoting from a compiled PriceTable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingPriceBenchmark {
+
+    @Param({Booking.SEAT_TYPE_STANDARD, Booking.SEAT_TYPE_VIP, Booking.SEAT_TYPE_PREMIUM})
+    public String seatType;
+
+    private BigDecimal basePrice;
+    private int quantity;
+    private PriceTable priceTable;
+    private LocalDate bookingDate;
+
+    @Setup
+    public void setUp() {
+        basePrice = new BigDecimal("49.99");
+        quantity = 4;
+        bookingDate = LocalDate.now();
+        Event event = new Event(1, "Concert", "", bookingDate.plusDays(20), LocalTime.NOON,
+                                "Arena", 1000, 400, Money.of(basePrice));
+        priceTable = PriceTable.compile(event, Arrays.asList(
+            PricingRule.earlyBird(30, new BigDecimal("0.80")),
+            PricingRule.earlyBird(14, new BigDecimal("0.90")),
+            PricingRule.demand(50, new BigDecimal("1.15")),
+            PricingRule.demand(80, new BigDecimal("1.30")),
+            PricingRule.quantity(4, new BigDecimal("0.95"))));
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalPrice() {
+        return Booking.calculateTotalPrice(basePrice, seatType, quantity);
+    }
+
+    @Benchmark
+    public Money quotePriceTable() {
+        return priceTable.quote(seatType, quantity, bookingDate, 400);
+    }
+}
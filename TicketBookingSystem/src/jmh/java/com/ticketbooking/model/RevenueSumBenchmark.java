@@ -0,0 +1,54 @@
+package com.ticketbooking.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for summing booking prices as BigDecimal and as Money cents
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RevenueSumBenchmark {
+
+    @Param({"100000"})
+    public int bookings;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] prices;
+
+    @Setup
+    public void setUp() {
+        decimalPrices = new BigDecimal[bookings];
+        prices = new Money[bookings];
+        for (int i = 0; i < bookings; i++) {
+            long cents = ThreadLocalRandom.current().nextLong(1000, 50000);
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            prices[i] = Money.ofCents(cents);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal sumBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal price : decimalPrices) {
+            total = total.add(price);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumMoneyCents() {
+        long total = 0;
+        for (Money price : prices) {
+            total += price.getCents();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ticketbooking.search;
+
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for EventSearchIndex over a generated catalog
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSearchBenchmark {
+
+    private static final String[] GENRES = {
+        "Music", "Comedy", "Tech", "Jazz", "Rock", "Opera", "Theatre", "Film", "Food", "Art"
+    };
+    private static final String[] KINDS = {
+        "Festival", "Night", "Conference", "Evening", "Show", "Gala", "Fair", "Tour"
+    };
+    private static final String[] CITIES = {
+        "Central", "Riverside", "Harbour", "Northgate", "Oldtown", "Lakeside"
+    };
+
+    @Param({"100000"})
+    public int events;
+
+    // A common term, a rare term and a two-term query
+    @Param({"music", "gala", "jazz harbour"})
+    public String query;
+
+    private EventSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Event> catalog = new ArrayList<>(events);
+        for (int id = 1; id <= events; id++) {
+            String genre = GENRES[random.nextInt(GENRES.length)];
+            String kind = KINDS[random.nextInt(KINDS.length)];
+            String city = CITIES[random.nextInt(CITIES.length)];
+            Event event = new Event(genre + " " + kind + " " + id,
+                                    "A " + genre.toLowerCase() + " " + kind.toLowerCase() + " in " + city,
+                                    LocalDate.now().plusDays(random.nextInt(365)), LocalTime.of(19, 0),
+                                    city + " Arena", 500, 500, Money.parse("40.00"));
+            event.setId(id);
+            catalog.add(event);
+        }
+        index = new EventSearchIndex();
+        index.rebuild(catalog);
+    }
+
+    @Benchmark
+    public List<Event> search() {
+        return index.search(query, 50);
+    }
+
+    @Benchmark
+    public List<Event> searchPrefix() {
+        // The query as typed so far, with the last word incomplete
+        return index.searchPrefix(query.substring(0, query.length() - 2), 50);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ticketbooking.seating;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.SeatAssignment;
+import com.ticketbooking.model.SeatLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for SeatMap.allocate on a 50,000 seat arena: 250 rows of 200 seats with
+ * VIP seats in the middle of the front 50 rows. Each allocation is released again, so
+ * the map stays at the configured occupancy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeatAllocationBenchmark {
+
+    // Share of rows from the front that are sold out
+    @Param({"0", "50", "95"})
+    public int soldOutPercent;
+
+    @Param({"2", "6"})
+    public int quantity;
+
+    private SeatMap seatMap;
+
+    @Setup
+    public void setUp() {
+        SeatLayout layout = new SeatLayout("Arena");
+        String vipRow = "S".repeat(50) + "V".repeat(100) + "S".repeat(50);
+        String standardRow = "S".repeat(200);
+        for (int row = 0; row < 250; row++) {
+            layout.addRow(row < 125 ? "Lower" : "Upper", String.valueOf(row + 1), row < 50 ? vipRow : standardRow);
+        }
+
+        seatMap = new SeatMap(layout);
+        BitSet fullRow = new BitSet();
+        fullRow.set(0, 200);
+        for (int row = 0; row < 250 * soldOutPercent / 100; row++) {
+            seatMap.markOccupied(row, fullRow);
+        }
+    }
+
+    @Benchmark
+    public SeatAssignment allocateStandard() {
+        SeatAssignment seats = seatMap.allocate(Booking.SEAT_TYPE_STANDARD, quantity);
+        if (seats != null) {
+            seatMap.release(seats);
+        }
+        return seats;
+    }
+
+    @Benchmark
+    public SeatAssignment allocateVip() {
+        SeatAssignment seats = seatMap.allocate(Booking.SEAT_TYPE_VIP, quantity);
+        if (seats != null) {
+            seatMap.release(seats);
+        }
+        return seats;
+    }
+}
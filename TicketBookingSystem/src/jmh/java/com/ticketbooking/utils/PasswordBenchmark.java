@@ -0,0 +1,49 @@
+package com.ticketbooking.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for PasswordUtils hashing and verification
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private String storedHash;
+    private String legacyHash;
+
+    @Setup
+    public void setUp() {
+        storedHash = PasswordUtils.hashPassword(PASSWORD);
+
+        // Hash in the iterations:salt:hash format written before PBKDF2 was used
+        byte[] salt = new byte[16];
+        byte[] hash = new LegacySha256PasswordHasher().derive(PASSWORD.toCharArray(), salt, 10000);
+        legacyHash = "10000:" + Base64.getEncoder().encodeToString(salt) + ":" +
+                     Base64.getEncoder().encodeToString(hash);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordUtils.verifyPassword(PASSWORD, storedHash);
+    }
+
+    @Benchmark
+    public boolean verifyLegacyPassword() {
+        return PasswordUtils.verifyPassword(PASSWORD, legacyHash);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ticketbooking.view;
+
+import com.ticketbooking.model.EventSummary;
+import com.ticketbooking.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless benchmarks for rendering the home page event list
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class EventListRenderBenchmark {
+    private static final int VIEWPORT_WIDTH = 900;
+    private static final int VIEWPORT_HEIGHT = 800;
+
+    @Param({"10000"})
+    public int events;
+
+    private List<EventSummary> catalog;
+    private DefaultListModel<EventSummary> model;
+    private JList<EventSummary> list;
+    private BufferedImage screen;
+    private int scrollRow;
+
+    @Setup
+    public void setUp() {
+        catalog = new ArrayList<>(events);
+        for (int id = 1; id <= events; id++) {
+            catalog.add(new EventSummary(id, "Event " + id, LocalDate.now().plusDays(id % 365), LocalTime.of(19, 30),
+                                         "Venue " + (id % 50), 500, id % 500, Money.parse("45.00")));
+        }
+
+        model = new DefaultListModel<>();
+        model.addAll(catalog);
+        list = newList(model);
+        screen = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static JList<EventSummary> newList(ListModel<EventSummary> model) {
+        JList<EventSummary> list = new JList<>(model);
+        list.setCellRenderer(new EventCardRenderer());
+        list.setFixedCellHeight(EventCardRenderer.CARD_HEIGHT);
+        list.setFixedCellWidth(600);
+        return list;
+    }
+
+    /**
+     * Paint one screen of the list scrolled to the given row
+     */
+    private void paintScreen(int row) {
+        int y = row * EventCardRenderer.CARD_HEIGHT;
+        Graphics2D g = screen.createGraphics();
+        try {
+            g.translate(0, -y);
+            g.setClip(0, y, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+            list.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Load every event into a new list and lay it out
+     */
+    @Benchmark
+    public Dimension loadAndLayout() {
+        DefaultListModel<EventSummary> newModel = new DefaultListModel<>();
+        newModel.addAll(catalog);
+        JList<EventSummary> newList = newList(newModel);
+        Dimension size = newList.getPreferredSize();
+        newList.setSize(VIEWPORT_WIDTH, size.height);
+        newList.doLayout();
+        return size;
+    }
+
+    /**
+     * Paint a screen of rows not painted recently, as when scrolling through the list
+     */
+    @Benchmark
+    public BufferedImage paintScrolling() {
+        scrollRow = (scrollRow + 5) % (events - 5);
+        list.setSize(VIEWPORT_WIDTH, events * EventCardRenderer.CARD_HEIGHT);
+        paintScreen(scrollRow);
+        return screen;
+    }
+
+    /**
+     * Paint the same screen again, as when the window is repainted
+     */
+    @Benchmark
+    public BufferedImage repaintSameScreen() {
+        list.setSize(VIEWPORT_WIDTH, events * EventCardRenderer.CARD_HEIGHT);
+        paintScreen(0);
+        return screen;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ticketbooking;
 
+import com.ticketbooking.hold.SeatHoldService;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.ledger.LedgerService;
 import com.ticketbooking.view.MainFrame;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -53,6 +56,13 @@ public class Main {
             }
         }
 
+        // Load the seat inventory before the first booking can be made
+        SeatInventory.getInstance();
+        // Start expiring seat holds, including those left from the last run
+        SeatHoldService.getInstance();
+        // Start snapshotting the booking ledger
+        LedgerService.getInstance();
+
         // Start application
         SwingUtilities.invokeLater(() -> {
             try {
@@ -0,0 +1,79 @@
+package com.ticketbooking.cache;
+
+/**
+ * Immutable snapshot of cache statistics
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final int size;
+    private final long weight;
+
+    public CacheStats(long hits, long misses, long evictions, long expirations, int size, long weight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return number of entries removed to stay within the maximum weight
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return number of entries removed because their time to live had passed
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return total weight of the cached entries
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return fraction of lookups that were hits, or 0 if there were none
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+               "hits=" + hits +
+               ", misses=" + misses +
+               ", hitRate=" + String.format("%.2f", getHitRate()) +
+               ", evictions=" + evictions +
+               ", expirations=" + expirations +
+               ", size=" + size +
+               ", weight=" + weight +
+               '}';
+    }
+}
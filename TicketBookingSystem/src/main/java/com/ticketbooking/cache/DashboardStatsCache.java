@@ -0,0 +1,126 @@
+package com.ticketbooking.cache;
+
+import com.ticketbooking.dao.DashboardStatsDAO;
+import com.ticketbooking.model.DashboardStats;
+import com.ticketbooking.model.Money;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-process cache of the admin dashboard statistics.
+ * <p>
+ * The figures are loaded with one aggregate query and then kept current by applying
+ * each booking, event and user change made through the controllers. A full reload is
+ * done when the snapshot is older than the maximum age, which corrects any drift from
+ * changes made outside this process.
+ */
+public class DashboardStatsCache {
+    private static final Logger logger = LogManager.getLogger(DashboardStatsCache.class);
+    private static DashboardStatsCache instance;
+
+    // Snapshots older than this are reloaded from the database
+    private static final long MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final DashboardStatsDAO dashboardStatsDAO;
+    private final AtomicReference<Entry> current = new AtomicReference<>();
+
+    private DashboardStatsCache() {
+        this.dashboardStatsDAO = new DashboardStatsDAO();
+    }
+
+    /**
+     * Get singleton instance of DashboardStatsCache
+     * @return DashboardStatsCache instance
+     */
+    public static synchronized DashboardStatsCache getInstance() {
+        if (instance == null) {
+            instance = new DashboardStatsCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the dashboard statistics, loading them if not cached or too old
+     * @return current statistics, or null if they could not be loaded
+     */
+    public DashboardStats getStats() {
+        Entry entry = current.get();
+        if (entry != null && System.nanoTime() - entry.loadedAt < MAX_AGE_NANOS) {
+            return entry.stats;
+        }
+        return reload();
+    }
+
+    /**
+     * Reload the statistics from the database
+     * @return reloaded statistics, or null if the query failed
+     */
+    public DashboardStats reload() {
+        DashboardStats stats = dashboardStatsDAO.getDashboardStats();
+        if (stats != null) {
+            current.set(new Entry(stats, System.nanoTime()));
+            logger.debug("Dashboard statistics reloaded: {}", stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Drop the cached statistics so the next read reloads them
+     */
+    public void invalidate() {
+        current.set(null);
+    }
+
+    /**
+     * Record a booking that was added
+     * @param totalPrice total price of the booking
+     */
+    public void onBookingAdded(Money totalPrice) {
+        apply(stats -> stats.withBookingAdded(totalPrice));
+    }
+
+    /**
+     * Record a booking that was deleted
+     * @param totalPrice total price of the booking
+     */
+    public void onBookingDeleted(Money totalPrice) {
+        apply(stats -> stats.withBookingRemoved(totalPrice));
+    }
+
+    /**
+     * Record an event that was added
+     */
+    public void onEventAdded() {
+        apply(stats -> stats.withEventCountChanged(1));
+    }
+
+    /**
+     * Record a user that was added or deleted
+     * @param delta +1 for an added user, -1 for a deleted user
+     */
+    public void onUserCountChanged(int delta) {
+        apply(stats -> stats.withUserCountChanged(delta));
+    }
+
+    private void apply(UnaryOperator<DashboardStats> change) {
+        // Nothing cached yet means the next read loads fresh figures anyway
+        current.updateAndGet(entry -> entry == null ? null : new Entry(change.apply(entry.stats), entry.loadedAt));
+    }
+
+    /**
+     * Cached statistics together with the time they were loaded
+     */
+    private static final class Entry {
+        private final DashboardStats stats;
+        private final long loadedAt;
+
+        private Entry(DashboardStats stats, long loadedAt) {
+            this.stats = stats;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
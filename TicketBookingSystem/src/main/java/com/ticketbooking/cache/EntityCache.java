@@ -0,0 +1,329 @@
+package com.ticketbooking.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded in-memory cache of entities by ID using W-TinyLFU eviction.
+ * <p>
+ * New entries enter a small LRU window. Entries pushed out of the window compete with
+ * the least recently used entry of the main area, and whichever a frequency sketch says
+ * was used less often is evicted, so a burst of one-off lookups cannot flush out the
+ * popular entries. The main area is a segmented LRU: entries hit while on probation are
+ * promoted to the protected segment. The cache is bounded by the total weight of its
+ * entries rather than their number, and every entry expires after its time to live.
+ * <p>
+ * Mutable values are copied when they are cached and when they are returned, so a
+ * caller changing the value it got does not change what other callers get.
+ * <p>
+ * All operations take the cache lock; loaders passed to {@link #get(Object, Function)}
+ * run outside it.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class EntityCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final String name;
+    private final long maxWeight;
+    private final long windowMaxWeight;
+    private final long protectedMaxWeight;
+    private final long ttlNanos;
+    private final ToIntFunction<? super V> weigher;
+    private final UnaryOperator<V> copier;
+    private final LongSupplier clock;
+
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+    private final FrequencySketch sketch;
+    private final Node<K, V>[] heads = newQueueArray();
+    private final Node<K, V>[] tails = newQueueArray();
+    private final long[] weights = new long[3];
+
+    // Incremented by every invalidation so loads that raced with one are not cached
+    private long invalidations;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    /**
+     * Constructor for immutable values, which are cached and returned as they are
+     * @param name cache name used in logs and statistics
+     * @param maxWeight maximum total weight of the cached entries
+     * @param expectedEntries expected number of entries, used to size the frequency sketch
+     * @param ttlMillis time to live of each entry in milliseconds
+     * @param weigher estimates the weight of a value, for example its size in bytes
+     */
+    public EntityCache(String name, long maxWeight, int expectedEntries, long ttlMillis,
+                       ToIntFunction<? super V> weigher) {
+        this(name, maxWeight, expectedEntries, ttlMillis, weigher, UnaryOperator.identity());
+    }
+
+    /**
+     * Constructor
+     * @param name cache name used in logs and statistics
+     * @param maxWeight maximum total weight of the cached entries
+     * @param expectedEntries expected number of entries, used to size the frequency sketch
+     * @param ttlMillis time to live of each entry in milliseconds
+     * @param weigher estimates the weight of a value, for example its size in bytes
+     * @param copier copies a value when it is cached and when it is returned
+     */
+    public EntityCache(String name, long maxWeight, int expectedEntries, long ttlMillis,
+                       ToIntFunction<? super V> weigher, UnaryOperator<V> copier) {
+        this(name, maxWeight, expectedEntries, ttlMillis, weigher, copier, System::nanoTime);
+    }
+
+    EntityCache(String name, long maxWeight, int expectedEntries, long ttlMillis,
+                ToIntFunction<? super V> weigher, UnaryOperator<V> copier, LongSupplier clock) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be greater than zero");
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.windowMaxWeight = Math.max(1, maxWeight / 100);
+        this.protectedMaxWeight = (maxWeight - windowMaxWeight) * 80 / 100;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.weigher = weigher;
+        this.copier = copier;
+        this.clock = clock;
+        this.sketch = new FrequencySketch(expectedEntries);
+    }
+
+    /**
+     * @return cache name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get a cached value
+     * @param key key to look up
+     * @return cached value, or null if not cached or expired
+     */
+    public synchronized V getIfPresent(K key) {
+        sketch.increment(key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        if (clock.getAsLong() - node.expiresAt >= 0) {
+            remove(node);
+            expirations++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        onAccess(node);
+        return copier.apply(node.value);
+    }
+
+    /**
+     * Get a cached value, loading and caching it on a miss. Null results are not cached.
+     * @param key key to look up
+     * @param loader loads the value on a miss; runs without holding the cache lock
+     * @return cached or loaded value, or null if the loader returned null. A loaded value
+     *         is returned as loaded, and a copy of it is cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long invalidationsAtMiss;
+        synchronized (this) {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            invalidationsAtMiss = invalidations;
+        }
+
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (this) {
+                // Drop the value if an invalidation happened while it was loading
+                if (invalidations == invalidationsAtMiss) {
+                    putInternal(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Add or replace a cached value
+     * @param key key
+     * @param value value to cache
+     */
+    public synchronized void put(K key, V value) {
+        putInternal(key, value);
+    }
+
+    /**
+     * Remove a value, for example after the entity was changed or deleted
+     * @param key key to remove
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        Node<K, V> node = data.get(key);
+        if (node != null) {
+            remove(node);
+        }
+    }
+
+    /**
+     * Remove all values
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        data.clear();
+        for (int queue = 0; queue < 3; queue++) {
+            heads[queue] = null;
+            tails[queue] = null;
+            weights[queue] = 0;
+        }
+    }
+
+    /**
+     * Get a snapshot of the cache statistics
+     * @return current statistics
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, expirations, data.size(),
+                              weights[WINDOW] + weights[PROBATION] + weights[PROTECTED]);
+    }
+
+    private void putInternal(K key, V value) {
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        Node<K, V> node = data.get(key);
+        if (weight > maxWeight) {
+            // Too large to ever fit
+            if (node != null) {
+                remove(node);
+            }
+            return;
+        }
+
+        long expiresAt = clock.getAsLong() + ttlNanos;
+        if (node != null) {
+            weights[node.queue] += weight - node.weight;
+            node.value = copier.apply(value);
+            node.weight = weight;
+            node.expiresAt = expiresAt;
+            onAccess(node);
+        } else {
+            node = new Node<>(key, copier.apply(value), weight, expiresAt);
+            data.put(key, node);
+            linkLast(node, WINDOW);
+        }
+        evict();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case PROBATION:
+                // A second hit moves the entry into the protected segment
+                move(node, PROTECTED);
+                while (weights[PROTECTED] > protectedMaxWeight && heads[PROTECTED] != node) {
+                    move(heads[PROTECTED], PROBATION);
+                }
+                break;
+            default:
+                unlink(node);
+                linkLast(node, node.queue);
+                break;
+        }
+    }
+
+    private void evict() {
+        // Entries leaving the window become admission candidates at the end of probation
+        while (weights[WINDOW] > windowMaxWeight && heads[WINDOW] != null) {
+            move(heads[WINDOW], PROBATION);
+        }
+
+        while (weights[WINDOW] + weights[PROBATION] + weights[PROTECTED] > maxWeight) {
+            Node<K, V> victim = heads[PROBATION];
+            Node<K, V> candidate = tails[PROBATION];
+            if (victim == null) {
+                victim = heads[PROTECTED] != null ? heads[PROTECTED] : heads[WINDOW];
+            } else if (victim != candidate && sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                // The candidate was not used more often than the entry it would replace
+                victim = candidate;
+            }
+            remove(victim);
+            evictions++;
+        }
+    }
+
+    private void move(Node<K, V> node, int queue) {
+        unlink(node);
+        linkLast(node, queue);
+    }
+
+    private void remove(Node<K, V> node) {
+        unlink(node);
+        data.remove(node.key);
+    }
+
+    private void linkLast(Node<K, V> node, int queue) {
+        node.queue = queue;
+        node.prev = tails[queue];
+        node.next = null;
+        if (tails[queue] != null) {
+            tails[queue].next = node;
+        } else {
+            heads[queue] = node;
+        }
+        tails[queue] = node;
+        weights[queue] += node.weight;
+    }
+
+    private void unlink(Node<K, V> node) {
+        int queue = node.queue;
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            heads[queue] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tails[queue] = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        weights[queue] -= node.weight;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Node<K, V>[] newQueueArray() {
+        return new Node[3];
+    }
+
+    /**
+     * A cached entry, linked into the queue of its area
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private long expiresAt;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
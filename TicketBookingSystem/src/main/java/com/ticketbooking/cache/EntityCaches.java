@@ -0,0 +1,111 @@
+package com.ticketbooking.cache;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.User;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared caches of events, users and bookings by ID, used by the DAOs.
+ * <p>
+ * Weights are rough estimates of each entity's size in bytes. Events have a short time
+ * to live because their available seats change with every booking made elsewhere.
+ * Entities are copied in and out of the caches, and bookings are cached without their
+ * event, which BookingDAO looks up in the event cache so it is as current as the event.
+ */
+public class EntityCaches {
+    private static final Logger logger = LogManager.getLogger(EntityCaches.class);
+    private static EntityCaches instance;
+
+    private static final long EVENT_CACHE_BYTES = 4L * 1024 * 1024;
+    private static final long USER_CACHE_BYTES = 2L * 1024 * 1024;
+    private static final long BOOKING_CACHE_BYTES = 4L * 1024 * 1024;
+
+    private static final long EVENT_TTL_MILLIS = 30_000;
+    private static final long USER_TTL_MILLIS = 300_000;
+    private static final long BOOKING_TTL_MILLIS = 300_000;
+
+    private final EntityCache<Integer, Event> events;
+    private final EntityCache<Integer, User> users;
+    private final EntityCache<Integer, Booking> bookings;
+
+    private EntityCaches() {
+        this.events = new EntityCache<>("events", EVENT_CACHE_BYTES, 10_000, EVENT_TTL_MILLIS,
+                                        EntityCaches::weighEvent, Event::new);
+        this.users = new EntityCache<>("users", USER_CACHE_BYTES, 10_000, USER_TTL_MILLIS,
+                                       EntityCaches::weighUser, User::new);
+        this.bookings = new EntityCache<>("bookings", BOOKING_CACHE_BYTES, 20_000, BOOKING_TTL_MILLIS,
+                                          EntityCaches::weighBooking, EntityCaches::copyBooking);
+    }
+
+    /**
+     * Get singleton instance of EntityCaches
+     * @return EntityCaches instance
+     */
+    public static synchronized EntityCaches getInstance() {
+        if (instance == null) {
+            instance = new EntityCaches();
+        }
+        return instance;
+    }
+
+    public EntityCache<Integer, Event> events() {
+        return events;
+    }
+
+    public EntityCache<Integer, User> users() {
+        return users;
+    }
+
+    public EntityCache<Integer, Booking> bookings() {
+        return bookings;
+    }
+
+    /**
+     * Get statistics of every cache
+     * @return map from cache name to its statistics
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put(events.getName(), events.getStats());
+        stats.put(users.getName(), users.getStats());
+        stats.put(bookings.getName(), bookings.getStats());
+        return stats;
+    }
+
+    /**
+     * Write the statistics of every cache to the log
+     */
+    public void logStats() {
+        getStats().forEach((name, stats) -> logger.info("Entity cache {}: {}", name, stats));
+    }
+
+    private static int weighEvent(Event event) {
+        return 160 + 2 * (length(event.getName()) + length(event.getDescription()) + length(event.getVenue()));
+    }
+
+    private static int weighUser(User user) {
+        return 200 + 2 * (length(user.getUsername()) + length(user.getPassword()) + length(user.getEmail())
+                          + length(user.getFullName()) + length(user.getPhone()));
+    }
+
+    private static int weighBooking(Booking booking) {
+        // The joined event is cached separately, so only the booking's own fields are counted
+        return 160 + 2 * (length(booking.getCustomerName()) + length(booking.getCustomerEmail())
+                          + length(booking.getCustomerPhone()) + length(booking.getSeatType()));
+    }
+
+    private static Booking copyBooking(Booking booking) {
+        Booking copy = new Booking(booking);
+        copy.setEvent(null);
+        return copy;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
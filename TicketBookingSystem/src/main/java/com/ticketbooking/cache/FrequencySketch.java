@@ -0,0 +1,91 @@
+package com.ticketbooking.cache;
+
+/**
+ * Count-min sketch of 4-bit counters that estimates how often keys were seen recently.
+ * <p>
+ * Each key maps to one counter in each of four rows and its frequency is the smallest
+ * of them. Once the number of increments reaches ten times the width, every counter is
+ * halved, so old popularity fades and the estimates follow the current workload.
+ * Not thread-safe; {@link EntityCache} only uses it under its lock.
+ */
+class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {
+        0x97cb3127L, 0xc2b2ae35L, 0x85ebca6bL, 0x27d4eb2fL
+    };
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Constructor
+     * @param expectedEntries expected number of distinct keys in the cache
+     */
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+        this.counters = new byte[DEPTH][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * Record one occurrence of a key
+     * @param key key that was seen
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            if (counters[row][index] < MAX_COUNT) {
+                counters[row][index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estimate how often a key was seen
+     * @param key key to look up
+     * @return estimated frequency between 0 and 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, counters[row][indexOf(hash, row)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Halve every counter
+     */
+    private void reset() {
+        for (byte[] row : counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,145 @@
+package com.ticketbooking.cache;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Results of recent requests by their idempotency key, so a retried request gets the
+ * result of the original one instead of running again.
+ * <p>
+ * A request claims its key before it runs. A retry that arrives while the original is
+ * still running waits for it rather than running alongside it. Only successful results
+ * are kept; when a request fails its key is dropped so a retry can run again. Results
+ * are kept for a fixed window of time and at most maxSize of them, oldest first out.
+ * Requests older than the window are found by the action itself, for example in a
+ * table with a unique key.
+ * <p>
+ * Each key is stored with a fingerprint of the request parameters. A request that
+ * reuses a key with different parameters is a client error and gets no result.
+ * @param <V> result type; null means the request failed
+ */
+public class IdempotencyWindow<V> {
+    private final int maxSize;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Successful entries in the order they were recorded, guarded by this
+    private final ArrayDeque<Entry<V>> recorded = new ArrayDeque<>();
+
+    /**
+     * Constructor
+     * @param maxSize most results kept
+     * @param windowMillis how long a result is kept in milliseconds
+     */
+    public IdempotencyWindow(int maxSize, long windowMillis) {
+        this(maxSize, windowMillis, System::nanoTime);
+    }
+
+    IdempotencyWindow(int maxSize, long windowMillis, LongSupplier clock) {
+        if (maxSize <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("Window size and time must be greater than zero");
+        }
+        this.maxSize = maxSize;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Run a request once per key, for requests identified by their key alone
+     * @param key idempotency key of the request
+     * @param action runs the request, returning null if it failed
+     * @return result of the first successful request with this key, or null if this one failed
+     */
+    public V execute(String key, Supplier<V> action) {
+        return execute(key, null, action);
+    }
+
+    /**
+     * Run a request once per key
+     * @param key idempotency key of the request
+     * @param fingerprint parameters of the request, which a retry must repeat
+     * @param action runs the request, returning null if it failed
+     * @return result of the first successful request with this key, or null if this one
+     *         failed or the key was used by a request with other parameters
+     */
+    public V execute(String key, String fingerprint, Supplier<V> action) {
+        while (true) {
+            Entry<V> entry = new Entry<>(key, fingerprint);
+            Entry<V> existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                if (isExpired(existing)) {
+                    // Not evicted yet because nothing was recorded since it expired
+                    entries.remove(key, existing);
+                    continue;
+                }
+                if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                    return null;
+                }
+                V result = existing.result.join();
+                if (result != null) {
+                    return result;
+                }
+                // The other request failed and dropped its key, so try to claim it again
+                continue;
+            }
+
+            V result = null;
+            try {
+                result = action.get();
+            } finally {
+                if (result != null) {
+                    record(entry);
+                } else {
+                    entries.remove(key, entry);
+                }
+                entry.result.complete(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * @return number of results kept
+     */
+    public synchronized int size() {
+        return recorded.size();
+    }
+
+    private synchronized boolean isExpired(Entry<V> entry) {
+        return entry.recorded && clock.getAsLong() - entry.recordedAt > windowNanos;
+    }
+
+    private synchronized void record(Entry<V> entry) {
+        long now = clock.getAsLong();
+        entry.recordedAt = now;
+        entry.recorded = true;
+        recorded.add(entry);
+
+        while (!recorded.isEmpty() &&
+               (recorded.size() > maxSize || now - recorded.peek().recordedAt > windowNanos)) {
+            Entry<V> oldest = recorded.poll();
+            entries.remove(oldest.key, oldest);
+        }
+    }
+
+    private static class Entry<V> {
+        final String key;
+        final String fingerprint;
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        // Set when a successful result is recorded, guarded by the window
+        boolean recorded;
+        long recordedAt;
+
+        Entry(String key, String fingerprint) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
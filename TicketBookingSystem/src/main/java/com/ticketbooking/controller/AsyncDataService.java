@@ -0,0 +1,141 @@
+package com.ticketbooking.controller;
+
+import com.ticketbooking.database.DBConnection;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.*;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs controller calls off the Event Dispatch Thread.
+ * <p>
+ * Each task runs on its own virtual thread, while a semaphore sized to the connection
+ * pool bounds how many run against the database at once. Results are returned as
+ * {@link CompletableFuture}s; views hop back onto the EDT with {@link #EDT}.
+ * Tasks submitted under a key with {@link #submitLatest} cancel the previous task
+ * for the same key, so a stale load never overwrites a newer one.
+ */
+public class AsyncDataService {
+    private static final Logger logger = LogManager.getLogger(AsyncDataService.class);
+    private static AsyncDataService instance;
+
+    /**
+     * Executor that runs continuations on the Event Dispatch Thread
+     */
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private final ExecutorService executor;
+    private final Semaphore concurrency;
+    private final Map<String, CompletableFuture<?>> latestByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param maxConcurrency maximum number of tasks running at the same time
+     */
+    AsyncDataService(int maxConcurrency) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.concurrency = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Get singleton instance of AsyncDataService
+     * @return AsyncDataService instance
+     */
+    public static synchronized AsyncDataService getInstance() {
+        if (instance == null) {
+            instance = new AsyncDataService(DBConnection.getInstance().getPoolConfig().getMaxSize());
+        }
+        return instance;
+    }
+
+    /**
+     * Run a task in the background
+     * @param task task to run, typically a controller call
+     * @param <T> result type
+     * @return future completed with the task result
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                concurrency.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.cancel(false);
+                return;
+            }
+
+            try {
+                // Skip work for requests that were cancelled while waiting
+                if (!result.isDone()) {
+                    result.complete(task.call());
+                }
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                concurrency.release();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run a task in the background, cancelling the previous task submitted under the same key.
+     * A cancelled task that is already running finishes, but its result is discarded.
+     * @param key identifies the request, for example the panel and list being loaded
+     * @param task task to run
+     * @param <T> result type
+     * @return future completed with the task result, or cancelled if superseded
+     */
+    public <T> CompletableFuture<T> submitLatest(String key, Callable<T> task) {
+        CompletableFuture<T> future = submit(task);
+        CompletableFuture<?> previous = latestByKey.put(key, future);
+        if (previous != null && previous.cancel(false)) {
+            logger.debug("Cancelled stale request: {}", key);
+        }
+        future.whenComplete((result, error) -> latestByKey.remove(key, future));
+        return future;
+    }
+
+    /**
+     * Check whether a failure passed to a completion handler is a cancellation
+     * @param error throwable passed to whenComplete or handle, may be null
+     * @return true if the task was cancelled
+     */
+    public static boolean isCancellation(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof CancellationException;
+    }
+
+    /**
+     * Unwrap the failure passed to a completion handler
+     * @param error throwable passed to whenComplete or handle
+     * @return the original exception thrown by the task
+     */
+    public static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Stop accepting tasks; running tasks are allowed to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        logger.info("Async data service shut down");
+    }
+}
@@ -1,13 +1,30 @@
 package com.ticketbooking.controller;
 
+import com.ticketbooking.cache.DashboardStatsCache;
+import com.ticketbooking.cache.IdempotencyWindow;
 import com.ticketbooking.dao.BookingDAO;
+import com.ticketbooking.hold.SeatHoldService;
+import com.ticketbooking.inventory.GroupCommitWriter;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.ledger.LedgerService;
 import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.BookingOutcome;
+import com.ticketbooking.model.BookingRow;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.LedgerEntry;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.SeatHold;
+import com.ticketbooking.pricing.PricingService;
+import com.ticketbooking.seating.ReservedSeating;
+import com.ticketbooking.waitingroom.AdmissionPass;
+import com.ticketbooking.waitingroom.WaitingRoom;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -19,13 +36,21 @@ public class BookingController {
     private final EventController eventController;
     
     // Regular expression for email validation
-    private static final Pattern EMAIL_PATTERN = 
+    static final Pattern EMAIL_PATTERN = 
         Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
     
     // Regular expression for phone number validation
-    private static final Pattern PHONE_PATTERN = 
+    static final Pattern PHONE_PATTERN = 
         Pattern.compile("^\\+?[0-9]{10,15}$");
     
+    // Longest idempotency key, the size of the bookings.idempotency_key column
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+    
+    // Bookings of recent requests by idempotency key, shared by all controllers so a
+    // retry is answered from memory; older requests are found by their key in the database
+    private static final IdempotencyWindow<Booking> recentRequests =
+        new IdempotencyWindow<>(10_000, TimeUnit.MINUTES.toMillis(15));
+    
     public BookingController() {
         this.bookingDAO = new BookingDAO();
         this.eventController = new EventController();
@@ -50,6 +75,18 @@ public class BookingController {
         return bookingDAO.getBookingsByEventId(eventId);
     }
     
+    /**
+     * Get one page of booking rows, newest first
+     * @param afterBookingTime booking time of the last booking on the previous page, or null if it has none
+     * @param afterId ID of the last booking on the previous page, or 0 for the first page
+     * @param limit maximum number of bookings to return
+     * @return List of booking rows, or null if they could not be loaded
+     */
+    public List<BookingRow> getBookingRowsPage(LocalDateTime afterBookingTime, int afterId, int limit) {
+        logger.debug("Getting bookings page after {} / {}", afterBookingTime, afterId);
+        return bookingDAO.getBookingRowsPage(afterBookingTime, afterId, limit);
+    }
+    
     /**
      * Get booking by ID
      * @param id booking ID
@@ -60,6 +97,16 @@ public class BookingController {
         return bookingDAO.getBookingById(id);
     }
     
+    /**
+     * Get the changes made to a booking from the booking ledger
+     * @param id booking ID, also of a deleted booking
+     * @return ledger entries of the booking, oldest first
+     */
+    public List<LedgerEntry> getBookingHistory(int id) {
+        logger.info("Getting history of booking with ID: {}", id);
+        return LedgerService.getInstance().getBookingHistory(id);
+    }
+    
     /**
      * Create a new booking
      * @param customerName customer name
@@ -72,55 +119,242 @@ public class BookingController {
      */
     public boolean createBooking(String customerName, String customerEmail, String customerPhone, 
                                 int eventId, String seatType, int quantity) {
+        return book(customerName, customerEmail, customerPhone, eventId, seatType, quantity) != null;
+    }
+    
+    /**
+     * Create a new booking for a customer admitted from the waiting room, at most once per idempotency key
+     * @param customerName customer name
+     * @param customerEmail customer email
+     * @param customerPhone customer phone
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of tickets
+     * @param pass pass given on admission, or null when the waiting room is disabled
+     * @param idempotencyKey key the client sends again when it retries the request, or null
+     * @return true if successful or already booked by an earlier request with the key, false otherwise
+     */
+    public boolean createBooking(String customerName, String customerEmail, String customerPhone, 
+                                int eventId, String seatType, int quantity, AdmissionPass pass,
+                                String idempotencyKey) {
+        return book(customerName, customerEmail, customerPhone, eventId, seatType, quantity, pass,
+                    idempotencyKey) != null;
+    }
+    
+    /**
+     * Create a new booking without a waiting room pass or idempotency key
+     * @param customerName customer name
+     * @param customerEmail customer email
+     * @param customerPhone customer phone
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of tickets
+     * @return the saved booking, or null if it could not be made
+     */
+    public Booking book(String customerName, String customerEmail, String customerPhone, 
+                        int eventId, String seatType, int quantity) {
+        return book(customerName, customerEmail, customerPhone, eventId, seatType, quantity, null, null);
+    }
+    
+    /**
+     * Create a new booking. Bookings for events with a seat layout are assigned the
+     * best available contiguous seats. A request with the idempotency key of an earlier
+     * successful request returns the earlier booking without booking again, provided it
+     * repeats the event, seat type, quantity and customer of that request.
+     * @param customerName customer name
+     * @param customerEmail customer email
+     * @param customerPhone customer phone
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of tickets
+     * @param pass pass given on admission, or null when the waiting room is disabled
+     * @param idempotencyKey key the client sends again when it retries the request, or null
+     * @return the saved booking, or null if it could not be made
+     */
+    public Booking book(String customerName, String customerEmail, String customerPhone, 
+                        int eventId, String seatType, int quantity, AdmissionPass pass, String idempotencyKey) {
+        String fingerprint = fingerprint(eventId, seatType, quantity, customerName, customerEmail, customerPhone);
+        return once(idempotencyKey, fingerprint, () -> makeBooking(customerName, customerEmail, customerPhone,
+                                                                   eventId, seatType, quantity, pass, idempotencyKey));
+    }
+    
+    private Booking makeBooking(String customerName, String customerEmail, String customerPhone, 
+                                int eventId, String seatType, int quantity, AdmissionPass pass,
+                                String idempotencyKey) {
         logger.info("Creating new booking for event ID: {} by customer: {}", eventId, customerName);
         
         // Validate input
-        if (customerName == null || customerName.trim().isEmpty()) {
-            logger.error("Customer name cannot be empty");
-            return false;
-        }
-        
-        if (customerEmail != null && !customerEmail.trim().isEmpty() && 
-            !EMAIL_PATTERN.matcher(customerEmail).matches()) {
-            logger.error("Invalid email format: {}", customerEmail);
-            return false;
+        if (!isValidCustomer(customerName, customerEmail, customerPhone)) {
+            return null;
         }
         
-        if (customerPhone != null && !customerPhone.trim().isEmpty() && 
-            !PHONE_PATTERN.matcher(customerPhone).matches()) {
-            logger.error("Invalid phone number format: {}", customerPhone);
-            return false;
+        if (!isAdmitted(eventId, pass)) {
+            return null;
         }
         
         if (quantity <= 0) {
             logger.error("Quantity must be greater than zero");
-            return false;
+            return null;
         }
         
         // Check if event exists and has enough available seats
         Event event = eventController.getEventById(eventId);
         if (event == null) {
             logger.error("Event with ID {} not found", eventId);
-            return false;
+            return null;
         }
         
-        if (!event.hasAvailableSeats(quantity)) {
+        // With the seat inventory enabled, seats are checked when they are reserved
+        SeatInventory inventory = SeatInventory.getInstance();
+        if (!inventory.isEnabled() && !event.hasAvailableSeats(quantity)) {
             logger.error("Not enough available seats for event ID: {}", eventId);
-            return false;
+            return null;
         }
         
         // Validate seat type
         if (!isValidSeatType(seatType)) {
             logger.error("Invalid seat type: {}", seatType);
-            return false;
+            return null;
         }
         
-        // Calculate total price
-        BigDecimal totalPrice = Booking.calculateTotalPrice(event.getBasePrice(), seatType, quantity);
+        // Quote the total price from the price table of the event
+        Money totalPrice = PricingService.getInstance().quote(event, seatType, quantity);
         
         // Create booking
         Booking booking = new Booking(customerName, customerEmail, customerPhone, eventId, seatType, quantity, totalPrice);
-        return bookingDAO.addBooking(booking);
+        booking.setIdempotencyKey(idempotencyKey);
+        // Lets the database write go straight to the seat stripes of a striped event
+        booking.setEvent(event);
+        if (event.hasSeatLayout()) {
+            if (ReservedSeating.getInstance().book(booking, event) != BookingOutcome.BOOKED) {
+                return null;
+            }
+            // Assigned seats are written straight to the database, bypassing the inventory counters
+            if (inventory.isEnabled()) {
+                inventory.refresh(eventId);
+            }
+        } else if (inventory.isEnabled()) {
+            if (!inventory.reserve(booking)) {
+                return null;
+            }
+        } else if (GroupCommitWriter.isEnabled()) {
+            if (!GroupCommitWriter.getInstance().write(booking)) {
+                return null;
+            }
+        } else if (bookingDAO.bookSeats(booking) != BookingOutcome.BOOKED) {
+            return null;
+        }
+
+        if (pass != null) {
+            WaitingRoom.getInstance().complete(pass);
+        }
+        DashboardStatsCache.getInstance().onBookingAdded(totalPrice);
+        return booking;
+    }
+    
+    /**
+     * Describe the assigned seats of a booking for customers
+     * @param booking booking, with its event set
+     * @return description such as "Section A, Row 3, Seats 5-8", or null if the booking has no assigned seats
+     */
+    public String describeSeats(Booking booking) {
+        if (booking.getSeats() == null || booking.getEvent() == null) {
+            return null;
+        }
+        return ReservedSeating.getInstance().describeSeats(booking, booking.getEvent());
+    }
+    
+    /**
+     * Hold seats for the customer while they fill in the booking form
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of tickets
+     * @param pass pass given on admission, or null when the waiting room is disabled
+     * @return the hold, or null if the seats could not be held
+     */
+    public SeatHold holdSeats(int eventId, String seatType, int quantity, AdmissionPass pass) {
+        logger.info("Holding {} {} seats for event ID: {}", quantity, seatType, eventId);
+
+        if (!isAdmitted(eventId, pass)) {
+            return null;
+        }
+
+        if (quantity <= 0) {
+            logger.error("Quantity must be greater than zero");
+            return null;
+        }
+
+        if (!isValidSeatType(seatType)) {
+            logger.error("Invalid seat type: {}", seatType);
+            return null;
+        }
+
+        // Holds are counted against the event, so they cannot set aside assigned seats
+        Event event = eventController.getEventById(eventId);
+        if (event == null || event.hasSeatLayout()) {
+            return null;
+        }
+
+        return SeatHoldService.getInstance().hold(eventId, seatType, quantity);
+    }
+    
+    /**
+     * Give held seats back to the event
+     * @param holdId hold ID
+     * @return true if the hold was released, false if it had already been confirmed, released or expired
+     */
+    public boolean releaseHold(long holdId) {
+        logger.info("Releasing seat hold: {}", holdId);
+        return SeatHoldService.getInstance().release(holdId);
+    }
+    
+    /**
+     * Book the seats of a hold. The hold was only given to an admitted customer, so the
+     * waiting room pass is used up here but not checked again.
+     * @param hold hold to confirm
+     * @param customerName customer name
+     * @param customerEmail customer email
+     * @param customerPhone customer phone
+     * @param pass pass the hold was placed with, or null when the waiting room is disabled
+     * @param idempotencyKey key the client sends again when it retries the request, or null
+     * @return the saved booking, or null if the details are invalid or the hold has expired
+     */
+    public Booking confirmHold(SeatHold hold, String customerName, String customerEmail, String customerPhone,
+                               AdmissionPass pass, String idempotencyKey) {
+        String fingerprint = fingerprint(hold.getEventId(), hold.getSeatType(), hold.getQuantity(),
+                                         customerName, customerEmail, customerPhone);
+        return once(idempotencyKey, fingerprint, () -> makeHoldBooking(hold, customerName, customerEmail,
+                                                                       customerPhone, pass, idempotencyKey));
+    }
+    
+    private Booking makeHoldBooking(SeatHold hold, String customerName, String customerEmail, String customerPhone,
+                                    AdmissionPass pass, String idempotencyKey) {
+        logger.info("Confirming seat hold {} for customer: {}", hold.getId(), customerName);
+
+        if (!isValidCustomer(customerName, customerEmail, customerPhone)) {
+            return null;
+        }
+
+        Event event = eventController.getEventById(hold.getEventId());
+        if (event == null) {
+            logger.error("Event with ID {} not found", hold.getEventId());
+            return null;
+        }
+
+        Money totalPrice = PricingService.getInstance().quote(event, hold.getSeatType(), hold.getQuantity());
+        Booking booking = new Booking(customerName, customerEmail, customerPhone, hold.getEventId(),
+                                      hold.getSeatType(), hold.getQuantity(), totalPrice);
+        booking.setIdempotencyKey(idempotencyKey);
+        booking.setEvent(event);
+        if (!SeatHoldService.getInstance().confirm(hold.getId(), booking)) {
+            return null;
+        }
+
+        if (pass != null) {
+            WaitingRoom.getInstance().complete(pass);
+        }
+        DashboardStatsCache.getInstance().onBookingAdded(totalPrice);
+        return booking;
     }
     
     /**
@@ -130,7 +364,19 @@ public class BookingController {
      */
     public boolean deleteBooking(int id) {
         logger.info("Deleting booking with ID: {}", id);
-        return bookingDAO.deleteBooking(id);
+
+        // Look up the price first so the dashboard revenue can be adjusted
+        Booking booking = bookingDAO.getBookingById(id);
+        if (!bookingDAO.deleteBooking(id)) {
+            return false;
+        }
+
+        if (booking != null) {
+            DashboardStatsCache.getInstance().onBookingDeleted(booking.getTotalPrice());
+        } else {
+            DashboardStatsCache.getInstance().invalidate();
+        }
+        return true;
     }
     
     /**
@@ -140,14 +386,113 @@ public class BookingController {
      * @param quantity number of tickets
      * @return calculated total price
      */
-    public BigDecimal calculateTotalPrice(int eventId, String seatType, int quantity) {
+    public Money calculateTotalPrice(int eventId, String seatType, int quantity) {
         Event event = eventController.getEventById(eventId);
         if (event == null) {
             logger.error("Event with ID {} not found", eventId);
-            return BigDecimal.ZERO;
+            return Money.ZERO;
+        }
+        
+        return PricingService.getInstance().quote(event, seatType, quantity);
+    }
+    
+    /**
+     * Make a booking at most once per idempotency key. A retry of a recent request is
+     * answered from memory; an older one is found by its key in the database. If the
+     * booking fails because another application instance just saved one with the same
+     * key, that booking is returned. A request reusing the key of a booking with other
+     * parameters is rejected.
+     * @param idempotencyKey key of the request, or null to always book
+     * @param fingerprint parameters of the request, from {@link #fingerprint}
+     * @param request makes the booking, returning null if it could not be made
+     * @return the booking made for the key, or null if it could not be made
+     */
+    private Booking once(String idempotencyKey, String fingerprint, Supplier<Booking> request) {
+        if (idempotencyKey == null) {
+            return request.get();
+        }
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            logger.error("Invalid idempotency key: {}", idempotencyKey);
+            return null;
+        }
+
+        return recentRequests.execute(idempotencyKey, fingerprint, () -> {
+            Booking original = bookingDAO.getBookingByIdempotencyKey(idempotencyKey);
+            if (original == null) {
+                Booking made = request.get();
+                if (made != null) {
+                    return made;
+                }
+                original = bookingDAO.getBookingByIdempotencyKey(idempotencyKey);
+                if (original == null) {
+                    return null;
+                }
+            }
+            if (!fingerprint.equals(fingerprint(original))) {
+                logger.error("Idempotency key {} was used for booking ID: {} with other parameters",
+                            idempotencyKey, original.getId());
+                return null;
+            }
+            logger.info("Request {} was already booked as booking ID: {}", idempotencyKey, original.getId());
+            return original;
+        });
+    }
+
+    /**
+     * Describe the parameters a retry of a booking request must repeat
+     * @return fingerprint of the request
+     */
+    private static String fingerprint(int eventId, String seatType, int quantity,
+                                      String customerName, String customerEmail, String customerPhone) {
+        return eventId + "|" + seatType + "|" + quantity + "|" +
+               customerName + "|" + customerEmail + "|" + customerPhone;
+    }
+
+    private static String fingerprint(Booking booking) {
+        return fingerprint(booking.getEventId(), booking.getSeatType(), booking.getQuantity(),
+                           booking.getCustomerName(), booking.getCustomerEmail(), booking.getCustomerPhone());
+    }
+    
+    /**
+     * Check that the customer came through the waiting room, when it is enabled
+     * @param eventId event ID
+     * @param pass pass given on admission, may be null
+     * @return true if the customer may book
+     */
+    private boolean isAdmitted(int eventId, AdmissionPass pass) {
+        WaitingRoom waitingRoom = WaitingRoom.getInstance();
+        if (waitingRoom.isEnabled() && !waitingRoom.isAdmitted(eventId, pass)) {
+            logger.error("No valid waiting room pass for event ID: {}", eventId);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Check the customer details of a booking
+     * @param customerName customer name, required
+     * @param customerEmail customer email, optional
+     * @param customerPhone customer phone, optional
+     * @return true if valid, false otherwise
+     */
+    private boolean isValidCustomer(String customerName, String customerEmail, String customerPhone) {
+        if (customerName == null || customerName.trim().isEmpty()) {
+            logger.error("Customer name cannot be empty");
+            return false;
         }
         
-        return Booking.calculateTotalPrice(event.getBasePrice(), seatType, quantity);
+        if (customerEmail != null && !customerEmail.trim().isEmpty() && 
+            !EMAIL_PATTERN.matcher(customerEmail).matches()) {
+            logger.error("Invalid email format: {}", customerEmail);
+            return false;
+        }
+        
+        if (customerPhone != null && !customerPhone.trim().isEmpty() && 
+            !PHONE_PATTERN.matcher(customerPhone).matches()) {
+            logger.error("Invalid phone number format: {}", customerPhone);
+            return false;
+        }
+        return true;
     }
     
     /**
@@ -0,0 +1,36 @@
+package com.ticketbooking.controller;
+
+import com.ticketbooking.cache.DashboardStatsCache;
+import com.ticketbooking.model.DashboardStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Controller for admin dashboard statistics
+ */
+public class DashboardController {
+    private static final Logger logger = LogManager.getLogger(DashboardController.class);
+    private final DashboardStatsCache statsCache;
+
+    public DashboardController() {
+        this.statsCache = DashboardStatsCache.getInstance();
+    }
+
+    /**
+     * Get dashboard statistics from the cache
+     * @return DashboardStats, or null if they could not be loaded
+     */
+    public DashboardStats getDashboardStats() {
+        logger.debug("Getting dashboard statistics");
+        return statsCache.getStats();
+    }
+
+    /**
+     * Reload dashboard statistics from the database
+     * @return DashboardStats, or null if they could not be loaded
+     */
+    public DashboardStats refreshDashboardStats() {
+        logger.info("Reloading dashboard statistics");
+        return statsCache.reload();
+    }
+}
@@ -1,13 +1,28 @@
 package com.ticketbooking.controller;
 
+import com.ticketbooking.cache.DashboardStatsCache;
 import com.ticketbooking.dao.EventDAO;
+import com.ticketbooking.dao.PricingRuleDAO;
+import com.ticketbooking.dao.SeatingDAO;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.ledger.LedgerService;
+import com.ticketbooking.model.Booking;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.EventSeatState;
+import com.ticketbooking.model.EventSummary;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.PricingRule;
+import com.ticketbooking.model.SeatLayout;
+import com.ticketbooking.pricing.PricingService;
+import com.ticketbooking.search.EventSearchService;
+import com.ticketbooking.seating.ReservedSeating;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -15,10 +30,18 @@ import java.util.List;
  */
 public class EventController {
     private static final Logger logger = LogManager.getLogger(EventController.class);
+
+    // Most counter rows the seats of one event can be split over
+    public static final int MAX_SEAT_STRIPES = 64;
+
     private final EventDAO eventDAO;
+    private final SeatingDAO seatingDAO;
+    private final PricingRuleDAO pricingRuleDAO;
     
     public EventController() {
         this.eventDAO = new EventDAO();
+        this.seatingDAO = new SeatingDAO();
+        this.pricingRuleDAO = new PricingRuleDAO();
     }
     
     /**
@@ -31,14 +54,64 @@ public class EventController {
     }
     
     /**
-     * Get events by date range
+     * Get summaries of all events for list views
+     * @return List of event summaries
+     */
+    public List<EventSummary> getAllEventSummaries() {
+        logger.info("Getting all event summaries");
+        return eventDAO.getAllEventSummaries();
+    }
+    
+    /**
+     * Search events by name, venue and description
+     * @param query search text
+     * @param limit maximum number of events to return
+     * @return summaries of the matching events, best match first
+     */
+    public List<EventSummary> searchEvents(String query, int limit) {
+        logger.info("Searching events for: {}", query);
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return EventSearchService.getInstance().search(query.trim(), limit);
+    }
+
+    /**
+     * Suggest events by name and venue while the user is typing
+     * @param query search text; its last word may be incomplete
+     * @param limit maximum number of events to return
+     * @return summaries of the matching events, best match first
+     */
+    public List<EventSummary> suggestEvents(String query, int limit) {
+        logger.debug("Suggesting events for: {}", query);
+        if (query == null || query.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return EventSearchService.getInstance().suggest(query, limit);
+    }
+    
+    /**
+     * Get summaries of events by date range
      * @param startDate start date of the range
      * @param endDate end date of the range
-     * @return List of events within the date range
+     * @return List of event summaries within the date range
      */
-    public List<Event> getEventsByDateRange(LocalDate startDate, LocalDate endDate) {
+    public List<EventSummary> getEventSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
         logger.info("Getting events between {} and {}", startDate, endDate);
-        return eventDAO.getEventsByDateRange(startDate, endDate);
+        return eventDAO.getEventSummariesByDateRange(startDate, endDate);
+    }
+    
+    /**
+     * Get one page of event summaries ordered by date and time
+     * @param afterDate date of the last event on the previous page, or null for the first page
+     * @param afterTime time of the last event on the previous page
+     * @param afterId ID of the last event on the previous page
+     * @param limit maximum number of events to return
+     * @return List of event summaries, or null if they could not be loaded
+     */
+    public List<EventSummary> getEventSummariesPage(LocalDate afterDate, LocalTime afterTime, int afterId, int limit) {
+        logger.debug("Getting events page after {} {} / {}", afterDate, afterTime, afterId);
+        return eventDAO.getEventSummariesPage(afterDate, afterTime, afterId, limit);
     }
     
     /**
@@ -63,7 +136,51 @@ public class EventController {
      * @return true if successful, false otherwise
      */
     public boolean createEvent(String name, String description, LocalDate date, LocalTime time, 
-                              String venue, int totalSeats, BigDecimal basePrice) {
+                              String venue, int totalSeats, Money basePrice) {
+        return createEvent(name, description, date, time, venue, totalSeats, basePrice, 1);
+    }
+    
+    /**
+     * Create a new event whose seats are split over several counter rows, so that
+     * concurrent bookings of a popular event update different rows
+     * @param name event name
+     * @param description event description
+     * @param date event date
+     * @param time event time
+     * @param venue event venue
+     * @param totalSeats total number of seats
+     * @param basePrice base price per ticket
+     * @param seatStripes number of counter rows, 1 to keep the seats in the event row
+     * @return true if successful, false otherwise
+     */
+    public boolean createEvent(String name, String description, LocalDate date, LocalTime time, 
+                              String venue, int totalSeats, Money basePrice, int seatStripes) {
+        return createEvent(name, description, date, time, venue, totalSeats, basePrice, seatStripes, 0);
+    }
+    
+    /**
+     * Create a new event with reserved seating, whose bookings are assigned seats from
+     * a seat layout. The event has as many seats as the layout.
+     * @param name event name
+     * @param description event description
+     * @param date event date
+     * @param time event time
+     * @param venue event venue
+     * @param basePrice base price per ticket
+     * @param layout seat layout of the venue
+     * @return true if successful, false otherwise
+     */
+    public boolean createEvent(String name, String description, LocalDate date, LocalTime time, 
+                              String venue, Money basePrice, SeatLayout layout) {
+        if (layout == null || layout.getId() <= 0) {
+            logger.error("Seat layout must be saved before events can use it");
+            return false;
+        }
+        return createEvent(name, description, date, time, venue, layout.getSeatCount(), basePrice, 1, layout.getId());
+    }
+    
+    private boolean createEvent(String name, String description, LocalDate date, LocalTime time, 
+                               String venue, int totalSeats, Money basePrice, int seatStripes, int layoutId) {
         logger.info("Creating new event: {}", name);
         
         // Validate input
@@ -92,13 +209,26 @@ public class EventController {
             return false;
         }
         
-        if (basePrice == null || basePrice.compareTo(BigDecimal.ZERO) <= 0) {
+        if (basePrice == null || !basePrice.isPositive()) {
             logger.error("Base price must be greater than zero");
             return false;
         }
         
+        if (seatStripes < 1 || seatStripes > Math.min(MAX_SEAT_STRIPES, totalSeats)) {
+            logger.error("Seat stripes must be between 1 and {} and at most the total seats", MAX_SEAT_STRIPES);
+            return false;
+        }
+        
         Event event = new Event(name, description, date, time, venue, totalSeats, totalSeats, basePrice);
-        return eventDAO.addEvent(event);
+        event.setSeatStripes(seatStripes);
+        event.setLayoutId(layoutId);
+        if (!eventDAO.addEvent(event)) {
+            return false;
+        }
+
+        DashboardStatsCache.getInstance().onEventAdded();
+        EventSearchService.getInstance().onEventSaved(event);
+        return true;
     }
     
     /**
@@ -115,7 +245,7 @@ public class EventController {
      * @return true if successful, false otherwise
      */
     public boolean updateEvent(int id, String name, String description, LocalDate date, LocalTime time, 
-                              String venue, int totalSeats, int availableSeats, BigDecimal basePrice) {
+                              String venue, int totalSeats, int availableSeats, Money basePrice) {
         logger.info("Updating event with ID: {}", id);
         
         // Get existing event
@@ -156,7 +286,7 @@ public class EventController {
             return false;
         }
         
-        if (basePrice == null || basePrice.compareTo(BigDecimal.ZERO) <= 0) {
+        if (basePrice == null || !basePrice.isPositive()) {
             logger.error("Base price must be greater than zero");
             return false;
         }
@@ -171,7 +301,15 @@ public class EventController {
         existingEvent.setAvailableSeats(availableSeats);
         existingEvent.setBasePrice(basePrice);
         
-        return eventDAO.updateEvent(existingEvent);
+        if (!eventDAO.updateEvent(existingEvent)) {
+            return false;
+        }
+
+        // Available seats may have been edited, so reload them into the inventory
+        refreshSeatInventory(id);
+        PricingService.getInstance().invalidate(id);
+        EventSearchService.getInstance().onEventSaved(existingEvent);
+        return true;
     }
     
     /**
@@ -181,7 +319,125 @@ public class EventController {
      */
     public boolean deleteEvent(int id) {
         logger.info("Deleting event with ID: {}", id);
-        return eventDAO.deleteEvent(id);
+        if (!eventDAO.deleteEvent(id)) {
+            return false;
+        }
+
+        // Deleting an event cascades to its bookings, so reload all figures
+        DashboardStatsCache.getInstance().invalidate();
+        refreshSeatInventory(id);
+        ReservedSeating.getInstance().forget(id);
+        PricingService.getInstance().invalidate(id);
+        EventSearchService.getInstance().onEventDeleted(id);
+        return true;
+    }
+
+    /**
+     * Get the pricing rules of an event
+     * @param eventId event ID
+     * @return List of pricing rules, empty if the event has none or they could not be loaded
+     */
+    public List<PricingRule> getPricingRules(int eventId) {
+        logger.info("Getting pricing rules of event ID: {}", eventId);
+        List<PricingRule> rules = pricingRuleDAO.getRulesByEventId(eventId);
+        return rules != null ? rules : new ArrayList<>();
+    }
+    
+    /**
+     * Replace the pricing rules of an event and rebuild its price table
+     * @param eventId event ID
+     * @param rules new pricing rules, empty to price by seat type only
+     * @return true if successful, false otherwise
+     */
+    public boolean setPricingRules(int eventId, List<PricingRule> rules) {
+        logger.info("Setting {} pricing rules of event ID: {}", rules.size(), eventId);
+        
+        for (PricingRule rule : rules) {
+            if (!isValidPricingRule(rule)) {
+                logger.error("Invalid pricing rule: {}", rule);
+                return false;
+            }
+        }
+        
+        if (!pricingRuleDAO.replaceRules(eventId, rules)) {
+            return false;
+        }
+        
+        PricingService.getInstance().invalidate(eventId);
+        return true;
+    }
+    
+    private boolean isValidPricingRule(PricingRule rule) {
+        if (rule.getType() == null || rule.getFactor() == null || rule.getFactor().compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        
+        switch (rule.getType()) {
+            case PricingRule.TYPE_SEAT_TYPE:
+                return Booking.SEAT_TYPE_STANDARD.equals(rule.getSeatType()) ||
+                       Booking.SEAT_TYPE_VIP.equals(rule.getSeatType()) ||
+                       Booking.SEAT_TYPE_PREMIUM.equals(rule.getSeatType());
+            case PricingRule.TYPE_EARLY_BIRD:
+                return rule.getThreshold() >= 0;
+            case PricingRule.TYPE_DEMAND:
+                return rule.getThreshold() >= 0 && rule.getThreshold() <= 100;
+            case PricingRule.TYPE_QUANTITY:
+                return rule.getThreshold() >= 1;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Get all seat layouts
+     * @return List of seat layouts
+     */
+    public List<SeatLayout> getAllSeatLayouts() {
+        logger.info("Getting all seat layouts");
+        return seatingDAO.getAllLayouts();
+    }
+    
+    /**
+     * Create a new seat layout
+     * @param layout layout with its rows; its ID is set on success
+     * @return true if successful, false otherwise
+     */
+    public boolean createSeatLayout(SeatLayout layout) {
+        logger.info("Creating new seat layout: {}", layout.getName());
+        
+        if (layout.getName() == null || layout.getName().trim().isEmpty()) {
+            logger.error("Seat layout name cannot be empty");
+            return false;
+        }
+        
+        if (layout.getRows().isEmpty()) {
+            logger.error("Seat layout must have at least one row");
+            return false;
+        }
+        
+        return seatingDAO.addLayout(layout);
+    }
+
+    /**
+     * Drop the inventory counter of an event so it is reloaded from the database
+     * @param eventId event ID
+     */
+    private void refreshSeatInventory(int eventId) {
+        SeatInventory inventory = SeatInventory.getInstance();
+        if (inventory.isEnabled()) {
+            inventory.refresh(eventId);
+        }
+    }
+    
+    /**
+     * Get the booked seats, bookings and revenue of an event from the booking ledger,
+     * without scanning its bookings
+     * @param eventId event ID
+     * @return seat state of the event, or null if it could not be loaded
+     */
+    public EventSeatState getSeatState(int eventId) {
+        logger.debug("Getting seat state of event ID: {}", eventId);
+        return LedgerService.getInstance().getSeatState(eventId);
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.ticketbooking.controller;
 
+import com.ticketbooking.cache.DashboardStatsCache;
 import com.ticketbooking.dao.UserDAO;
 import com.ticketbooking.model.User;
 import org.apache.logging.log4j.LogManager;
@@ -122,7 +123,12 @@ public class UserController {
 
         // Create user
         User user = new User(username, password, role, email);
-        return userDAO.addUser(user);
+        if (!userDAO.addUser(user)) {
+            return false;
+        }
+
+        DashboardStatsCache.getInstance().onUserCountChanged(1);
+        return true;
     }
 
     /**
@@ -187,6 +193,7 @@ public class UserController {
                 logger.error("Error setting user as verified: {}", username, e);
             }
 
+            DashboardStatsCache.getInstance().onUserCountChanged(1);
             logger.info("User registered successfully: {}", username);
             return user;
         }
@@ -281,7 +288,12 @@ public class UserController {
      */
     public boolean deleteUser(int id) {
         logger.info("Deleting user with ID: {}", id);
-        return userDAO.deleteUser(id);
+        if (!userDAO.deleteUser(id)) {
+            return false;
+        }
+
+        DashboardStatsCache.getInstance().onUserCountChanged(-1);
+        return true;
     }
 
     /**
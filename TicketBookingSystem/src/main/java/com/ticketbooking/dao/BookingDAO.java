@@ -1,15 +1,27 @@
 package com.ticketbooking.dao;
 
+import com.ticketbooking.cache.EntityCache;
+import com.ticketbooking.cache.EntityCaches;
 import com.ticketbooking.database.DBConnection;
 import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.BookingOutcome;
+import com.ticketbooking.model.BookingRow;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.SeatAssignment;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 /**
  * Data Access Object for Booking entities
@@ -18,23 +30,66 @@ public class BookingDAO {
     private static final Logger logger = LogManager.getLogger(BookingDAO.class);
     private final EventDAO eventDAO = new EventDAO();
 
+    // Bookings joined with their event so both are loaded in one round trip.
+    // Event columns are aliased with an e_ prefix to avoid clashing with booking columns.
+    private static final String SELECT_BOOKING_WITH_EVENT =
+        "SELECT b.*, e.id AS e_id, e.name AS e_name, e.description AS e_description, " +
+        "e.date AS e_date, e.time AS e_time, e.venue AS e_venue, e.total_seats AS e_total_seats, " +
+        "e.available_seats AS e_available_seats, e.base_price AS e_base_price, e.seat_stripes AS e_seat_stripes, " +
+        "e.layout_id AS e_layout_id " +
+        "FROM bookings b LEFT JOIN event_inventory e ON e.id = b.event_id ";
+
+    // Booking list columns with only the event name, in the order mapBookingRow reads them
+    private static final String SELECT_BOOKING_ROW =
+        "SELECT b.id, b.customer_name, e.name, b.seat_type, b.quantity, b.total_price, b.booking_time " +
+        "FROM bookings b LEFT JOIN events e ON e.id = b.event_id ";
+
+    // Booking time to page on, with bookings that have none sorted after all others;
+    // matches the expression of idx_bookings_time_id
+    private static final String BOOKING_TIME_KEY = "COALESCE(b.booking_time, '-infinity'::timestamp)";
+
+    private static final String BOOKING_ROW_ORDER = BOOKING_TIME_KEY + " DESC, b.id DESC";
+
+    private static final String INSERT_BOOKING =
+        "INSERT INTO bookings (customer_name, customer_email, customer_phone, " +
+        "event_id, seat_type, quantity, total_price, idempotency_key) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Inserts a booking unless another booking already has its idempotency key
+    private static final String INSERT_NEW_BOOKING =
+        INSERT_BOOKING + " ON CONFLICT (idempotency_key) DO NOTHING";
+
+    // Inserts a booking for the seats taken by one of the SeatTaking statements,
+    // returning the new booking ID, or no row if no seats were taken
+    private static final String INSERT_TAKEN_BOOKING =
+        "INSERT INTO bookings (customer_name, customer_email, customer_phone, " +
+        "event_id, seat_type, quantity, total_price, idempotency_key) " +
+        "SELECT ?, ?, ?, taken.event_id, ?, ?, ?, ? FROM taken RETURNING id";
+
+    // Takes the seats only if enough are left and inserts the booking only if they were
+    // taken; no row comes back if the event is missing, sold out or keeps its seats in stripes
+    private static final String BOOK_SEATS = SeatTaking.TAKE_EVENT_SEATS + INSERT_TAKEN_BOOKING;
+
+    // Same for a striped event, taking the seats from one stripe
+    private static final String BOOK_STRIPE_SEATS = SeatTaking.TAKE_STRIPE_SEATS + INSERT_TAKEN_BOOKING;
+
     /**
      * Get all bookings from the database
      * @return List of all bookings
      */
     public List<Booking> getAllBookings() {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings ORDER BY booking_time DESC";
+        String sql = SELECT_BOOKING_WITH_EVENT + "ORDER BY b.booking_time DESC";
 
         try (Connection conn = DBConnection.getInstance().getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            // Each event is built once and shared by all of its bookings
+            Map<Integer, Event> events = new HashMap<>();
             while (rs.next()) {
                 Booking booking = mapResultSetToBooking(rs);
-                // Load associated event
-                Event event = eventDAO.getEventById(booking.getEventId());
-                booking.setEvent(event);
+                booking.setEvent(mapJoinedEvent(rs, events));
                 bookings.add(booking);
             }
         } catch (SQLException e) {
@@ -51,7 +106,7 @@ public class BookingDAO {
      */
     public List<Booking> getBookingsByEventId(int eventId) {
         List<Booking> bookings = new ArrayList<>();
-        String sql = "SELECT * FROM bookings WHERE event_id = ? ORDER BY booking_time DESC";
+        String sql = SELECT_BOOKING_WITH_EVENT + "WHERE b.event_id = ? ORDER BY b.booking_time DESC";
 
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -59,11 +114,10 @@ public class BookingDAO {
             pstmt.setInt(1, eventId);
 
             try (ResultSet rs = pstmt.executeQuery()) {
+                Map<Integer, Event> events = new HashMap<>();
                 while (rs.next()) {
                     Booking booking = mapResultSetToBooking(rs);
-                    // Load associated event
-                    Event event = eventDAO.getEventById(booking.getEventId());
-                    booking.setEvent(event);
+                    booking.setEvent(mapJoinedEvent(rs, events));
                     bookings.add(booking);
                 }
             }
@@ -75,12 +129,65 @@ public class BookingDAO {
     }
 
     /**
-     * Get booking by ID
+     * Get one page of booking rows, newest first, using keyset pagination. Bookings
+     * without a booking time come last. Pass 0 for afterId to get the first page;
+     * otherwise pass the booking time and ID of the last booking on the previous page.
+     * @param afterBookingTime booking time of the last booking on the previous page, or null if it has none
+     * @param afterId ID of the last booking on the previous page, or 0 for the first page
+     * @param limit maximum number of bookings to return
+     * @return List of at most limit booking rows following the given key, or null if the query failed
+     */
+    public List<BookingRow> getBookingRowsPage(LocalDateTime afterBookingTime, int afterId, int limit) {
+        List<BookingRow> bookings = new ArrayList<>();
+        String sql = afterId <= 0
+            ? SELECT_BOOKING_ROW + "ORDER BY " + BOOKING_ROW_ORDER + " LIMIT ?"
+            : SELECT_BOOKING_ROW + "WHERE (" + BOOKING_TIME_KEY + ", b.id) < " +
+              "(COALESCE(?::timestamp, '-infinity'::timestamp), ?) ORDER BY " + BOOKING_ROW_ORDER + " LIMIT ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterId > 0) {
+                pstmt.setTimestamp(index++, afterBookingTime != null ? Timestamp.valueOf(afterBookingTime) : null);
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bookings.add(mapBookingRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving bookings page after ID: " + afterId, e);
+            return null;
+        }
+
+        return bookings;
+    }
+
+    /**
+     * Get booking by ID, from the entity cache when possible. Cached bookings do not
+     * keep their event, so the event is taken from the event cache.
      * @param id booking ID
      * @return Booking object if found, null otherwise
      */
     public Booking getBookingById(int id) {
-        String sql = "SELECT * FROM bookings WHERE id = ?";
+        Booking booking = EntityCaches.getInstance().bookings().get(id, this::loadBookingById);
+        if (booking != null && booking.getEvent() == null) {
+            booking.setEvent(eventDAO.getEventById(booking.getEventId()));
+        }
+        return booking;
+    }
+
+    /**
+     * Load a booking and its event from the database
+     * @param id booking ID
+     * @return Booking object if found, null otherwise
+     */
+    private Booking loadBookingById(int id) {
+        String sql = SELECT_BOOKING_WITH_EVENT + "WHERE b.id = ?";
 
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -90,9 +197,7 @@ public class BookingDAO {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     Booking booking = mapResultSetToBooking(rs);
-                    // Load associated event
-                    Event event = eventDAO.getEventById(booking.getEventId());
-                    booking.setEvent(event);
+                    booking.setEvent(mapJoinedEvent(rs, new HashMap<>()));
                     return booking;
                 }
             }
@@ -103,119 +208,389 @@ public class BookingDAO {
         return null;
     }
 
+    /**
+     * Find the booking made by a request with the given idempotency key
+     * @param idempotencyKey key sent with the booking request
+     * @return Booking object if found, null otherwise
+     */
+    public Booking getBookingByIdempotencyKey(String idempotencyKey) {
+        String sql = SELECT_BOOKING_WITH_EVENT + "WHERE b.idempotency_key = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, idempotencyKey);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Booking booking = mapResultSetToBooking(rs);
+                    booking.setEvent(mapJoinedEvent(rs, new HashMap<>()));
+                    return booking;
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving booking by idempotency key: " + idempotencyKey, e);
+        }
+
+        return null;
+    }
+
     /**
      * Add a new booking to the database
      * @param booking Booking object to add
      * @return true if successful, false otherwise
      */
     public boolean addBooking(Booking booking) {
-        String sql = "INSERT INTO bookings (customer_name, customer_email, customer_phone, " +
-                     "event_id, seat_type, quantity, total_price) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        return bookSeats(booking).isBooked();
+    }
+
+    /**
+     * Take the seats for a booking and insert it in a single statement. The seats are
+     * only taken if enough are left, and the booking is only inserted if they were, so
+     * the event row stays locked for just this one statement. Striped events take the
+     * seats from a random stripe instead, and gather them from several stripes only
+     * when no single stripe has enough.
+     * @param booking Booking object to add; its ID is set when booked
+     * @return BOOKED, or why the booking was not saved
+     */
+    public BookingOutcome bookSeats(Booking booking) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            // The event is already known to be striped when the booking carries it
+            Event event = booking.getEvent();
+            int seatStripes = event != null && event.getId() == booking.getEventId() ? event.getSeatStripes() : 1;
+
+            if (seatStripes <= 1) {
+                if (executeBooking(conn, BOOK_SEATS, booking,
+                                   SeatTaking.eventSeatParameters(booking.getEventId(), booking.getQuantity()))) {
+                    return BookingOutcome.BOOKED;
+                }
+                // Nothing was written; look up why only now that no lock is held
+                seatStripes = SeatTaking.seatStripes(conn, booking.getEventId());
+            }
 
-        Connection conn = null;
-        PreparedStatement pstmt = null;
+            BookingOutcome outcome;
+            if (seatStripes == 0) {
+                outcome = BookingOutcome.EVENT_NOT_FOUND;
+            } else if (seatStripes == 1) {
+                outcome = BookingOutcome.SOLD_OUT;
+            } else {
+                outcome = bookStripedSeats(conn, booking, seatStripes);
+                if (outcome == BookingOutcome.BOOKED) {
+                    return outcome;
+                }
+            }
+            logger.error("Booking for event ID {} not saved: {}. Requested: {}",
+                        booking.getEventId(), outcome, booking.getQuantity());
+            return outcome;
+        } catch (SQLException e) {
+            logger.error("Error adding booking: {}", e.getMessage(), e);
+            return BookingOutcome.FAILED;
+        } finally {
+            // Available seats of the event have changed
+            EntityCaches.getInstance().events().invalidate(booking.getEventId());
+        }
+    }
 
+    /**
+     * Take the seats for a booking of a striped event. One statement takes them from a
+     * random stripe that has enough left; if none has, every stripe of the event is
+     * locked and the seats are gathered from as many stripes as needed.
+     */
+    private BookingOutcome bookStripedSeats(Connection conn, Booking booking, int seatStripes) throws SQLException {
+        int start = SeatTaking.randomStripe(seatStripes);
+        if (executeBooking(conn, BOOK_STRIPE_SEATS, booking,
+                           SeatTaking.stripeSeatParameters(booking.getEventId(), booking.getQuantity(), start,
+                                                           seatStripes))) {
+            return BookingOutcome.BOOKED;
+        }
+
+        conn.setAutoCommit(false);
         try {
-            conn = DBConnection.getInstance().getConnection();
+            if (!SeatTaking.takeFromStripes(conn, booking.getEventId(), booking.getQuantity(), start, seatStripes)) {
+                conn.rollback();
+                return BookingOutcome.SOLD_OUT;
+            }
+            insertBookings(conn, List.of(booking));
+            conn.commit();
+            logger.info("Booking committed from several seat stripes. Booking ID: {}", booking.getId());
+            return BookingOutcome.BOOKED;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
 
-            // Important: Set autoCommit to false to start a transaction
+    /**
+     * Run one of the booking statements, which take the seat parameters of their
+     * SeatTaking head followed by the booking columns, and set the ID of the inserted booking
+     * @return true if the booking was inserted
+     */
+    private boolean executeBooking(Connection conn, String sql, Booking booking, int... seatParameters)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int parameter : seatParameters) {
+                pstmt.setInt(index++, parameter);
+            }
+            pstmt.setString(index++, booking.getCustomerName());
+            pstmt.setString(index++, booking.getCustomerEmail());
+            pstmt.setString(index++, booking.getCustomerPhone());
+            pstmt.setString(index++, booking.getSeatType());
+            pstmt.setInt(index++, booking.getQuantity());
+            pstmt.setBigDecimal(index++, booking.getTotalPrice().toBigDecimal());
+            pstmt.setString(index, booking.getIdempotencyKey());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    booking.setId(rs.getInt(1));
+                    logger.info("Booking committed. Booking ID: {}", booking.getId());
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add several bookings in one transaction. Seats are taken with one guarded
+     * update per event and the bookings are inserted as a single JDBC batch.
+     * If any event lacks the seats, nothing is written.
+     * @param bookings bookings to add; their IDs are set on success
+     * @return true if all bookings were added, false otherwise
+     */
+    public boolean addBookings(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return true;
+        }
+
+        // Total seats per event, in ID order so concurrent batches lock rows in the same order
+        Map<Integer, Integer> seatsByEvent = new TreeMap<>();
+        for (Booking booking : bookings) {
+            seatsByEvent.merge(booking.getEventId(), booking.getQuantity(), Integer::sum);
+        }
+
+        // Striped events are not taken here, so their bookings fail the batch
+        String updateSeatsSql = "UPDATE events SET available_seats = available_seats - ? " +
+                                "WHERE id = ? AND available_seats >= ? AND seat_stripes <= 1";
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
             conn.setAutoCommit(false);
-            logger.info("Starting transaction for new booking by: {}", booking.getCustomerName());
-
-            // First check if the event exists and has enough seats
-            String checkEventSql = "SELECT available_seats FROM events WHERE id = ? FOR UPDATE";
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkEventSql)) {
-                checkStmt.setInt(1, booking.getEventId());
-                try (ResultSet rs = checkStmt.executeQuery()) {
-                    if (!rs.next()) {
-                        logger.error("Event with ID {} not found", booking.getEventId());
-                        conn.rollback();
-                        return false;
+            try {
+                try (PreparedStatement updateStmt = conn.prepareStatement(updateSeatsSql)) {
+                    for (Map.Entry<Integer, Integer> entry : seatsByEvent.entrySet()) {
+                        updateStmt.setInt(1, entry.getValue());
+                        updateStmt.setInt(2, entry.getKey());
+                        updateStmt.setInt(3, entry.getValue());
+                        updateStmt.addBatch();
                     }
 
-                    int availableSeats = rs.getInt("available_seats");
-                    if (availableSeats < booking.getQuantity()) {
-                        logger.error("Not enough seats available. Requested: {}, Available: {}",
-                                    booking.getQuantity(), availableSeats);
-                        conn.rollback();
-                        return false;
+                    int[] updatedRows = updateStmt.executeBatch();
+                    for (int rows : updatedRows) {
+                        if (rows == 0) {
+                            logger.error("Not enough seats available for batch of {} bookings", bookings.size());
+                            conn.rollback();
+                            return false;
+                        }
                     }
                 }
+
+                insertBookings(conn, bookings);
+                conn.commit();
+                logger.info("Batch of {} bookings committed for {} events", bookings.size(), seatsByEvent.size());
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
+        } catch (SQLException e) {
+            logger.error("Error adding batch of {} bookings", bookings.size(), e);
+            return false;
+        } finally {
+            invalidateEvents(seatsByEvent.keySet());
+        }
+    }
 
-            // Update available seats in the event
-            String updateSeatsSql = "UPDATE events SET available_seats = available_seats - ? WHERE id = ?";
-            try (PreparedStatement updateStmt = conn.prepareStatement(updateSeatsSql)) {
-                updateStmt.setInt(1, booking.getQuantity());
-                updateStmt.setInt(2, booking.getEventId());
-
-                int updatedRows = updateStmt.executeUpdate();
-                if (updatedRows == 0) {
-                    logger.error("Failed to update available seats for event ID: {}", booking.getEventId());
-                    conn.rollback();
-                    return false;
-                }
+    /**
+     * Add a group of bookings from concurrent callers in one transaction. Each event
+     * row is locked once for the whole group, seats are handed out in list order, and
+     * the seats of every event are taken with a single update. Bookings that do not
+     * fit in the remaining seats, or whose idempotency key is already used, are rejected
+     * without affecting the others. Bookings of striped events are written one at a time
+     * after the group.
+     * @param bookings bookings to add; the IDs of accepted bookings are set
+     * @return per-booking result in list order, or null if the transaction failed
+     */
+    public boolean[] addBookingGroup(List<Booking> bookings) {
+        boolean[] accepted = new boolean[bookings.size()];
+        if (bookings.isEmpty()) {
+            return accepted;
+        }
 
-                logger.info("Updated available seats for event ID: {}, reduced by: {}",
-                           booking.getEventId(), booking.getQuantity());
-            }
+        Set<Integer> eventIds = new TreeSet<>();
+        for (Booking booking : bookings) {
+            eventIds.add(booking.getEventId());
+        }
 
-            // Then create the booking
-            pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            pstmt.setString(1, booking.getCustomerName());
-            pstmt.setString(2, booking.getCustomerEmail());
-            pstmt.setString(3, booking.getCustomerPhone());
-            pstmt.setInt(4, booking.getEventId());
-            pstmt.setString(5, booking.getSeatType());
-            pstmt.setInt(6, booking.getQuantity());
-            pstmt.setBigDecimal(7, booking.getTotalPrice());
+        List<Integer> unlocked = new ArrayList<>();
+        // Striped events are left unlocked and their bookings are written one at a time
+        String lockEventsSql = "SELECT id, available_seats FROM events WHERE id = ANY(?) AND seat_stripes <= 1 " +
+                               "ORDER BY id FOR UPDATE";
+        String updateSeatsSql = "UPDATE events SET available_seats = available_seats - ? WHERE id = ?";
 
-            int affectedRows = pstmt.executeUpdate();
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<Integer, Integer> availableSeats = new HashMap<>();
+                try (PreparedStatement lockStmt = conn.prepareStatement(lockEventsSql)) {
+                    lockStmt.setArray(1, conn.createArrayOf("integer", eventIds.toArray()));
+                    try (ResultSet rs = lockStmt.executeQuery()) {
+                        while (rs.next()) {
+                            availableSeats.put(rs.getInt("id"), rs.getInt("available_seats"));
+                        }
+                    }
+                }
 
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        booking.setId(generatedKeys.getInt(1));
-                        conn.commit();
-                        logger.info("Booking transaction committed successfully. Booking ID: {}", booking.getId());
-                        return true;
+                // Hand out seats in arrival order
+                Map<Integer, Integer> seatsByEvent = new TreeMap<>();
+                List<Booking> acceptedBookings = new ArrayList<>();
+                int saved = 0;
+                for (int i = 0; i < bookings.size(); i++) {
+                    Booking booking = bookings.get(i);
+                    Integer seats = availableSeats.get(booking.getEventId());
+                    if (seats == null) {
+                        // Striped or missing event, booked after the group
+                        unlocked.add(i);
+                        continue;
+                    }
+                    if (seats < booking.getQuantity()) {
+                        logger.error("Not enough seats available for event ID: {}. Requested: {}, Available: {}",
+                                    booking.getEventId(), booking.getQuantity(), seats);
+                        continue;
                     }
+                    availableSeats.put(booking.getEventId(), seats - booking.getQuantity());
+                    acceptedBookings.add(booking);
+                    accepted[i] = true;
                 }
-            }
 
-            logger.error("Failed to insert booking record");
-            conn.rollback();
-            return false;
-        } catch (SQLException e) {
-            logger.error("Error adding booking: {}", e.getMessage(), e);
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                    logger.info("Transaction rolled back due to error");
-                } catch (SQLException ex) {
-                    logger.error("Error rolling back transaction: {}", ex.getMessage(), ex);
+                if (!acceptedBookings.isEmpty()) {
+                    // Insert first so bookings with a used idempotency key take no seats
+                    boolean[] inserted = insertNewBookings(conn, acceptedBookings);
+                    for (int i = 0, j = 0; i < bookings.size(); i++) {
+                        if (!accepted[i]) {
+                            continue;
+                        }
+                        Booking booking = bookings.get(i);
+                        if (inserted[j++]) {
+                            seatsByEvent.merge(booking.getEventId(), booking.getQuantity(), Integer::sum);
+                            saved++;
+                        } else {
+                            logger.error("Booking for event ID {} not saved: idempotency key {} already used",
+                                        booking.getEventId(), booking.getIdempotencyKey());
+                            accepted[i] = false;
+                        }
+                    }
+
+                    try (PreparedStatement updateStmt = conn.prepareStatement(updateSeatsSql)) {
+                        for (Map.Entry<Integer, Integer> entry : seatsByEvent.entrySet()) {
+                            updateStmt.setInt(1, entry.getValue());
+                            updateStmt.setInt(2, entry.getKey());
+                            updateStmt.addBatch();
+                        }
+                        updateStmt.executeBatch();
+                    }
                 }
+
+                conn.commit();
+                logger.info("Group of {} bookings committed, {} accepted", bookings.size(), saved);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
-            return false;
+        } catch (SQLException e) {
+            logger.error("Error adding group of {} bookings", bookings.size(), e);
+            invalidateEvents(eventIds);
+            return null;
+        }
+
+        try {
+            for (int i : unlocked) {
+                accepted[i] = bookSeats(bookings.get(i)).isBooked();
+            }
+            return accepted;
         } finally {
-            if (pstmt != null) {
-                try {
-                    pstmt.close();
-                } catch (SQLException e) {
-                    logger.error("Error closing prepared statement: {}", e.getMessage(), e);
+            invalidateEvents(eventIds);
+        }
+    }
+
+    /**
+     * Drop cached events whose available seats were changed by a booking write
+     */
+    private void invalidateEvents(Collection<Integer> eventIds) {
+        EntityCache<Integer, Event> events = EntityCaches.getInstance().events();
+        for (Integer eventId : eventIds) {
+            events.invalidate(eventId);
+        }
+    }
+
+    /**
+     * Insert bookings as one JDBC batch on an open transaction and set their generated IDs
+     */
+    static void insertBookings(Connection conn, List<Booking> bookings) throws SQLException {
+        try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS)) {
+            for (Booking booking : bookings) {
+                setBookingColumns(insertStmt, booking);
+                insertStmt.addBatch();
+            }
+            insertStmt.executeBatch();
+
+            try (ResultSet generatedKeys = insertStmt.getGeneratedKeys()) {
+                for (int i = 0; i < bookings.size() && generatedKeys.next(); i++) {
+                    bookings.get(i).setId(generatedKeys.getInt(1));
                 }
             }
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                    logger.info("Database connection closed after booking operation");
-                } catch (SQLException e) {
-                    logger.error("Error closing connection: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Insert bookings as one JDBC batch on an open transaction, skipping any whose
+     * idempotency key is already used, and set the generated IDs of the others
+     * @return per-booking result in list order, true if the booking was inserted
+     */
+    private static boolean[] insertNewBookings(Connection conn, List<Booking> bookings) throws SQLException {
+        boolean[] inserted = new boolean[bookings.size()];
+        try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_NEW_BOOKING,
+                                                                  Statement.RETURN_GENERATED_KEYS)) {
+            for (Booking booking : bookings) {
+                setBookingColumns(insertStmt, booking);
+                insertStmt.addBatch();
+            }
+            int[] insertedRows = insertStmt.executeBatch();
+
+            // Keys come back only for the inserted rows, in batch order
+            try (ResultSet generatedKeys = insertStmt.getGeneratedKeys()) {
+                for (int i = 0; i < bookings.size(); i++) {
+                    if (insertedRows[i] > 0 && generatedKeys.next()) {
+                        bookings.get(i).setId(generatedKeys.getInt(1));
+                        inserted[i] = true;
+                    }
                 }
             }
         }
+        return inserted;
+    }
+
+    /**
+     * Set the columns of INSERT_BOOKING from a booking
+     */
+    private static void setBookingColumns(PreparedStatement insertStmt, Booking booking) throws SQLException {
+        insertStmt.setString(1, booking.getCustomerName());
+        insertStmt.setString(2, booking.getCustomerEmail());
+        insertStmt.setString(3, booking.getCustomerPhone());
+        insertStmt.setInt(4, booking.getEventId());
+        insertStmt.setString(5, booking.getSeatType());
+        insertStmt.setInt(6, booking.getQuantity());
+        insertStmt.setBigDecimal(7, booking.getTotalPrice().toBigDecimal());
+        insertStmt.setString(8, booking.getIdempotencyKey());
     }
 
     /**
@@ -236,6 +611,8 @@ public class BookingDAO {
         } catch (SQLException e) {
             logger.error("Error deleting booking with ID: " + id, e);
             return false;
+        } finally {
+            EntityCaches.getInstance().bookings().invalidate(id);
         }
     }
 
@@ -245,7 +622,7 @@ public class BookingDAO {
      * @return Booking object
      * @throws SQLException if a database access error occurs
      */
-    private Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
+    Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
         Booking booking = new Booking();
         booking.setId(rs.getInt("id"));
         booking.setCustomerName(rs.getString("customer_name"));
@@ -254,7 +631,12 @@ public class BookingDAO {
         booking.setEventId(rs.getInt("event_id"));
         booking.setSeatType(rs.getString("seat_type"));
         booking.setQuantity(rs.getInt("quantity"));
-        booking.setTotalPrice(rs.getBigDecimal("total_price"));
+        booking.setTotalPrice(Money.of(rs.getBigDecimal("total_price")));
+        int seatRow = rs.getInt("seat_row");
+        if (!rs.wasNull()) {
+            booking.setSeats(new SeatAssignment(seatRow, rs.getInt("seat_start"), booking.getQuantity()));
+        }
+        booking.setIdempotencyKey(rs.getString("idempotency_key"));
 
         Timestamp bookingTime = rs.getTimestamp("booking_time");
         if (bookingTime != null) {
@@ -265,4 +647,55 @@ public class BookingDAO {
 
         return booking;
     }
+
+    /**
+     * Map a row of SELECT_BOOKING_ROW to a BookingRow by column position
+     * @param rs ResultSet containing booking row columns
+     * @return BookingRow object
+     * @throws SQLException if a database access error occurs
+     */
+    BookingRow mapBookingRow(ResultSet rs) throws SQLException {
+        Timestamp bookingTime = rs.getTimestamp(7);
+        return new BookingRow(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getInt(5),
+            Money.of(rs.getBigDecimal(6)),
+            bookingTime != null ? bookingTime.toLocalDateTime() : null);
+    }
+
+    /**
+     * Map the e_-prefixed event columns of a joined row to an Event object.
+     * Events already seen in this result set are taken from the identity map.
+     * @param rs ResultSet positioned on a row from SELECT_BOOKING_WITH_EVENT
+     * @param events identity map of events built so far for this query
+     * @return Event object, or null if the booking has no matching event
+     * @throws SQLException if a database access error occurs
+     */
+    private Event mapJoinedEvent(ResultSet rs, Map<Integer, Event> events) throws SQLException {
+        int eventId = rs.getInt("e_id");
+        if (rs.wasNull()) {
+            return null;
+        }
+
+        Event event = events.get(eventId);
+        if (event == null) {
+            event = new Event();
+            event.setId(eventId);
+            event.setName(rs.getString("e_name"));
+            event.setDescription(rs.getString("e_description"));
+            event.setDate(rs.getDate("e_date").toLocalDate());
+            event.setTime(rs.getTime("e_time").toLocalTime());
+            event.setVenue(rs.getString("e_venue"));
+            event.setTotalSeats(rs.getInt("e_total_seats"));
+            event.setAvailableSeats(rs.getInt("e_available_seats"));
+            event.setBasePrice(Money.of(rs.getBigDecimal("e_base_price")));
+            event.setSeatStripes(rs.getInt("e_seat_stripes"));
+            event.setLayoutId(rs.getInt("e_layout_id"));
+            events.put(eventId, event);
+        }
+        return event;
+    }
 }
@@ -0,0 +1,52 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.DashboardStats;
+import com.ticketbooking.model.Money;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+
+/**
+ * Data Access Object for admin dashboard aggregates
+ */
+public class DashboardStatsDAO {
+    private static final Logger logger = LogManager.getLogger(DashboardStatsDAO.class);
+
+    /**
+     * Get event, booking and user counts and total revenue in a single query
+     * @return DashboardStats, or null if the query fails
+     */
+    public DashboardStats getDashboardStats() {
+        // Booking count and revenue are the ledger snapshots of all events plus the
+        // ledger entries after the last snapshot, instead of a scan of the bookings table
+        String sql = "SELECT e.event_count, s.bookings + COALESCE(t.bookings, 0) AS booking_count, " +
+                     "s.revenue + COALESCE(t.revenue, 0) AS total_revenue, u.user_count " +
+                     "FROM (SELECT COUNT(*) AS event_count FROM events) e " +
+                     "CROSS JOIN (SELECT COALESCE(SUM(bookings), 0) AS bookings, " +
+                     "COALESCE(SUM(revenue), 0) AS revenue, COALESCE(MAX(ledger_id), 0) AS ledger_id " +
+                     "FROM ledger_snapshots) s " +
+                     "CROSS JOIN LATERAL (SELECT " +
+                     "SUM(CASE entry_type WHEN 'CREATED' THEN 1 WHEN 'CANCELLED' THEN -1 ELSE 0 END) AS bookings, " +
+                     "SUM(amount_delta) AS revenue FROM booking_ledger WHERE id > s.ledger_id) t " +
+                     "CROSS JOIN (SELECT COUNT(*) AS user_count FROM users) u";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return new DashboardStats(
+                    rs.getLong("event_count"),
+                    rs.getLong("booking_count"),
+                    rs.getLong("user_count"),
+                    Money.of(rs.getBigDecimal("total_revenue")));
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving dashboard statistics", e);
+        }
+
+        return null;
+    }
+}
@@ -1,28 +1,52 @@
 package com.ticketbooking.dao;
 
+import com.ticketbooking.cache.EntityCaches;
 import com.ticketbooking.database.DBConnection;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.EventSummary;
+import com.ticketbooking.model.Money;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Event entities
  */
 public class EventDAO {
     private static final Logger logger = LogManager.getLogger(EventDAO.class);
+
+    // Columns of a full event, leaving out the search vector and creation time.
+    // Events are read from the event_inventory view, which sums the seat stripes.
+    private static final String EVENT_COLUMNS =
+        "id, name, description, date, time, venue, total_seats, available_seats, base_price, seat_stripes, layout_id";
+
+    // Columns of an event summary, in the order mapEventSummary reads them
+    private static final String EVENT_SUMMARY_COLUMNS =
+        "id, name, date, time, venue, total_seats, available_seats, base_price";
     
     /**
      * Get all events from the database
      * @return List of all events
      */
     public List<Event> getAllEvents() {
+        List<Event> events = loadAllEvents();
+        return events != null ? events : new ArrayList<>();
+    }
+
+    /**
+     * Get all events from the database, telling a failed query apart from no events
+     * @return List of all events, or null if the query failed
+     */
+    public List<Event> loadAllEvents() {
         List<Event> events = new ArrayList<>();
-        String sql = "SELECT * FROM events ORDER BY date, time";
+        String sql = "SELECT " + EVENT_COLUMNS + " FROM event_inventory ORDER BY date, time";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              Statement stmt = conn.createStatement();
@@ -34,20 +58,98 @@ public class EventDAO {
             }
         } catch (SQLException e) {
             logger.error("Error retrieving all events", e);
+            return null;
         }
         
         return events;
     }
     
     /**
-     * Get events by date range
+     * Get the number of available seats of every event
+     * @return map from event ID to available seats, or null if the query failed
+     */
+    public Map<Integer, Integer> getAvailableSeatsByEvent() {
+        Map<Integer, Integer> seats = new HashMap<>();
+        String sql = "SELECT id, available_seats FROM event_inventory";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                seats.put(rs.getInt("id"), rs.getInt("available_seats"));
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving available seats", e);
+            return null;
+        }
+
+        return seats;
+    }
+    
+    /**
+     * Search events by name, venue and description using the GIN-indexed search vector.
+     * All words of the query must match; quoted phrases, "or" and "-word" are supported.
+     * @param query search text
+     * @param limit maximum number of events to return
+     * @return summaries of the matching events, best ranked first, or null if the query failed
+     */
+    public List<EventSummary> searchEvents(String query, int limit) {
+        List<EventSummary> events = new ArrayList<>();
+        String sql = "SELECT " + EVENT_SUMMARY_COLUMNS + " FROM event_inventory, websearch_to_tsquery('english', ?) q " +
+                     "WHERE search_vector @@ q " +
+                     "ORDER BY ts_rank_cd(search_vector, q) DESC, date, time, id LIMIT ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, query);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEventSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error searching events with query: " + query, e);
+            return null;
+        }
+
+        return events;
+    }
+    
+    /**
+     * Get summaries of all events, without their descriptions
+     * @return List of event summaries ordered by date and time
+     */
+    public List<EventSummary> getAllEventSummaries() {
+        List<EventSummary> events = new ArrayList<>();
+        String sql = "SELECT " + EVENT_SUMMARY_COLUMNS + " FROM event_inventory ORDER BY date, time";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                events.add(mapEventSummary(rs));
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving event summaries", e);
+        }
+
+        return events;
+    }
+    
+    /**
+     * Get summaries of events in a date range, without their descriptions
      * @param startDate start date of the range
      * @param endDate end date of the range
-     * @return List of events within the date range
+     * @return List of event summaries within the date range
      */
-    public List<Event> getEventsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<Event> events = new ArrayList<>();
-        String sql = "SELECT * FROM events WHERE date BETWEEN ? AND ? ORDER BY date, time";
+    public List<EventSummary> getEventSummariesByDateRange(LocalDate startDate, LocalDate endDate) {
+        List<EventSummary> events = new ArrayList<>();
+        String sql = "SELECT " + EVENT_SUMMARY_COLUMNS + " FROM event_inventory WHERE date BETWEEN ? AND ? ORDER BY date, time";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -57,8 +159,7 @@ public class EventDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Event event = mapResultSetToEvent(rs);
-                    events.add(event);
+                    events.add(mapEventSummary(rs));
                 }
             }
         } catch (SQLException e) {
@@ -69,12 +170,62 @@ public class EventDAO {
     }
     
     /**
-     * Get event by ID
+     * Get one page of event summaries ordered by date, time and ID using keyset pagination.
+     * Pass null for afterDate to get the first page; otherwise pass the sort key of
+     * the last event on the previous page.
+     * @param afterDate date of the last event on the previous page, or null
+     * @param afterTime time of the last event on the previous page
+     * @param afterId ID of the last event on the previous page
+     * @param limit maximum number of events to return
+     * @return List of at most limit event summaries following the given key, or null if the query failed
+     */
+    public List<EventSummary> getEventSummariesPage(LocalDate afterDate, LocalTime afterTime, int afterId, int limit) {
+        List<EventSummary> events = new ArrayList<>();
+        String sql = afterDate == null
+            ? "SELECT " + EVENT_SUMMARY_COLUMNS + " FROM event_inventory ORDER BY date, time, id LIMIT ?"
+            : "SELECT " + EVENT_SUMMARY_COLUMNS + " FROM event_inventory WHERE (date, time, id) > (?, ?, ?) " +
+              "ORDER BY date, time, id LIMIT ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (afterDate != null) {
+                pstmt.setDate(index++, Date.valueOf(afterDate));
+                pstmt.setTime(index++, Time.valueOf(afterTime));
+                pstmt.setInt(index++, afterId);
+            }
+            pstmt.setInt(index, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(mapEventSummary(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving events page after ID: " + afterId, e);
+            return null;
+        }
+
+        return events;
+    }
+
+    /**
+     * Get event by ID, from the entity cache when possible
      * @param id event ID
      * @return Event object if found, null otherwise
      */
     public Event getEventById(int id) {
-        String sql = "SELECT * FROM events WHERE id = ?";
+        return EntityCaches.getInstance().events().get(id, this::loadEventById);
+    }
+
+    /**
+     * Load an event from the database
+     * @param id event ID
+     * @return Event object if found, null otherwise
+     */
+    private Event loadEventById(int id) {
+        String sql = "SELECT " + EVENT_COLUMNS + " FROM event_inventory WHERE id = ?";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -94,35 +245,51 @@ public class EventDAO {
     }
     
     /**
-     * Add a new event to the database
+     * Add a new event to the database. The seats of a striped event are split over
+     * its seat stripes in the same transaction.
      * @param event Event object to add
      * @return true if successful, false otherwise
      */
     public boolean addEvent(Event event) {
-        String sql = "INSERT INTO events (name, description, date, time, venue, total_seats, available_seats, base_price) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = "INSERT INTO events (name, description, date, time, venue, total_seats, available_seats, " +
+                     "base_price, seat_stripes, layout_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setString(1, event.getName());
-            pstmt.setString(2, event.getDescription());
-            pstmt.setDate(3, Date.valueOf(event.getDate()));
-            pstmt.setTime(4, Time.valueOf(event.getTime()));
-            pstmt.setString(5, event.getVenue());
-            pstmt.setInt(6, event.getTotalSeats());
-            pstmt.setInt(7, event.getAvailableSeats());
-            pstmt.setBigDecimal(8, event.getBasePrice());
-            
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows > 0) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, event.getName());
+                pstmt.setString(2, event.getDescription());
+                pstmt.setDate(3, Date.valueOf(event.getDate()));
+                pstmt.setTime(4, Time.valueOf(event.getTime()));
+                pstmt.setString(5, event.getVenue());
+                pstmt.setInt(6, event.getTotalSeats());
+                // The stripes hold the seats of striped events
+                pstmt.setInt(7, event.isStriped() ? 0 : event.getAvailableSeats());
+                pstmt.setBigDecimal(8, event.getBasePrice().toBigDecimal());
+                pstmt.setInt(9, event.getSeatStripes());
+                if (event.hasSeatLayout()) {
+                    pstmt.setInt(10, event.getLayoutId());
+                } else {
+                    pstmt.setNull(10, Types.INTEGER);
+                }
+                pstmt.executeUpdate();
+
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        event.setId(generatedKeys.getInt(1));
-                        return true;
+                    if (!generatedKeys.next()) {
+                        conn.rollback();
+                        return false;
                     }
+                    event.setId(generatedKeys.getInt(1));
+                }
+
+                if (event.isStriped()) {
+                    insertSeatStripes(conn, event);
                 }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
         } catch (SQLException e) {
             logger.error("Error adding event", e);
@@ -132,45 +299,123 @@ public class EventDAO {
     }
     
     /**
-     * Update an existing event in the database
+     * Update an existing event in the database. The available seats of a striped
+     * event are split over its seat stripes again. The available seats of an event
+     * include the unsold seats leased to application nodes, as read from the
+     * event_inventory view, so those are left with the leases and the rest is stored
+     * on the event; the leased seats come back to it when the leases are returned.
      * @param event Event object to update
-     * @return true if successful, false otherwise
+     * @return true if successful, false otherwise, e.g. if fewer seats are available than are leased
      */
     public boolean updateEvent(Event event) {
         String sql = "UPDATE events SET name = ?, description = ?, date = ?, time = ?, " +
                      "venue = ?, total_seats = ?, available_seats = ?, base_price = ? " +
                      "WHERE id = ?";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, event.getName());
-            pstmt.setString(2, event.getDescription());
-            pstmt.setDate(3, Date.valueOf(event.getDate()));
-            pstmt.setTime(4, Time.valueOf(event.getTime()));
-            pstmt.setString(5, event.getVenue());
-            pstmt.setInt(6, event.getTotalSeats());
-            pstmt.setInt(7, event.getAvailableSeats());
-            pstmt.setBigDecimal(8, event.getBasePrice());
-            pstmt.setInt(9, event.getId());
-            
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int leasedSeats = lockLeasedSeats(conn, event.getId());
+                if (event.getAvailableSeats() < leasedSeats) {
+                    logger.error("Cannot make {} seats available for event ID: {}, {} seats are leased",
+                                event.getAvailableSeats(), event.getId(), leasedSeats);
+                    conn.rollback();
+                    return false;
+                }
+
+                pstmt.setString(1, event.getName());
+                pstmt.setString(2, event.getDescription());
+                pstmt.setDate(3, Date.valueOf(event.getDate()));
+                pstmt.setTime(4, Time.valueOf(event.getTime()));
+                pstmt.setString(5, event.getVenue());
+                pstmt.setInt(6, event.getTotalSeats());
+                pstmt.setInt(7, event.isStriped() ? 0 : event.getAvailableSeats() - leasedSeats);
+                pstmt.setBigDecimal(8, event.getBasePrice().toBigDecimal());
+                pstmt.setInt(9, event.getId());
+
+                if (pstmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+
+                if (event.isStriped()) {
+                    try (PreparedStatement deleteStmt =
+                             conn.prepareStatement("DELETE FROM event_seat_stripes WHERE event_id = ?")) {
+                        deleteStmt.setInt(1, event.getId());
+                        deleteStmt.executeUpdate();
+                    }
+                    insertSeatStripes(conn, event);
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             logger.error("Error updating event with ID: " + event.getId(), e);
             return false;
+        } finally {
+            EntityCaches.getInstance().events().invalidate(event.getId());
+        }
+    }
+
+    /**
+     * Lock an event row on an open transaction and get the unsold seats leased from it.
+     * Leases are taken and returned with the event row locked, so the figure stays
+     * current until the transaction ends.
+     * @return leased seats, 0 if the event has no leases
+     */
+    private int lockLeasedSeats(Connection conn, int eventId) throws SQLException {
+        try (PreparedStatement lockStmt = conn.prepareStatement("SELECT id FROM events WHERE id = ? FOR UPDATE")) {
+            lockStmt.setInt(1, eventId);
+            try (ResultSet rs = lockStmt.executeQuery()) {
+                if (!rs.next()) {
+                    // No such event, so the update finds nothing either
+                    return 0;
+                }
+            }
+        }
+
+        String sql = "SELECT COALESCE(SUM(seats), 0) FROM seat_leases WHERE event_id = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, eventId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Insert the seat stripes of an event on an open transaction, spreading its
+     * available seats evenly over them
+     */
+    private void insertSeatStripes(Connection conn, Event event) throws SQLException {
+        String sql = "INSERT INTO event_seat_stripes (event_id, stripe, available_seats) VALUES (?, ?, ?)";
+        int stripes = event.getSeatStripes();
+        int seats = Math.max(0, event.getAvailableSeats());
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                pstmt.setInt(1, event.getId());
+                pstmt.setInt(2, stripe);
+                // Spread the remainder over the first stripes
+                pstmt.setInt(3, seats / stripes + (stripe < seats % stripes ? 1 : 0));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
         }
     }
     
     /**
-     * Update available seats for an event
+     * Update available seats for an event without seat stripes
      * @param eventId event ID
      * @param bookedSeats number of seats booked
      * @return true if successful, false otherwise
      */
     public boolean updateAvailableSeats(int eventId, int bookedSeats) {
         String sql = "UPDATE events SET available_seats = available_seats - ? " +
-                     "WHERE id = ? AND available_seats >= ?";
+                     "WHERE id = ? AND available_seats >= ? AND seat_stripes <= 1";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -184,6 +429,8 @@ public class EventDAO {
         } catch (SQLException e) {
             logger.error("Error updating available seats for event ID: " + eventId, e);
             return false;
+        } finally {
+            EntityCaches.getInstance().events().invalidate(eventId);
         }
     }
     
@@ -205,6 +452,10 @@ public class EventDAO {
         } catch (SQLException e) {
             logger.error("Error deleting event with ID: " + id, e);
             return false;
+        } finally {
+            // Bookings of the event are deleted with it
+            EntityCaches.getInstance().events().invalidate(id);
+            EntityCaches.getInstance().bookings().invalidateAll();
         }
     }
     
@@ -214,7 +465,7 @@ public class EventDAO {
      * @return Event object
      * @throws SQLException if a database access error occurs
      */
-    private Event mapResultSetToEvent(ResultSet rs) throws SQLException {
+    Event mapResultSetToEvent(ResultSet rs) throws SQLException {
         Event event = new Event();
         event.setId(rs.getInt("id"));
         event.setName(rs.getString("name"));
@@ -224,7 +475,27 @@ public class EventDAO {
         event.setVenue(rs.getString("venue"));
         event.setTotalSeats(rs.getInt("total_seats"));
         event.setAvailableSeats(rs.getInt("available_seats"));
-        event.setBasePrice(rs.getBigDecimal("base_price"));
+        event.setBasePrice(Money.of(rs.getBigDecimal("base_price")));
+        event.setSeatStripes(rs.getInt("seat_stripes"));
+        event.setLayoutId(rs.getInt("layout_id"));
         return event;
     }
+
+    /**
+     * Map a row of EVENT_SUMMARY_COLUMNS to an EventSummary by column position
+     * @param rs ResultSet containing event summary columns
+     * @return EventSummary object
+     * @throws SQLException if a database access error occurs
+     */
+    EventSummary mapEventSummary(ResultSet rs) throws SQLException {
+        return new EventSummary(
+            rs.getInt(1),
+            rs.getString(2),
+            rs.getDate(3).toLocalDate(),
+            rs.getTime(4).toLocalTime(),
+            rs.getString(5),
+            rs.getInt(6),
+            rs.getInt(7),
+            Money.of(rs.getBigDecimal(8)));
+    }
 }
@@ -0,0 +1,212 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.EventSeatState;
+import com.ticketbooking.model.LedgerEntry;
+import com.ticketbooking.model.Money;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the booking ledger and its snapshots.
+ * <p>
+ * Ledger entries are appended by triggers on the bookings table in the transaction
+ * that changes the bookings, one INSERT per statement for all the rows it changed, so
+ * every way of writing bookings is recorded and nothing here writes entries. A snapshot
+ * holds the totals of an event up to a ledger entry, so the state of an event is its
+ * snapshot plus the few entries after it rather than a scan of all its bookings.
+ */
+public class LedgerDAO {
+    private static final Logger logger = LogManager.getLogger(LedgerDAO.class);
+
+    // Ledger position up to which all events are snapshotted. Snapshots are never
+    // deleted, so this only grows.
+    private static final String LAST_SNAPSHOT_POSITION =
+        "SELECT COALESCE(MAX(ledger_id), 0) FROM ledger_snapshots";
+
+    // Adds the entries between the last snapshot position and the new one to the
+    // snapshots of their events. Parameters: new position, last position, new position
+    private static final String TAKE_SNAPSHOTS =
+        "INSERT INTO ledger_snapshots (event_id, ledger_id, seats_booked, bookings, revenue) " +
+        "SELECT t.event_id, ?, COALESCE(s.seats_booked, 0) + t.seats, " +
+        "COALESCE(s.bookings, 0) + t.bookings, COALESCE(s.revenue, 0) + t.revenue " +
+        "FROM (SELECT event_id, SUM(seat_delta)::INTEGER AS seats, " +
+        "SUM(CASE entry_type WHEN 'CREATED' THEN 1 WHEN 'CANCELLED' THEN -1 ELSE 0 END)::INTEGER AS bookings, " +
+        "SUM(amount_delta) AS revenue " +
+        "FROM booking_ledger WHERE id > ? AND id <= ? GROUP BY event_id) t " +
+        "LEFT JOIN ledger_snapshots s ON s.event_id = t.event_id " +
+        "ON CONFLICT (event_id) DO UPDATE SET ledger_id = EXCLUDED.ledger_id, " +
+        "seats_booked = EXCLUDED.seats_booked, bookings = EXCLUDED.bookings, " +
+        "revenue = EXCLUDED.revenue, taken_at = CURRENT_TIMESTAMP";
+
+    // Snapshot of an event plus the ledger entries after it. Parameter: event ID
+    private static final String SEAT_STATE =
+        "SELECT GREATEST(COALESCE(s.ledger_id, 0), COALESCE(t.last_id, 0)), " +
+        "COALESCE(s.seats_booked, 0) + COALESCE(t.seats, 0), " +
+        "COALESCE(s.bookings, 0) + COALESCE(t.bookings, 0), " +
+        "COALESCE(s.revenue, 0) + COALESCE(t.revenue, 0) " +
+        "FROM (SELECT ?::INTEGER AS event_id) e " +
+        "LEFT JOIN ledger_snapshots s ON s.event_id = e.event_id " +
+        "LEFT JOIN LATERAL (SELECT MAX(l.id) AS last_id, SUM(l.seat_delta)::INTEGER AS seats, " +
+        "SUM(CASE l.entry_type WHEN 'CREATED' THEN 1 WHEN 'CANCELLED' THEN -1 ELSE 0 END)::INTEGER AS bookings, " +
+        "SUM(l.amount_delta) AS revenue " +
+        "FROM booking_ledger l WHERE l.event_id = e.event_id AND l.id > COALESCE(s.ledger_id, 0)) t ON TRUE";
+
+    /**
+     * Get the booked seats, bookings and revenue of an event from its snapshot and the
+     * ledger entries after it
+     * @param eventId event ID
+     * @return seat state of the event, with zero totals if it has no bookings, or null on error
+     */
+    public EventSeatState getSeatState(int eventId) {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SEAT_STATE)) {
+
+            pstmt.setInt(1, eventId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                return new EventSeatState(eventId, rs.getLong(1), rs.getInt(2), rs.getInt(3),
+                                          Money.of(rs.getBigDecimal(4)));
+            }
+        } catch (SQLException e) {
+            logger.error("Error rebuilding seat state of event ID: " + eventId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the history of a booking
+     * @param bookingId booking ID
+     * @return ledger entries of the booking, oldest first, or an empty list on error
+     */
+    public List<LedgerEntry> getEntriesByBookingId(int bookingId) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        String sql = "SELECT * FROM booking_ledger WHERE booking_id = ? ORDER BY id";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, bookingId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    entries.add(mapResultSetToEntry(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving ledger entries for booking ID: " + bookingId, e);
+        }
+
+        return entries;
+    }
+
+    /**
+     * Snapshot every event with ledger entries since the last snapshot.
+     * <p>
+     * Ledger IDs come from a sequence, so an entry can commit after one with a higher
+     * ID. The ledger is locked against appends while the new position is read and the
+     * snapshots are written, which waits for transactions still appending and makes
+     * every entry up to the position visible. The lock is held for one aggregate over
+     * the entries since the last snapshot.
+     * @return number of events snapshotted, or -1 on error
+     */
+    public int takeSnapshots() {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LOCK TABLE booking_ledger IN SHARE MODE");
+                }
+
+                long lastPosition = queryLong(conn, LAST_SNAPSHOT_POSITION);
+                long position = queryLong(conn, "SELECT COALESCE(MAX(id), 0) FROM booking_ledger");
+                if (position <= lastPosition) {
+                    conn.commit();
+                    return 0;
+                }
+
+                int events;
+                try (PreparedStatement pstmt = conn.prepareStatement(TAKE_SNAPSHOTS)) {
+                    pstmt.setLong(1, position);
+                    pstmt.setLong(2, lastPosition);
+                    pstmt.setLong(3, position);
+                    events = pstmt.executeUpdate();
+                }
+                conn.commit();
+                logger.info("Snapshotted {} events up to ledger entry {}", events, position);
+                return events;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error taking ledger snapshots", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Add the monthly ledger partitions of a range of months that do not exist yet.
+     * Entries of months without a partition go to the default partition, so a month
+     * whose entries already started there keeps using it.
+     * @param from first month
+     * @param months number of months
+     * @return true if all partitions exist, false otherwise
+     */
+    public boolean addPartitions(YearMonth from, int months) {
+        boolean added = true;
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            for (int i = 0; i < months; i++) {
+                YearMonth month = from.plusMonths(i);
+                String sql = String.format(
+                    "CREATE TABLE IF NOT EXISTS booking_ledger_y%dm%02d PARTITION OF booking_ledger " +
+                    "FOR VALUES FROM ('%s') TO ('%s')",
+                    month.getYear(), month.getMonthValue(), month.atDay(1), month.plusMonths(1).atDay(1));
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    logger.warn("Could not add ledger partition for {}: {}", month, e.getMessage());
+                    added = false;
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error adding ledger partitions", e);
+            return false;
+        }
+        return added;
+    }
+
+    private static long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Map a ResultSet row to a LedgerEntry object
+     * @param rs ResultSet containing ledger entry data
+     * @return LedgerEntry object
+     * @throws SQLException if a database access error occurs
+     */
+    private LedgerEntry mapResultSetToEntry(ResultSet rs) throws SQLException {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setId(rs.getLong("id"));
+        entry.setEventId(rs.getInt("event_id"));
+        entry.setBookingId(rs.getInt("booking_id"));
+        entry.setType(rs.getString("entry_type"));
+        entry.setSeatDelta(rs.getInt("seat_delta"));
+        entry.setAmountDelta(Money.of(rs.getBigDecimal("amount_delta")));
+        entry.setRecordedAt(rs.getTimestamp("recorded_at").toLocalDateTime());
+        return entry;
+    }
+}
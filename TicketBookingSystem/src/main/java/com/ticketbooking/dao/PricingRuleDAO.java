@@ -0,0 +1,108 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.PricingRule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for PricingRule entities
+ */
+public class PricingRuleDAO {
+    private static final Logger logger = LogManager.getLogger(PricingRuleDAO.class);
+
+    private static final String INSERT_RULE =
+        "INSERT INTO pricing_rules (event_id, rule_type, seat_type, threshold, factor) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Get the pricing rules of an event
+     * @param eventId event ID
+     * @return List of pricing rules, empty if the event has none, or null on error
+     */
+    public List<PricingRule> getRulesByEventId(int eventId) {
+        List<PricingRule> rules = new ArrayList<>();
+        String sql = "SELECT * FROM pricing_rules WHERE event_id = ? ORDER BY id";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, eventId);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rules.add(mapResultSetToRule(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving pricing rules for event ID: " + eventId, e);
+            return null;
+        }
+
+        return rules;
+    }
+
+    /**
+     * Replace all pricing rules of an event in one transaction
+     * @param eventId event ID
+     * @param rules new rules of the event; their IDs and event ID are set on success
+     * @return true if successful, false otherwise
+     */
+    public boolean replaceRules(int eventId, List<PricingRule> rules) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement deleteStmt = conn.prepareStatement("DELETE FROM pricing_rules WHERE event_id = ?")) {
+                    deleteStmt.setInt(1, eventId);
+                    deleteStmt.executeUpdate();
+                }
+
+                try (PreparedStatement insertStmt = conn.prepareStatement(INSERT_RULE, Statement.RETURN_GENERATED_KEYS)) {
+                    for (PricingRule rule : rules) {
+                        insertStmt.setInt(1, eventId);
+                        insertStmt.setString(2, rule.getType());
+                        insertStmt.setString(3, rule.getSeatType());
+                        insertStmt.setInt(4, rule.getThreshold());
+                        insertStmt.setBigDecimal(5, rule.getFactor());
+                        insertStmt.addBatch();
+                    }
+                    insertStmt.executeBatch();
+
+                    try (ResultSet generatedKeys = insertStmt.getGeneratedKeys()) {
+                        for (int i = 0; i < rules.size() && generatedKeys.next(); i++) {
+                            rules.get(i).setId(generatedKeys.getInt(1));
+                            rules.get(i).setEventId(eventId);
+                        }
+                    }
+                }
+
+                conn.commit();
+                logger.info("Saved {} pricing rules for event ID: {}", rules.size(), eventId);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error saving pricing rules for event ID: " + eventId, e);
+            return false;
+        }
+    }
+
+    /**
+     * Map a ResultSet row to a PricingRule object
+     * @param rs ResultSet containing pricing rule data
+     * @return PricingRule object
+     * @throws SQLException if a database access error occurs
+     */
+    private PricingRule mapResultSetToRule(ResultSet rs) throws SQLException {
+        PricingRule rule = new PricingRule(rs.getString("rule_type"), rs.getString("seat_type"),
+                                           rs.getInt("threshold"), rs.getBigDecimal("factor"));
+        rule.setId(rs.getInt("id"));
+        rule.setEventId(rs.getInt("event_id"));
+        return rule;
+    }
+}
@@ -0,0 +1,233 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.cache.EntityCaches;
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.SeatHold;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Data Access Object for SeatHold entities.
+ * <p>
+ * Placing a hold takes its seats from the event in the same statement that records
+ * it, confirming a hold turns it into a booking in one statement, and releasing holds
+ * returns their seats in one statement, so seats are never lost or counted twice.
+ */
+public class SeatHoldDAO {
+    private static final Logger logger = LogManager.getLogger(SeatHoldDAO.class);
+
+    // Records a hold for the seats taken by one of the SeatTaking statements
+    private static final String INSERT_TAKEN_HOLD =
+        "INSERT INTO seat_holds (event_id, stripe, seat_type, quantity, expires_at) " +
+        "SELECT taken.event_id, taken.stripe, ?, ?, ? FROM taken RETURNING id";
+
+    private static final String INSERT_HOLD =
+        "INSERT INTO seat_holds (event_id, stripe, seat_type, quantity, expires_at) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    // Deletes an unexpired hold and inserts a booking for its seats, which stay taken
+    private static final String CONFIRM_HOLD =
+        "WITH held AS (" +
+        "DELETE FROM seat_holds WHERE id = ? AND expires_at > ? " +
+        "RETURNING event_id, seat_type, quantity) " +
+        "INSERT INTO bookings (customer_name, customer_email, customer_phone, " +
+        "event_id, seat_type, quantity, total_price, idempotency_key) " +
+        "SELECT ?, ?, ?, event_id, seat_type, quantity, ?, ? FROM held RETURNING id";
+
+    // Deletes holds and returns their seats to the event row or stripe they came from
+    private static final String RELEASE_HOLDS =
+        "WITH released AS (" +
+        "DELETE FROM seat_holds WHERE id = ANY(?) RETURNING event_id, stripe, quantity), " +
+        "totals AS (" +
+        "SELECT event_id, stripe, SUM(quantity)::INTEGER AS quantity FROM released GROUP BY event_id, stripe), " +
+        "event_seats AS (" +
+        "UPDATE events e SET available_seats = e.available_seats + t.quantity FROM totals t " +
+        "WHERE e.id = t.event_id AND e.seat_stripes <= 1), " +
+        "stripe_seats AS (" +
+        "UPDATE event_seat_stripes s SET available_seats = s.available_seats + t.quantity FROM totals t " +
+        "WHERE s.event_id = t.event_id AND s.stripe = t.stripe) " +
+        "SELECT event_id FROM totals";
+
+    /**
+     * Get every hold that has not been confirmed or released
+     * @return List of holds, or null if the query failed
+     */
+    public List<SeatHold> getAllHolds() {
+        List<SeatHold> holds = new ArrayList<>();
+        String sql = "SELECT id, event_id, seat_type, quantity, expires_at FROM seat_holds";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                SeatHold hold = new SeatHold(rs.getInt("event_id"), rs.getString("seat_type"),
+                                             rs.getInt("quantity"), rs.getTimestamp("expires_at").toLocalDateTime());
+                hold.setId(rs.getLong("id"));
+                holds.add(hold);
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving seat holds", e);
+            return null;
+        }
+
+        return holds;
+    }
+
+    /**
+     * Take the seats of a hold from its event and record the hold. Striped events
+     * take the seats from a random stripe, or from several when no single one has enough.
+     * @param hold hold to add; its ID is set on success
+     * @return true if the seats were held, false if there are not enough or the event does not exist
+     */
+    public boolean addHold(SeatHold hold) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            if (executeHold(conn, SeatTaking.TAKE_EVENT_SEATS + INSERT_TAKEN_HOLD, hold,
+                            SeatTaking.eventSeatParameters(hold.getEventId(), hold.getQuantity()))) {
+                return true;
+            }
+
+            int seatStripes = SeatTaking.seatStripes(conn, hold.getEventId());
+            if (seatStripes > 1 && addStripedHold(conn, hold, seatStripes)) {
+                return true;
+            }
+            logger.error("Not enough seats to hold for event ID: {}. Requested: {}",
+                        hold.getEventId(), hold.getQuantity());
+            return false;
+        } catch (SQLException e) {
+            logger.error("Error adding seat hold for event ID: " + hold.getEventId(), e);
+            return false;
+        } finally {
+            EntityCaches.getInstance().events().invalidate(hold.getEventId());
+        }
+    }
+
+    private boolean addStripedHold(Connection conn, SeatHold hold, int seatStripes) throws SQLException {
+        int start = SeatTaking.randomStripe(seatStripes);
+        if (executeHold(conn, SeatTaking.TAKE_STRIPE_SEATS + INSERT_TAKEN_HOLD, hold,
+                        SeatTaking.stripeSeatParameters(hold.getEventId(), hold.getQuantity(), start, seatStripes))) {
+            return true;
+        }
+
+        // Seats gathered from several stripes are all returned to the starting stripe
+        conn.setAutoCommit(false);
+        try {
+            if (!SeatTaking.takeFromStripes(conn, hold.getEventId(), hold.getQuantity(), start, seatStripes)) {
+                conn.rollback();
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_HOLD, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, hold.getEventId());
+                pstmt.setInt(2, start);
+                pstmt.setString(3, hold.getSeatType());
+                pstmt.setInt(4, hold.getQuantity());
+                pstmt.setTimestamp(5, Timestamp.valueOf(hold.getExpiresAt()));
+                pstmt.executeUpdate();
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        hold.setId(generatedKeys.getLong(1));
+                    }
+                }
+            }
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
+    private boolean executeHold(Connection conn, String sql, SeatHold hold, int... seatParameters)
+            throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int parameter : seatParameters) {
+                pstmt.setInt(index++, parameter);
+            }
+            pstmt.setString(index++, hold.getSeatType());
+            pstmt.setInt(index++, hold.getQuantity());
+            pstmt.setTimestamp(index, Timestamp.valueOf(hold.getExpiresAt()));
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    hold.setId(rs.getLong(1));
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Turn an unexpired hold into a booking for its seats
+     * @param holdId hold ID
+     * @param booking booking with the customer details and total price; its ID is set on success
+     * @return true if the booking was saved, false if the hold has expired or been released
+     */
+    public boolean confirmHold(long holdId, Booking booking) {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(CONFIRM_HOLD)) {
+
+            pstmt.setLong(1, holdId);
+            pstmt.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            pstmt.setString(3, booking.getCustomerName());
+            pstmt.setString(4, booking.getCustomerEmail());
+            pstmt.setString(5, booking.getCustomerPhone());
+            pstmt.setBigDecimal(6, booking.getTotalPrice().toBigDecimal());
+            pstmt.setString(7, booking.getIdempotencyKey());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    booking.setId(rs.getInt(1));
+                    logger.info("Seat hold {} confirmed as booking ID: {}", holdId, booking.getId());
+                    return true;
+                }
+            }
+            logger.error("Seat hold {} has expired or was released", holdId);
+        } catch (SQLException e) {
+            logger.error("Error confirming seat hold: " + holdId, e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Delete holds and return their seats to their events
+     * @param holdIds IDs of the holds to release; holds already confirmed or released are ignored
+     * @return IDs of the events that got seats back, or null if the release failed
+     */
+    public Set<Integer> releaseHolds(Collection<Long> holdIds) {
+        Set<Integer> eventIds = new TreeSet<>();
+        if (holdIds.isEmpty()) {
+            return eventIds;
+        }
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(RELEASE_HOLDS)) {
+
+            pstmt.setArray(1, conn.createArrayOf("bigint", holdIds.toArray()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    eventIds.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error releasing {} seat holds", holdIds.size(), e);
+            return null;
+        }
+
+        for (Integer eventId : eventIds) {
+            EntityCaches.getInstance().events().invalidate(eventId);
+        }
+        return eventIds;
+    }
+}
@@ -0,0 +1,202 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.cache.EntityCaches;
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.Booking;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Access Object for seat leases.
+ * <p>
+ * A lease is a block of seats that one application node takes from an event so it can
+ * sell them without touching the event row. Each node has at most one lease per event;
+ * its seats column holds the leased seats the node has not sold yet. Taking, using up
+ * and returning a lease each move seats between the event and the lease in one
+ * statement or transaction, so seats are never lost or counted twice, and leases left
+ * behind by a node that crashed are returned once they expire.
+ */
+public class SeatLeaseDAO {
+    private static final Logger logger = LogManager.getLogger(SeatLeaseDAO.class);
+
+    // Takes up to the requested seats from an event without stripes and adds them to the
+    // lease of the node, returning the number of seats taken, or no row if none were left.
+    // Parameters: seats, event ID, node ID, lease seconds
+    private static final String LEASE_SEATS =
+        "WITH granted AS (" +
+        "SELECT id, LEAST(available_seats, ?) AS seats FROM events " +
+        "WHERE id = ? AND available_seats > 0 AND seat_stripes <= 1 AND layout_id IS NULL FOR UPDATE), " +
+        "taken AS (" +
+        "UPDATE events e SET available_seats = e.available_seats - g.seats FROM granted g " +
+        "WHERE e.id = g.id RETURNING e.id AS event_id, g.seats), " +
+        "leased AS (" +
+        "INSERT INTO seat_leases (event_id, node_id, seats, expires_at) " +
+        "SELECT event_id, ?, seats, CURRENT_TIMESTAMP + ? * INTERVAL '1 second' FROM taken " +
+        "ON CONFLICT (event_id, node_id) DO UPDATE " +
+        "SET seats = seat_leases.seats + EXCLUDED.seats, expires_at = EXCLUDED.expires_at) " +
+        "SELECT seats FROM taken";
+
+    // Deletes leases and returns their unsold seats to their events.
+    // The WHERE clause picking the leases is inserted between the two parts.
+    private static final String RETURN_LEASES_HEAD = "WITH returned AS (DELETE FROM seat_leases ";
+    private static final String RETURN_LEASES_TAIL =
+        "RETURNING event_id, seats), " +
+        "totals AS (" +
+        "SELECT event_id, SUM(seats)::INTEGER AS seats FROM returned GROUP BY event_id) " +
+        "UPDATE events e SET available_seats = e.available_seats + t.seats FROM totals t " +
+        "WHERE e.id = t.event_id RETURNING e.id";
+
+    // Uses up seats of the lease of a node. Parameters: seats, event ID, node ID, seats
+    private static final String USE_LEASED_SEATS =
+        "UPDATE seat_leases SET seats = seats - ? WHERE event_id = ? AND node_id = ? AND seats >= ?";
+
+    /**
+     * Take up to the given number of seats from an event into the lease of a node,
+     * extending the lease
+     * @param eventId event ID
+     * @param nodeId ID of the node taking the seats
+     * @param seats number of seats wanted
+     * @param leaseSeconds how long the lease lasts from now
+     * @return number of seats leased, 0 if the event has none left or cannot be leased, or -1 on error
+     */
+    public int leaseSeats(int eventId, String nodeId, int seats, long leaseSeconds) {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(LEASE_SEATS)) {
+
+            pstmt.setInt(1, seats);
+            pstmt.setInt(2, eventId);
+            pstmt.setString(3, nodeId);
+            pstmt.setLong(4, leaseSeconds);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int leased = rs.next() ? rs.getInt(1) : 0;
+                logger.debug("Node {} leased {} seats of event ID: {}", nodeId, leased, eventId);
+                return leased;
+            }
+        } catch (SQLException e) {
+            logger.error("Error leasing seats of event ID: " + eventId, e);
+            return -1;
+        } finally {
+            EntityCaches.getInstance().events().invalidate(eventId);
+        }
+    }
+
+    /**
+     * Return the unsold seats of the lease of a node on an event
+     * @param eventId event ID
+     * @param nodeId node ID
+     * @return true if the lease was returned or did not exist, false on error
+     */
+    public boolean returnLease(int eventId, String nodeId) {
+        return returnLeases("WHERE event_id = ? AND node_id = ? ", eventId, nodeId) != null;
+    }
+
+    /**
+     * Return the unsold seats of all leases of a node, e.g. when it shuts down or restarts
+     * @param nodeId node ID
+     * @return IDs of the events that got seats back, or null on error
+     */
+    public List<Integer> returnLeases(String nodeId) {
+        return returnLeases("WHERE node_id = ? ", nodeId);
+    }
+
+    /**
+     * Return the unsold seats of expired leases, left behind by nodes that crashed or
+     * lost their connection to the database
+     * @return IDs of the events that got seats back, or null on error
+     */
+    public List<Integer> returnExpiredLeases() {
+        return returnLeases("WHERE expires_at < CURRENT_TIMESTAMP ");
+    }
+
+    private List<Integer> returnLeases(String where, Object... parameters) {
+        List<Integer> eventIds = new ArrayList<>();
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(RETURN_LEASES_HEAD + where + RETURN_LEASES_TAIL)) {
+
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    eventIds.add(rs.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error returning seat leases", e);
+            return null;
+        }
+
+        for (Integer eventId : eventIds) {
+            EntityCaches.getInstance().events().invalidate(eventId);
+        }
+        if (!eventIds.isEmpty()) {
+            logger.info("Returned leased seats to {} events", eventIds.size());
+        }
+        return eventIds;
+    }
+
+    /**
+     * Insert bookings whose seats were sold from the leases of a node, using up the seats
+     * of each lease in one transaction. The event rows are not touched. Bookings of
+     * events whose lease is gone or holds too few seats are not inserted.
+     * @param bookings bookings to add; the IDs of inserted bookings are set
+     * @param nodeId ID of the node that sold the seats
+     * @return bookings that were not inserted, or null if the transaction failed
+     */
+    public List<Booking> addLeasedBookings(List<Booking> bookings, String nodeId) {
+        // Total seats per event, in ID order so concurrent writers lock leases in the same order
+        Map<Integer, Integer> seatsByEvent = new TreeMap<>();
+        for (Booking booking : bookings) {
+            seatsByEvent.merge(booking.getEventId(), booking.getQuantity(), Integer::sum);
+        }
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> eventIds = new ArrayList<>(seatsByEvent.keySet());
+                int[] updated;
+                try (PreparedStatement useStmt = conn.prepareStatement(USE_LEASED_SEATS)) {
+                    for (Map.Entry<Integer, Integer> entry : seatsByEvent.entrySet()) {
+                        useStmt.setInt(1, entry.getValue());
+                        useStmt.setInt(2, entry.getKey());
+                        useStmt.setString(3, nodeId);
+                        useStmt.setInt(4, entry.getValue());
+                        useStmt.addBatch();
+                    }
+                    updated = useStmt.executeBatch();
+                }
+
+                List<Booking> leased = new ArrayList<>();
+                List<Booking> unleased = new ArrayList<>();
+                for (Booking booking : bookings) {
+                    int index = eventIds.indexOf(booking.getEventId());
+                    (updated[index] > 0 ? leased : unleased).add(booking);
+                }
+
+                if (!leased.isEmpty()) {
+                    BookingDAO.insertBookings(conn, leased);
+                }
+                conn.commit();
+                logger.info("{} bookings committed from the leases of node {}", leased.size(), nodeId);
+                return unleased;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error adding {} leased bookings", bookings.size(), e);
+            return null;
+        } finally {
+            for (Integer eventId : seatsByEvent.keySet()) {
+                EntityCaches.getInstance().events().invalidate(eventId);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ticketbooking.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * SQL and helpers shared by the writers that take seats from an event, either from
+ * its row in the events table or from one of its seat stripes.
+ * <p>
+ * The two TAKE statements are the head of a writable CTE named taken, which yields the
+ * event ID and stripe the seats were taken from, or no row if there were too few. The
+ * writer appends the statement that records what the seats were taken for.
+ */
+final class SeatTaking {
+    // Takes the seats from the row of an event without stripes.
+    // Parameters: quantity, event ID, quantity
+    static final String TAKE_EVENT_SEATS =
+        "WITH taken AS (" +
+        "UPDATE events SET available_seats = available_seats - ? " +
+        "WHERE id = ? AND available_seats >= ? AND seat_stripes <= 1 " +
+        "RETURNING id AS event_id, 0 AS stripe) ";
+
+    // Takes the seats from the first stripe at or after a starting stripe that has
+    // enough left, skipping stripes locked by other writers.
+    // Parameters: event ID, quantity, stripe offset, stripe count, quantity, event ID
+    static final String TAKE_STRIPE_SEATS =
+        "WITH pick AS (" +
+        "SELECT stripe FROM event_seat_stripes WHERE event_id = ? AND available_seats >= ? " +
+        "ORDER BY (stripe + ?) % ? LIMIT 1 FOR UPDATE SKIP LOCKED), " +
+        "taken AS (" +
+        "UPDATE event_seat_stripes s SET available_seats = s.available_seats - ? FROM pick " +
+        "WHERE s.event_id = ? AND s.stripe = pick.stripe RETURNING s.event_id, s.stripe) ";
+
+    private SeatTaking() {
+    }
+
+    /**
+     * @return parameters of TAKE_EVENT_SEATS
+     */
+    static int[] eventSeatParameters(int eventId, int quantity) {
+        return new int[]{quantity, eventId, quantity};
+    }
+
+    /**
+     * @return parameters of TAKE_STRIPE_SEATS starting at the given stripe
+     */
+    static int[] stripeSeatParameters(int eventId, int quantity, int start, int seatStripes) {
+        return new int[]{eventId, quantity, seatStripes - start, seatStripes, quantity, eventId};
+    }
+
+    /**
+     * @return a random stripe to start taking seats from
+     */
+    static int randomStripe(int seatStripes) {
+        return ThreadLocalRandom.current().nextInt(seatStripes);
+    }
+
+    /**
+     * @return number of seat stripes of an event, or 0 if the event does not exist
+     */
+    static int seatStripes(Connection conn, int eventId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT seat_stripes FROM events WHERE id = ?")) {
+            pstmt.setInt(1, eventId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Take seats from as many stripes of an event as needed, on an open transaction.
+     * Every stripe of the event is locked, so this is only used when no single stripe
+     * has enough seats left.
+     * @return true if the seats were taken, false if the stripes hold too few
+     */
+    static boolean takeFromStripes(Connection conn, int eventId, int quantity, int start, int seatStripes)
+            throws SQLException {
+        String lockStripesSql = "SELECT stripe, available_seats FROM event_seat_stripes " +
+                                "WHERE event_id = ? ORDER BY stripe FOR UPDATE";
+        String takeSeatsSql = "UPDATE event_seat_stripes SET available_seats = available_seats - ? " +
+                              "WHERE event_id = ? AND stripe = ?";
+
+        Map<Integer, Integer> availableSeats = new TreeMap<>();
+        try (PreparedStatement lockStmt = conn.prepareStatement(lockStripesSql)) {
+            lockStmt.setInt(1, eventId);
+            try (ResultSet rs = lockStmt.executeQuery()) {
+                while (rs.next()) {
+                    availableSeats.put(rs.getInt("stripe"), rs.getInt("available_seats"));
+                }
+            }
+        }
+
+        int total = availableSeats.values().stream().mapToInt(Integer::intValue).sum();
+        if (total < quantity) {
+            return false;
+        }
+
+        // Steal from the stripes in order, starting at the given stripe
+        try (PreparedStatement takeStmt = conn.prepareStatement(takeSeatsSql)) {
+            int remaining = quantity;
+            for (int i = 0; i < seatStripes && remaining > 0; i++) {
+                int stripe = (start + i) % seatStripes;
+                int take = Math.min(remaining, availableSeats.getOrDefault(stripe, 0));
+                if (take > 0) {
+                    takeStmt.setInt(1, take);
+                    takeStmt.setInt(2, eventId);
+                    takeStmt.setInt(3, stripe);
+                    takeStmt.addBatch();
+                    remaining -= take;
+                }
+            }
+            takeStmt.executeBatch();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,267 @@
+package com.ticketbooking.dao;
+
+import com.ticketbooking.cache.EntityCaches;
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.BookingOutcome;
+import com.ticketbooking.model.SeatAssignment;
+import com.ticketbooking.model.SeatLayout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Access Object for seat layouts and the booked seats of events with a layout.
+ * <p>
+ * The booked seats of each row are stored as a bit string. Booking seats sets their
+ * bits only if none of them is already set, so two clients can book different seats
+ * of the same row at the same time, and a client that lost a seat finds out from the
+ * write itself instead of from a query.
+ */
+public class SeatingDAO {
+    private static final Logger logger = LogManager.getLogger(SeatingDAO.class);
+
+    // Sets the bits of the booked seats of a row, unless one of them is already set.
+    // Parameters: event ID, row index, seat bits
+    private static final String OCCUPY_SEATS =
+        "INSERT INTO event_seat_occupancy (event_id, row_index, occupied) VALUES (?, ?, CAST(? AS BIT VARYING)) " +
+        "ON CONFLICT (event_id, row_index) DO UPDATE " +
+        "SET occupied = event_seat_occupancy.occupied | EXCLUDED.occupied " +
+        "WHERE position(B'1' IN (event_seat_occupancy.occupied & EXCLUDED.occupied)) = 0";
+
+    // Takes the seats from the event and inserts the booking with its assigned seats
+    private static final String BOOK_ASSIGNED_SEATS = SeatTaking.TAKE_EVENT_SEATS +
+        "INSERT INTO bookings (customer_name, customer_email, customer_phone, event_id, seat_type, " +
+        "quantity, total_price, seat_row, seat_start, idempotency_key) " +
+        "SELECT ?, ?, ?, taken.event_id, ?, ?, ?, ?, ?, ? FROM taken RETURNING id";
+
+    private static final String SELECT_LAYOUT_ROWS =
+        "SELECT l.id, l.name, r.section, r.row_label, r.seat_types " +
+        "FROM seat_layouts l JOIN seat_layout_rows r ON r.layout_id = l.id ";
+
+    /**
+     * Get all seat layouts
+     * @return List of seat layouts with their rows
+     */
+    public List<SeatLayout> getAllLayouts() {
+        Map<Integer, SeatLayout> layouts = new LinkedHashMap<>();
+        String sql = SELECT_LAYOUT_ROWS + "ORDER BY l.name, l.id, r.row_index";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                addLayoutRow(rs, layouts);
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving seat layouts", e);
+        }
+
+        return new ArrayList<>(layouts.values());
+    }
+
+    /**
+     * Get a seat layout by ID
+     * @param id layout ID
+     * @return SeatLayout with its rows if found, null otherwise
+     */
+    public SeatLayout getLayoutById(int id) {
+        Map<Integer, SeatLayout> layouts = new HashMap<>();
+        String sql = SELECT_LAYOUT_ROWS + "WHERE l.id = ? ORDER BY r.row_index";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    addLayoutRow(rs, layouts);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving seat layout with ID: " + id, e);
+        }
+
+        return layouts.get(id);
+    }
+
+    private void addLayoutRow(ResultSet rs, Map<Integer, SeatLayout> layouts) throws SQLException {
+        int id = rs.getInt("id");
+        SeatLayout layout = layouts.get(id);
+        if (layout == null) {
+            layout = new SeatLayout(rs.getString("name"));
+            layout.setId(id);
+            layouts.put(id, layout);
+        }
+        layout.addRow(rs.getString("section"), rs.getString("row_label"), rs.getString("seat_types"));
+    }
+
+    /**
+     * Add a seat layout with its rows
+     * @param layout layout to add; its ID is set on success
+     * @return true if successful, false otherwise
+     */
+    public boolean addLayout(SeatLayout layout) {
+        String layoutSql = "INSERT INTO seat_layouts (name) VALUES (?)";
+        String rowSql = "INSERT INTO seat_layout_rows (layout_id, row_index, section, row_label, seat_types) " +
+                        "VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement layoutStmt = conn.prepareStatement(layoutSql, Statement.RETURN_GENERATED_KEYS);
+                 PreparedStatement rowStmt = conn.prepareStatement(rowSql)) {
+
+                layoutStmt.setString(1, layout.getName());
+                layoutStmt.executeUpdate();
+                try (ResultSet generatedKeys = layoutStmt.getGeneratedKeys()) {
+                    if (!generatedKeys.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    layout.setId(generatedKeys.getInt(1));
+                }
+
+                List<SeatLayout.Row> rows = layout.getRows();
+                for (int i = 0; i < rows.size(); i++) {
+                    rowStmt.setInt(1, layout.getId());
+                    rowStmt.setInt(2, i);
+                    rowStmt.setString(3, rows.get(i).getSection());
+                    rowStmt.setString(4, rows.get(i).getLabel());
+                    rowStmt.setString(5, rows.get(i).getSeatTypes());
+                    rowStmt.addBatch();
+                }
+                rowStmt.executeBatch();
+                conn.commit();
+                logger.info("Seat layout added: {}", layout);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error adding seat layout: " + layout.getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Get the booked seats of an event
+     * @param eventId event ID
+     * @return bit string of the booked seats per row index, leaving out rows without
+     *         booked seats, or null if the query failed
+     */
+    public Map<Integer, String> getOccupancy(int eventId) {
+        Map<Integer, String> rows = new HashMap<>();
+        String sql = "SELECT row_index, occupied::TEXT FROM event_seat_occupancy WHERE event_id = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, eventId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving booked seats for event ID: " + eventId, e);
+            return null;
+        }
+
+        return rows;
+    }
+
+    /**
+     * Get the booked seats of one row of an event
+     * @param eventId event ID
+     * @param row row index
+     * @return bit string of the booked seats, empty if none are booked, or null if the query failed
+     */
+    public String getOccupiedRow(int eventId, int row) {
+        String sql = "SELECT occupied::TEXT FROM event_seat_occupancy WHERE event_id = ? AND row_index = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, eventId);
+            pstmt.setInt(2, row);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : "";
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving booked seats of row " + row + " for event ID: " + eventId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Book assigned seats: mark them booked in their row, take them from the event and
+     * insert the booking, all in one transaction
+     * @param booking booking with its assigned seats; its ID is set on success
+     * @param seatBits bit string over the whole row with the assigned seats set
+     * @return BOOKED on success, SEATS_TAKEN if another booking got one of the seats first,
+     *         SOLD_OUT, EVENT_NOT_FOUND, or FAILED on a database error
+     */
+    public BookingOutcome bookAssignedSeats(Booking booking, String seatBits) {
+        SeatAssignment seats = booking.getSeats();
+
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = conn.prepareStatement(OCCUPY_SEATS)) {
+                    pstmt.setInt(1, booking.getEventId());
+                    pstmt.setInt(2, seats.getRow());
+                    pstmt.setString(3, seatBits);
+                    if (pstmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return BookingOutcome.SEATS_TAKEN;
+                    }
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(BOOK_ASSIGNED_SEATS)) {
+                    int index = 1;
+                    for (int parameter : SeatTaking.eventSeatParameters(booking.getEventId(), booking.getQuantity())) {
+                        pstmt.setInt(index++, parameter);
+                    }
+                    pstmt.setString(index++, booking.getCustomerName());
+                    pstmt.setString(index++, booking.getCustomerEmail());
+                    pstmt.setString(index++, booking.getCustomerPhone());
+                    pstmt.setString(index++, booking.getSeatType());
+                    pstmt.setInt(index++, booking.getQuantity());
+                    pstmt.setBigDecimal(index++, booking.getTotalPrice().toBigDecimal());
+                    pstmt.setInt(index++, seats.getRow());
+                    pstmt.setInt(index++, seats.getFirstSeat());
+                    pstmt.setString(index, booking.getIdempotencyKey());
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        if (!rs.next()) {
+                            BookingOutcome outcome = SeatTaking.seatStripes(conn, booking.getEventId()) == 0
+                                ? BookingOutcome.EVENT_NOT_FOUND : BookingOutcome.SOLD_OUT;
+                            conn.rollback();
+                            return outcome;
+                        }
+                        booking.setId(rs.getInt(1));
+                    }
+                }
+                conn.commit();
+                logger.info("Booking committed with assigned seats {}. Booking ID: {}", seats, booking.getId());
+                return BookingOutcome.BOOKED;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error booking assigned seats for event ID: " + booking.getEventId(), e);
+            return BookingOutcome.FAILED;
+        } finally {
+            EntityCaches.getInstance().events().invalidate(booking.getEventId());
+        }
+    }
+}
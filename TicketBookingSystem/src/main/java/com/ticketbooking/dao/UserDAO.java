@@ -1,5 +1,6 @@
 package com.ticketbooking.dao;
 
+import com.ticketbooking.cache.EntityCaches;
 import com.ticketbooking.database.DBConnection;
 import com.ticketbooking.model.User;
 import com.ticketbooking.utils.EmailUtils;
@@ -42,11 +43,20 @@ public class UserDAO {
     }
 
     /**
-     * Get user by ID
+     * Get user by ID, from the entity cache when possible
      * @param id user ID
      * @return User object if found, null otherwise
      */
     public User getUserById(int id) {
+        return EntityCaches.getInstance().users().get(id, this::loadUserById);
+    }
+
+    /**
+     * Load a user from the database
+     * @param id user ID
+     * @return User object if found, null otherwise
+     */
+    private User loadUserById(int id) {
         String sql = "SELECT * FROM users WHERE id = ?";
 
         try (Connection conn = DBConnection.getInstance().getConnection();
@@ -99,7 +109,9 @@ public class UserDAO {
      */
     public User authenticateUser(String username, String password) {
         String sql = "SELECT * FROM users WHERE username = ?";
+        User user = null;
 
+        // Load the user first so no connection is held while the password is hashed
         try (Connection conn = DBConnection.getInstance().getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
@@ -107,7 +119,7 @@ public class UserDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    User user = mapResultSetToUser(rs);
+                    user = mapResultSetToUser(rs);
 
                     // Check if user is verified
                     boolean verified = false;
@@ -122,38 +134,77 @@ public class UserDAO {
                         logger.warn("User not verified: {}", username);
                         return null;
                     }
-
-                    // Verify password
-                    String storedPassword = user.getPassword();
-                    boolean passwordMatches;
-
-                    // Check if password is hashed (contains : character)
-                    if (storedPassword.contains(":")) {
-                        // Verify using password hash
-                        passwordMatches = PasswordUtils.verifyPassword(password, storedPassword);
-                    } else {
-                        // Legacy plain text password (for backward compatibility)
-                        passwordMatches = password.equals(storedPassword);
-                    }
-
-                    if (passwordMatches) {
-                        // Update last login date
-                        updateLastLogin(user.getId());
-                        user.updateLastLogin();
-
-                        logger.info("User authenticated successfully: {}", username);
-                        return user;
-                    }
                 }
             }
         } catch (SQLException e) {
             logger.error("Error authenticating user: {}", username, e);
+            return null;
+        }
+
+        if (user != null) {
+            // Verify password
+            String storedPassword = user.getPassword();
+            boolean passwordMatches;
+
+            // Check if password is hashed (contains : character)
+            if (storedPassword.contains(":")) {
+                // Verify using password hash
+                passwordMatches = PasswordUtils.verifyPassword(password, storedPassword);
+            } else {
+                // Legacy plain text password (for backward compatibility)
+                passwordMatches = password.equals(storedPassword);
+            }
+
+            if (passwordMatches) {
+                // Replace plain text and outdated hashes now that the password is known
+                if (PasswordUtils.needsRehash(storedPassword)) {
+                    rehashPassword(user, password);
+                }
+
+                // Update last login date
+                updateLastLogin(user.getId());
+                user.updateLastLogin();
+
+                logger.info("User authenticated successfully: {}", username);
+                return user;
+            }
         }
 
         logger.warn("Authentication failed for user: {}", username);
         return null;
     }
 
+    /**
+     * Store a new hash of a user's password with the current hashing settings
+     * @param user user whose password was just verified
+     * @param password the verified password
+     */
+    private void rehashPassword(User user, String password) {
+        String hashedPassword = PasswordUtils.hashPassword(password);
+        if (hashedPassword == null) {
+            return;
+        }
+
+        // Only replace the hash that was verified, in case the password changed meanwhile
+        String sql = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, hashedPassword);
+            pstmt.setInt(2, user.getId());
+            pstmt.setString(3, user.getPassword());
+
+            if (pstmt.executeUpdate() > 0) {
+                EntityCaches.getInstance().users().invalidate(user.getId());
+                user.setPassword(hashedPassword);
+                logger.info("Password hash upgraded for user ID: {}", user.getId());
+            }
+        } catch (SQLException e) {
+            logger.error("Error upgrading password hash for user ID: {}", user.getId(), e);
+        }
+    }
+
     /**
      * Add a new user to the database
      * @param user User object to add
@@ -308,6 +359,8 @@ public class UserDAO {
 
             int affectedRows = pstmt.executeUpdate();
             if (affectedRows > 0) {
+                // The verified user is only known by token, so drop every cached user
+                EntityCaches.getInstance().users().invalidateAll();
                 logger.info("User verified successfully with token: {}", token);
                 return true;
             }
@@ -369,6 +422,8 @@ public class UserDAO {
         } catch (SQLException e) {
             logger.error("Error updating user with ID: {}", user.getId(), e);
             return false;
+        } finally {
+            EntityCaches.getInstance().users().invalidate(user.getId());
         }
     }
 
@@ -391,6 +446,8 @@ public class UserDAO {
         } catch (SQLException e) {
             logger.error("Error updating last login for user ID: {}", userId, e);
             return false;
+        } finally {
+            EntityCaches.getInstance().users().invalidate(userId);
         }
     }
 
@@ -412,6 +469,8 @@ public class UserDAO {
         } catch (SQLException e) {
             logger.error("Error deleting user with ID: " + id, e);
             return false;
+        } finally {
+            EntityCaches.getInstance().users().invalidate(id);
         }
     }
 
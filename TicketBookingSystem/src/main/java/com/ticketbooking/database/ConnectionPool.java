@@ -0,0 +1,430 @@
+package com.ticketbooking.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, thread-safe pool of JDBC connections.
+ * <p>
+ * Callers borrow a connection with {@link #getConnection()} and return it by closing it,
+ * so existing try-with-resources code keeps working unchanged. Idle connections are
+ * validated on borrow, evicted after the idle timeout, and topped up to the minimum idle
+ * count by the housekeeper so bursts do not wait for new connections to open. Connections
+ * held longer than the leak detection threshold are reported together with the stack
+ * trace of the borrower.
+ */
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ConnectionPool.class);
+
+    /**
+     * Factory for new physical connections
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final PoolConfig config;
+    private final ConnectionFactory factory;
+
+    // One permit per connection that may be borrowed at the same time
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicLong totalCreated = new AtomicLong();
+    private final AtomicLong totalDestroyed = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+
+    private volatile boolean closed;
+    private PrintWriter logWriter;
+
+    /**
+     * Create a new connection pool
+     * @param config pool settings
+     * @param factory factory for physical connections
+     */
+    public ConnectionPool(PoolConfig config, ConnectionFactory factory) {
+        this.config = config;
+        this.factory = factory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getHousekeepingIntervalMillis();
+        if (interval > 0) {
+            // The first pass opens the minimum idle connections
+            housekeeper.scheduleWithFixedDelay(this::housekeep, 0, interval, TimeUnit.MILLISECONDS);
+        }
+
+        logger.info("Connection pool created with {}", config);
+    }
+
+    /**
+     * Borrow a connection from the pool, waiting up to the configured timeout
+     * @return pooled connection that returns itself to the pool when closed
+     * @throws SQLException if no connection becomes available or a new one cannot be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.getConnectionTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        if (!acquired) {
+            borrowTimeouts.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + config.getConnectionTimeoutMillis() +
+                                          "ms waiting for a database connection (" + getMetrics() + ")");
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowTrace = config.getLeakDetectionThresholdMillis() > 0
+                ? new Exception("Connection borrowed by thread " + Thread.currentThread().getName())
+                : null;
+            pooled.leakReported = false;
+            active.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    /**
+     * Get a snapshot of the pool statistics
+     * @return current pool metrics
+     */
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(active.size(), idle.size(), permits.getQueueLength(), totalConnections.get(),
+                               totalCreated.get(), totalDestroyed.get(), borrowTimeouts.get(), leaksDetected.get());
+    }
+
+    /**
+     * Close all idle connections and stop housekeeping. Borrowed connections are
+     * closed when they are returned.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled, "pool closed");
+        }
+
+        if (!active.isEmpty()) {
+            logger.warn("Connection pool closed with {} connections still borrowed", active.size());
+        }
+        logger.info("Connection pool closed ({})", getMetrics());
+    }
+
+    /**
+     * Run one eviction, top-up and leak detection pass
+     */
+    void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evict connections that have been idle too long, keeping at least minIdle idle
+            long idleTimeout = config.getIdleTimeoutMillis();
+            if (idleTimeout > 0) {
+                for (PooledConnection pooled : idle) {
+                    if (idle.size() <= config.getMinIdle()) {
+                        break;
+                    }
+                    if (now - pooled.lastUsedAt > idleTimeout && idle.remove(pooled)) {
+                        destroy(pooled, "idle timeout");
+                    }
+                }
+            }
+
+            fillIdle();
+
+            // Report connections that have been borrowed for too long
+            long leakThreshold = config.getLeakDetectionThresholdMillis();
+            if (leakThreshold > 0) {
+                for (PooledConnection pooled : active) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThreshold) {
+                        pooled.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        logger.warn("Possible connection leak: connection held for {}ms",
+                                    now - pooled.borrowedAt, pooled.borrowTrace);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error during connection pool housekeeping", e);
+        }
+    }
+
+    /**
+     * Open connections until minIdle are idle, without going over the maximum pool size
+     */
+    private void fillIdle() {
+        while (!closed && idle.size() < config.getMinIdle()) {
+            // Count the connection before opening it so borrowers see the pool as full
+            int total = totalConnections.get();
+            if (total >= config.getMaxSize()) {
+                return;
+            }
+            if (!totalConnections.compareAndSet(total, total + 1)) {
+                continue;
+            }
+
+            Connection raw;
+            try {
+                raw = factory.create();
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                logger.warn("Could not open idle connection", e);
+                return;
+            }
+            totalCreated.incrementAndGet();
+
+            PooledConnection pooled = new PooledConnection(raw);
+            idle.offerLast(pooled);
+            // close() may have drained the idle connections while this one was opening
+            if (closed && idle.remove(pooled)) {
+                destroy(pooled, "pool closed");
+            }
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            destroy(pooled, "failed validation");
+        }
+
+        // Count the connection before opening it, as fillIdle does, so the housekeeper
+        // never sees room for connections that are already being opened
+        totalConnections.incrementAndGet();
+        Connection raw;
+        try {
+            raw = factory.create();
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+        totalCreated.incrementAndGet();
+        logger.debug("Opened new pooled connection ({} total)", totalConnections.get());
+        return new PooledConnection(raw);
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.currentTimeMillis() - pooled.lastUsedAt < config.getValidationIntervalMillis()) {
+            return true;
+        }
+        try {
+            return pooled.raw.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            logger.warn("Connection validation failed", e);
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        if (!active.remove(pooled)) {
+            return;
+        }
+
+        try {
+            Connection raw = pooled.raw;
+            if (pooled.broken || closed || raw.isClosed()) {
+                destroy(pooled, pooled.broken ? "connection error" : "pool closed");
+                return;
+            }
+
+            // Never hand an open transaction to the next borrower
+            if (!raw.getAutoCommit()) {
+                raw.rollback();
+                raw.setAutoCommit(true);
+            }
+            raw.clearWarnings();
+
+            pooled.lastUsedAt = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            logger.warn("Failed to reset connection, discarding it", e);
+            destroy(pooled, "reset failed");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled, String reason) {
+        totalConnections.decrementAndGet();
+        totalDestroyed.incrementAndGet();
+        try {
+            pooled.raw.close();
+            logger.debug("Closed pooled connection: {}", reason);
+        } catch (SQLException e) {
+            logger.warn("Error closing pooled connection", e);
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        config.setConnectionTimeoutMillis(TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(config.getConnectionTimeoutMillis());
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("java.util.logging is not used");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    /**
+     * A physical connection owned by the pool
+     */
+    private final class PooledConnection {
+        private final Connection raw;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile Exception borrowTrace;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+
+        private PooledConnection(Connection raw) {
+            this.raw = raw;
+        }
+
+        /**
+         * Create a handle for a single borrow; closing the handle returns the connection
+         */
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Handle(this));
+        }
+    }
+
+    /**
+     * Invocation handler backing the connection handed out to callers
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.raw.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.raw + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            try {
+                return method.invoke(pooled.raw, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                // SQL state class 08 means the connection itself is no longer usable
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    if (state != null && state.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
@@ -11,16 +11,19 @@ import java.io.IOException;
 import java.io.InputStream;
 
 /**
- * Singleton class for managing database connections
+ * Singleton class for managing database connections.
+ * Connections are borrowed from a shared {@link ConnectionPool}; closing a
+ * connection returns it to the pool instead of closing the physical connection.
  */
 public class DBConnection {
     private static final Logger logger = LogManager.getLogger(DBConnection.class);
     private static DBConnection instance;
-    private Connection connection;
+    private ConnectionPool pool;
 
     private String url;
     private String username;
     private String password;
+    private PoolConfig poolConfig = new PoolConfig();
 
     private DBConnection() {
         try {
@@ -51,6 +54,7 @@ public class DBConnection {
             url = props.getProperty("db.url");
             username = props.getProperty("db.username");
             password = props.getProperty("db.password");
+            poolConfig = PoolConfig.fromProperties(props);
         }
     }
 
@@ -66,38 +70,72 @@ public class DBConnection {
     }
 
     /**
-     * Get database connection
-     * @return Connection object
+     * Borrow a database connection from the pool
+     * @return Connection object; close it to return it to the pool
      * @throws SQLException if connection fails
      */
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
+        return getDataSource().getConnection();
+    }
+
+    /**
+     * Get the pooled data source, creating it on first use
+     * @return pooled DataSource
+     * @throws SQLException if the PostgreSQL driver is not available
+     */
+    public synchronized ConnectionPool getDataSource() throws SQLException {
+        if (pool == null) {
             try {
                 Class.forName("org.postgresql.Driver");
-                connection = DriverManager.getConnection(url, username, password);
-                logger.info("Database connection established");
             } catch (ClassNotFoundException e) {
                 logger.error("PostgreSQL JDBC driver not found", e);
                 throw new SQLException("PostgreSQL JDBC driver not found", e);
-            } catch (SQLException e) {
-                logger.error("Failed to connect to database", e);
-                throw e;
             }
+            pool = new ConnectionPool(poolConfig, this::openPhysicalConnection);
         }
-        return connection;
+        return pool;
     }
 
     /**
-     * Close the database connection
+     * Get the connection pool settings
+     * @return pool configuration loaded from database.properties
      */
-    public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("Database connection closed");
-            } catch (SQLException e) {
-                logger.error("Error closing database connection", e);
-            }
+    public PoolConfig getPoolConfig() {
+        return poolConfig;
+    }
+
+    /**
+     * Get current connection pool statistics
+     * @return pool metrics, or null if the pool has not been created yet
+     */
+    public synchronized PoolMetrics getPoolMetrics() {
+        return pool != null ? pool.getMetrics() : null;
+    }
+
+    /**
+     * Open a new physical database connection
+     * @return Connection object
+     * @throws SQLException if connection fails
+     */
+    private Connection openPhysicalConnection() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(url, username, password);
+            logger.info("Database connection established");
+            return connection;
+        } catch (SQLException e) {
+            logger.error("Failed to connect to database", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Close the connection pool and all idle connections
+     */
+    public synchronized void closeConnection() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            logger.info("Database connection pool closed");
         }
     }
 }
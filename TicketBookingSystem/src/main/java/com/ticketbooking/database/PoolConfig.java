@@ -0,0 +1,147 @@
+package com.ticketbooking.database;
+
+import java.util.Properties;
+
+/**
+ * Configuration settings for the connection pool
+ */
+public class PoolConfig {
+    // Default values used when a property is missing
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final int DEFAULT_MIN_IDLE = 2;
+    public static final long DEFAULT_CONNECTION_TIMEOUT_MILLIS = 30_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+    public static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS = 60_000;
+    public static final long DEFAULT_VALIDATION_INTERVAL_MILLIS = 500;
+    public static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 5;
+    public static final long DEFAULT_HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private int minIdle = DEFAULT_MIN_IDLE;
+    private long connectionTimeoutMillis = DEFAULT_CONNECTION_TIMEOUT_MILLIS;
+    private long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+    private long leakDetectionThresholdMillis = DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS;
+    private long validationIntervalMillis = DEFAULT_VALIDATION_INTERVAL_MILLIS;
+    private int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+    private long housekeepingIntervalMillis = DEFAULT_HOUSEKEEPING_INTERVAL_MILLIS;
+
+    // Default constructor
+    public PoolConfig() {
+    }
+
+    /**
+     * Build a pool configuration from db.pool.* properties
+     * @param props properties loaded from database.properties
+     * @return PoolConfig with defaults for any missing property
+     */
+    public static PoolConfig fromProperties(Properties props) {
+        PoolConfig config = new PoolConfig();
+        config.setMaxSize(Integer.parseInt(props.getProperty("db.pool.maxSize",
+            String.valueOf(DEFAULT_MAX_SIZE))));
+        config.setMinIdle(Integer.parseInt(props.getProperty("db.pool.minIdle",
+            String.valueOf(DEFAULT_MIN_IDLE))));
+        config.setConnectionTimeoutMillis(Long.parseLong(props.getProperty("db.pool.connectionTimeoutMillis",
+            String.valueOf(DEFAULT_CONNECTION_TIMEOUT_MILLIS))));
+        config.setIdleTimeoutMillis(Long.parseLong(props.getProperty("db.pool.idleTimeoutMillis",
+            String.valueOf(DEFAULT_IDLE_TIMEOUT_MILLIS))));
+        config.setLeakDetectionThresholdMillis(Long.parseLong(props.getProperty("db.pool.leakDetectionThresholdMillis",
+            String.valueOf(DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS))));
+        config.setValidationIntervalMillis(Long.parseLong(props.getProperty("db.pool.validationIntervalMillis",
+            String.valueOf(DEFAULT_VALIDATION_INTERVAL_MILLIS))));
+        config.setValidationTimeoutSeconds(Integer.parseInt(props.getProperty("db.pool.validationTimeoutSeconds",
+            String.valueOf(DEFAULT_VALIDATION_TIMEOUT_SECONDS))));
+        config.setHousekeepingIntervalMillis(Long.parseLong(props.getProperty("db.pool.housekeepingIntervalMillis",
+            String.valueOf(DEFAULT_HOUSEKEEPING_INTERVAL_MILLIS))));
+        return config;
+    }
+
+    // Getters and Setters
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool max size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return number of idle connections the pool opens ahead of demand and keeps through idle eviction
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = Math.max(0, minIdle);
+    }
+
+    public long getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Set how long a connection may stay borrowed before it is reported as a leak
+     * @param leakDetectionThresholdMillis threshold in milliseconds, 0 to disable
+     */
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    public long getValidationIntervalMillis() {
+        return validationIntervalMillis;
+    }
+
+    /**
+     * Set how long after its last use an idle connection is trusted without validation
+     * @param validationIntervalMillis interval in milliseconds, 0 to validate on every borrow
+     */
+    public void setValidationIntervalMillis(long validationIntervalMillis) {
+        this.validationIntervalMillis = validationIntervalMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public long getHousekeepingIntervalMillis() {
+        return housekeepingIntervalMillis;
+    }
+
+    public void setHousekeepingIntervalMillis(long housekeepingIntervalMillis) {
+        this.housekeepingIntervalMillis = housekeepingIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolConfig{" +
+               "maxSize=" + maxSize +
+               ", minIdle=" + minIdle +
+               ", connectionTimeoutMillis=" + connectionTimeoutMillis +
+               ", idleTimeoutMillis=" + idleTimeoutMillis +
+               ", leakDetectionThresholdMillis=" + leakDetectionThresholdMillis +
+               '}';
+    }
+}
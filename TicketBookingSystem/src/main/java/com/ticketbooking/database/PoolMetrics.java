@@ -0,0 +1,85 @@
+package com.ticketbooking.database;
+
+/**
+ * Immutable snapshot of connection pool statistics
+ */
+public class PoolMetrics {
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final int total;
+    private final long totalCreated;
+    private final long totalDestroyed;
+    private final long borrowTimeouts;
+    private final long leaksDetected;
+
+    public PoolMetrics(int active, int idle, int waiting, int total, long totalCreated,
+                       long totalDestroyed, long borrowTimeouts, long leaksDetected) {
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.total = total;
+        this.totalCreated = totalCreated;
+        this.totalDestroyed = totalDestroyed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.leaksDetected = leaksDetected;
+    }
+
+    /**
+     * @return number of connections currently borrowed
+     */
+    public int getActive() {
+        return active;
+    }
+
+    /**
+     * @return number of open connections waiting in the pool
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * @return number of threads blocked waiting for a connection
+     */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    /**
+     * @return number of open physical connections
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public long getTotalCreated() {
+        return totalCreated;
+    }
+
+    public long getTotalDestroyed() {
+        return totalDestroyed;
+    }
+
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+               "active=" + active +
+               ", idle=" + idle +
+               ", waiting=" + waiting +
+               ", total=" + total +
+               ", totalCreated=" + totalCreated +
+               ", totalDestroyed=" + totalDestroyed +
+               ", borrowTimeouts=" + borrowTimeouts +
+               ", leaksDetected=" + leaksDetected +
+               '}';
+    }
+}
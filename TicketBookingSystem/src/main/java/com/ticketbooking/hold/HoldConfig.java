@@ -0,0 +1,105 @@
+package com.ticketbooking.hold;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Configuration settings for seat holds
+ */
+public class HoldConfig {
+    private static final Logger logger = LogManager.getLogger(HoldConfig.class);
+
+    // Default values used when a property is missing
+    public static final long DEFAULT_TTL_SECONDS = 600;
+    public static final long DEFAULT_TICK_MILLIS = 1000;
+    public static final int DEFAULT_WHEEL_SLOTS = 1024;
+
+    private long ttlSeconds = DEFAULT_TTL_SECONDS;
+    private long tickMillis = DEFAULT_TICK_MILLIS;
+    private int wheelSlots = DEFAULT_WHEEL_SLOTS;
+
+    // Default constructor
+    public HoldConfig() {
+    }
+
+    /**
+     * Load the hold configuration from booking.properties
+     * @return HoldConfig with defaults for any missing property
+     */
+    public static HoldConfig load() {
+        Properties props = new Properties();
+        try (InputStream input = HoldConfig.class.getClassLoader().getResourceAsStream("booking.properties")) {
+            if (input != null) {
+                props.load(input);
+            } else {
+                logger.warn("Unable to find booking.properties, using default settings");
+            }
+        } catch (IOException e) {
+            logger.error("Error loading booking properties", e);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Build a hold configuration from hold.* properties
+     * @param props properties loaded from booking.properties
+     * @return HoldConfig with defaults for any missing property
+     */
+    public static HoldConfig fromProperties(Properties props) {
+        HoldConfig config = new HoldConfig();
+        config.setTtlSeconds(Long.parseLong(props.getProperty("hold.ttlSeconds",
+            String.valueOf(DEFAULT_TTL_SECONDS))));
+        config.setTickMillis(Long.parseLong(props.getProperty("hold.tickMillis",
+            String.valueOf(DEFAULT_TICK_MILLIS))));
+        config.setWheelSlots(Integer.parseInt(props.getProperty("hold.wheelSlots",
+            String.valueOf(DEFAULT_WHEEL_SLOTS))));
+        return config;
+    }
+
+    // Getters and Setters
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Hold time must be greater than zero");
+        }
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public void setTickMillis(long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be greater than zero");
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    public int getWheelSlots() {
+        return wheelSlots;
+    }
+
+    public void setWheelSlots(int wheelSlots) {
+        if (wheelSlots <= 0) {
+            throw new IllegalArgumentException("Wheel slots must be greater than zero");
+        }
+        this.wheelSlots = wheelSlots;
+    }
+
+    @Override
+    public String toString() {
+        return "HoldConfig{" +
+               "ttlSeconds=" + ttlSeconds +
+               ", tickMillis=" + tickMillis +
+               ", wheelSlots=" + wheelSlots +
+               '}';
+    }
+}
@@ -0,0 +1,226 @@
+package com.ticketbooking.hold;
+
+import com.ticketbooking.dao.SeatHoldDAO;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.SeatHold;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-limited seat holds.
+ * <p>
+ * A hold takes its seats from the event straight away, so a customer filling in the
+ * booking form cannot lose them at checkout, and either becomes a booking or gives the
+ * seats back. Holds are stored in the seat_holds table so they survive a restart, and
+ * their expiry is tracked in memory by a {@link TimingWheel}: a single background thread
+ * advances the wheel every tick and releases the holds that fell due in one statement,
+ * so there is no timer per hold and the database is not polled for expired holds. Holds
+ * left in the table by a previous run are loaded into the wheel on startup, and the ones
+ * that expired while the application was down are released on the first tick.
+ */
+public class SeatHoldService {
+    private static final Logger logger = LogManager.getLogger(SeatHoldService.class);
+    private static SeatHoldService instance;
+
+    private final HoldConfig config;
+    private final SeatHoldDAO seatHoldDAO;
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel<Long>.Timeout> timeouts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService ticker;
+    private volatile boolean loaded;
+
+    private SeatHoldService(HoldConfig config) {
+        this.config = config;
+        this.seatHoldDAO = new SeatHoldDAO();
+        this.wheel = new TimingWheel<>(config.getWheelSlots(), config.getTickMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Get singleton instance of SeatHoldService. The first call starts the expiry
+     * thread, which loads the stored holds in the background.
+     * @return SeatHoldService instance
+     */
+    public static synchronized SeatHoldService getInstance() {
+        if (instance == null) {
+            instance = new SeatHoldService(HoldConfig.load());
+            instance.start();
+        }
+        return instance;
+    }
+
+    private void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tick = config.getTickMillis();
+        ticker.scheduleWithFixedDelay(this::tick, 0, tick, TimeUnit.MILLISECONDS);
+        logger.info("Seat hold service started with {}", config);
+    }
+
+    /**
+     * @return how long holds last unless given a time
+     */
+    public Duration getDefaultTtl() {
+        return Duration.ofSeconds(config.getTtlSeconds());
+    }
+
+    /**
+     * Hold seats for the configured time
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of seats
+     * @return the hold, or null if the seats could not be held
+     */
+    public SeatHold hold(int eventId, String seatType, int quantity) {
+        return hold(eventId, seatType, quantity, getDefaultTtl());
+    }
+
+    /**
+     * Hold seats for a limited time
+     * @param eventId event ID
+     * @param seatType type of seat
+     * @param quantity number of seats
+     * @param ttl how long the seats are held
+     * @return the hold, or null if the seats could not be held
+     */
+    public SeatHold hold(int eventId, String seatType, int quantity, Duration ttl) {
+        SeatHold hold = new SeatHold(eventId, seatType, quantity, LocalDateTime.now().plus(ttl));
+        if (!seatHoldDAO.addHold(hold)) {
+            return null;
+        }
+
+        schedule(hold);
+        onSeatsChanged(Set.of(eventId));
+        logger.info("Held {} {} seats for event ID: {} until {}", quantity, seatType, eventId, hold.getExpiresAt());
+        return hold;
+    }
+
+    /**
+     * Turn a hold into a booking. The booking gets the event, seat type and quantity of
+     * the hold.
+     * @param holdId hold ID
+     * @param booking booking with the customer details and total price; its ID is set on success
+     * @return true if the booking was saved, false if the hold has expired or been released
+     */
+    public boolean confirm(long holdId, Booking booking) {
+        if (!seatHoldDAO.confirmHold(holdId, booking)) {
+            return false;
+        }
+        cancel(holdId);
+        return true;
+    }
+
+    /**
+     * Give the seats of a hold back to the event
+     * @param holdId hold ID
+     * @return true if the hold was released, false if it had already been confirmed, released or expired
+     */
+    public boolean release(long holdId) {
+        cancel(holdId);
+        Set<Integer> eventIds = seatHoldDAO.releaseHolds(List.of(holdId));
+        if (eventIds == null) {
+            // Leave the hold to expire
+            retryLater(List.of(holdId));
+            return false;
+        }
+        onSeatsChanged(eventIds);
+        return !eventIds.isEmpty();
+    }
+
+    /**
+     * @return number of holds waiting to expire
+     */
+    public int getActiveHolds() {
+        return wheel.size();
+    }
+
+    /**
+     * Stop the expiry thread. Holds stay stored and are picked up on the next start.
+     */
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        try {
+            if (!loaded) {
+                loadHolds();
+            }
+            List<Long> expired = wheel.advance(System.currentTimeMillis());
+            if (expired.isEmpty()) {
+                return;
+            }
+
+            expired.forEach(timeouts::remove);
+            Set<Integer> eventIds = seatHoldDAO.releaseHolds(expired);
+            if (eventIds == null) {
+                retryLater(expired);
+                return;
+            }
+            onSeatsChanged(eventIds);
+            logger.info("Released {} expired seat holds", expired.size());
+        } catch (RuntimeException e) {
+            logger.error("Error expiring seat holds", e);
+        }
+    }
+
+    private void loadHolds() {
+        List<SeatHold> holds = seatHoldDAO.getAllHolds();
+        if (holds == null) {
+            logger.warn("Could not load seat holds, retrying on the next tick");
+            return;
+        }
+        holds.forEach(this::schedule);
+        loaded = true;
+        logger.info("Loaded {} seat holds", holds.size());
+    }
+
+    private void schedule(SeatHold hold) {
+        long deadline = hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        timeouts.put(hold.getId(), wheel.schedule(hold.getId(), deadline));
+    }
+
+    private void cancel(long holdId) {
+        TimingWheel<Long>.Timeout timeout = timeouts.remove(holdId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Put holds that could not be released back on the wheel to be released on the next tick
+     */
+    private void retryLater(Collection<Long> holdIds) {
+        long now = System.currentTimeMillis();
+        for (Long holdId : holdIds) {
+            timeouts.put(holdId, wheel.schedule(holdId, now));
+        }
+    }
+
+    /**
+     * Reload the seat inventory counters of events whose seats were held or given back
+     */
+    private void onSeatsChanged(Set<Integer> eventIds) {
+        SeatInventory inventory = SeatInventory.getInstance();
+        if (inventory.isEnabled()) {
+            eventIds.forEach(inventory::refresh);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.ticketbooking.hold;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel for expiring large numbers of items with one clock.
+ * <p>
+ * Time is divided into ticks, and the wheel is a ring of slots, one per tick. An item
+ * goes into the slot of the tick its deadline falls in, in a doubly linked list, so
+ * scheduling and cancelling take constant time whatever the number of items. Items due
+ * more than one turn of the wheel away share a slot with nearer ones and are skipped
+ * until their turn comes. Advancing the wheel only visits the slots of the ticks that
+ * passed, so an idle wheel costs nothing and a wheel of millions of items costs as much
+ * per tick as the items in one slot.
+ * <p>
+ * Deadlines are rounded up to the next tick, so items expire at most one tick late and
+ * never early. The wheel does not keep time itself; its owner calls {@link #advance}.
+ * @param <T> type of the scheduled items
+ */
+public class TimingWheel<T> {
+    private final Timeout[] slots;
+    private final int mask;
+    private final long tickMillis;
+    private final long startMillis;
+    // Last tick whose items have been expired
+    private long currentTick;
+    private int size;
+
+    /**
+     * Constructor
+     * @param slotCount number of slots, rounded up to a power of two
+     * @param tickMillis length of one tick in milliseconds
+     * @param nowMillis current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount, long tickMillis, long nowMillis) {
+        if (slotCount <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Slot count and tick length must be greater than zero");
+        }
+        int capacity = Integer.highestOneBit(slotCount);
+        if (capacity < slotCount) {
+            capacity <<= 1;
+        }
+        this.slots = (Timeout[]) new TimingWheel<?>.Timeout[capacity];
+        this.mask = slots.length - 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = nowMillis;
+    }
+
+    /**
+     * Schedule an item to expire at a deadline. Deadlines that have already passed
+     * expire on the next tick.
+     * @param item item to schedule
+     * @param deadlineMillis time in milliseconds at which the item expires
+     * @return handle for cancelling the item
+     */
+    public synchronized Timeout schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick + 1);
+        Timeout timeout = new Timeout(item, deadlineTick);
+        int slot = (int) (deadlineTick & mask);
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[slot] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Expire every item whose deadline has passed
+     * @param nowMillis current time in milliseconds
+     * @return expired items, removed from the wheel
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return expired;
+        }
+
+        // Visit the slot of every tick that passed, and each slot at most once. Items
+        // due by the target tick are all in those slots.
+        long ticks = Math.min(targetTick - currentTick, slots.length);
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            Timeout timeout = slots[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadlineTick <= targetTick) {
+                    unlink(timeout);
+                    expired.add(timeout.item);
+                }
+                timeout = next;
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * @return number of scheduled items
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[(int) (timeout.deadlineTick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.scheduled = false;
+        size--;
+    }
+
+    /**
+     * An item scheduled on the wheel
+     */
+    public final class Timeout {
+        private final T item;
+        private final long deadlineTick;
+        private Timeout prev;
+        private Timeout next;
+        private boolean scheduled = true;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return the scheduled item
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Remove the item from the wheel so it does not expire
+         * @return true if the item was removed, false if it had already expired or been cancelled
+         */
+        public boolean cancel() {
+            synchronized (TimingWheel.this) {
+                if (!scheduled) {
+                    return false;
+                }
+                unlink(this);
+                return true;
+            }
+        }
+    }
+}
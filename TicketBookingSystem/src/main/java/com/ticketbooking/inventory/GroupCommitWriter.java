@@ -0,0 +1,213 @@
+package com.ticketbooking.inventory;
+
+import com.ticketbooking.dao.BookingDAO;
+import com.ticketbooking.model.Booking;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes bookings from concurrent callers in shared transactions.
+ * <p>
+ * Callers queue a booking and wait for its result. A single writer thread takes the
+ * first queued booking, collects more until the group commit window closes or the
+ * group is full, and writes the whole group with one lock per event, one seat update
+ * per event and one batch insert. Each caller is then told whether its own booking
+ * was accepted.
+ */
+public class GroupCommitWriter implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(GroupCommitWriter.class);
+    private static GroupCommitWriter instance;
+    private static InventoryConfig config;
+
+    /**
+     * Writes one group of bookings in a single transaction
+     */
+    @FunctionalInterface
+    public interface GroupStore {
+        /**
+         * @param bookings bookings in arrival order
+         * @return per-booking result in list order, or null if the transaction failed
+         */
+        boolean[] write(List<Booking> bookings);
+    }
+
+    private final GroupStore store;
+    private final long windowNanos;
+    private final int maxSize;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     * @param store store that writes each group
+     * @param windowMillis how long to wait for more bookings after the first one arrives
+     * @param maxSize maximum number of bookings per group
+     */
+    public GroupCommitWriter(GroupStore store, long windowMillis, int maxSize) {
+        this.store = store;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxSize = maxSize;
+        this.writer = Thread.ofPlatform().name("booking-group-commit").daemon(true).start(this::run);
+    }
+
+    /**
+     * Get singleton instance of GroupCommitWriter, configured from booking.properties
+     * @return GroupCommitWriter instance
+     */
+    public static synchronized GroupCommitWriter getInstance() {
+        if (instance == null) {
+            BookingDAO bookingDAO = new BookingDAO();
+            instance = new GroupCommitWriter(bookingDAO::addBookingGroup,
+                                             getConfig().getGroupCommitWindowMillis(), getConfig().getGroupCommitMaxSize());
+        }
+        return instance;
+    }
+
+    /**
+     * @return true if bookings should be written through the group commit writer
+     */
+    public static boolean isEnabled() {
+        return getConfig().isGroupCommitEnabled();
+    }
+
+    private static synchronized InventoryConfig getConfig() {
+        if (config == null) {
+            config = InventoryConfig.load();
+        }
+        return config;
+    }
+
+    /**
+     * Queue a booking for the next group
+     * @param booking booking to write
+     * @return future completed with true if the booking was written, false if it was rejected
+     */
+    public CompletableFuture<Boolean> submit(Booking booking) {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        if (closed) {
+            result.complete(false);
+            return result;
+        }
+        Request request = new Request(booking, result);
+        queue.add(request);
+        // close() may have drained the queue between the check and the add; whoever
+        // removes the request from the queue completes it
+        if (closed && queue.remove(request)) {
+            result.complete(false);
+        }
+        return result;
+    }
+
+    /**
+     * Write a booking and wait for the group it joins to commit
+     * @param booking booking to write
+     * @return true if the booking was written, false otherwise
+     */
+    public boolean write(Booking booking) {
+        try {
+            return submit(booking).join();
+        } catch (CompletionException e) {
+            logger.error("Error writing booking", e.getCause());
+            return false;
+        }
+    }
+
+    /**
+     * Stop the writer after the queued bookings have been written
+     */
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Fail anything that arrived after the writer stopped
+        Request request;
+        while ((request = queue.poll()) != null) {
+            request.result.complete(false);
+        }
+    }
+
+    private void run() {
+        List<Request> group = new ArrayList<>(maxSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                collect(group);
+            } catch (InterruptedException e) {
+                // close() was called; write what has been collected and drain the queue
+                queue.drainTo(group, maxSize - group.size());
+            }
+            if (!group.isEmpty()) {
+                writeGroup(group);
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * Wait for the first booking, then collect more until the window closes or the group is full
+     */
+    private void collect(List<Request> group) throws InterruptedException {
+        group.add(queue.take());
+        queue.drainTo(group, maxSize - group.size());
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+            queue.drainTo(group, maxSize - group.size());
+        }
+    }
+
+    private void writeGroup(List<Request> group) {
+        List<Booking> bookings = new ArrayList<>(group.size());
+        for (Request request : group) {
+            bookings.add(request.booking);
+        }
+
+        boolean[] accepted;
+        try {
+            accepted = store.write(bookings);
+        } catch (RuntimeException e) {
+            logger.error("Error writing group of {} bookings", group.size(), e);
+            accepted = null;
+        }
+
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).result.complete(accepted != null && accepted[i]);
+        }
+        logger.debug("Wrote group of {} bookings", group.size());
+    }
+
+    /**
+     * A queued booking and the future its caller waits on
+     */
+    private static final class Request {
+        private final Booking booking;
+        private final CompletableFuture<Boolean> result;
+
+        private Request(Booking booking, CompletableFuture<Boolean> result) {
+            this.booking = booking;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.ticketbooking.inventory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Configuration settings for the in-memory seat inventory
+ */
+public class InventoryConfig {
+    private static final Logger logger = LogManager.getLogger(InventoryConfig.class);
+
+    // Default values used when a property is missing
+    public static final boolean DEFAULT_ENABLED = false;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 20;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 200;
+    public static final boolean DEFAULT_GROUP_COMMIT_ENABLED = false;
+    public static final long DEFAULT_GROUP_COMMIT_WINDOW_MILLIS = 2;
+    public static final int DEFAULT_GROUP_COMMIT_MAX_SIZE = 64;
+    public static final int DEFAULT_LEASE_SEATS = 0;
+    public static final long DEFAULT_LEASE_SECONDS = 60;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private boolean groupCommitEnabled = DEFAULT_GROUP_COMMIT_ENABLED;
+    private long groupCommitWindowMillis = DEFAULT_GROUP_COMMIT_WINDOW_MILLIS;
+    private int groupCommitMaxSize = DEFAULT_GROUP_COMMIT_MAX_SIZE;
+    private int leaseSeats = DEFAULT_LEASE_SEATS;
+    private long leaseSeconds = DEFAULT_LEASE_SECONDS;
+    // A random node ID leaves the leases of a crashed node to expire; a fixed one lets the
+    // restarted node return them straight away
+    private String nodeId = UUID.randomUUID().toString();
+
+    // Default constructor
+    public InventoryConfig() {
+    }
+
+    /**
+     * Load the inventory configuration from booking.properties
+     * @return InventoryConfig with defaults for any missing property
+     */
+    public static InventoryConfig load() {
+        Properties props = new Properties();
+        try (InputStream input = InventoryConfig.class.getClassLoader().getResourceAsStream("booking.properties")) {
+            if (input != null) {
+                props.load(input);
+            } else {
+                logger.warn("Unable to find booking.properties, using default settings");
+            }
+        } catch (IOException e) {
+            logger.error("Error loading booking properties", e);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Build an inventory configuration from booking.inventory.* and booking.groupCommit.* properties
+     * @param props properties loaded from booking.properties
+     * @return InventoryConfig with defaults for any missing property
+     */
+    public static InventoryConfig fromProperties(Properties props) {
+        InventoryConfig config = new InventoryConfig();
+        config.setEnabled(Boolean.parseBoolean(props.getProperty("booking.inventory.enabled",
+            String.valueOf(DEFAULT_ENABLED))));
+        config.setFlushIntervalMillis(Long.parseLong(props.getProperty("booking.inventory.flushIntervalMillis",
+            String.valueOf(DEFAULT_FLUSH_INTERVAL_MILLIS))));
+        config.setMaxBatchSize(Integer.parseInt(props.getProperty("booking.inventory.maxBatchSize",
+            String.valueOf(DEFAULT_MAX_BATCH_SIZE))));
+        config.setGroupCommitEnabled(Boolean.parseBoolean(props.getProperty("booking.groupCommit.enabled",
+            String.valueOf(DEFAULT_GROUP_COMMIT_ENABLED))));
+        config.setGroupCommitWindowMillis(Long.parseLong(props.getProperty("booking.groupCommit.windowMillis",
+            String.valueOf(DEFAULT_GROUP_COMMIT_WINDOW_MILLIS))));
+        config.setGroupCommitMaxSize(Integer.parseInt(props.getProperty("booking.groupCommit.maxSize",
+            String.valueOf(DEFAULT_GROUP_COMMIT_MAX_SIZE))));
+        config.setLeaseSeats(Integer.parseInt(props.getProperty("booking.inventory.leaseSeats",
+            String.valueOf(DEFAULT_LEASE_SEATS))));
+        config.setLeaseSeconds(Long.parseLong(props.getProperty("booking.inventory.leaseSeconds",
+            String.valueOf(DEFAULT_LEASE_SECONDS))));
+        String nodeId = props.getProperty("booking.inventory.nodeId", "").trim();
+        if (!nodeId.isEmpty()) {
+            config.setNodeId(nodeId);
+        }
+        return config;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Flush interval must be greater than zero");
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than zero");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isGroupCommitEnabled() {
+        return groupCommitEnabled;
+    }
+
+    public void setGroupCommitEnabled(boolean groupCommitEnabled) {
+        this.groupCommitEnabled = groupCommitEnabled;
+    }
+
+    public long getGroupCommitWindowMillis() {
+        return groupCommitWindowMillis;
+    }
+
+    /**
+     * Set how long the group commit writer waits for more bookings after the first one arrives
+     * @param groupCommitWindowMillis window in milliseconds, 0 to only take bookings already queued
+     */
+    public void setGroupCommitWindowMillis(long groupCommitWindowMillis) {
+        this.groupCommitWindowMillis = Math.max(0, groupCommitWindowMillis);
+    }
+
+    public int getGroupCommitMaxSize() {
+        return groupCommitMaxSize;
+    }
+
+    public void setGroupCommitMaxSize(int groupCommitMaxSize) {
+        if (groupCommitMaxSize <= 0) {
+            throw new IllegalArgumentException("Group commit size must be greater than zero");
+        }
+        this.groupCommitMaxSize = groupCommitMaxSize;
+    }
+
+    /**
+     * @return true if seats are sold from blocks leased from the events table, so several
+     *         application nodes can share one database
+     */
+    public boolean isLeasing() {
+        return leaseSeats > 0;
+    }
+
+    public int getLeaseSeats() {
+        return leaseSeats;
+    }
+
+    /**
+     * Set how many seats a node leases from an event at a time
+     * @param leaseSeats seats per lease, 0 to load the counters from the events table instead
+     */
+    public void setLeaseSeats(int leaseSeats) {
+        if (leaseSeats < 0) {
+            throw new IllegalArgumentException("Lease size cannot be negative");
+        }
+        this.leaseSeats = leaseSeats;
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(long leaseSeconds) {
+        if (leaseSeconds <= 0) {
+            throw new IllegalArgumentException("Lease time must be greater than zero");
+        }
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        if (nodeId == null || nodeId.isEmpty() || nodeId.length() > 64) {
+            throw new IllegalArgumentException("Node ID must be between 1 and 64 characters");
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryConfig{" +
+               "enabled=" + enabled +
+               ", flushIntervalMillis=" + flushIntervalMillis +
+               ", maxBatchSize=" + maxBatchSize +
+               ", groupCommitEnabled=" + groupCommitEnabled +
+               ", groupCommitWindowMillis=" + groupCommitWindowMillis +
+               ", groupCommitMaxSize=" + groupCommitMaxSize +
+               ", leaseSeats=" + leaseSeats +
+               ", leaseSeconds=" + leaseSeconds +
+               ", nodeId='" + nodeId + '\'' +
+               '}';
+    }
+}
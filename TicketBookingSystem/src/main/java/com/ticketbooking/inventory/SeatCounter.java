@@ -0,0 +1,143 @@
+package com.ticketbooking.inventory;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free counter of the available seats of one event.
+ * <p>
+ * The seats are split over several stripes so buyers of different seat types
+ * decrement different counters and do not contend on the same compare-and-set.
+ * When its own stripe runs short, a reservation takes the remaining seats from
+ * the other stripes. The counter never goes below zero, so seats cannot be oversold.
+ */
+public class SeatCounter {
+    // Attempts made before giving up on a reservation that races with others
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AtomicIntegerArray stripes;
+
+    /**
+     * Constructor
+     * @param availableSeats number of seats available
+     * @param stripeCount number of stripes to spread the seats over
+     */
+    public SeatCounter(int availableSeats, int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be greater than zero");
+        }
+        this.stripes = new AtomicIntegerArray(stripeCount);
+
+        int seats = Math.max(0, availableSeats);
+        for (int i = 0; i < stripeCount; i++) {
+            // Spread the remainder over the first stripes
+            stripes.set(i, seats / stripeCount + (i < seats % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Try to reserve seats
+     * @param stripe stripe to take the seats from first
+     * @param quantity number of seats to reserve
+     * @return true if the seats were reserved, false if not enough seats are available
+     */
+    public boolean tryReserve(int stripe, int quantity) {
+        if (quantity <= 0) {
+            return false;
+        }
+        int home = Math.floorMod(stripe, stripes.length());
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            // Fast path: the whole reservation fits in the home stripe
+            int current = stripes.get(home);
+            while (current >= quantity) {
+                if (stripes.compareAndSet(home, current, current - quantity)) {
+                    return true;
+                }
+                current = stripes.get(home);
+            }
+
+            // Slow path: gather seats from every stripe, giving them back if there are too few
+            int[] taken = new int[stripes.length()];
+            int remaining = quantity;
+            for (int i = 0; i < stripes.length() && remaining > 0; i++) {
+                int index = (home + i) % stripes.length();
+                taken[index] = takeUpTo(index, remaining);
+                remaining -= taken[index];
+            }
+            if (remaining == 0) {
+                return true;
+            }
+            for (int i = 0; i < taken.length; i++) {
+                if (taken[i] > 0) {
+                    stripes.addAndGet(i, taken[i]);
+                }
+            }
+
+            // Only retry if the seats were held by a concurrent reservation
+            if (getAvailable() < quantity) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return previously reserved seats
+     * @param stripe stripe to return the seats to
+     * @param quantity number of seats to return
+     */
+    public void release(int stripe, int quantity) {
+        if (quantity > 0) {
+            stripes.addAndGet(Math.floorMod(stripe, stripes.length()), quantity);
+        }
+    }
+
+    /**
+     * Add seats, spread over the stripes
+     * @param seats number of seats to add
+     */
+    public void add(int seats) {
+        int stripeCount = stripes.length();
+        for (int i = 0; i < stripeCount && seats > 0; i++) {
+            stripes.addAndGet(i, seats / stripeCount + (i < seats % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Take all remaining seats, so later reservations fail until seats are added
+     * @return number of seats taken
+     */
+    public int drain() {
+        int total = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            total += stripes.getAndSet(i, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Get the number of available seats. The value is a snapshot and may be
+     * out of date as soon as it is returned.
+     * @return available seats over all stripes
+     */
+    public int getAvailable() {
+        int total = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            total += stripes.get(i);
+        }
+        return total;
+    }
+
+    private int takeUpTo(int index, int wanted) {
+        while (true) {
+            int current = stripes.get(index);
+            int take = Math.min(current, wanted);
+            if (take <= 0) {
+                return 0;
+            }
+            if (stripes.compareAndSet(index, current, current - take)) {
+                return take;
+            }
+        }
+    }
+}
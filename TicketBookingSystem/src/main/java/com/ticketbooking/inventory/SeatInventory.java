@@ -0,0 +1,563 @@
+package com.ticketbooking.inventory;
+
+import com.ticketbooking.cache.DashboardStatsCache;
+import com.ticketbooking.dao.BookingDAO;
+import com.ticketbooking.dao.EventDAO;
+import com.ticketbooking.dao.SeatLeaseDAO;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory seat inventory in front of the bookings table.
+ * <p>
+ * Seats are reserved with a compare-and-set on a per-event {@link SeatCounter}, so
+ * buyers of the same event do not queue on the event row lock. Reserved bookings are
+ * written to the database in batches by a background flusher, and each buyer waits for
+ * its own booking to be written. The counters are loaded from the events table on
+ * startup; the guarded seat update in the database remains the final check, and a
+ * booking it rejects is reported as not booked and its event's counter is reloaded.
+ * <p>
+ * The counters assume this application is the only one selling seats, which is why
+ * the inventory is disabled unless booking.inventory.enabled is set.
+ * <p>
+ * To run several application nodes against one database, set booking.inventory.leaseSeats.
+ * Each node then starts its counters empty and leases blocks of seats from the events
+ * table as it sells them, in one short statement per block. Bookings sold from a lease
+ * use up the lease instead of touching the event row, so nodes do not queue on it. A
+ * node returns the unsold seats of a lease shortly before the lease expires and when
+ * it shuts down; the leases of a node that crashed are returned by the other nodes once
+ * they expire.
+ * <p>
+ * Striped events keep their own stripes and are booked straight against them, with or
+ * without leasing, rather than through the counters and the batch writes.
+ */
+public class SeatInventory {
+    private static final Logger logger = LogManager.getLogger(SeatInventory.class);
+    private static SeatInventory instance;
+
+    // One stripe per seat type
+    private static final String[] SEAT_TYPES = {
+        Booking.SEAT_TYPE_STANDARD, Booking.SEAT_TYPE_VIP, Booking.SEAT_TYPE_PREMIUM
+    };
+
+    // Leases taken for one booking before giving up, when other buyers keep using up the new seats
+    private static final int MAX_LEASE_ATTEMPTS = 3;
+
+    private final InventoryConfig config;
+    private final BookingDAO bookingDAO;
+    private final EventDAO eventDAO;
+    private final SeatLeaseDAO seatLeaseDAO;
+    private final Map<Integer, SeatCounter> counters = new ConcurrentHashMap<>();
+    // Read-locked while seats are reserved from the counter of an event, write-locked while it is reloaded
+    private final Map<Integer, ReadWriteLock> counterLocks = new ConcurrentHashMap<>();
+    // Events whose bookings the database rejected, reloaded after the flush that found them
+    private final Set<Integer> staleEvents = ConcurrentHashMap.newKeySet();
+    // System.nanoTime at which the lease of each event is returned, when leasing
+    private final Map<Integer, Long> leaseReturnTimes = new ConcurrentHashMap<>();
+    // Held while the lease of an event is taken or returned
+    private final Map<Integer, Object> leaseLocks = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingBooking> pending = new LinkedBlockingQueue<>();
+    private final Object flushLock = new Object();
+    private ScheduledExecutorService flusher;
+
+    private SeatInventory(InventoryConfig config) {
+        this.config = config;
+        this.bookingDAO = new BookingDAO();
+        this.eventDAO = new EventDAO();
+        this.seatLeaseDAO = new SeatLeaseDAO();
+    }
+
+    /**
+     * Get singleton instance of SeatInventory. When the inventory is enabled the
+     * first call loads the counters and starts the background flusher.
+     * @return SeatInventory instance
+     */
+    public static synchronized SeatInventory getInstance() {
+        if (instance == null) {
+            instance = new SeatInventory(InventoryConfig.load());
+            if (instance.isEnabled()) {
+                instance.start();
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * @return true if bookings should reserve seats through the inventory
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    private void start() {
+        if (config.isLeasing()) {
+            // Leases this node left behind under the same node ID when it last stopped
+            seatLeaseDAO.returnLeases(config.getNodeId());
+        } else {
+            loadCounters();
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-inventory-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getFlushIntervalMillis();
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        if (config.isLeasing()) {
+            long check = Math.max(1, TimeUnit.SECONDS.toMillis(config.getLeaseSeconds()) / 4);
+            flusher.scheduleWithFixedDelay(this::maintainLeases, check, check, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Seat inventory started with {}", config);
+    }
+
+    /**
+     * Load every counter from the events table on startup, before any seats are reserved
+     */
+    private void loadCounters() {
+        Map<Integer, Integer> seats = eventDAO.getAvailableSeatsByEvent();
+        if (seats == null) {
+            logger.warn("Could not load available seats, counters will be loaded on first use");
+            return;
+        }
+
+        seats.forEach((eventId, available) -> counters.put(eventId, new SeatCounter(available, SEAT_TYPES.length)));
+        logger.info("Seat inventory loaded for {} events", seats.size());
+    }
+
+    /**
+     * Write pending bookings and reload every counter from the events table. When
+     * leasing, the counters hold leased seats and are left as they are.
+     */
+    public void reconcile() {
+        flush();
+        if (config.isLeasing()) {
+            return;
+        }
+        for (Integer eventId : new ArrayList<>(counters.keySet())) {
+            reload(eventId);
+        }
+        logger.info("Seat inventory reconciled");
+    }
+
+    /**
+     * Reserve the seats of a booking and wait for it to be written to the database
+     * @param booking booking to reserve seats for; its ID is set when saved
+     * @return true if the booking was saved, false if not enough seats are available or it could not be saved
+     */
+    public boolean reserve(Booking booking) {
+        if (isStriped(booking)) {
+            // The stripes already spread buyers over several rows, and batch writes
+            // only take seats from unstriped events
+            return bookingDAO.bookSeats(booking).isBooked();
+        }
+        if (config.isLeasing()) {
+            return reserveLeased(booking);
+        }
+
+        // The booking is queued before the lock is released, so a reload writes it before
+        // reading the available seats again
+        PendingBooking request;
+        Lock lock = counterLock(booking.getEventId()).readLock();
+        lock.lock();
+        try {
+            SeatCounter counter = getCounter(booking.getEventId());
+            if (counter == null) {
+                logger.error("Event with ID {} not found", booking.getEventId());
+                return false;
+            }
+
+            if (!counter.tryReserve(stripeFor(booking.getSeatType()), booking.getQuantity())) {
+                logger.error("Not enough seats available. Requested: {}, Available: {}",
+                            booking.getQuantity(), counter.getAvailable());
+                return false;
+            }
+            request = enqueue(booking);
+        } finally {
+            lock.unlock();
+        }
+
+        return await(request);
+    }
+
+    /**
+     * Reserve the seats of a booking from the leased seats of its event, leasing more
+     * when they run short
+     */
+    private boolean reserveLeased(Booking booking) {
+        int eventId = booking.getEventId();
+        int stripe = stripeFor(booking.getSeatType());
+        for (int attempt = 0; ; attempt++) {
+            if (getLeasedCounter(eventId).tryReserve(stripe, booking.getQuantity())) {
+                return await(enqueue(booking));
+            }
+            if (attempt == MAX_LEASE_ATTEMPTS || !lease(eventId, booking.getQuantity())) {
+                logger.error("Not enough seats available for event ID: {}. Requested: {}",
+                            eventId, booking.getQuantity());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Lease another block of seats of an event, unless another buyer just did
+     * @return true if the counter now has at least the given number of seats
+     */
+    private boolean lease(int eventId, int quantity) {
+        synchronized (leaseLock(eventId)) {
+            SeatCounter counter = getLeasedCounter(eventId);
+            if (counter.getAvailable() >= quantity) {
+                return true;
+            }
+
+            int leased = seatLeaseDAO.leaseSeats(eventId, config.getNodeId(),
+                                                 Math.max(config.getLeaseSeats(), quantity), config.getLeaseSeconds());
+            if (leased <= 0) {
+                return false;
+            }
+            counter.add(leased);
+            // Leasing extends the lease; give it back a quarter of its time before it expires
+            long leaseNanos = TimeUnit.SECONDS.toNanos(config.getLeaseSeconds());
+            leaseReturnTimes.put(eventId, System.nanoTime() + leaseNanos - leaseNanos / 4);
+            return counter.getAvailable() >= quantity;
+        }
+    }
+
+    /**
+     * Return the unsold seats of the lease of an event once the bookings sold from it
+     * are written. The next booking of the event takes a new lease.
+     */
+    private void returnLease(int eventId) {
+        synchronized (leaseLock(eventId)) {
+            leaseReturnTimes.remove(eventId);
+            SeatCounter counter = counters.remove(eventId);
+            if (counter != null) {
+                counter.drain();
+            }
+            flush();
+            seatLeaseDAO.returnLease(eventId, config.getNodeId());
+        }
+    }
+
+    /**
+     * Return the leases of this node that are due, and the expired leases of nodes that crashed
+     */
+    private void maintainLeases() {
+        try {
+            long now = System.nanoTime();
+            for (Map.Entry<Integer, Long> entry : leaseReturnTimes.entrySet()) {
+                if (now - entry.getValue() >= 0) {
+                    returnLease(entry.getKey());
+                }
+            }
+            seatLeaseDAO.returnExpiredLeases();
+        } catch (RuntimeException e) {
+            logger.error("Error maintaining seat leases", e);
+        }
+    }
+
+    private PendingBooking enqueue(Booking booking) {
+        PendingBooking request = new PendingBooking(booking);
+        pending.add(request);
+        return request;
+    }
+
+    /**
+     * Wait until a queued booking has been written
+     * @return true if the booking was saved, false if the database rejected it
+     */
+    private boolean await(PendingBooking request) {
+        if (flusher == null || flusher.isShutdown()) {
+            // Nothing flushes after shutdown, so write it now
+            flush();
+        } else if (pending.size() >= config.getMaxBatchSize()) {
+            // Do not wait for the next tick once a full batch is waiting
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flush();
+            }
+        }
+
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            logger.error("Error writing booking", e.getCause());
+            return false;
+        }
+    }
+
+    /**
+     * Get the number of seats the inventory still has for an event
+     * @param eventId event ID
+     * @return available seats, or -1 if the event is not known
+     */
+    public int getAvailableSeats(int eventId) {
+        SeatCounter counter = config.isLeasing() ? counters.get(eventId) : getCounter(eventId);
+        return counter != null ? counter.getAvailable() : -1;
+    }
+
+    /**
+     * Reload the counter of an event after it was changed outside the inventory. Leased
+     * seats are not affected by such changes, so when leasing only pending bookings are written.
+     * @param eventId event ID
+     */
+    public void refresh(int eventId) {
+        if (config.isLeasing()) {
+            flush();
+            return;
+        }
+        reload(eventId);
+        reloadStale();
+    }
+
+    /**
+     * Drop the counter of an event so it is loaded from the events table on next use.
+     * Reservations of the event wait until the bookings already reserved from the old
+     * counter are written, so the new counter does not count their seats as available.
+     */
+    private void reload(int eventId) {
+        Lock lock = counterLock(eventId).writeLock();
+        lock.lock();
+        try {
+            writePending();
+            staleEvents.remove(eventId);
+            counters.remove(eventId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reloadStale() {
+        for (Integer eventId : staleEvents) {
+            reload(eventId);
+        }
+    }
+
+    /**
+     * Write all pending bookings to the database and tell their buyers whether they were
+     * saved, then reload the counters the database disagreed with
+     */
+    public void flush() {
+        writePending();
+        if (!config.isLeasing()) {
+            reloadStale();
+        }
+    }
+
+    private void writePending() {
+        synchronized (flushLock) {
+            List<PendingBooking> batch = new ArrayList<>(config.getMaxBatchSize());
+            while (pending.drainTo(batch, config.getMaxBatchSize()) > 0) {
+                try {
+                    persist(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Error flushing seat inventory", e);
+                } finally {
+                    // Bookings not saved by now were not saved at all, and their seats are
+                    // still taken from the counters
+                    Set<Integer> unsavedEvents = new HashSet<>();
+                    for (PendingBooking request : batch) {
+                        if (request.result.complete(false)) {
+                            unsavedEvents.add(request.booking.getEventId());
+                        }
+                    }
+                    if (!unsavedEvents.isEmpty()) {
+                        resetCounters(unsavedEvents);
+                    }
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the background flusher, write the remaining bookings and return the unsold leased seats
+     */
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+        if (config.isLeasing()) {
+            counters.clear();
+            leaseReturnTimes.clear();
+            seatLeaseDAO.returnLeases(config.getNodeId());
+        }
+    }
+
+    private void persist(List<PendingBooking> batch) {
+        if (config.isLeasing()) {
+            persistLeased(batch);
+            return;
+        }
+        if (bookingDAO.addBookings(bookingsOf(batch))) {
+            complete(batch, true);
+            return;
+        }
+
+        // Write the bookings one at a time so only the ones without seats fail
+        logger.warn("Batch of {} bookings failed, retrying individually", batch.size());
+        boolean rejected = false;
+        for (PendingBooking request : batch) {
+            Booking booking = request.booking;
+            boolean saved = bookingDAO.addBooking(booking);
+            if (!saved) {
+                logger.error("Booking for event ID: {} by customer: {} was rejected",
+                            booking.getEventId(), booking.getCustomerName());
+                // The database disagreed with the counter, so reload it once this flush is done
+                staleEvents.add(booking.getEventId());
+                rejected = true;
+            }
+            request.result.complete(saved);
+        }
+
+        if (rejected) {
+            DashboardStatsCache.getInstance().invalidate();
+        }
+    }
+
+    /**
+     * Write bookings sold from leases. Bookings whose lease is gone, for example because
+     * it expired while this node could not reach the database, take their seats from the
+     * event row instead; the lease still counts them as unsold, so nothing is counted twice.
+     * A booking the event row has no seats for either is reported to its buyer as not booked.
+     */
+    private void persistLeased(List<PendingBooking> batch) {
+        List<Booking> unleased = seatLeaseDAO.addLeasedBookings(bookingsOf(batch), config.getNodeId());
+        // Bookings are matched by identity, as two unsaved bookings can be equal
+        Set<Booking> notInserted = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (unleased != null) {
+            notInserted.addAll(unleased);
+        }
+        List<PendingBooking> retry = new ArrayList<>();
+        for (PendingBooking request : batch) {
+            if (unleased == null || notInserted.contains(request.booking)) {
+                retry.add(request);
+            } else {
+                request.result.complete(true);
+            }
+        }
+        if (retry.isEmpty()) {
+            return;
+        }
+
+        logger.warn("{} bookings were not covered by a lease, booking them against their events", retry.size());
+        Set<Integer> unleasedEvents = new HashSet<>();
+        for (PendingBooking request : retry) {
+            Booking booking = request.booking;
+            unleasedEvents.add(booking.getEventId());
+            boolean saved = bookingDAO.addBooking(booking);
+            if (!saved) {
+                logger.error("Booking for event ID: {} by customer: {} was rejected",
+                            booking.getEventId(), booking.getCustomerName());
+            }
+            request.result.complete(saved);
+        }
+
+        // The counters of these events no longer match their leases, so start them over
+        resetCounters(unleasedEvents);
+        DashboardStatsCache.getInstance().invalidate();
+    }
+
+    /**
+     * Start over the counters of events whose counted seats may no longer match the
+     * database. Counters are reloaded after the current flush; leased counters are
+     * dropped and their leases returned, so the next booking takes a new lease. The
+     * lease lock is not taken here, as returnLease holds it while flushing.
+     */
+    private void resetCounters(Set<Integer> eventIds) {
+        if (!config.isLeasing()) {
+            staleEvents.addAll(eventIds);
+            return;
+        }
+        for (Integer eventId : eventIds) {
+            counters.remove(eventId);
+            leaseReturnTimes.remove(eventId);
+            seatLeaseDAO.returnLease(eventId, config.getNodeId());
+        }
+    }
+
+    private static List<Booking> bookingsOf(List<PendingBooking> batch) {
+        List<Booking> bookings = new ArrayList<>(batch.size());
+        for (PendingBooking request : batch) {
+            bookings.add(request.booking);
+        }
+        return bookings;
+    }
+
+    private static void complete(List<PendingBooking> batch, boolean saved) {
+        for (PendingBooking request : batch) {
+            request.result.complete(saved);
+        }
+    }
+
+    /**
+     * @return true if the booking carries its event and the event keeps its seats in stripes
+     */
+    private static boolean isStriped(Booking booking) {
+        Event event = booking.getEvent();
+        return event != null && event.getId() == booking.getEventId() && event.getSeatStripes() > 1;
+    }
+
+    private SeatCounter getLeasedCounter(int eventId) {
+        return counters.computeIfAbsent(eventId, id -> new SeatCounter(0, SEAT_TYPES.length));
+    }
+
+    private ReadWriteLock counterLock(int eventId) {
+        return counterLocks.computeIfAbsent(eventId, id -> new ReentrantReadWriteLock());
+    }
+
+    private Object leaseLock(int eventId) {
+        return leaseLocks.computeIfAbsent(eventId, id -> new Object());
+    }
+
+    private SeatCounter getCounter(int eventId) {
+        return counters.computeIfAbsent(eventId, id -> {
+            Event event = eventDAO.getEventById(id);
+            return event != null ? new SeatCounter(event.getAvailableSeats(), SEAT_TYPES.length) : null;
+        });
+    }
+
+    private static int stripeFor(String seatType) {
+        for (int i = 0; i < SEAT_TYPES.length; i++) {
+            if (SEAT_TYPES[i].equals(seatType)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A reserved booking and the future its buyer waits on
+     */
+    private static final class PendingBooking {
+        private final Booking booking;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingBooking(Booking booking) {
+            this.booking = booking;
+        }
+    }
+}
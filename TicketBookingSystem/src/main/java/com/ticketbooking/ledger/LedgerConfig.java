@@ -0,0 +1,96 @@
+package com.ticketbooking.ledger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Configuration settings for the booking ledger
+ */
+public class LedgerConfig {
+    private static final Logger logger = LogManager.getLogger(LedgerConfig.class);
+
+    // Default values used when a property is missing
+    public static final long DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 300;
+    public static final int DEFAULT_PARTITION_MONTHS_AHEAD = 2;
+
+    private long snapshotIntervalSeconds = DEFAULT_SNAPSHOT_INTERVAL_SECONDS;
+    private int partitionMonthsAhead = DEFAULT_PARTITION_MONTHS_AHEAD;
+
+    // Default constructor
+    public LedgerConfig() {
+    }
+
+    /**
+     * Load the ledger configuration from booking.properties
+     * @return LedgerConfig with defaults for any missing property
+     */
+    public static LedgerConfig load() {
+        Properties props = new Properties();
+        try (InputStream input = LedgerConfig.class.getClassLoader().getResourceAsStream("booking.properties")) {
+            if (input != null) {
+                props.load(input);
+            } else {
+                logger.warn("Unable to find booking.properties, using default settings");
+            }
+        } catch (IOException e) {
+            logger.error("Error loading booking properties", e);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Build a ledger configuration from ledger.* properties
+     * @param props properties loaded from booking.properties
+     * @return LedgerConfig with defaults for any missing property
+     */
+    public static LedgerConfig fromProperties(Properties props) {
+        LedgerConfig config = new LedgerConfig();
+        config.setSnapshotIntervalSeconds(Long.parseLong(props.getProperty("ledger.snapshotIntervalSeconds",
+            String.valueOf(DEFAULT_SNAPSHOT_INTERVAL_SECONDS))));
+        config.setPartitionMonthsAhead(Integer.parseInt(props.getProperty("ledger.partitionMonthsAhead",
+            String.valueOf(DEFAULT_PARTITION_MONTHS_AHEAD))));
+        return config;
+    }
+
+    /**
+     * @return true if snapshots are taken in the background
+     */
+    public boolean isSnapshotting() {
+        return snapshotIntervalSeconds > 0;
+    }
+
+    // Getters and Setters
+    public long getSnapshotIntervalSeconds() {
+        return snapshotIntervalSeconds;
+    }
+
+    public void setSnapshotIntervalSeconds(long snapshotIntervalSeconds) {
+        if (snapshotIntervalSeconds < 0) {
+            throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        }
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    public int getPartitionMonthsAhead() {
+        return partitionMonthsAhead;
+    }
+
+    public void setPartitionMonthsAhead(int partitionMonthsAhead) {
+        if (partitionMonthsAhead <= 0) {
+            throw new IllegalArgumentException("Partition months ahead must be greater than zero");
+        }
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerConfig{" +
+               "snapshotIntervalSeconds=" + snapshotIntervalSeconds +
+               ", partitionMonthsAhead=" + partitionMonthsAhead +
+               '}';
+    }
+}
@@ -0,0 +1,119 @@
+package com.ticketbooking.ledger;
+
+import com.ticketbooking.dao.LedgerDAO;
+import com.ticketbooking.model.EventSeatState;
+import com.ticketbooking.model.LedgerEntry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only ledger of booking changes.
+ * <p>
+ * Bookings are created, cancelled and changed in the bookings table as before; triggers
+ * on that table append an entry for each change to the booking_ledger table in the same
+ * transaction. The ledger is partitioned by month, so old months can be detached and
+ * archived without touching the current one. A background thread adds the partitions of
+ * the coming months and periodically snapshots the totals of every event that changed,
+ * which keeps the tail replayed when the state of an event is rebuilt short.
+ */
+public class LedgerService {
+    private static final Logger logger = LogManager.getLogger(LedgerService.class);
+    private static LedgerService instance;
+
+    private final LedgerConfig config;
+    private final LedgerDAO ledgerDAO;
+    private ScheduledExecutorService snapshotter;
+    // Month the partitions were last added in, touched only by the snapshot thread
+    private YearMonth partitionedIn;
+
+    private LedgerService(LedgerConfig config) {
+        this.config = config;
+        this.ledgerDAO = new LedgerDAO();
+    }
+
+    /**
+     * Get singleton instance of LedgerService. When snapshots are enabled the first
+     * call starts the snapshot thread.
+     * @return LedgerService instance
+     */
+    public static synchronized LedgerService getInstance() {
+        if (instance == null) {
+            instance = new LedgerService(LedgerConfig.load());
+            if (instance.config.isSnapshotting()) {
+                instance.start();
+            }
+        }
+        return instance;
+    }
+
+    private void start() {
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ledger-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getSnapshotIntervalSeconds();
+        snapshotter.scheduleWithFixedDelay(this::maintain, 0, interval, TimeUnit.SECONDS);
+        logger.info("Ledger service started with {}", config);
+    }
+
+    /**
+     * Add the partitions of the coming months once a month and snapshot the events that
+     * changed. The current month is left where its entries already are, as a partition
+     * cannot be added for a month that has entries in the default partition.
+     */
+    private void maintain() {
+        try {
+            YearMonth month = YearMonth.now();
+            if (!month.equals(partitionedIn)
+                    && ledgerDAO.addPartitions(month.plusMonths(1), config.getPartitionMonthsAhead())) {
+                partitionedIn = month;
+            }
+            takeSnapshots();
+        } catch (RuntimeException e) {
+            logger.error("Error maintaining booking ledger", e);
+        }
+    }
+
+    /**
+     * Snapshot every event with ledger entries since the last snapshot
+     * @return number of events snapshotted, or -1 on error
+     */
+    public int takeSnapshots() {
+        return ledgerDAO.takeSnapshots();
+    }
+
+    /**
+     * Rebuild the booked seats, bookings and revenue of an event
+     * @param eventId event ID
+     * @return seat state of the event, or null if it could not be loaded
+     */
+    public EventSeatState getSeatState(int eventId) {
+        return ledgerDAO.getSeatState(eventId);
+    }
+
+    /**
+     * Get the history of a booking, including bookings that have been deleted
+     * @param bookingId booking ID
+     * @return ledger entries of the booking, oldest first
+     */
+    public List<LedgerEntry> getBookingHistory(int bookingId) {
+        return ledgerDAO.getEntriesByBookingId(bookingId);
+    }
+
+    /**
+     * Stop the snapshot thread. A snapshot cut short is rolled back, and entries after
+     * the last snapshot are replayed until the next run takes one.
+     */
+    public void shutdown() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+    }
+}
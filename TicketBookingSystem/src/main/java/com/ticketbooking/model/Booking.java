@@ -15,8 +15,12 @@ public class Booking {
     private int eventId;
     private String seatType;
     private int quantity;
-    private BigDecimal totalPrice;
+    private Money totalPrice;
     private LocalDateTime bookingTime;
+    // Assigned seats for events with a seat layout, null for general admission
+    private SeatAssignment seats;
+    // Key of the booking request, null if the client sent none
+    private String idempotencyKey;
     
     // For displaying event details in booking view
     private transient Event event;
@@ -38,7 +42,7 @@ public class Booking {
 
     // Constructor with all fields except id and bookingTime
     public Booking(String customerName, String customerEmail, String customerPhone, 
-                  int eventId, String seatType, int quantity, BigDecimal totalPrice) {
+                  int eventId, String seatType, int quantity, Money totalPrice) {
         this.customerName = customerName;
         this.customerEmail = customerEmail;
         this.customerPhone = customerPhone;
@@ -51,7 +55,7 @@ public class Booking {
 
     // Constructor with all fields including id
     public Booking(int id, String customerName, String customerEmail, String customerPhone, 
-                  int eventId, String seatType, int quantity, BigDecimal totalPrice, 
+                  int eventId, String seatType, int quantity, Money totalPrice, 
                   LocalDateTime bookingTime) {
         this.id = id;
         this.customerName = customerName;
@@ -64,6 +68,15 @@ public class Booking {
         this.bookingTime = bookingTime;
     }
 
+    // Copy constructor; the event is shared, not copied
+    public Booking(Booking other) {
+        this(other.id, other.customerName, other.customerEmail, other.customerPhone,
+             other.eventId, other.seatType, other.quantity, other.totalPrice, other.bookingTime);
+        this.seats = other.seats;
+        this.idempotencyKey = other.idempotencyKey;
+        this.event = other.event;
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
@@ -121,11 +134,11 @@ public class Booking {
         this.quantity = quantity;
     }
 
-    public BigDecimal getTotalPrice() {
+    public Money getTotalPrice() {
         return totalPrice;
     }
 
-    public void setTotalPrice(BigDecimal totalPrice) {
+    public void setTotalPrice(Money totalPrice) {
         this.totalPrice = totalPrice;
     }
 
@@ -137,6 +150,22 @@ public class Booking {
         this.bookingTime = bookingTime;
     }
 
+    public SeatAssignment getSeats() {
+        return seats;
+    }
+
+    public void setSeats(SeatAssignment seats) {
+        this.seats = seats;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     public Event getEvent() {
         return event;
     }
@@ -146,16 +175,17 @@ public class Booking {
     }
 
     /**
-     * Calculate total price based on event base price, seat type, and quantity
+     * Calculate total price based on event base price, seat type, and quantity, without
+     * the pricing rules of the event; see PricingService for the price that is charged
      * @param basePrice the base price of the event
-     * @param seatType the type of seat
+     * @param seatType the type of seat; null and unknown types are priced as standard
      * @param quantity the number of tickets
      * @return the calculated total price
      */
     public static BigDecimal calculateTotalPrice(BigDecimal basePrice, String seatType, int quantity) {
         BigDecimal multiplier;
         
-        switch (seatType) {
+        switch (seatType == null ? SEAT_TYPE_STANDARD : seatType) {
             case SEAT_TYPE_VIP:
                 multiplier = VIP_MULTIPLIER;
                 break;
@@ -0,0 +1,24 @@
+package com.ticketbooking.model;
+
+/**
+ * Result of trying to book seats for an event
+ */
+public enum BookingOutcome {
+    /** The seats were taken and the booking was saved */
+    BOOKED,
+    /** The event does not have enough seats left */
+    SOLD_OUT,
+    /** Some of the assigned seats were booked by someone else first */
+    SEATS_TAKEN,
+    /** The event does not exist */
+    EVENT_NOT_FOUND,
+    /** The booking could not be saved because of a database error */
+    FAILED;
+
+    /**
+     * @return true if the booking was saved
+     */
+    public boolean isBooked() {
+        return this == BOOKED;
+    }
+}
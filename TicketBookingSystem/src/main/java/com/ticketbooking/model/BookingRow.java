@@ -0,0 +1,74 @@
+package com.ticketbooking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a booking for list screens, with the event name instead of the
+ * full event. Load the full {@link Booking} by ID when its details are needed.
+ */
+public class BookingRow {
+    private final int id;
+    private final String customerName;
+    private final String eventName;
+    private final String seatType;
+    private final int quantity;
+    private final Money totalPrice;
+    private final LocalDateTime bookingTime;
+
+    public BookingRow(int id, String customerName, String eventName, String seatType, int quantity,
+                      Money totalPrice, LocalDateTime bookingTime) {
+        this.id = id;
+        this.customerName = customerName;
+        this.eventName = eventName;
+        this.seatType = seatType;
+        this.quantity = quantity;
+        this.totalPrice = totalPrice;
+        this.bookingTime = bookingTime;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    /**
+     * @return name of the booked event, or null if the event no longer exists
+     */
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getSeatType() {
+        return seatType;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Money getTotalPrice() {
+        return totalPrice;
+    }
+
+    /**
+     * @return time the booking was made, or null if none was recorded
+     */
+    public LocalDateTime getBookingTime() {
+        return bookingTime;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRow{" +
+               "id=" + id +
+               ", customerName='" + customerName + '\'' +
+               ", eventName='" + eventName + '\'' +
+               ", seatType='" + seatType + '\'' +
+               ", quantity=" + quantity +
+               ", totalPrice=" + totalPrice +
+               '}';
+    }
+}
@@ -0,0 +1,101 @@
+package com.ticketbooking.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable summary figures shown on the admin dashboard. Revenue is kept in cents so
+ * adjusting it for a booking is long arithmetic.
+ */
+public class DashboardStats {
+    private final long eventCount;
+    private final long bookingCount;
+    private final long userCount;
+    private final long totalRevenueCents;
+
+    public DashboardStats(long eventCount, long bookingCount, long userCount, Money totalRevenue) {
+        this(eventCount, bookingCount, userCount, totalRevenue != null ? totalRevenue.getCents() : 0);
+    }
+
+    private DashboardStats(long eventCount, long bookingCount, long userCount, long totalRevenueCents) {
+        this.eventCount = eventCount;
+        this.bookingCount = bookingCount;
+        this.userCount = userCount;
+        this.totalRevenueCents = totalRevenueCents;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public long getBookingCount() {
+        return bookingCount;
+    }
+
+    public long getUserCount() {
+        return userCount;
+    }
+
+    public Money getTotalRevenue() {
+        return Money.ofCents(totalRevenueCents);
+    }
+
+    /**
+     * @param totalPrice total price of the new booking
+     * @return copy with one more booking and the price added to revenue
+     */
+    public DashboardStats withBookingAdded(Money totalPrice) {
+        return new DashboardStats(eventCount, bookingCount + 1, userCount,
+                                  Math.addExact(totalRevenueCents, totalPrice != null ? totalPrice.getCents() : 0));
+    }
+
+    /**
+     * @param totalPrice total price of the deleted booking
+     * @return copy with one booking fewer and the price removed from revenue
+     */
+    public DashboardStats withBookingRemoved(Money totalPrice) {
+        return new DashboardStats(eventCount, Math.max(0, bookingCount - 1), userCount,
+                                  Math.subtractExact(totalRevenueCents, totalPrice != null ? totalPrice.getCents() : 0));
+    }
+
+    /**
+     * @param delta change in the number of events
+     * @return copy with the event count adjusted
+     */
+    public DashboardStats withEventCountChanged(int delta) {
+        return new DashboardStats(Math.max(0, eventCount + delta), bookingCount, userCount, totalRevenueCents);
+    }
+
+    /**
+     * @param delta change in the number of users
+     * @return copy with the user count adjusted
+     */
+    public DashboardStats withUserCountChanged(int delta) {
+        return new DashboardStats(eventCount, bookingCount, Math.max(0, userCount + delta), totalRevenueCents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DashboardStats that = (DashboardStats) o;
+        return eventCount == that.eventCount &&
+               bookingCount == that.bookingCount &&
+               userCount == that.userCount &&
+               totalRevenueCents == that.totalRevenueCents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventCount, bookingCount, userCount, totalRevenueCents);
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardStats{" +
+               "eventCount=" + eventCount +
+               ", bookingCount=" + bookingCount +
+               ", userCount=" + userCount +
+               ", totalRevenue=" + getTotalRevenue() +
+               '}';
+    }
+}
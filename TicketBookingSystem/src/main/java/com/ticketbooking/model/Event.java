@@ -1,6 +1,5 @@
 package com.ticketbooking.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Objects;
@@ -17,7 +16,11 @@ public class Event {
     private String venue;
     private int totalSeats;
     private int availableSeats;
-    private BigDecimal basePrice;
+    private Money basePrice;
+    // Number of counter rows the available seats are split over
+    private int seatStripes = 1;
+    // Seat layout for reserved seating, 0 for general admission
+    private int layoutId;
 
     // Default constructor
     public Event() {
@@ -25,7 +28,7 @@ public class Event {
 
     // Constructor with all fields except id
     public Event(String name, String description, LocalDate date, LocalTime time, 
-                 String venue, int totalSeats, int availableSeats, BigDecimal basePrice) {
+                 String venue, int totalSeats, int availableSeats, Money basePrice) {
         this.name = name;
         this.description = description;
         this.date = date;
@@ -38,7 +41,7 @@ public class Event {
 
     // Constructor with all fields including id
     public Event(int id, String name, String description, LocalDate date, LocalTime time, 
-                 String venue, int totalSeats, int availableSeats, BigDecimal basePrice) {
+                 String venue, int totalSeats, int availableSeats, Money basePrice) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -50,6 +53,14 @@ public class Event {
         this.basePrice = basePrice;
     }
 
+    // Copy constructor
+    public Event(Event other) {
+        this(other.id, other.name, other.description, other.date, other.time,
+             other.venue, other.totalSeats, other.availableSeats, other.basePrice);
+        this.seatStripes = other.seatStripes;
+        this.layoutId = other.layoutId;
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
@@ -115,14 +126,46 @@ public class Event {
         this.availableSeats = availableSeats;
     }
 
-    public BigDecimal getBasePrice() {
+    public Money getBasePrice() {
         return basePrice;
     }
 
-    public void setBasePrice(BigDecimal basePrice) {
+    public void setBasePrice(Money basePrice) {
         this.basePrice = basePrice;
     }
 
+    public int getSeatStripes() {
+        return seatStripes;
+    }
+
+    public void setSeatStripes(int seatStripes) {
+        this.seatStripes = seatStripes;
+    }
+
+    /**
+     * Check if the available seats are split over several counter rows
+     * @return true if the event has more than one seat stripe
+     */
+    public boolean isStriped() {
+        return seatStripes > 1;
+    }
+
+    public int getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(int layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    /**
+     * Check if bookings for the event are assigned seats from a seat layout
+     * @return true if the event has a seat layout
+     */
+    public boolean hasSeatLayout() {
+        return layoutId > 0;
+    }
+
     /**
      * Check if the event has enough available seats
      * @param requestedSeats number of seats requested
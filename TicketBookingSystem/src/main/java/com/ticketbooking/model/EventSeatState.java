@@ -0,0 +1,55 @@
+package com.ticketbooking.model;
+
+/**
+ * Booked seats, bookings and revenue of an event as of a position in the booking
+ * ledger, rebuilt from the latest snapshot of the event and the ledger entries after it.
+ */
+public class EventSeatState {
+    private final int eventId;
+    private final long ledgerPosition;
+    private final int seatsBooked;
+    private final int bookingCount;
+    private final Money revenue;
+
+    public EventSeatState(int eventId, long ledgerPosition, int seatsBooked, int bookingCount, Money revenue) {
+        this.eventId = eventId;
+        this.ledgerPosition = ledgerPosition;
+        this.seatsBooked = seatsBooked;
+        this.bookingCount = bookingCount;
+        this.revenue = revenue;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    /**
+     * @return ID of the last ledger entry of the event included, 0 if it has none
+     */
+    public long getLedgerPosition() {
+        return ledgerPosition;
+    }
+
+    public int getSeatsBooked() {
+        return seatsBooked;
+    }
+
+    public int getBookingCount() {
+        return bookingCount;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "EventSeatState{" +
+               "eventId=" + eventId +
+               ", ledgerPosition=" + ledgerPosition +
+               ", seatsBooked=" + seatsBooked +
+               ", bookingCount=" + bookingCount +
+               ", revenue=" + revenue +
+               '}';
+    }
+}
@@ -0,0 +1,107 @@
+package com.ticketbooking.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Read-only view of an event for list screens, without the description.
+ * Load the full {@link Event} by ID when its details are needed.
+ */
+public class EventSummary {
+    private final int id;
+    private final String name;
+    private final LocalDate date;
+    private final LocalTime time;
+    private final String venue;
+    private final int totalSeats;
+    private final int availableSeats;
+    private final Money basePrice;
+
+    public EventSummary(int id, String name, LocalDate date, LocalTime time, String venue,
+                        int totalSeats, int availableSeats, Money basePrice) {
+        this.id = id;
+        this.name = name;
+        this.date = date;
+        this.time = time;
+        this.venue = venue;
+        this.totalSeats = totalSeats;
+        this.availableSeats = availableSeats;
+        this.basePrice = basePrice;
+    }
+
+    /**
+     * Create a summary of a full event
+     * @param event event to summarize
+     * @return summary with the event's list fields
+     */
+    public static EventSummary of(Event event) {
+        return new EventSummary(event.getId(), event.getName(), event.getDate(), event.getTime(), event.getVenue(),
+                                event.getTotalSeats(), event.getAvailableSeats(), event.getBasePrice());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public int getTotalSeats() {
+        return totalSeats;
+    }
+
+    public int getAvailableSeats() {
+        return availableSeats;
+    }
+
+    public Money getBasePrice() {
+        return basePrice;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventSummary that = (EventSummary) o;
+        return id == that.id &&
+               totalSeats == that.totalSeats &&
+               availableSeats == that.availableSeats &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(date, that.date) &&
+               Objects.equals(time, that.time) &&
+               Objects.equals(venue, that.venue) &&
+               Objects.equals(basePrice, that.basePrice);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, date, time, venue, totalSeats, availableSeats, basePrice);
+    }
+
+    @Override
+    public String toString() {
+        return "EventSummary{" +
+               "id=" + id +
+               ", name='" + name + '\'' +
+               ", date=" + date +
+               ", time=" + time +
+               ", venue='" + venue + '\'' +
+               ", availableSeats=" + availableSeats +
+               ", basePrice=" + basePrice +
+               '}';
+    }
+}
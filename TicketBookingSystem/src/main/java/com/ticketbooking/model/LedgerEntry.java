@@ -0,0 +1,97 @@
+package com.ticketbooking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a booking, as recorded in the append-only booking ledger. Entries are
+ * never updated or deleted; a booking's history is the list of its entries in ID order.
+ */
+public class LedgerEntry {
+    // Entry type constants
+    public static final String TYPE_CREATED = "CREATED";
+    public static final String TYPE_CANCELLED = "CANCELLED";
+    public static final String TYPE_SEATS_CHANGED = "SEATS_CHANGED";
+
+    private long id;
+    private int eventId;
+    private int bookingId;
+    private String type;
+    // Change in booked seats and revenue of the event: positive when created, negative when cancelled
+    private int seatDelta;
+    private Money amountDelta;
+    private LocalDateTime recordedAt;
+
+    // Default constructor
+    public LedgerEntry() {
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(int eventId) {
+        this.eventId = eventId;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(int bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public int getSeatDelta() {
+        return seatDelta;
+    }
+
+    public void setSeatDelta(int seatDelta) {
+        this.seatDelta = seatDelta;
+    }
+
+    public Money getAmountDelta() {
+        return amountDelta;
+    }
+
+    public void setAmountDelta(Money amountDelta) {
+        this.amountDelta = amountDelta;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEntry{" +
+               "id=" + id +
+               ", eventId=" + eventId +
+               ", bookingId=" + bookingId +
+               ", type='" + type + '\'' +
+               ", seatDelta=" + seatDelta +
+               ", amountDelta=" + amountDelta +
+               ", recordedAt=" + recordedAt +
+               '}';
+    }
+}
@@ -0,0 +1,169 @@
+package com.ticketbooking.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * Immutable amount of money held as a whole number of cents, for currencies with two
+ * decimal places.
+ * <p>
+ * Adding and comparing amounts is primitive long arithmetic, and totals over many
+ * amounts can be summed as {@link #getCents()} without creating any objects. Amounts
+ * are converted to and from BigDecimal only at the edges: the NUMERIC columns of the
+ * database, user input and price calculations with fractional factors. Arithmetic
+ * that overflows a long throws ArithmeticException rather than wrapping.
+ */
+public final class Money implements Comparable<Money> {
+    // Currency of all prices, as the database does not store one
+    public static final String DEFAULT_CURRENCY = "USD";
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+    private static final int SCALE = 2;
+
+    private final long cents;
+    private final String currency;
+
+    private Money(long cents, String currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+
+    /**
+     * @param cents amount in cents
+     * @return amount in the default currency
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * @param cents amount in cents
+     * @param currency ISO 4217 code of a currency with two decimal places
+     * @return amount in the currency
+     */
+    public static Money ofCents(long cents, String currency) {
+        if (DEFAULT_CURRENCY.equals(currency)) {
+            return ofCents(cents);
+        }
+        if (Currency.getInstance(currency).getDefaultFractionDigits() != SCALE) {
+            throw new IllegalArgumentException("Currency without two decimal places: " + currency);
+        }
+        return new Money(cents, currency);
+    }
+
+    /**
+     * Convert a decimal amount, e.g. a NUMERIC column or a computed price, rounding
+     * half up to whole cents
+     * @param amount amount in the default currency
+     * @return amount in cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Parse an amount entered by a user, e.g. "49.99"
+     * @param text amount with at most two decimal places
+     * @return amount in the default currency
+     * @throws NumberFormatException if the text is not an amount with at most two decimal places
+     */
+    public static Money parse(String text) {
+        BigDecimal amount = new BigDecimal(text.trim());
+        if (amount.stripTrailingZeros().scale() > SCALE) {
+            throw new NumberFormatException("More than " + SCALE + " decimal places: " + text);
+        }
+        return of(amount);
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return amount with two decimal places, e.g. for a NUMERIC column
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * @param other amount in the same currency
+     * @return sum of both amounts
+     */
+    public Money plus(Money other) {
+        checkCurrency(other);
+        return ofCents(Math.addExact(cents, other.cents), currency);
+    }
+
+    /**
+     * @param other amount in the same currency
+     * @return this amount less the other
+     */
+    public Money minus(Money other) {
+        checkCurrency(other);
+        return ofCents(Math.subtractExact(cents, other.cents), currency);
+    }
+
+    /**
+     * @param quantity number of times to count this amount
+     * @return this amount times the quantity
+     */
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity), currency);
+    }
+
+    /**
+     * @return true if the amount is more than zero
+     */
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    /**
+     * @return amount with the currency symbol for display, e.g. "$49.99"
+     */
+    public String format() {
+        return Currency.getInstance(currency).getSymbol(Locale.US) + toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        return Long.compare(cents, other.cents);
+    }
+
+    private void checkCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " and " + other.currency);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Money money = (Money) o;
+        return cents == money.cents && currency.equals(money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(cents) + currency.hashCode();
+    }
+
+    /**
+     * @return amount with two decimal places and no currency, e.g. "49.99"
+     */
+    @Override
+    public String toString() {
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ticketbooking.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Rule that adjusts the ticket price of an event. Every rule multiplies the price by
+ * its factor when it applies; what the threshold means depends on the rule type:
+ * <ul>
+ *   <li>SEAT_TYPE - replaces the multiplier of a seat type; the threshold is unused</li>
+ *   <li>EARLY_BIRD - applies when booking at least threshold days before the event</li>
+ *   <li>DEMAND - applies once at least threshold percent of the seats are sold</li>
+ *   <li>QUANTITY - applies to bookings of at least threshold tickets</li>
+ * </ul>
+ * Of several early-bird, demand or quantity rules of an event, only the one with the
+ * highest threshold that is reached applies.
+ */
+public class PricingRule {
+    // Rule type constants
+    public static final String TYPE_SEAT_TYPE = "SEAT_TYPE";
+    public static final String TYPE_EARLY_BIRD = "EARLY_BIRD";
+    public static final String TYPE_DEMAND = "DEMAND";
+    public static final String TYPE_QUANTITY = "QUANTITY";
+
+    private int id;
+    private int eventId;
+    private String type;
+    // Seat type of a SEAT_TYPE rule, null for the other types
+    private String seatType;
+    private int threshold;
+    private BigDecimal factor;
+
+    // Default constructor
+    public PricingRule() {
+    }
+
+    // Constructor with all fields except id and eventId
+    public PricingRule(String type, String seatType, int threshold, BigDecimal factor) {
+        this.type = type;
+        this.seatType = seatType;
+        this.threshold = threshold;
+        this.factor = factor;
+    }
+
+    /**
+     * @param seatType seat type
+     * @param multiplier price multiplier of the seat type
+     * @return rule setting the multiplier of a seat type
+     */
+    public static PricingRule seatType(String seatType, BigDecimal multiplier) {
+        return new PricingRule(TYPE_SEAT_TYPE, seatType, 0, multiplier);
+    }
+
+    /**
+     * @param daysBefore least number of days between booking and event
+     * @param factor price factor, e.g. 0.85 for 15% off
+     * @return early-bird rule
+     */
+    public static PricingRule earlyBird(int daysBefore, BigDecimal factor) {
+        return new PricingRule(TYPE_EARLY_BIRD, null, daysBefore, factor);
+    }
+
+    /**
+     * @param percentSold least percentage of seats sold
+     * @param factor price factor, e.g. 1.2 for 20% more
+     * @return demand tier rule
+     */
+    public static PricingRule demand(int percentSold, BigDecimal factor) {
+        return new PricingRule(TYPE_DEMAND, null, percentSold, factor);
+    }
+
+    /**
+     * @param minQuantity least number of tickets
+     * @param factor price factor, e.g. 0.9 for 10% off
+     * @return quantity discount rule
+     */
+    public static PricingRule quantity(int minQuantity, BigDecimal factor) {
+        return new PricingRule(TYPE_QUANTITY, null, minQuantity, factor);
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(int eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSeatType() {
+        return seatType;
+    }
+
+    public void setSeatType(String seatType) {
+        this.seatType = seatType;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public BigDecimal getFactor() {
+        return factor;
+    }
+
+    public void setFactor(BigDecimal factor) {
+        this.factor = factor;
+    }
+
+    @Override
+    public String toString() {
+        return "PricingRule{" +
+               "id=" + id +
+               ", eventId=" + eventId +
+               ", type='" + type + '\'' +
+               ", seatType='" + seatType + '\'' +
+               ", threshold=" + threshold +
+               ", factor=" + factor +
+               '}';
+    }
+}
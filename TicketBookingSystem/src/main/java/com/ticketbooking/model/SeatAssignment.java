@@ -0,0 +1,68 @@
+package com.ticketbooking.model;
+
+import java.util.Objects;
+
+/**
+ * Contiguous seats in one row of a seat layout assigned to a booking
+ */
+public class SeatAssignment {
+    private final int row;
+    private final int firstSeat;
+    private final int quantity;
+
+    /**
+     * Constructor
+     * @param row index of the row in the seat layout
+     * @param firstSeat index of the first seat in the row
+     * @param quantity number of seats
+     */
+    public SeatAssignment(int row, int firstSeat, int quantity) {
+        this.row = row;
+        this.firstSeat = firstSeat;
+        this.quantity = quantity;
+    }
+
+    // Getters
+    public int getRow() {
+        return row;
+    }
+
+    public int getFirstSeat() {
+        return firstSeat;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @return index of the seat after the last assigned seat
+     */
+    public int getEndSeat() {
+        return firstSeat + quantity;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SeatAssignment that = (SeatAssignment) o;
+        return row == that.row &&
+               firstSeat == that.firstSeat &&
+               quantity == that.quantity;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(row, firstSeat, quantity);
+    }
+
+    @Override
+    public String toString() {
+        return "SeatAssignment{" +
+               "row=" + row +
+               ", firstSeat=" + firstSeat +
+               ", quantity=" + quantity +
+               '}';
+    }
+}
@@ -0,0 +1,108 @@
+package com.ticketbooking.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Seats set aside for a customer for a limited time while they fill in a booking.
+ * The seats are taken from the event when the hold is placed and are either turned
+ * into a booking or returned to the event when the hold is released or expires.
+ */
+public class SeatHold {
+    private long id;
+    private int eventId;
+    private String seatType;
+    private int quantity;
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public SeatHold() {
+    }
+
+    // Constructor with all fields except id
+    public SeatHold(int eventId, String seatType, int quantity, LocalDateTime expiresAt) {
+        this.eventId = eventId;
+        this.seatType = seatType;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(int eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getSeatType() {
+        return seatType;
+    }
+
+    public void setSeatType(String seatType) {
+        this.seatType = seatType;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Check if the hold is for the given seats
+     * @param seatType type of seat
+     * @param quantity number of seats
+     * @return true if the hold covers exactly these seats
+     */
+    public boolean covers(String seatType, int quantity) {
+        return this.quantity == quantity && Objects.equals(this.seatType, seatType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SeatHold seatHold = (SeatHold) o;
+        return id == seatHold.id &&
+               eventId == seatHold.eventId &&
+               quantity == seatHold.quantity &&
+               Objects.equals(seatType, seatHold.seatType) &&
+               Objects.equals(expiresAt, seatHold.expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, eventId, seatType, quantity, expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "SeatHold{" +
+                "id=" + id +
+                ", eventId=" + eventId +
+                ", seatType='" + seatType + '\'' +
+                ", quantity=" + quantity +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
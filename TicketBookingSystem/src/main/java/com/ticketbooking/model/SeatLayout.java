@@ -0,0 +1,205 @@
+package com.ticketbooking.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Seating plan of a venue: rows of numbered seats, each with a seat type.
+ * <p>
+ * Rows are kept in order of preference, so row 0 holds the best seats. The seat types
+ * of a row are stored as one code per seat, e.g. "SSVVVVSS" for a row with four VIP
+ * seats in the middle.
+ */
+public class SeatLayout {
+    // Seat type codes
+    public static final char CODE_STANDARD = 'S';
+    public static final char CODE_VIP = 'V';
+    public static final char CODE_PREMIUM = 'P';
+
+    private int id;
+    private String name;
+    private final List<Row> rows = new ArrayList<>();
+
+    // Default constructor
+    public SeatLayout() {
+    }
+
+    // Constructor with all fields except id and rows
+    public SeatLayout(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return rows of the layout, best first
+     */
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    public Row getRow(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * Add a row behind the existing rows
+     * @param section section the row is in
+     * @param label row label shown to customers
+     * @param seatTypes one seat type code per seat
+     * @throws IllegalArgumentException if the row has no seats or an unknown seat type code
+     */
+    public void addRow(String section, String label, String seatTypes) {
+        rows.add(new Row(section, label, seatTypes));
+    }
+
+    /**
+     * @return number of seats in the layout
+     */
+    public int getSeatCount() {
+        int seats = 0;
+        for (Row row : rows) {
+            seats += row.getSeatCount();
+        }
+        return seats;
+    }
+
+    /**
+     * Describe assigned seats for customers, e.g. "Section A, Row 3, Seats 5-8"
+     * @param seats assigned seats
+     * @return description of the seats
+     */
+    public String describe(SeatAssignment seats) {
+        Row row = rows.get(seats.getRow());
+        int first = seats.getFirstSeat() + 1;
+        String numbers = seats.getQuantity() == 1
+            ? "Seat " + first
+            : "Seats " + first + "-" + (first + seats.getQuantity() - 1);
+        return "Section " + row.getSection() + ", Row " + row.getLabel() + ", " + numbers;
+    }
+
+    /**
+     * Get the code of a seat type
+     * @param seatType seat type such as Booking.SEAT_TYPE_VIP
+     * @return seat type code
+     * @throws IllegalArgumentException if the seat type is unknown
+     */
+    public static char codeOf(String seatType) {
+        if (Booking.SEAT_TYPE_STANDARD.equals(seatType)) {
+            return CODE_STANDARD;
+        } else if (Booking.SEAT_TYPE_VIP.equals(seatType)) {
+            return CODE_VIP;
+        } else if (Booking.SEAT_TYPE_PREMIUM.equals(seatType)) {
+            return CODE_PREMIUM;
+        }
+        throw new IllegalArgumentException("Unknown seat type: " + seatType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SeatLayout that = (SeatLayout) o;
+        return id == that.id &&
+               Objects.equals(name, that.name) &&
+               Objects.equals(rows, that.rows);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, rows);
+    }
+
+    @Override
+    public String toString() {
+        return "SeatLayout{" +
+               "id=" + id +
+               ", name='" + name + '\'' +
+               ", rows=" + rows.size() +
+               ", seats=" + getSeatCount() +
+               '}';
+    }
+
+    /**
+     * One row of seats, numbered from 1 at the left
+     */
+    public static final class Row {
+        private final String section;
+        private final String label;
+        private final String seatTypes;
+
+        private Row(String section, String label, String seatTypes) {
+            if (seatTypes == null || seatTypes.isEmpty()) {
+                throw new IllegalArgumentException("Row " + label + " has no seats");
+            }
+            for (int i = 0; i < seatTypes.length(); i++) {
+                char code = seatTypes.charAt(i);
+                if (code != CODE_STANDARD && code != CODE_VIP && code != CODE_PREMIUM) {
+                    throw new IllegalArgumentException("Unknown seat type code '" + code + "' in row " + label);
+                }
+            }
+            this.section = section;
+            this.label = label;
+            this.seatTypes = seatTypes;
+        }
+
+        public String getSection() {
+            return section;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return one seat type code per seat
+         */
+        public String getSeatTypes() {
+            return seatTypes;
+        }
+
+        public int getSeatCount() {
+            return seatTypes.length();
+        }
+
+        /**
+         * @param seat index of the seat in the row
+         * @return seat type code of the seat
+         */
+        public char getSeatType(int seat) {
+            return seatTypes.charAt(seat);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Row row = (Row) o;
+            return Objects.equals(section, row.section) &&
+                   Objects.equals(label, row.label) &&
+                   Objects.equals(seatTypes, row.seatTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(section, label, seatTypes);
+        }
+    }
+}
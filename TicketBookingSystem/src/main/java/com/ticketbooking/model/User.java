@@ -68,6 +68,12 @@ public class User {
         this.lastLoginDate = lastLoginDate;
     }
 
+    // Copy constructor
+    public User(User other) {
+        this(other.id, other.username, other.password, other.role, other.email,
+             other.fullName, other.phone, other.registrationDate, other.lastLoginDate);
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
@@ -0,0 +1,209 @@
+package com.ticketbooking.pricing;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.PricingRule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Immutable table of the total prices of one event, compiled from its base price and
+ * pricing rules.
+ * <p>
+ * The total of every combination of early-bird window, demand tier, seat type and
+ * quantity up to {@link #MAX_TABULATED_QUANTITY} is computed once, so a quote only
+ * finds the window and tier it falls in and reads the total from an array. Larger
+ * quantities are computed from the same factors. A table is tied to the base price,
+ * date and seats of the event it was compiled for and is rebuilt when they or the
+ * rules change.
+ */
+public final class PriceTable {
+    // Largest quantity with a precomputed total, matching the booking form
+    public static final int MAX_TABULATED_QUANTITY = 10;
+
+    private static final String[] SEAT_TYPES = {
+        Booking.SEAT_TYPE_STANDARD, Booking.SEAT_TYPE_VIP, Booking.SEAT_TYPE_PREMIUM
+    };
+
+    private final Money basePrice;
+    private final LocalDate eventDate;
+    private final long eventDay;
+    private final int totalSeats;
+
+    private final BigDecimal[] seatMultipliers;
+    // Early-bird windows by days before the event, longest first
+    private final int[] earlyBirdDays;
+    private final BigDecimal[] earlyBirdFactors;
+    // Demand tiers by percentage of seats sold, lowest first
+    private final int[] demandPercents;
+    private final BigDecimal[] demandFactors;
+    // Quantity discounts by least quantity, lowest first
+    private final int[] discountQuantities;
+    private final BigDecimal[] discountFactors;
+
+    // Totals indexed by window, tier, seat type and quantity - 1; see index()
+    private final Money[] totals;
+
+    private PriceTable(Event event, List<PricingRule> rules) {
+        this.basePrice = event.getBasePrice();
+        this.eventDate = event.getDate();
+        this.eventDay = eventDate.toEpochDay();
+        this.totalSeats = event.getTotalSeats();
+
+        seatMultipliers = new BigDecimal[] {
+            Booking.STANDARD_MULTIPLIER, Booking.VIP_MULTIPLIER, Booking.PREMIUM_MULTIPLIER
+        };
+        TreeMap<Integer, BigDecimal> earlyBird = new TreeMap<>(Comparator.reverseOrder());
+        TreeMap<Integer, BigDecimal> demand = new TreeMap<>();
+        TreeMap<Integer, BigDecimal> discounts = new TreeMap<>();
+        for (PricingRule rule : rules) {
+            switch (rule.getType()) {
+                case PricingRule.TYPE_SEAT_TYPE:
+                    seatMultipliers[seatIndex(rule.getSeatType())] = rule.getFactor();
+                    break;
+                case PricingRule.TYPE_EARLY_BIRD:
+                    earlyBird.put(rule.getThreshold(), rule.getFactor());
+                    break;
+                case PricingRule.TYPE_DEMAND:
+                    demand.put(rule.getThreshold(), rule.getFactor());
+                    break;
+                case PricingRule.TYPE_QUANTITY:
+                    discounts.put(rule.getThreshold(), rule.getFactor());
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown pricing rule type: " + rule.getType());
+            }
+        }
+        earlyBirdDays = keys(earlyBird);
+        earlyBirdFactors = earlyBird.values().toArray(new BigDecimal[0]);
+        demandPercents = keys(demand);
+        demandFactors = demand.values().toArray(new BigDecimal[0]);
+        discountQuantities = keys(discounts);
+        discountFactors = discounts.values().toArray(new BigDecimal[0]);
+
+        int windows = earlyBirdDays.length + 1;
+        int tiers = demandPercents.length + 1;
+        totals = new Money[windows * tiers * SEAT_TYPES.length * MAX_TABULATED_QUANTITY];
+        for (int window = 0; window < windows; window++) {
+            for (int tier = 0; tier < tiers; tier++) {
+                for (int seat = 0; seat < SEAT_TYPES.length; seat++) {
+                    for (int quantity = 1; quantity <= MAX_TABULATED_QUANTITY; quantity++) {
+                        totals[index(window, tier, seat, quantity)] = compute(window, tier, seat, quantity);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compile the price table of an event
+     * @param event event with its base price, date and total seats
+     * @param rules pricing rules of the event
+     * @return price table
+     */
+    public static PriceTable compile(Event event, List<PricingRule> rules) {
+        return new PriceTable(event, rules);
+    }
+
+    /**
+     * Quote the total price of a booking
+     * @param seatType seat type; unknown types are priced as standard seats
+     * @param quantity number of tickets
+     * @param bookingDate date the booking is made
+     * @param availableSeats seats of the event still available
+     * @return total price rounded to cents
+     */
+    public Money quote(String seatType, int quantity, LocalDate bookingDate, int availableSeats) {
+        int window = windowFor(eventDay - bookingDate.toEpochDay());
+        int tier = tierFor(availableSeats);
+        int seat = seatIndex(seatType);
+        if (quantity >= 1 && quantity <= MAX_TABULATED_QUANTITY) {
+            return totals[index(window, tier, seat, quantity)];
+        }
+        return compute(window, tier, seat, quantity);
+    }
+
+    /**
+     * @param event event, possibly reloaded since the table was compiled
+     * @return true if the table was compiled for the current base price, date and seats of the event
+     */
+    public boolean isFor(Event event) {
+        return basePrice.equals(event.getBasePrice()) &&
+               eventDate.equals(event.getDate()) &&
+               totalSeats == event.getTotalSeats();
+    }
+
+    private Money compute(int window, int tier, int seat, int quantity) {
+        BigDecimal total = basePrice.toBigDecimal().multiply(seatMultipliers[seat]);
+        if (window < earlyBirdDays.length) {
+            total = total.multiply(earlyBirdFactors[window]);
+        }
+        if (tier > 0) {
+            total = total.multiply(demandFactors[tier - 1]);
+        }
+        total = total.multiply(BigDecimal.valueOf(quantity));
+        int discount = lastAtMost(discountQuantities, quantity);
+        if (discount >= 0) {
+            total = total.multiply(discountFactors[discount]);
+        }
+        return Money.of(total);
+    }
+
+    /**
+     * @return index of the longest early-bird window the booking is in, or the number of
+     *         windows if it is in none
+     */
+    private int windowFor(long daysBefore) {
+        for (int i = 0; i < earlyBirdDays.length; i++) {
+            if (daysBefore >= earlyBirdDays[i]) {
+                return i;
+            }
+        }
+        return earlyBirdDays.length;
+    }
+
+    /**
+     * @return number of demand tiers reached, 0 if none
+     */
+    private int tierFor(int availableSeats) {
+        if (totalSeats <= 0) {
+            return 0;
+        }
+        long percentSold = (long) (totalSeats - availableSeats) * 100 / totalSeats;
+        return lastAtMost(demandPercents, percentSold) + 1;
+    }
+
+    private int index(int window, int tier, int seat, int quantity) {
+        int tiers = demandPercents.length + 1;
+        return ((window * tiers + tier) * SEAT_TYPES.length + seat) * MAX_TABULATED_QUANTITY + quantity - 1;
+    }
+
+    /**
+     * @return index of the last of the ascending thresholds that is at most the value, or -1
+     */
+    private static int lastAtMost(int[] thresholds, long value) {
+        int found = -1;
+        for (int i = 0; i < thresholds.length && thresholds[i] <= value; i++) {
+            found = i;
+        }
+        return found;
+    }
+
+    private static int seatIndex(String seatType) {
+        for (int i = 1; i < SEAT_TYPES.length; i++) {
+            if (SEAT_TYPES[i].equals(seatType)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static int[] keys(TreeMap<Integer, BigDecimal> map) {
+        return map.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketbooking.pricing;
+
+import com.ticketbooking.dao.PricingRuleDAO;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.PricingRule;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quotes ticket prices from the compiled price table of each event.
+ * <p>
+ * The table of an event is compiled from its rules on first use and kept until the
+ * event or its rules change, so quoting does not touch the database. A table compiled
+ * for an older base price, date or seat count of the event is rebuilt on its next use,
+ * even if the change was made by another application instance.
+ */
+public class PricingService {
+    private static final Logger logger = LogManager.getLogger(PricingService.class);
+    private static PricingService instance;
+
+    private final PricingRuleDAO pricingRuleDAO;
+    private final Map<Integer, PriceTable> tables = new ConcurrentHashMap<>();
+
+    private PricingService() {
+        this.pricingRuleDAO = new PricingRuleDAO();
+    }
+
+    /**
+     * Get singleton instance of PricingService
+     * @return PricingService instance
+     */
+    public static synchronized PricingService getInstance() {
+        if (instance == null) {
+            instance = new PricingService();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the price table of an event, loading its rules the first time
+     * @param event event to price
+     * @return price table for the current base price, date and seats of the event
+     */
+    public PriceTable getPriceTable(Event event) {
+        PriceTable table = tables.get(event.getId());
+        if (table != null && table.isFor(event)) {
+            return table;
+        }
+
+        List<PricingRule> rules = pricingRuleDAO.getRulesByEventId(event.getId());
+        if (rules == null) {
+            // Price without rules for now and try loading them again next time
+            logger.warn("Pricing rules of event ID {} could not be loaded, using base prices", event.getId());
+            return PriceTable.compile(event, List.of());
+        }
+        table = PriceTable.compile(event, rules);
+        tables.put(event.getId(), table);
+        logger.debug("Compiled price table of event ID {} from {} rules", event.getId(), rules.size());
+        return table;
+    }
+
+    /**
+     * Quote the total price of a booking made today
+     * @param event event to book, with its current available seats
+     * @param seatType seat type
+     * @param quantity number of tickets
+     * @return total price rounded to cents
+     */
+    public Money quote(Event event, String seatType, int quantity) {
+        return getPriceTable(event).quote(seatType, quantity, LocalDate.now(), event.getAvailableSeats());
+    }
+
+    /**
+     * Drop the price table of an event after the event or its rules changed
+     * @param eventId event ID
+     */
+    public void invalidate(int eventId) {
+        tables.remove(eventId);
+    }
+}
@@ -0,0 +1,454 @@
+package com.ticketbooking.search;
+
+import com.ticketbooking.model.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of events for full-text search without the database.
+ * <p>
+ * Name, venue and description are split into lower-case terms. Each term maps to a
+ * posting list of the events containing it, weighted by field like the database search
+ * vector: a match in the name counts more than one in the venue, which counts more than
+ * one in the description. A query matches the events containing all of its terms, and
+ * results are ranked by the sum of each term's weight times its inverse document
+ * frequency, so rare terms count more than common ones. For search-as-you-type,
+ * {@link #searchPrefix} also matches the last word of the query as a prefix, using the
+ * sorted term dictionary to find the terms it completes to.
+ * <p>
+ * Every indexed event gets a slot number, and posting lists hold slots and weights in
+ * sorted primitive arrays. A query walks the shortest posting list and advances a cursor
+ * through each of the others, keeping the best results in a bounded heap, so it does
+ * not allocate per match. A changed event keeps its slot; slots of removed events are
+ * only reclaimed by {@link #rebuild}.
+ */
+public class EventSearchIndex {
+    // Field weights, matching setweight A, B and C of the events search vector
+    static final float NAME_WEIGHT = 1.0f;
+    static final float VENUE_WEIGHT = 0.4f;
+    static final float DESCRIPTION_WEIGHT = 0.2f;
+
+    // Sorted so the terms starting with a prefix are one range
+    private final TreeMap<String, Posting> postings = new TreeMap<>();
+    private final Map<Integer, Integer> slotByEventId = new HashMap<>();
+    private final Map<Integer, String[]> termsBySlot = new HashMap<>();
+    private Event[] events = new Event[16];
+    // Date and time of each slot's event, to order results of equal rank
+    private long[] startKeys = new long[16];
+    private int nextSlot;
+    private final boolean includeDescription;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Create an index of event names, venues and descriptions
+     */
+    public EventSearchIndex() {
+        this(true);
+    }
+
+    /**
+     * Create an index of event names and venues, and optionally descriptions
+     * @param includeDescription whether descriptions are indexed
+     */
+    public EventSearchIndex(boolean includeDescription) {
+        this.includeDescription = includeDescription;
+    }
+
+    /**
+     * Replace the indexed events
+     * @param allEvents events to index
+     */
+    public void rebuild(Collection<Event> allEvents) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotByEventId.clear();
+            termsBySlot.clear();
+            events = new Event[Math.max(16, allEvents.size())];
+            startKeys = new long[events.length];
+            nextSlot = 0;
+            for (Event event : allEvents) {
+                putInternal(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add an event, or replace it if it is already indexed
+     * @param event event to index
+     */
+    public void put(Event event) {
+        lock.writeLock().lock();
+        try {
+            putInternal(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an event
+     * @param eventId ID of the event to remove
+     */
+    public void remove(int eventId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed events
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByEventId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the events containing every term of a query
+     * @param query search text
+     * @param limit maximum number of events to return
+     * @return matching events, best match first, then earliest start first
+     */
+    public List<Event> search(String query, int limit) {
+        return search(query, limit, false);
+    }
+
+    /**
+     * Find the events matching a query that is still being typed. The last word matches
+     * any term starting with it unless the query ends with a space.
+     * @param query search text
+     * @param limit maximum number of events to return
+     * @return matching events, best match first, then earliest start first
+     */
+    public List<Event> searchPrefix(String query, int limit) {
+        return search(query, limit, true);
+    }
+
+    private List<Event> search(String query, int limit, boolean prefix) {
+        List<String> terms = SearchTokenizer.distinctTerms(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        boolean lastIsPrefix = prefix && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            Posting[] lists = new Posting[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                boolean isPrefix = lastIsPrefix && i == lists.length - 1;
+                lists[i] = isPrefix ? prefixPosting(terms.get(i)) : postings.get(terms.get(i));
+                if (lists[i] == null) {
+                    return new ArrayList<>();
+                }
+            }
+            // Walk the shortest list and probe the others
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            float[] idf = new float[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = (float) Math.log(1.0 + (double) slotByEventId.size() / lists[i].size);
+            }
+
+            TopResults best = new TopResults(Math.min(limit, lists[0].size));
+            int[] cursors = new int[lists.length];
+            Posting first = lists[0];
+            for (int n = 0; n < first.size; n++) {
+                int slot = first.slots[n];
+                float score = first.weights[n] * idf[0];
+                boolean matchesAll = true;
+                for (int i = 1; i < lists.length && matchesAll; i++) {
+                    int position = lists[i].seek(slot, cursors[i]);
+                    cursors[i] = position;
+                    if (position < lists[i].size && lists[i].slots[position] == slot) {
+                        score += lists[i].weights[position] * idf[i];
+                    } else {
+                        matchesAll = false;
+                    }
+                }
+                if (matchesAll) {
+                    best.offer(slot, score);
+                }
+            }
+
+            int[] slots = best.drainBestFirst();
+            List<Event> results = new ArrayList<>(slots.length);
+            for (int slot : slots) {
+                results.add(events[slot]);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index an event in the slot it already has, or in a new slot if it is not indexed
+     */
+    private void putInternal(Event event) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, event.getName(), NAME_WEIGHT);
+        addField(weights, event.getVenue(), VENUE_WEIGHT);
+        if (includeDescription) {
+            addField(weights, event.getDescription(), DESCRIPTION_WEIGHT);
+        }
+
+        Integer existing = slotByEventId.get(event.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            removeTerms(slot);
+        } else {
+            slot = nextSlot++;
+            if (slot == events.length) {
+                events = Arrays.copyOf(events, slot * 2);
+                startKeys = Arrays.copyOf(startKeys, slot * 2);
+            }
+            slotByEventId.put(event.getId(), slot);
+        }
+        events[slot] = event;
+        startKeys[slot] = startKey(event);
+        termsBySlot.put(slot, weights.keySet().toArray(new String[0]));
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new Posting()).add(slot, weight));
+    }
+
+    private void removeInternal(int eventId) {
+        Integer slot = slotByEventId.remove(eventId);
+        if (slot == null) {
+            return;
+        }
+        events[slot] = null;
+        removeTerms(slot);
+    }
+
+    /**
+     * Remove a slot from the posting lists of its terms, dropping lists left empty
+     */
+    private void removeTerms(int slot) {
+        for (String term : termsBySlot.remove(slot)) {
+            Posting posting = postings.get(term);
+            posting.remove(slot);
+            if (posting.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Merge the posting lists of every term starting with a prefix, keeping the highest
+     * weight of each event
+     * @return merged posting list, or null if no term starts with the prefix
+     */
+    private Posting prefixPosting(String prefix) {
+        SortedMap<String, Posting> completions = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (completions.size() <= 1) {
+            return completions.isEmpty() ? null : completions.values().iterator().next();
+        }
+
+        float[] bySlot = new float[nextSlot];
+        for (Posting posting : completions.values()) {
+            for (int n = 0; n < posting.size; n++) {
+                bySlot[posting.slots[n]] = Math.max(bySlot[posting.slots[n]], posting.weights[n]);
+            }
+        }
+        Posting merged = new Posting();
+        for (int slot = 0; slot < bySlot.length; slot++) {
+            if (bySlot[slot] > 0) {
+                merged.append(slot, bySlot[slot]);
+            }
+        }
+        return merged;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String term : SearchTokenizer.terms(text)) {
+            weights.merge(term, fieldWeight, Float::sum);
+        }
+    }
+
+    private static long startKey(Event event) {
+        if (event.getDate() == null) {
+            return Long.MIN_VALUE;
+        }
+        long seconds = event.getTime() != null ? event.getTime().toSecondOfDay() : 0;
+        return event.getDate().toEpochDay() * 86_400 + seconds;
+    }
+
+    /**
+     * Whether a result ranks below another: a lower score, or an equal score and a
+     * later start, or the same start and a higher event ID
+     */
+    private boolean ranksBelow(int slot, float score, int otherSlot, float otherScore) {
+        if (score != otherScore) {
+            return score < otherScore;
+        }
+        if (startKeys[slot] != startKeys[otherSlot]) {
+            return startKeys[slot] > startKeys[otherSlot];
+        }
+        return events[slot].getId() > events[otherSlot].getId();
+    }
+
+    /**
+     * Slots and weights of the events containing one term, sorted by slot
+     */
+    private static final class Posting {
+        private int[] slots = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        /**
+         * Add a slot that is not in the list, keeping the list sorted. New slots are the
+         * largest, so they are appended; a changed event's slot is inserted in place.
+         */
+        private void add(int slot, float weight) {
+            if (size == 0 || slots[size - 1] < slot) {
+                append(slot, weight);
+                return;
+            }
+            int position = -Arrays.binarySearch(slots, 0, size, slot) - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(slots, position, slots, position + 1, size - position);
+            System.arraycopy(weights, position, weights, position + 1, size - position);
+            slots[position] = slot;
+            weights[position] = weight;
+            size++;
+        }
+
+        private void append(int slot, float weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void remove(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0) {
+                System.arraycopy(slots, position + 1, slots, position, size - position - 1);
+                System.arraycopy(weights, position + 1, weights, position, size - position - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Find the first position at or after from whose slot is not less than the given
+         * slot, galloping forward and then searching the last step
+         */
+        private int seek(int slot, int from) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < size && slots[high] < slot) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            int position = Arrays.binarySearch(slots, low, high, slot);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best results, with the worst kept at the root
+     */
+    private final class TopResults {
+        private final int[] slots;
+        private final float[] scores;
+        private int size;
+
+        private TopResults(int capacity) {
+            this.slots = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        private void offer(int slot, float score) {
+            if (size < slots.length) {
+                slots[size] = slot;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && ranksBelow(slots[0], scores[0], slot, score)) {
+                slots[0] = slot;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Empty the heap
+         * @return slots of the results, best first
+         */
+        private int[] drainBestFirst() {
+            int[] result = new int[size];
+            for (int i = result.length - 1; i >= 0; i--) {
+                result[i] = slots[0];
+                size--;
+                slots[0] = slots[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBelow(slots[index], scores[index], slots[parent], scores[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && ranksBelow(slots[child + 1], scores[child + 1], slots[child], scores[child])) {
+                    child++;
+                }
+                if (!ranksBelow(slots[child], scores[child], slots[index], scores[index])) {
+                    break;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int slot = slots[a];
+            slots[a] = slots[b];
+            slots[b] = slot;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
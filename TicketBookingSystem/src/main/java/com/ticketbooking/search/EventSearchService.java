@@ -0,0 +1,141 @@
+package com.ticketbooking.search;
+
+import com.ticketbooking.dao.EventDAO;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.EventSummary;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Properties;
+
+/**
+ * Full-text event search.
+ * <p>
+ * By default queries run against the GIN-indexed search vector of the events table.
+ * With search.mode=memory in booking.properties, or when the database search fails (for
+ * example because the search_vector column has not been added yet), queries run against
+ * an in-memory {@link EventSearchIndex} loaded from the events table on first use and
+ * kept up to date as events are added, changed or deleted through this application.
+ * Search-as-you-type suggestions always use an in-memory prefix index of event names
+ * and venues, so each keystroke costs no database round trip.
+ * Seat counts of events returned by the in-memory indexes may be out of date; bookings
+ * check them again.
+ */
+public class EventSearchService {
+    private static final Logger logger = LogManager.getLogger(EventSearchService.class);
+    private static EventSearchService instance;
+
+    public static final String MODE_DATABASE = "database";
+    public static final String MODE_MEMORY = "memory";
+
+    private final EventDAO eventDAO;
+    private final boolean useDatabase;
+    private final EventSearchIndex index = new EventSearchIndex();
+    private final EventSearchIndex typeaheadIndex = new EventSearchIndex(false);
+    private boolean indexLoaded;
+
+    private EventSearchService(String mode) {
+        this.eventDAO = new EventDAO();
+        this.useDatabase = !MODE_MEMORY.equalsIgnoreCase(mode);
+        logger.info("Event search mode: {}", useDatabase ? MODE_DATABASE : MODE_MEMORY);
+    }
+
+    /**
+     * Get singleton instance of EventSearchService
+     * @return EventSearchService instance
+     */
+    public static synchronized EventSearchService getInstance() {
+        if (instance == null) {
+            instance = new EventSearchService(loadMode());
+        }
+        return instance;
+    }
+
+    /**
+     * Search events by name, venue and description
+     * @param query search text
+     * @param limit maximum number of events to return
+     * @return summaries of the matching events, best match first
+     */
+    public List<EventSummary> search(String query, int limit) {
+        if (useDatabase) {
+            List<EventSummary> events = eventDAO.searchEvents(query, limit);
+            if (events != null) {
+                return events;
+            }
+            logger.warn("Database search failed, using the in-memory index");
+        }
+        loadIndexes();
+        return summarize(index.search(query, limit));
+    }
+
+    /**
+     * Suggest events by name and venue while a query is being typed
+     * @param query search text; its last word may be incomplete
+     * @param limit maximum number of events to return
+     * @return summaries of the matching events, best match first
+     */
+    public List<EventSummary> suggest(String query, int limit) {
+        loadIndexes();
+        return summarize(typeaheadIndex.searchPrefix(query, limit));
+    }
+
+    /**
+     * Update the in-memory indexes after an event was added or changed
+     * @param event saved event
+     */
+    public synchronized void onEventSaved(Event event) {
+        if (indexLoaded) {
+            index.put(event);
+            typeaheadIndex.put(event);
+        }
+    }
+
+    /**
+     * Update the in-memory indexes after an event was deleted
+     * @param eventId ID of the deleted event
+     */
+    public synchronized void onEventDeleted(int eventId) {
+        if (indexLoaded) {
+            index.remove(eventId);
+            typeaheadIndex.remove(eventId);
+        }
+    }
+
+    private synchronized void loadIndexes() {
+        if (!indexLoaded) {
+            long start = System.nanoTime();
+            List<Event> events = eventDAO.loadAllEvents();
+            if (events == null) {
+                // Left unloaded so the next search tries again
+                logger.warn("Could not load events for search, the in-memory index stays empty");
+                return;
+            }
+            index.rebuild(events);
+            typeaheadIndex.rebuild(events);
+            indexLoaded = true;
+            logger.info("Indexed {} events for search in {} ms", index.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private static List<EventSummary> summarize(List<Event> events) {
+        return events.stream().map(EventSummary::of).collect(Collectors.toList());
+    }
+
+    private static String loadMode() {
+        Properties props = new Properties();
+        try (InputStream input = EventSearchService.class.getClassLoader().getResourceAsStream("booking.properties")) {
+            if (input != null) {
+                props.load(input);
+            }
+        } catch (IOException e) {
+            logger.error("Error loading booking properties", e);
+        }
+        return props.getProperty("search.mode", MODE_DATABASE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ticketbooking.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case search terms made of letters and digits
+ */
+final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Split text into terms
+     * @param text text to split, may be null
+     * @return terms in order of appearance, including repeats
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Split text into distinct terms
+     * @param text text to split, may be null
+     * @return distinct terms in order of first appearance
+     */
+    static List<String> distinctTerms(String text) {
+        Set<String> distinct = new LinkedHashSet<>(terms(text));
+        return new ArrayList<>(distinct);
+    }
+}
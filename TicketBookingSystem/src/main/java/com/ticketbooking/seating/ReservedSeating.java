@@ -0,0 +1,189 @@
+package com.ticketbooking.seating;
+
+import com.ticketbooking.dao.SeatingDAO;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.BookingOutcome;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.SeatAssignment;
+import com.ticketbooking.model.SeatLayout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns seats to bookings of events with a seat layout.
+ * <p>
+ * The booked seats of each event are loaded once into a {@link SeatMap}, which picks
+ * the best available seats in memory. The booking then sets the bits of those seats in
+ * their row in the database, only if they are still free. If another client booked one
+ * of them first, that row is reloaded and other seats are picked, so the seat map never
+ * needs to scan the database to stay in step.
+ */
+public class ReservedSeating {
+    private static final Logger logger = LogManager.getLogger(ReservedSeating.class);
+    private static ReservedSeating instance;
+
+    // Times to pick other seats after losing the picked ones to another client
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final SeatingDAO seatingDAO;
+    private final Map<Integer, SeatLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<Integer, SeatMap> seatMaps = new ConcurrentHashMap<>();
+
+    private ReservedSeating() {
+        this.seatingDAO = new SeatingDAO();
+    }
+
+    /**
+     * Get singleton instance of ReservedSeating
+     * @return ReservedSeating instance
+     */
+    public static synchronized ReservedSeating getInstance() {
+        if (instance == null) {
+            instance = new ReservedSeating();
+        }
+        return instance;
+    }
+
+    /**
+     * Get a seat layout; layouts do not change once added, so they are loaded once
+     * @param layoutId layout ID
+     * @return SeatLayout if found, null otherwise
+     */
+    public SeatLayout getLayout(int layoutId) {
+        SeatLayout layout = layouts.get(layoutId);
+        if (layout == null) {
+            layout = seatingDAO.getLayoutById(layoutId);
+            if (layout != null) {
+                layouts.putIfAbsent(layoutId, layout);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * Book the best available seats for a booking and record them on it
+     * @param booking booking to save; its ID and seats are set on success
+     * @param event event of the booking, which must have a seat layout
+     * @return BOOKED on success, SOLD_OUT if no row has enough contiguous seats of the
+     *         seat type, SEATS_TAKEN if other clients kept booking the picked seats first,
+     *         EVENT_NOT_FOUND, or FAILED on a database error
+     */
+    public BookingOutcome book(Booking booking, Event event) {
+        SeatMap seatMap = getSeatMap(event);
+        if (seatMap == null) {
+            return BookingOutcome.FAILED;
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            SeatAssignment seats = seatMap.allocate(booking.getSeatType(), booking.getQuantity());
+            if (seats == null) {
+                logger.error("No {} contiguous {} seats left for event ID: {}",
+                             booking.getQuantity(), booking.getSeatType(), event.getId());
+                return BookingOutcome.SOLD_OUT;
+            }
+
+            booking.setSeats(seats);
+            BookingOutcome outcome = seatingDAO.bookAssignedSeats(booking, seatBits(seatMap, seats));
+            if (outcome.isBooked()) {
+                return outcome;
+            }
+
+            booking.setSeats(null);
+            seatMap.release(seats);
+            if (outcome != BookingOutcome.SEATS_TAKEN || !reloadRow(event.getId(), seatMap, seats.getRow())) {
+                return outcome;
+            }
+            logger.info("Seats {} of event ID: {} were booked by another client, picking others",
+                        seats, event.getId());
+        }
+        return BookingOutcome.SEATS_TAKEN;
+    }
+
+    /**
+     * Describe the assigned seats of a booking for customers
+     * @param booking booking with assigned seats
+     * @param event event of the booking
+     * @return description such as "Section A, Row 3, Seats 5-8", or null if the booking has no assigned seats
+     */
+    public String describeSeats(Booking booking, Event event) {
+        if (booking.getSeats() == null || !event.hasSeatLayout()) {
+            return null;
+        }
+        SeatLayout layout = getLayout(event.getLayoutId());
+        return layout == null ? null : layout.describe(booking.getSeats());
+    }
+
+    /**
+     * Get the number of free seats of one type
+     * @param event event with a seat layout
+     * @param seatType seat type
+     * @return number of free seats, or 0 if the seats could not be loaded
+     */
+    public int getAvailableSeats(Event event, String seatType) {
+        SeatMap seatMap = getSeatMap(event);
+        return seatMap == null ? 0 : seatMap.getAvailableSeats(seatType);
+    }
+
+    /**
+     * Drop the seat map of an event, e.g. after it was deleted
+     * @param eventId event ID
+     */
+    public void forget(int eventId) {
+        seatMaps.remove(eventId);
+    }
+
+    /**
+     * Get the seat map of an event, loading its booked seats the first time
+     * @return SeatMap, or null if the layout or booked seats could not be loaded
+     */
+    private SeatMap getSeatMap(Event event) {
+        SeatMap seatMap = seatMaps.get(event.getId());
+        if (seatMap != null) {
+            return seatMap;
+        }
+
+        SeatLayout layout = getLayout(event.getLayoutId());
+        if (layout == null) {
+            logger.error("Seat layout {} of event ID: {} not found", event.getLayoutId(), event.getId());
+            return null;
+        }
+        Map<Integer, String> occupancy = seatingDAO.getOccupancy(event.getId());
+        if (occupancy == null) {
+            return null;
+        }
+
+        seatMap = new SeatMap(layout);
+        for (Map.Entry<Integer, String> row : occupancy.entrySet()) {
+            seatMap.markOccupied(row.getKey(), SeatMap.fromBitString(row.getValue()));
+        }
+        SeatMap loaded = seatMaps.putIfAbsent(event.getId(), seatMap);
+        logger.info("Loaded seat map of event ID: {} with layout {}", event.getId(), layout);
+        return loaded != null ? loaded : seatMap;
+    }
+
+    /**
+     * Merge the seats of a row booked by other clients into the seat map
+     * @return true if the row was reloaded
+     */
+    private boolean reloadRow(int eventId, SeatMap seatMap, int row) {
+        String occupied = seatingDAO.getOccupiedRow(eventId, row);
+        if (occupied == null) {
+            return false;
+        }
+        seatMap.markOccupied(row, SeatMap.fromBitString(occupied));
+        return true;
+    }
+
+    /**
+     * @return bit string over the whole row with only the assigned seats set
+     */
+    private static String seatBits(SeatMap seatMap, SeatAssignment seats) {
+        BitSet bits = new BitSet();
+        bits.set(seats.getFirstSeat(), seats.getEndSeat());
+        return SeatMap.toBitString(bits, seatMap.getLayout().getRow(seats.getRow()).getSeatCount());
+    }
+}
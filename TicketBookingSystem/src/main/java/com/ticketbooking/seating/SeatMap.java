@@ -0,0 +1,201 @@
+package com.ticketbooking.seating;
+
+import com.ticketbooking.model.SeatAssignment;
+import com.ticketbooking.model.SeatLayout;
+
+import java.util.BitSet;
+
+/**
+ * Occupancy of the seats of one event, kept as a bitset per row.
+ * <p>
+ * Besides the occupied seats, each row keeps a bitset of the free seats of every seat
+ * type, so finding a block of free seats of one type is a walk over the runs of set
+ * bits in one bitset, a word at a time, without looking at individual seats. The bits
+ * of a 50,000 seat arena take about 25 KB.
+ */
+public class SeatMap {
+    // Seat type codes, in the order of the free seat bitsets
+    private static final String TYPE_CODES = "" + SeatLayout.CODE_STANDARD + SeatLayout.CODE_VIP + SeatLayout.CODE_PREMIUM;
+
+    private final SeatLayout layout;
+    private final BitSet[] occupied;
+    // Free seats per seat type and row
+    private final BitSet[][] free;
+    // Free seats per seat type
+    private final int[] available;
+
+    /**
+     * Create a seat map with every seat free
+     * @param layout seat layout of the event
+     */
+    public SeatMap(SeatLayout layout) {
+        this.layout = layout;
+        int rows = layout.getRows().size();
+        this.occupied = new BitSet[rows];
+        this.free = new BitSet[TYPE_CODES.length()][rows];
+        this.available = new int[TYPE_CODES.length()];
+
+        for (int row = 0; row < rows; row++) {
+            SeatLayout.Row seats = layout.getRow(row);
+            occupied[row] = new BitSet(seats.getSeatCount());
+            for (int type = 0; type < TYPE_CODES.length(); type++) {
+                free[type][row] = new BitSet(seats.getSeatCount());
+            }
+            for (int seat = 0; seat < seats.getSeatCount(); seat++) {
+                int type = typeIndex(seats.getSeatType(seat));
+                free[type][row].set(seat);
+                available[type]++;
+            }
+        }
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Find and take the best available block of contiguous seats of one type: the
+     * block in the front-most row that has one, as close to the middle of that row as
+     * possible. Takes time proportional to the width of the rows searched.
+     * @param seatType seat type such as Booking.SEAT_TYPE_VIP
+     * @param quantity number of seats
+     * @return the seats taken, or null if no row has enough contiguous free seats of the type
+     */
+    public synchronized SeatAssignment allocate(String seatType, int quantity) {
+        int type = typeIndex(SeatLayout.codeOf(seatType));
+        if (quantity <= 0 || available[type] < quantity) {
+            return null;
+        }
+
+        for (int row = 0; row < occupied.length; row++) {
+            int width = layout.getRow(row).getSeatCount();
+            int firstSeat = findBlock(free[type][row], quantity, (width - quantity) / 2);
+            if (firstSeat >= 0) {
+                SeatAssignment seats = new SeatAssignment(row, firstSeat, quantity);
+                for (int seat = firstSeat; seat < seats.getEndSeat(); seat++) {
+                    occupy(row, seat);
+                }
+                return seats;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find the free block of seats that starts closest to the ideal first seat
+     * @param seats free seats of a row
+     * @param quantity size of the block
+     * @param idealSeat first seat of a block centred in the row
+     * @return first seat of the block, or -1 if there is no block that large
+     */
+    static int findBlock(BitSet seats, int quantity, int idealSeat) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int start = seats.nextSetBit(0); start >= 0; ) {
+            int end = seats.nextClearBit(start);
+            if (end - start >= quantity) {
+                int firstSeat = Math.max(start, Math.min(idealSeat, end - quantity));
+                int distance = Math.abs(firstSeat - idealSeat);
+                if (distance < bestDistance) {
+                    best = firstSeat;
+                    bestDistance = distance;
+                }
+                if (end - quantity >= idealSeat) {
+                    // Later blocks start further right
+                    break;
+                }
+            }
+            start = seats.nextSetBit(end);
+        }
+        return best;
+    }
+
+    /**
+     * Give assigned seats back
+     * @param seats seats to free
+     */
+    public synchronized void release(SeatAssignment seats) {
+        for (int seat = seats.getFirstSeat(); seat < seats.getEndSeat(); seat++) {
+            vacate(seats.getRow(), seat);
+        }
+    }
+
+    /**
+     * Mark seats of a row as occupied, e.g. when loading the seats booked so far or
+     * merging seats booked by another client
+     * @param row index of the row
+     * @param seats seats to mark; seats already occupied are left as they are
+     */
+    public synchronized void markOccupied(int row, BitSet seats) {
+        int width = layout.getRow(row).getSeatCount();
+        for (int seat = seats.nextSetBit(0); seat >= 0 && seat < width; seat = seats.nextSetBit(seat + 1)) {
+            occupy(row, seat);
+        }
+    }
+
+    /**
+     * @param row index of the row
+     * @return copy of the occupied seats of the row
+     */
+    public synchronized BitSet getOccupied(int row) {
+        return (BitSet) occupied[row].clone();
+    }
+
+    /**
+     * @param seatType seat type such as Booking.SEAT_TYPE_VIP
+     * @return number of free seats of the type
+     */
+    public synchronized int getAvailableSeats(String seatType) {
+        return available[typeIndex(SeatLayout.codeOf(seatType))];
+    }
+
+    private void occupy(int row, int seat) {
+        if (!occupied[row].get(seat)) {
+            occupied[row].set(seat);
+            int type = typeIndex(layout.getRow(row).getSeatType(seat));
+            free[type][row].clear(seat);
+            available[type]--;
+        }
+    }
+
+    private void vacate(int row, int seat) {
+        if (occupied[row].get(seat)) {
+            occupied[row].clear(seat);
+            int type = typeIndex(layout.getRow(row).getSeatType(seat));
+            free[type][row].set(seat);
+            available[type]++;
+        }
+    }
+
+    private static int typeIndex(char code) {
+        return TYPE_CODES.indexOf(code);
+    }
+
+    /**
+     * Write seats as a bit string with one character per seat of the row, as stored
+     * in a BIT VARYING column
+     * @param seats seats to write
+     * @param width number of seats in the row
+     * @return string of '0' and '1' characters
+     */
+    public static String toBitString(BitSet seats, int width) {
+        char[] bits = new char[width];
+        for (int seat = 0; seat < width; seat++) {
+            bits[seat] = seats.get(seat) ? '1' : '0';
+        }
+        return new String(bits);
+    }
+
+    /**
+     * Read seats from a bit string written by toBitString
+     * @param bits string of '0' and '1' characters
+     * @return seats whose character is '1'
+     */
+    public static BitSet fromBitString(String bits) {
+        BitSet seats = new BitSet(bits.length());
+        for (int seat = bits.indexOf('1'); seat >= 0; seat = bits.indexOf('1', seat + 1)) {
+            seats.set(seat);
+        }
+        return seats;
+    }
+}
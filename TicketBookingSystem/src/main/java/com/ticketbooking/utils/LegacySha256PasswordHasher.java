@@ -0,0 +1,49 @@
+package com.ticketbooking.utils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Iterated SHA-256 used by earlier versions for hashes stored as iterations:salt:hash.
+ * Only kept to verify those hashes so they can be replaced on the next login.
+ */
+public class LegacySha256PasswordHasher implements PasswordHasher {
+    public static final String ID = "sha256-iterated";
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] derive(char[] password, byte[] salt, int iterations) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+
+        // Convert password to bytes
+        byte[] passwordBytes = new byte[password.length * 2];
+        for (int i = 0; i < password.length; i++) {
+            passwordBytes[i * 2] = (byte) (password[i] >> 8);
+            passwordBytes[i * 2 + 1] = (byte) password[i];
+        }
+
+        // Initial hash with salt
+        digest.update(salt);
+        byte[] result = digest.digest(passwordBytes);
+
+        // Additional iterations
+        for (int i = 1; i < iterations; i++) {
+            result = digest.digest(result);
+        }
+
+        return result;
+    }
+}
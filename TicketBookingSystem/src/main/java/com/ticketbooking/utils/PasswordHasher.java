@@ -0,0 +1,22 @@
+package com.ticketbooking.utils;
+
+/**
+ * Key derivation function used to hash passwords.
+ * Implementations must be thread-safe.
+ */
+public interface PasswordHasher {
+
+    /**
+     * @return algorithm identifier stored in front of each hash
+     */
+    String getId();
+
+    /**
+     * Derive a hash from a password
+     * @param password password characters
+     * @param salt random salt
+     * @param iterations work factor
+     * @return derived hash
+     */
+    byte[] derive(char[] password, byte[] salt, int iterations);
+}
@@ -4,46 +4,63 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.Map;
 
 /**
- * Utility class for password hashing and verification
+ * Utility class for password hashing and verification.
+ * <p>
+ * New hashes use PBKDF2-HMAC-SHA256 and are stored as algorithm:iterations:salt:hash.
+ * The iteration count is calibrated once per JVM so one hash takes about
+ * {@link #DEFAULT_TARGET_MILLIS} milliseconds (override with the password.hash.targetMillis
+ * system property), but never drops below {@link #MIN_ITERATIONS}. Hashes in the older
+ * iterations:salt:hash format, or with fewer iterations than the current setting, are
+ * reported by {@link #needsRehash} so they can be replaced after a successful login.
  */
 public class PasswordUtils {
     private static final Logger logger = LogManager.getLogger(PasswordUtils.class);
-    
+
     // Salt length
     private static final int SALT_LENGTH = 16;
-    
-    // Number of iterations for hashing
-    private static final int ITERATIONS = 10000;
-    
+
+    // Iteration limits for calibration
+    public static final int MIN_ITERATIONS = 100_000;
+    public static final int MAX_ITERATIONS = 5_000_000;
+    public static final long DEFAULT_TARGET_MILLIS = 50;
+
+    private static final PasswordHasher DEFAULT_HASHER = new Pbkdf2PasswordHasher();
+    private static final Map<String, PasswordHasher> HASHERS = Map.of(
+        Pbkdf2PasswordHasher.ID, DEFAULT_HASHER,
+        LegacySha256PasswordHasher.ID, new LegacySha256PasswordHasher());
+
+    // SecureRandom is thread-safe, so one instance is shared
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static volatile int iterations;
+
     /**
-     * Hash a password using PBKDF2 with SHA-256
+     * Hash a password using PBKDF2 with HMAC-SHA256
      * @param password Password to hash
-     * @return Hashed password with salt in format: iterations:salt:hash
+     * @return Hashed password with salt in format: algorithm:iterations:salt:hash
      */
     public static String hashPassword(String password) {
         try {
             // Generate a random salt
-            SecureRandom random = new SecureRandom();
             byte[] salt = new byte[SALT_LENGTH];
-            random.nextBytes(salt);
-            
-            // Hash the password
-            byte[] hash = pbkdf2(password.toCharArray(), salt, ITERATIONS);
-            
-            // Format: iterations:salt:hash
-            return ITERATIONS + ":" + Base64.getEncoder().encodeToString(salt) + ":" + 
+            RANDOM.nextBytes(salt);
+
+            int cost = getIterations();
+            byte[] hash = DEFAULT_HASHER.derive(password.toCharArray(), salt, cost);
+
+            return DEFAULT_HASHER.getId() + ":" + cost + ":" + Base64.getEncoder().encodeToString(salt) + ":" +
                    Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
+        } catch (RuntimeException e) {
             logger.error("Error hashing password", e);
             return null;
         }
     }
-    
+
     /**
      * Verify a password against a stored hash
      * @param password Password to verify
@@ -52,56 +69,114 @@ public class PasswordUtils {
      */
     public static boolean verifyPassword(String password, String storedHash) {
         try {
-            // Split the stored hash into parts
-            String[] parts = storedHash.split(":");
-            int iterations = Integer.parseInt(parts[0]);
-            byte[] salt = Base64.getDecoder().decode(parts[1]);
-            byte[] hash = Base64.getDecoder().decode(parts[2]);
-            
-            // Hash the input password with the same salt and iterations
-            byte[] testHash = pbkdf2(password.toCharArray(), salt, iterations);
-            
-            // Compare the hashes
-            int diff = hash.length ^ testHash.length;
-            for (int i = 0; i < hash.length && i < testHash.length; i++) {
-                diff |= hash[i] ^ testHash[i];
+            StoredHash stored = StoredHash.parse(storedHash);
+            if (stored == null) {
+                logger.warn("Unrecognised password hash format");
+                return false;
             }
-            
-            return diff == 0;
+
+            byte[] testHash = stored.hasher.derive(password.toCharArray(), stored.salt, stored.iterations);
+            return MessageDigest.isEqual(stored.hash, testHash);
         } catch (Exception e) {
             logger.error("Error verifying password", e);
             return false;
         }
     }
-    
+
     /**
-     * Implementation of PBKDF2 with SHA-256
-     * @param password Password to hash
-     * @param salt Salt to use
-     * @param iterations Number of iterations
-     * @return Hashed password
-     * @throws NoSuchAlgorithmException if algorithm is not available
+     * Check whether a stored password should be hashed again with the current settings
+     * @param storedHash stored password hash, or a legacy plain text password
+     * @return true if the stored value uses an older format, algorithm or lower iteration count
      */
-    private static byte[] pbkdf2(char[] password, byte[] salt, int iterations) throws NoSuchAlgorithmException {
-        MessageDigest digest = MessageDigest.getInstance("SHA-256");
-        
-        // Convert password to bytes
-        byte[] passwordBytes = new byte[password.length * 2];
-        for (int i = 0; i < password.length; i++) {
-            passwordBytes[i * 2] = (byte) (password[i] >> 8);
-            passwordBytes[i * 2 + 1] = (byte) password[i];
+    public static boolean needsRehash(String storedHash) {
+        StoredHash stored = StoredHash.parse(storedHash);
+        return stored == null || stored.hasher != DEFAULT_HASHER || stored.iterations < getIterations();
+    }
+
+    /**
+     * Get the iteration count used for new hashes, calibrating it on first use
+     * @return iteration count
+     */
+    public static int getIterations() {
+        int current = iterations;
+        if (current == 0) {
+            synchronized (PasswordUtils.class) {
+                if (iterations == 0) {
+                    long target = Long.getLong("password.hash.targetMillis", DEFAULT_TARGET_MILLIS);
+                    iterations = calibrate(DEFAULT_HASHER, target);
+                }
+                current = iterations;
+            }
         }
-        
-        // Initial hash with salt
-        digest.update(salt);
-        byte[] result = digest.digest(passwordBytes);
-        
-        // Additional iterations
-        for (int i = 1; i < iterations; i++) {
-            digest.reset();
-            result = digest.digest(result);
+        return current;
+    }
+
+    /**
+     * Find the iteration count at which one hash takes about the target time on this machine
+     * @param hasher hasher to calibrate
+     * @param targetMillis target time per hash in milliseconds
+     * @return iteration count between MIN_ITERATIONS and MAX_ITERATIONS
+     */
+    static int calibrate(PasswordHasher hasher, long targetMillis) {
+        final int sampleIterations = 20_000;
+        char[] password = "calibration".toCharArray();
+        byte[] salt = new byte[SALT_LENGTH];
+
+        // Take the fastest of a few runs so warm-up and scheduling noise do not inflate the cost
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            hasher.derive(password, salt, sampleIterations);
+            best = Math.min(best, System.nanoTime() - start);
         }
-        
+
+        double perIteration = (double) Math.max(best, 1) / sampleIterations;
+        long calibrated = (long) (targetMillis * 1_000_000L / perIteration);
+        // Round to a multiple of 1000 to keep stored hashes readable
+        int result = (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, calibrated / 1000 * 1000));
+        logger.info("Calibrated {} to {} iterations for {}ms per hash", hasher.getId(), result, targetMillis);
         return result;
     }
+
+    /**
+     * Parsed form of a stored password hash
+     */
+    private static final class StoredHash {
+        private final PasswordHasher hasher;
+        private final int iterations;
+        private final byte[] salt;
+        private final byte[] hash;
+
+        private StoredHash(PasswordHasher hasher, int iterations, byte[] salt, byte[] hash) {
+            this.hasher = hasher;
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        /**
+         * @return parsed hash, or null if the value is not a recognised hash
+         */
+        private static StoredHash parse(String storedHash) {
+            if (storedHash == null) {
+                return null;
+            }
+            String[] parts = storedHash.split(":");
+            try {
+                if (parts.length == 4) {
+                    PasswordHasher hasher = HASHERS.get(parts[0]);
+                    return hasher == null ? null : new StoredHash(hasher, Integer.parseInt(parts[1]),
+                        Base64.getDecoder().decode(parts[2]), Base64.getDecoder().decode(parts[3]));
+                }
+                if (parts.length == 3) {
+                    // Format used before the algorithm was stored
+                    return new StoredHash(HASHERS.get(LegacySha256PasswordHasher.ID), Integer.parseInt(parts[0]),
+                        Base64.getDecoder().decode(parts[1]), Base64.getDecoder().decode(parts[2]));
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a hash, for example a plain text password containing ':'
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package com.ticketbooking.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * PBKDF2 with HMAC-SHA256 through the JDK SecretKeyFactory
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+    public static final String ID = "pbkdf2-sha256";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int KEY_LENGTH_BITS = 256;
+
+    // SecretKeyFactory is not thread-safe, so each thread keeps its own
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] derive(char[] password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, KEY_LENGTH_BITS);
+        try {
+            return FACTORY.get().generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error deriving password hash", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
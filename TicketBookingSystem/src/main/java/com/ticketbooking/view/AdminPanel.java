@@ -1,10 +1,17 @@
 package com.ticketbooking.view;
 
+import com.ticketbooking.controller.AsyncDataService;
 import com.ticketbooking.controller.BookingController;
+import com.ticketbooking.controller.DashboardController;
 import com.ticketbooking.controller.EventController;
 import com.ticketbooking.controller.UserController;
 import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.BookingRow;
+import com.ticketbooking.model.DashboardStats;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.EventSummary;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.SeatLayout;
 import com.ticketbooking.model.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,12 +20,12 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,16 +42,28 @@ public class AdminPanel extends JPanel {
     private final EventController eventController;
     private final BookingController bookingController;
     private final UserController userController;
+    private final DashboardController dashboardController;
+    private final AsyncDataService asyncData;
+
+    // Loading indicator in the status bar and the number of loads in progress
+    private JLabel loadingLabel;
+    private int pendingLoads;
 
     private JTabbedPane tabbedPane;
 
+    // Number of rows fetched per page in the event and booking tables
+    private static final int PAGE_SIZE = 100;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
     // Event management
     private JTable eventTable;
-    private DefaultTableModel eventTableModel;
+    private PagedTableModel<EventSummary> eventTableModel;
 
     // Booking management
     private JTable bookingTable;
-    private DefaultTableModel bookingTableModel;
+    private PagedTableModel<BookingRow> bookingTableModel;
 
     // User management
     private JTable userTable;
@@ -59,6 +78,8 @@ public class AdminPanel extends JPanel {
         this.eventController = new EventController();
         this.bookingController = new BookingController();
         this.userController = new UserController();
+        this.dashboardController = new DashboardController();
+        this.asyncData = AsyncDataService.getInstance();
 
         // Set up the panel
         setLayout(new BorderLayout());
@@ -204,6 +225,12 @@ public class AdminPanel extends JPanel {
         statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
         statusBar.add(statusLabel, BorderLayout.WEST);
 
+        loadingLabel = new JLabel("Loading... ");
+        loadingLabel.setForeground(Color.WHITE);
+        loadingLabel.setFont(new Font("Arial", Font.ITALIC, 12));
+        loadingLabel.setVisible(false);
+        statusBar.add(loadingLabel, BorderLayout.EAST);
+
         add(statusBar, BorderLayout.SOUTH);
 
         // Initial data load
@@ -284,23 +311,20 @@ public class AdminPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        // Create table model with non-editable cells
-        eventTableModel = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Create paged table model that loads events as the user scrolls
+        eventTableModel = new PagedTableModel<>((last, limit) -> last == null
+            ? eventController.getEventSummariesPage(null, null, 0, limit)
+            : eventController.getEventSummariesPage(last.getDate(), last.getTime(), last.getId(), limit), PAGE_SIZE);
 
         // Add columns to table model
-        eventTableModel.addColumn("ID");
-        eventTableModel.addColumn("Event Name");
-        eventTableModel.addColumn("Date");
-        eventTableModel.addColumn("Time");
-        eventTableModel.addColumn("Venue");
-        eventTableModel.addColumn("Total Seats");
-        eventTableModel.addColumn("Available Seats");
-        eventTableModel.addColumn("Base Price");
+        eventTableModel.addColumn("ID", EventSummary::getId);
+        eventTableModel.addColumn("Event Name", EventSummary::getName);
+        eventTableModel.addColumn("Date", event -> event.getDate().format(DATE_FORMATTER));
+        eventTableModel.addColumn("Time", event -> event.getTime().format(TIME_FORMATTER));
+        eventTableModel.addColumn("Venue", EventSummary::getVenue);
+        eventTableModel.addColumn("Total Seats", EventSummary::getTotalSeats);
+        eventTableModel.addColumn("Available Seats", EventSummary::getAvailableSeats);
+        eventTableModel.addColumn("Base Price", event -> event.getBasePrice().format());
 
         // Create table
         eventTable = new JTable(eventTableModel);
@@ -319,6 +343,8 @@ public class AdminPanel extends JPanel {
 
         // Add table to scroll pane
         JScrollPane scrollPane = new JScrollPane(eventTable);
+        eventTableModel.attachTo(scrollPane);
+        eventTableModel.setLoadingListener(this::setLoading);
         panel.add(scrollPane, BorderLayout.CENTER);
 
         // Create button panel
@@ -354,22 +380,21 @@ public class AdminPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        // Create table model with non-editable cells
-        bookingTableModel = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Create paged table model that loads bookings as the user scrolls
+        bookingTableModel = new PagedTableModel<>((last, limit) -> last == null
+            ? bookingController.getBookingRowsPage(null, 0, limit)
+            : bookingController.getBookingRowsPage(last.getBookingTime(), last.getId(), limit), PAGE_SIZE);
 
         // Add columns to table model
-        bookingTableModel.addColumn("ID");
-        bookingTableModel.addColumn("Customer Name");
-        bookingTableModel.addColumn("Event");
-        bookingTableModel.addColumn("Seat Type");
-        bookingTableModel.addColumn("Quantity");
-        bookingTableModel.addColumn("Total Price");
-        bookingTableModel.addColumn("Booking Time");
+        bookingTableModel.addColumn("ID", BookingRow::getId);
+        bookingTableModel.addColumn("Customer Name", BookingRow::getCustomerName);
+        bookingTableModel.addColumn("Event", booking ->
+            booking.getEventName() != null ? booking.getEventName() : "Unknown");
+        bookingTableModel.addColumn("Seat Type", BookingRow::getSeatType);
+        bookingTableModel.addColumn("Quantity", BookingRow::getQuantity);
+        bookingTableModel.addColumn("Total Price", booking -> booking.getTotalPrice().format());
+        bookingTableModel.addColumn("Booking Time", booking ->
+            booking.getBookingTime() != null ? booking.getBookingTime().format(DATE_TIME_FORMATTER) : "");
 
         // Create table
         bookingTable = new JTable(bookingTableModel);
@@ -387,6 +412,8 @@ public class AdminPanel extends JPanel {
 
         // Add table to scroll pane
         JScrollPane scrollPane = new JScrollPane(bookingTable);
+        bookingTableModel.attachTo(scrollPane);
+        bookingTableModel.setLoadingListener(this::setLoading);
         panel.add(scrollPane, BorderLayout.CENTER);
 
         // Create button panel
@@ -775,21 +802,45 @@ public class AdminPanel extends JPanel {
     }
 
     /**
-     * Update dashboard statistics
+     * Show or hide the status bar loading indicator. Calls are counted so the
+     * indicator stays visible until every load in progress has finished.
+     * @param loading true when a load starts, false when it finishes
+     */
+    private void setLoading(boolean loading) {
+        pendingLoads = Math.max(0, pendingLoads + (loading ? 1 : -1));
+        loadingLabel.setVisible(pendingLoads > 0);
+        setCursor(pendingLoads > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    /**
+     * Load dashboard statistics in the background and show them when ready
      */
     private void updateDashboardStats() {
-        try {
-            // Get counts and statistics
-            List<Event> events = eventController.getAllEvents();
-            List<Booking> bookings = bookingController.getAllBookings();
-            List<User> users = userController.getAllUsers();
-
-            // Calculate total revenue
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-            for (Booking booking : bookings) {
-                if (booking.getTotalPrice() != null) {
-                    totalRevenue = totalRevenue.add(booking.getTotalPrice());
+        setLoading(true);
+        asyncData.submitLatest("admin.dashboard", dashboardController::getDashboardStats)
+            .whenCompleteAsync((stats, error) -> {
+                // Every load started is counted, so a superseded one must finish too
+                setLoading(false);
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                if (error != null) {
+                    logger.error("Error loading dashboard statistics", AsyncDataService.unwrap(error));
+                    return;
                 }
+                showDashboardStats(stats);
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Update dashboard cards with statistics
+     * @param stats dashboard statistics, may be null if they could not be loaded
+     */
+    private void showDashboardStats(DashboardStats stats) {
+        try {
+            if (stats == null) {
+                logger.warn("Dashboard statistics not available");
+                return;
             }
 
             // Check if the component structure is as expected
@@ -818,7 +869,7 @@ public class AdminPanel extends JPanel {
                 JPanel eventsCard = (JPanel) dashboardPanel.getComponent(0);
                 if (eventsCard.getComponentCount() > 1 && eventsCard.getComponent(1) instanceof JLabel) {
                     JLabel eventsValueLabel = (JLabel) eventsCard.getComponent(1);
-                    eventsValueLabel.setText(String.valueOf(events.size()));
+                    eventsValueLabel.setText(String.valueOf(stats.getEventCount()));
                 }
             } catch (Exception e) {
                 logger.warn("Error updating events card", e);
@@ -829,7 +880,7 @@ public class AdminPanel extends JPanel {
                 JPanel bookingsCard = (JPanel) dashboardPanel.getComponent(1);
                 if (bookingsCard.getComponentCount() > 1 && bookingsCard.getComponent(1) instanceof JLabel) {
                     JLabel bookingsValueLabel = (JLabel) bookingsCard.getComponent(1);
-                    bookingsValueLabel.setText(String.valueOf(bookings.size()));
+                    bookingsValueLabel.setText(String.valueOf(stats.getBookingCount()));
                 }
             } catch (Exception e) {
                 logger.warn("Error updating bookings card", e);
@@ -840,7 +891,7 @@ public class AdminPanel extends JPanel {
                 JPanel usersCard = (JPanel) dashboardPanel.getComponent(2);
                 if (usersCard.getComponentCount() > 1 && usersCard.getComponent(1) instanceof JLabel) {
                     JLabel usersValueLabel = (JLabel) usersCard.getComponent(1);
-                    usersValueLabel.setText(String.valueOf(users.size()));
+                    usersValueLabel.setText(String.valueOf(stats.getUserCount()));
                 }
             } catch (Exception e) {
                 logger.warn("Error updating users card", e);
@@ -851,7 +902,7 @@ public class AdminPanel extends JPanel {
                 JPanel revenueCard = (JPanel) dashboardPanel.getComponent(3);
                 if (revenueCard.getComponentCount() > 1 && revenueCard.getComponent(1) instanceof JLabel) {
                     JLabel revenueValueLabel = (JLabel) revenueCard.getComponent(1);
-                    revenueValueLabel.setText("$" + totalRevenue.toString());
+                    revenueValueLabel.setText(stats.getTotalRevenue().format());
                 }
             } catch (Exception e) {
                 logger.warn("Error updating revenue card", e);
@@ -865,28 +916,8 @@ public class AdminPanel extends JPanel {
      * Refresh event list
      */
     private void refreshEventList() {
-        // Clear table
-        eventTableModel.setRowCount(0);
-
-        // Get all events
-        List<Event> events = eventController.getAllEvents();
-
-        // Add events to table
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        for (Event event : events) {
-            eventTableModel.addRow(new Object[]{
-                event.getId(),
-                event.getName(),
-                event.getDate().format(dateFormatter),
-                event.getTime().format(timeFormatter),
-                event.getVenue(),
-                event.getTotalSeats(),
-                event.getAvailableSeats(),
-                "$" + event.getBasePrice()
-            });
-        }
+        // Drop loaded rows and fetch the first page again
+        eventTableModel.reload();
 
         logger.info("Event list refreshed");
     }
@@ -895,28 +926,8 @@ public class AdminPanel extends JPanel {
      * Refresh booking list
      */
     private void refreshBookingList() {
-        // Clear table
-        bookingTableModel.setRowCount(0);
-
-        // Get all bookings
-        List<Booking> bookings = bookingController.getAllBookings();
-
-        // Add bookings to table
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-        for (Booking booking : bookings) {
-            String eventName = booking.getEvent() != null ? booking.getEvent().getName() : "Unknown";
-
-            bookingTableModel.addRow(new Object[]{
-                booking.getId(),
-                booking.getCustomerName(),
-                eventName,
-                booking.getSeatType(),
-                booking.getQuantity(),
-                "$" + booking.getTotalPrice(),
-                booking.getBookingTime().format(dateTimeFormatter)
-            });
-        }
+        // Drop loaded rows and fetch the first page again
+        bookingTableModel.reload();
 
         logger.info("Booking list refreshed");
     }
@@ -928,7 +939,7 @@ public class AdminPanel extends JPanel {
         // Create dialog
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Add Event", true);
         dialog.setLayout(new BorderLayout());
-        dialog.setSize(400, 400);
+        dialog.setSize(400, 440);
         dialog.setLocationRelativeTo(this);
 
         // Create form panel
@@ -1011,6 +1022,50 @@ public class AdminPanel extends JPanel {
         JTextField priceField = new JTextField(10);
         formPanel.add(priceField, gbc);
 
+        // Seat stripes, more for popular events so concurrent bookings do not queue
+        gbc.gridx = 0;
+        gbc.gridy = 7;
+        formPanel.add(new JLabel("Seat Stripes:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 7;
+        JSpinner seatStripesSpinner = new JSpinner(new SpinnerNumberModel(1, 1, EventController.MAX_SEAT_STRIPES, 1));
+        formPanel.add(seatStripesSpinner, gbc);
+
+        // Seat layout for reserved seating; the layout decides the number of seats
+        gbc.gridx = 0;
+        gbc.gridy = 8;
+        formPanel.add(new JLabel("Seating:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 8;
+        // Layouts are loaded in the background and offered once they arrive
+        List<SeatLayout> seatLayouts = new ArrayList<>();
+        JComboBox<String> seatingComboBox = new JComboBox<>();
+        seatingComboBox.addItem("General admission");
+        seatingComboBox.setEnabled(false);
+        asyncData.submitLatest("admin.seatLayouts", eventController::getAllSeatLayouts)
+            .whenCompleteAsync((layouts, error) -> {
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                if (error != null) {
+                    logger.error("Error loading seat layouts", AsyncDataService.unwrap(error));
+                    return;
+                }
+                seatLayouts.addAll(layouts);
+                for (SeatLayout layout : layouts) {
+                    seatingComboBox.addItem(layout.getName() + " (" + layout.getSeatCount() + " seats)");
+                }
+                seatingComboBox.setEnabled(true);
+            }, AsyncDataService.EDT);
+        seatingComboBox.addActionListener(e -> {
+            boolean generalAdmission = seatingComboBox.getSelectedIndex() == 0;
+            totalSeatsSpinner.setEnabled(generalAdmission);
+            seatStripesSpinner.setEnabled(generalAdmission);
+        });
+        formPanel.add(seatingComboBox, gbc);
+
         // Button panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
@@ -1027,11 +1082,16 @@ public class AdminPanel extends JPanel {
                 LocalTime time = LocalTime.parse(timeField.getText().trim());
                 String venue = venueField.getText().trim();
                 int totalSeats = (int) totalSeatsSpinner.getValue();
-                BigDecimal basePrice = new BigDecimal(priceField.getText().trim());
+                Money basePrice = Money.parse(priceField.getText());
+                int seatStripes = (int) seatStripesSpinner.getValue();
+                int seating = seatingComboBox.getSelectedIndex();
 
                 // Create event
-                boolean success = eventController.createEvent(
-                    name, description, date, time, venue, totalSeats, basePrice);
+                boolean success = seating == 0
+                    ? eventController.createEvent(
+                        name, description, date, time, venue, totalSeats, basePrice, seatStripes)
+                    : eventController.createEvent(
+                        name, description, date, time, venue, basePrice, seatLayouts.get(seating - 1));
 
                 if (success) {
                     logger.info("Event created: {}", name);
@@ -1213,7 +1273,7 @@ public class AdminPanel extends JPanel {
                 String venue = venueField.getText().trim();
                 int totalSeats = (int) totalSeatsSpinner.getValue();
                 int availableSeats = (int) availableSeatsSpinner.getValue();
-                BigDecimal basePrice = new BigDecimal(priceField.getText().trim());
+                Money basePrice = Money.parse(priceField.getText());
 
                 // Update event
                 boolean success = eventController.updateEvent(
@@ -1347,7 +1407,7 @@ public class AdminPanel extends JPanel {
                                eventDetails +
                                "Seat Type: " + booking.getSeatType() + "\n" +
                                "Quantity: " + booking.getQuantity() + "\n" +
-                               "Total Price: $" + booking.getTotalPrice() + "\n" +
+                               "Total Price: " + booking.getTotalPrice().format() + "\n" +
                                "Booking Time: " + booking.getBookingTime().format(dateTimeFormatter);
 
         // Show booking details
@@ -1402,12 +1462,31 @@ public class AdminPanel extends JPanel {
      * Refresh user list
      */
     private void refreshUserList() {
+        // Get all users in the background
+        setLoading(true);
+        asyncData.submitLatest("admin.users", userController::getAllUsers)
+            .whenCompleteAsync((users, error) -> {
+                // Every load started is counted, so a superseded one must finish too
+                setLoading(false);
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                if (error != null) {
+                    logger.error("Error loading users", AsyncDataService.unwrap(error));
+                    return;
+                }
+                showUsers(users);
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Fill the user table
+     * @param users users to show
+     */
+    private void showUsers(List<User> users) {
         // Clear table
         userTableModel.setRowCount(0);
 
-        // Get all users
-        List<User> users = userController.getAllUsers();
-
         // Add users to table
         for (User user : users) {
             userTableModel.addRow(new Object[]{
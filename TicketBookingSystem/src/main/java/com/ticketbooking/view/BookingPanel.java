@@ -1,17 +1,25 @@
 package com.ticketbooking.view;
 
+import com.ticketbooking.controller.AsyncDataService;
 import com.ticketbooking.controller.BookingController;
 import com.ticketbooking.controller.EventController;
 import com.ticketbooking.model.Booking;
 import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.SeatHold;
+import com.ticketbooking.pricing.PricingService;
 import com.ticketbooking.utils.ValidationUtils;
+import com.ticketbooking.waitingroom.AdmissionPass;
+import com.ticketbooking.waitingroom.QueueStatus;
+import com.ticketbooking.waitingroom.QueueTicket;
+import com.ticketbooking.waitingroom.WaitingRoom;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import javax.swing.*;
 import java.awt.*;
-import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.UUID;
 
 /**
  * Panel for booking tickets
@@ -23,10 +31,31 @@ public class BookingPanel extends JPanel {
     private final MainFrame mainFrame;
     private final EventController eventController;
     private final BookingController bookingController;
+    private final AsyncDataService asyncData;
+    private final WaitingRoom waitingRoom;
+
+    // Delay after the last seat type or quantity change before the seats are held
+    private static final int HOLD_DELAY_MS = 400;
+    // How often the place in the waiting room queue is checked
+    private static final int QUEUE_POLL_MS = 1000;
+    private static final String FORM_SUBTITLE = "Complete your booking information below";
 
     private int eventId;
     private Event currentEvent;
+    // Idempotency key of the booking request, the same for every submit of one filled-in form
+    private String bookingKey;
+
+    // Seats held for the customer while they fill in the form
+    private SeatHold currentHold;
+    private int holdRequests;
+    private Timer holdTimer;
+
+    // Place in the waiting room queue, and the pass once the customer is admitted
+    private QueueTicket queueTicket;
+    private AdmissionPass currentPass;
+    private Timer queueTimer;
 
+    private JLabel subtitleLabel;
     private JLabel eventNameLabel;
     private JLabel eventDateLabel;
     private JLabel eventTimeLabel;
@@ -40,6 +69,7 @@ public class BookingPanel extends JPanel {
     private JComboBox<String> seatTypeComboBox;
     private JSpinner quantitySpinner;
     private JLabel totalPriceLabel;
+    private JButton bookButton;
 
     /**
      * Constructor
@@ -49,6 +79,8 @@ public class BookingPanel extends JPanel {
         this.mainFrame = mainFrame;
         this.eventController = new EventController();
         this.bookingController = new BookingController();
+        this.asyncData = AsyncDataService.getInstance();
+        this.waitingRoom = WaitingRoom.getInstance();
 
         // Set up the panel
         setLayout(new BorderLayout());
@@ -56,6 +88,10 @@ public class BookingPanel extends JPanel {
         // Create components
         initializeComponents();
 
+        holdTimer = new Timer(HOLD_DELAY_MS, e -> placeHold());
+        holdTimer.setRepeats(false);
+        queueTimer = new Timer(QUEUE_POLL_MS, e -> checkQueue());
+
         logger.info("Booking panel initialized");
     }
 
@@ -98,7 +134,7 @@ public class BookingPanel extends JPanel {
         titleLabel.setFont(TITLE_FONT);
         titleLabel.setForeground(Color.WHITE);
 
-        JLabel subtitleLabel = new JLabel("Complete your booking information below");
+        subtitleLabel = new JLabel(FORM_SUBTITLE);
         subtitleLabel.setFont(new Font("Arial", Font.ITALIC, 14));
         subtitleLabel.setForeground(new Color(220, 220, 220));
 
@@ -147,7 +183,7 @@ public class BookingPanel extends JPanel {
         cancelButton.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
         cancelButton.addActionListener(e -> mainFrame.showPanel(MainFrame.HOME_PANEL));
 
-        JButton bookButton = new JButton("Book Tickets");
+        bookButton = new JButton("Book Tickets");
         bookButton.setFont(new Font("Arial", Font.BOLD, 14));
         bookButton.setBackground(ACCENT_COLOR);
         bookButton.setForeground(Color.WHITE);
@@ -374,7 +410,10 @@ public class BookingPanel extends JPanel {
             BorderFactory.createLineBorder(new Color(200, 200, 200), 1, true),
             BorderFactory.createEmptyBorder(8, 10, 8, 10)
         ));
-        seatTypeComboBox.addActionListener(e -> updateTotalPrice());
+        seatTypeComboBox.addActionListener(e -> {
+            updateTotalPrice();
+            scheduleHold();
+        });
 
         // Quantity
         JLabel quantityLabel = new JLabel("Number of Tickets:");
@@ -382,7 +421,10 @@ public class BookingPanel extends JPanel {
         SpinnerNumberModel spinnerModel = new SpinnerNumberModel(1, 1, 10, 1);
         quantitySpinner = new JSpinner(spinnerModel);
         quantitySpinner.setFont(REGULAR_FONT);
-        quantitySpinner.addChangeListener(e -> updateTotalPrice());
+        quantitySpinner.addChangeListener(e -> {
+            updateTotalPrice();
+            scheduleHold();
+        });
         JComponent editor = quantitySpinner.getEditor();
         if (editor instanceof JSpinner.DefaultEditor) {
             JSpinner.DefaultEditor spinnerEditor = (JSpinner.DefaultEditor) editor;
@@ -472,10 +514,39 @@ public class BookingPanel extends JPanel {
     }
 
     /**
-     * Load event details
+     * Load event details in the background
      */
     private void loadEventDetails() {
-        currentEvent = eventController.getEventById(eventId);
+        leave();
+        currentEvent = null;
+        bookButton.setEnabled(false);
+        eventNameLabel.setText("Loading...");
+        eventDateLabel.setText("");
+        eventTimeLabel.setText("");
+        eventVenueLabel.setText("");
+        availableSeatsLabel.setText("");
+        basePriceLabel.setText("");
+        totalPriceLabel.setText("");
+
+        int requestedEventId = eventId;
+        asyncData.submitLatest("booking.event", () -> loadEventWithPrices(requestedEventId))
+            .whenCompleteAsync((event, error) -> {
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                if (error != null) {
+                    logger.error("Error loading event ID: {}", requestedEventId, AsyncDataService.unwrap(error));
+                }
+                showEventDetails(error == null ? event : null);
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Show loaded event details and reset the booking form
+     * @param event loaded event, or null if it could not be loaded
+     */
+    private void showEventDetails(Event event) {
+        currentEvent = event;
 
         if (currentEvent != null) {
             // Use more user-friendly date and time formats
@@ -487,17 +558,24 @@ public class BookingPanel extends JPanel {
             eventTimeLabel.setText(currentEvent.getTime().format(timeFormatter));
             eventVenueLabel.setText(currentEvent.getVenue());
             availableSeatsLabel.setText(String.valueOf(currentEvent.getAvailableSeats()));
-            basePriceLabel.setText("$" + currentEvent.getBasePrice());
+            basePriceLabel.setText(currentEvent.getBasePrice().format());
 
             // Reset form fields
+            bookingKey = UUID.randomUUID().toString();
             customerNameField.setText("");
             customerEmailField.setText("");
             customerPhoneField.setText("");
             seatTypeComboBox.setSelectedIndex(0);
             quantitySpinner.setValue(1);
 
-            // Update total price
+            // Update total price and hold the selected seats, after queueing if needed
             updateTotalPrice();
+            if (waitingRoom.isEnabled()) {
+                joinQueue();
+            } else {
+                scheduleHold();
+                bookButton.setEnabled(true);
+            }
 
             logger.info("Loaded event details for event ID: {}", eventId);
         } else {
@@ -518,9 +596,181 @@ public class BookingPanel extends JPanel {
             String seatType = (String) seatTypeComboBox.getSelectedItem();
             int quantity = (int) quantitySpinner.getValue();
 
-            BigDecimal totalPrice = Booking.calculateTotalPrice(currentEvent.getBasePrice(), seatType, quantity);
-            totalPriceLabel.setText("$" + totalPrice);
+            Money totalPrice = PricingService.getInstance().quote(currentEvent, seatType, quantity);
+            totalPriceLabel.setText(totalPrice.format());
+        }
+    }
+
+    /**
+     * Join the waiting room queue of the event and keep checking the place in it
+     */
+    private void joinQueue() {
+        queueTicket = waitingRoom.join(eventId);
+        currentPass = null;
+        checkQueue();
+        queueTimer.start();
+    }
+
+    /**
+     * Show the place in the queue, and open the booking form once the customer is admitted.
+     * The waiting room is in memory, so it is checked directly on the event dispatch thread.
+     */
+    private void checkQueue() {
+        if (queueTicket == null) {
+            return;
+        }
+
+        QueueStatus status = waitingRoom.getStatus(queueTicket);
+        if (status.isAdmitted()) {
+            if (currentPass == null) {
+                currentPass = status.getPass();
+                logger.info("Admitted from the waiting room for event ID: {}", eventId);
+                scheduleHold();
+                bookButton.setEnabled(true);
+            }
+            subtitleLabel.setText("It's your turn! Please book before " +
+                currentPass.getExpiresAt().format(DateTimeFormatter.ofPattern("h:mm a")));
+        } else if (status.getPosition() > 0) {
+            subtitleLabel.setText("You are number " + status.getPosition() + " in line, about " +
+                status.getEtaSeconds() + " seconds to go");
+        } else {
+            // The pass expired, so give back the held seats and queue again
+            logger.info("Waiting room pass expired for event ID: {}", eventId);
+            releaseHold();
+            bookButton.setEnabled(false);
+            joinQueue();
+        }
+    }
+
+    /**
+     * Give back the held seats and the place in the waiting room queue, e.g. when the
+     * customer leaves the booking page
+     */
+    public void leave() {
+        releaseHold();
+        queueTimer.stop();
+        if (queueTicket != null) {
+            waitingRoom.leave(queueTicket);
+            queueTicket = null;
+        }
+        currentPass = null;
+        subtitleLabel.setText(FORM_SUBTITLE);
+    }
+
+    /**
+     * Hold the selected seats once the seat type and quantity stop changing
+     */
+    private void scheduleHold() {
+        if (currentEvent != null && (currentPass != null || !waitingRoom.isEnabled())) {
+            holdTimer.restart();
+        }
+    }
+
+    /**
+     * Release the current hold and hold the selected seats instead
+     */
+    private void placeHold() {
+        if (currentEvent == null) {
+            return;
         }
+
+        SeatHold previous = currentHold;
+        currentHold = null;
+        int request = ++holdRequests;
+        int heldEventId = eventId;
+        AdmissionPass pass = currentPass;
+        String seatType = (String) seatTypeComboBox.getSelectedItem();
+        int quantity = (int) quantitySpinner.getValue();
+
+        asyncData.submit(() -> {
+                if (previous != null) {
+                    bookingController.releaseHold(previous.getId());
+                }
+                return bookingController.holdSeats(heldEventId, seatType, quantity, pass);
+            })
+            .whenCompleteAsync((hold, error) -> {
+                if (error != null) {
+                    logger.error("Error holding seats for event ID: {}", heldEventId, AsyncDataService.unwrap(error));
+                    hold = null;
+                }
+                if (request != holdRequests) {
+                    // The selection or event changed while the seats were being held
+                    if (hold != null) {
+                        releaseInBackground(hold);
+                    }
+                    return;
+                }
+                currentHold = hold;
+                refreshAvailableSeats();
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Give back the seats held for the customer
+     */
+    private void releaseHold() {
+        holdRequests++;
+        holdTimer.stop();
+        if (currentHold != null) {
+            releaseInBackground(currentHold);
+            currentHold = null;
+        }
+    }
+
+    private void releaseInBackground(SeatHold hold) {
+        asyncData.submit(() -> bookingController.releaseHold(hold.getId()))
+            .whenComplete((released, error) -> {
+                if (error != null) {
+                    logger.error("Error releasing seat hold: {}", hold.getId(), AsyncDataService.unwrap(error));
+                }
+            });
+    }
+
+    /**
+     * Reload the event so the available seats reflect the hold
+     */
+    private void refreshAvailableSeats() {
+        int requestedEventId = eventId;
+        asyncData.submitLatest("booking.seats", () -> loadEventWithPrices(requestedEventId))
+            .whenCompleteAsync((event, error) -> {
+                if (AsyncDataService.isCancellation(error) || requestedEventId != eventId || currentEvent == null) {
+                    return;
+                }
+                if (error != null || event == null) {
+                    logger.error("Error refreshing seats for event ID: {}", requestedEventId, AsyncDataService.unwrap(error));
+                    return;
+                }
+                currentEvent = event;
+                showAvailableSeats();
+                // Demand pricing depends on the seats left
+                updateTotalPrice();
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Load an event and compile its price table, so prices can be quoted on the event
+     * dispatch thread without querying the database
+     * @param eventId event ID
+     * @return event, or null if not found
+     */
+    private Event loadEventWithPrices(int eventId) {
+        Event event = eventController.getEventById(eventId);
+        if (event != null) {
+            PricingService.getInstance().getPriceTable(event);
+        }
+        return event;
+    }
+
+    /**
+     * Show the available seats and how long the customer's seats are held
+     */
+    private void showAvailableSeats() {
+        String seats = String.valueOf(currentEvent.getAvailableSeats());
+        if (currentHold != null) {
+            seats += " (" + currentHold.getQuantity() + " held for you until " +
+                     currentHold.getExpiresAt().format(DateTimeFormatter.ofPattern("h:mm a")) + ")";
+        }
+        availableSeatsLabel.setText(seats);
     }
 
     /**
@@ -566,7 +816,9 @@ public class BookingPanel extends JPanel {
             return;
         }
 
-        if (quantity > currentEvent.getAvailableSeats()) {
+        // Held seats are already taken from the event, so only unheld selections are checked
+        SeatHold hold = currentHold != null && currentHold.covers(seatType, quantity) ? currentHold : null;
+        if (hold == null && quantity > currentEvent.getAvailableSeats()) {
             JOptionPane.showMessageDialog(this,
                 "Not enough seats available. Please select a smaller quantity.",
                 "Validation Error",
@@ -575,10 +827,57 @@ public class BookingPanel extends JPanel {
             return;
         }
 
-        // Create booking
-        boolean success = bookingController.createBooking(
-            customerName, customerEmail, customerPhone, eventId, seatType, quantity);
+        // Create booking in the background; the button stays disabled until it completes
+        bookButton.setEnabled(false);
+        bookButton.setText("Processing...");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        holdTimer.stop();
+        // The pass is used up by the booking, so the queue is not checked meanwhile
+        queueTimer.stop();
+        int bookedEventId = eventId;
+        AdmissionPass pass = currentPass;
+        String key = bookingKey;
+        asyncData.submit(() -> hold != null
+                ? bookingController.confirmHold(hold, customerName, customerEmail, customerPhone, pass, key)
+                : bookingController.book(
+                    customerName, customerEmail, customerPhone, bookedEventId, seatType, quantity, pass, key))
+            .whenCompleteAsync((booking, error) -> {
+                boolean success = error == null && booking != null;
+                bookButton.setText("Book Tickets");
+                bookButton.setEnabled(true);
+                if (!success && queueTicket != null) {
+                    checkQueue();
+                    queueTimer.start();
+                }
+                setCursor(Cursor.getDefaultCursor());
+                if (error != null) {
+                    logger.error("Error creating booking", AsyncDataService.unwrap(error));
+                }
+                if (hold != null && hold == currentHold) {
+                    if (success) {
+                        currentHold = null;
+                    } else {
+                        // The hold may have expired, so hold the seats again
+                        scheduleHold();
+                    }
+                }
+                String seats = success ? bookingController.describeSeats(booking) : null;
+                showBookingResult(success, customerName, customerEmail, seatType, quantity, seats);
+            }, AsyncDataService.EDT);
+    }
 
+    /**
+     * Show the booking confirmation or error dialog
+     * @param success true if the booking was created
+     * @param customerName customer name
+     * @param customerEmail customer email
+     * @param seatType booked seat type
+     * @param quantity number of tickets
+     * @param seats description of the assigned seats, or null for general admission
+     */
+    private void showBookingResult(boolean success, String customerName, String customerEmail,
+                                   String seatType, int quantity, String seats) {
         if (success) {
             logger.info("Booking created for event ID: {} by customer: {}", eventId, customerName);
 
@@ -612,6 +911,9 @@ public class BookingPanel extends JPanel {
             addConfirmationDetail(detailsPanel, "Venue:", currentEvent.getVenue());
             addConfirmationDetail(detailsPanel, "Seat Type:", seatType);
             addConfirmationDetail(detailsPanel, "Quantity:", String.valueOf(quantity));
+            if (seats != null) {
+                addConfirmationDetail(detailsPanel, "Seats:", seats);
+            }
             addConfirmationDetail(detailsPanel, "Total Price:", totalPriceLabel.getText());
             addConfirmationDetail(detailsPanel, "Booking ID:", "TKT-" + System.currentTimeMillis() % 10000);
 
@@ -0,0 +1,275 @@
+package com.ticketbooking.view;
+
+import com.ticketbooking.model.EventSummary;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static com.ticketbooking.view.HomePanel.ACCENT_COLOR;
+import static com.ticketbooking.view.HomePanel.BACKGROUND_COLOR;
+import static com.ticketbooking.view.HomePanel.CARD_HOVER_COLOR;
+import static com.ticketbooking.view.HomePanel.PRIMARY_COLOR;
+import static com.ticketbooking.view.HomePanel.REGULAR_FONT;
+
+/**
+ * List cell renderer that draws events as cards on the home page.
+ * <p>
+ * One card component is filled in for each row as it is painted, so the list only
+ * does work for the rows on screen. Painted cards are kept as images in a small least
+ * recently used cache keyed by the event's contents, so repainting a row, or scrolling
+ * back to it, draws an image instead of laying out and painting the card again.
+ */
+class EventCardRenderer extends JPanel implements ListCellRenderer<EventSummary> {
+    // Height of one card including its padding
+    static final int CARD_HEIGHT = 180;
+
+    // Number of painted cards kept, a few screens' worth
+    private static final int MAX_CACHED_IMAGES = 24;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("EEE, MMM d, yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
+    private static final Font NAME_FONT = new Font("Segoe UI", Font.BOLD, 18);
+    private static final Font INITIAL_FONT = new Font("Segoe UI", Font.BOLD, 36);
+    private static final Font PRICE_FONT = new Font("Segoe UI", Font.BOLD, 22);
+    private static final Font BUTTON_FONT = new Font("Segoe UI", Font.BOLD, 13);
+    private static final Color DANGER_COLOR = new Color(220, 53, 69);
+    private static final Color WARNING_COLOR = new Color(255, 193, 7);
+    private static final Color SUCCESS_COLOR = new Color(40, 167, 69);
+
+    private final JPanel cardPanel;
+    private final JLabel nameLabel = new JLabel();
+    private final JLabel dateLabel = new JLabel();
+    private final JLabel venueLabel = new JLabel();
+    private final JLabel seatsLabel = new JLabel();
+    private final JLabel priceLabel = new JLabel();
+    private String initial = "";
+
+    private int hoveredIndex = -1;
+    private EventSummary currentEvent;
+    private boolean currentHovered;
+
+    private final Map<CardKey, BufferedImage> images =
+        new LinkedHashMap<CardKey, BufferedImage>(MAX_CACHED_IMAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CardKey, BufferedImage> eldest) {
+                return size() > MAX_CACHED_IMAGES;
+            }
+        };
+
+    /**
+     * Constructor
+     */
+    EventCardRenderer() {
+        super(new BorderLayout());
+        setBackground(BACKGROUND_COLOR);
+        setBorder(BorderFactory.createEmptyBorder(5, 35, 25, 35));
+
+        cardPanel = new JPanel(new BorderLayout(15, 0)) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                // Draw card background
+                g2d.setColor(getBackground());
+                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
+            }
+        };
+        cardPanel.setOpaque(false);
+        cardPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        // Gradient placeholder for an image with the event's initial
+        JPanel imagePanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+                GradientPaint gp = new GradientPaint(
+                    0, 0, PRIMARY_COLOR.brighter(),
+                    0, getHeight(), PRIMARY_COLOR
+                );
+                g2d.setPaint(gp);
+                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
+
+                g2d.setColor(Color.WHITE);
+                g2d.setFont(INITIAL_FONT);
+                FontMetrics fm = g2d.getFontMetrics();
+                int x = (getWidth() - fm.stringWidth(initial)) / 2;
+                int y = ((getHeight() - fm.getHeight()) / 2) + fm.getAscent();
+                g2d.drawString(initial, x, y);
+            }
+        };
+        imagePanel.setOpaque(false);
+        imagePanel.setPreferredSize(new Dimension(120, 120));
+
+        JPanel infoPanel = new JPanel(new BorderLayout(0, 8));
+        infoPanel.setOpaque(false);
+
+        nameLabel.setFont(NAME_FONT);
+        nameLabel.setForeground(new Color(50, 50, 50));
+
+        JPanel detailsPanel = new JPanel();
+        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
+        detailsPanel.setOpaque(false);
+
+        for (JLabel label : new JLabel[]{dateLabel, venueLabel}) {
+            label.setFont(REGULAR_FONT);
+            label.setForeground(new Color(80, 80, 80));
+            label.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+            detailsPanel.add(label);
+        }
+        seatsLabel.setFont(REGULAR_FONT);
+        detailsPanel.add(seatsLabel);
+
+        infoPanel.add(nameLabel, BorderLayout.NORTH);
+        infoPanel.add(detailsPanel, BorderLayout.CENTER);
+
+        JPanel pricePanel = new JPanel(new BorderLayout(0, 10));
+        pricePanel.setOpaque(false);
+
+        priceLabel.setFont(PRICE_FONT);
+        priceLabel.setForeground(PRIMARY_COLOR);
+        priceLabel.setHorizontalAlignment(SwingConstants.RIGHT);
+
+        // Drawn as part of the card; clicking anywhere on the card opens the booking page
+        JLabel bookLabel = new JLabel("Book Now", SwingConstants.CENTER);
+        bookLabel.setFont(BUTTON_FONT);
+        bookLabel.setOpaque(true);
+        bookLabel.setBackground(ACCENT_COLOR);
+        bookLabel.setForeground(Color.WHITE);
+        bookLabel.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
+
+        pricePanel.add(priceLabel, BorderLayout.NORTH);
+        pricePanel.add(bookLabel, BorderLayout.SOUTH);
+
+        cardPanel.add(imagePanel, BorderLayout.WEST);
+        cardPanel.add(infoPanel, BorderLayout.CENTER);
+        cardPanel.add(pricePanel, BorderLayout.EAST);
+        add(cardPanel, BorderLayout.CENTER);
+    }
+
+    /**
+     * Set the row under the mouse, which is drawn highlighted
+     * @param index row index, or -1 for none
+     */
+    void setHoveredIndex(int index) {
+        hoveredIndex = index;
+    }
+
+    /**
+     * @return row under the mouse, or -1 for none
+     */
+    int getHoveredIndex() {
+        return hoveredIndex;
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends EventSummary> list, EventSummary event, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        // The card is only filled in when its image is not cached
+        currentEvent = event;
+        currentHovered = index == hoveredIndex;
+        return this;
+    }
+
+    /**
+     * Fill in the card components for the current event
+     */
+    private void configure(EventSummary event) {
+        cardPanel.setBackground(currentHovered ? CARD_HOVER_COLOR : Color.WHITE);
+
+        String name = event.getName() != null ? event.getName() : "";
+        initial = name.isEmpty() ? "" : name.substring(0, 1).toUpperCase();
+        nameLabel.setText(name);
+        dateLabel.setText("📅  " + event.getDate().format(DATE_FORMATTER) + " at "
+                          + event.getTime().format(TIME_FORMATTER));
+        venueLabel.setText("📍  " + event.getVenue());
+
+        // Availability colored by the number of seats left
+        String availabilityText = event.getAvailableSeats() + " seats available";
+        if (event.getAvailableSeats() < 10) {
+            seatsLabel.setForeground(DANGER_COLOR);
+            availabilityText = "Only " + availabilityText + " - Book soon!";
+        } else if (event.getAvailableSeats() < 50) {
+            seatsLabel.setForeground(WARNING_COLOR);
+        } else {
+            seatsLabel.setForeground(SUCCESS_COLOR);
+        }
+        seatsLabel.setText("🎟️  " + availabilityText);
+        priceLabel.setText(event.getBasePrice().format());
+    }
+
+    /**
+     * Paint the card from the image cache, painting and caching it on a miss
+     */
+    @Override
+    public void paint(Graphics g) {
+        if (currentEvent == null || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+
+        // Paint at the device scale so cached cards stay sharp on high resolution screens
+        Graphics2D g2d = (Graphics2D) g;
+        double scale = g2d.getTransform().getScaleX();
+        CardKey key = new CardKey(currentEvent, getWidth(), getHeight(), currentHovered, scale);
+        BufferedImage image = images.get(key);
+        if (image == null) {
+            configure(currentEvent);
+            validate();
+
+            // The card background is opaque, so the image can be too, which draws fastest
+            image = g2d.getDeviceConfiguration().createCompatibleImage(
+                (int) Math.ceil(getWidth() * scale), (int) Math.ceil(getHeight() * scale), Transparency.OPAQUE);
+            Graphics2D imageGraphics = image.createGraphics();
+            imageGraphics.scale(scale, scale);
+            super.paint(imageGraphics);
+            imageGraphics.dispose();
+            images.put(key, image);
+        }
+        g.drawImage(image, 0, 0, getWidth(), getHeight(), null);
+    }
+
+    // Renderers are not part of the component tree, so there is nothing to repaint
+    @Override
+    public void repaint() {
+    }
+
+    /**
+     * Identifies one painted card: the event as shown and how it was drawn
+     */
+    private static final class CardKey {
+        private final EventSummary event;
+        private final int width;
+        private final int height;
+        private final boolean hovered;
+        private final double scale;
+
+        private CardKey(EventSummary event, int width, int height, boolean hovered, double scale) {
+            this.event = event;
+            this.width = width;
+            this.height = height;
+            this.hovered = hovered;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CardKey)) return false;
+            CardKey other = (CardKey) o;
+            return width == other.width && height == other.height && hovered == other.hovered
+                   && scale == other.scale && event.equals(other.event);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(event, width, height, hovered, scale);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.ticketbooking.view;
 
+import com.ticketbooking.controller.AsyncDataService;
 import com.ticketbooking.controller.EventController;
-import com.ticketbooking.model.Event;
+import com.ticketbooking.model.EventSummary;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -9,6 +10,8 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
 import javax.swing.border.CompoundBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
@@ -17,7 +20,9 @@ import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for displaying available events with modern card-based UI
@@ -28,23 +33,48 @@ public class HomePanel extends JPanel {
 
     private final MainFrame mainFrame;
     private final EventController eventController;
+    private final AsyncDataService asyncData;
 
-    private JPanel eventsContainer;
+    // Key for event list loads; a newer filter or search cancels the older one
+    private static final String EVENTS_REQUEST = "home.events";
+
+    // Maximum number of search results shown
+    private static final int SEARCH_LIMIT = 200;
+
+    // Search-as-you-type waits for a pause in typing and shows fewer results
+    private static final int TYPEAHEAD_DELAY_MILLIS = 150;
+    private static final int TYPEAHEAD_LIMIT = 50;
+
+    private static final String SEARCH_PLACEHOLDER = "Search for events...";
+
+    private JScrollPane eventsScrollPane;
+    private JList<EventSummary> eventList;
+    private EventListModel eventListModel;
+    private EventCardRenderer cardRenderer;
+    private JProgressBar loadingBar;
     private JComboBox<String> filterComboBox;
     private JTextField searchField;
     private JPanel featuredEventsPanel;
-    private List<Event> currentEvents;
-    private Event selectedEvent;
+    private List<EventSummary> currentEvents;
+    private EventSummary selectedEvent;
+    private Timer typeaheadTimer;
+
+    // Featured cards on screen, reused while the event is unchanged
+    private Map<EventSummary, JPanel> featuredCards = new HashMap<>();
+    private JPanel allEventsHeader;
+    private JPanel noEventsPanel;
 
     // Constants for styling - Modern color scheme
-    private static final Color PRIMARY_COLOR = new Color(63, 81, 181); // Material Indigo
+    static final Color PRIMARY_COLOR = new Color(63, 81, 181); // Material Indigo
     private static final Color SECONDARY_COLOR = new Color(245, 245, 250);
-    private static final Color ACCENT_COLOR = new Color(255, 87, 34); // Material Deep Orange
-    private static final Color BACKGROUND_COLOR = new Color(250, 250, 255);
-    private static final Color CARD_HOVER_COLOR = new Color(237, 242, 251);
+    static final Color ACCENT_COLOR = new Color(255, 87, 34); // Material Deep Orange
+    static final Color BACKGROUND_COLOR = new Color(250, 250, 255);
+    static final Color CARD_HOVER_COLOR = new Color(237, 242, 251);
     private static final Font TITLE_FONT = new Font("Segoe UI", Font.BOLD, 28);
     private static final Font SUBTITLE_FONT = new Font("Segoe UI", Font.BOLD, 20);
-    private static final Font REGULAR_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    static final Font REGULAR_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    private static final DateTimeFormatter FEATURED_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM d");
+    private static final DateTimeFormatter FEATURED_TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
 
     /**
      * Constructor
@@ -53,6 +83,7 @@ public class HomePanel extends JPanel {
     public HomePanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
         this.eventController = new EventController();
+        this.asyncData = AsyncDataService.getInstance();
         this.currentEvents = new ArrayList<>();
 
         // Set up the panel
@@ -246,13 +277,13 @@ public class HomePanel extends JPanel {
         searchField.setForeground(new Color(60, 60, 60));
 
         // Add placeholder text
-        searchField.setText("Search for events...");
+        searchField.setText(SEARCH_PLACEHOLDER);
         searchField.setForeground(new Color(180, 180, 180));
 
         searchField.addFocusListener(new FocusAdapter() {
             @Override
             public void focusGained(FocusEvent e) {
-                if (searchField.getText().equals("Search for events...")) {
+                if (searchField.getText().equals(SEARCH_PLACEHOLDER)) {
                     searchField.setText("");
                     searchField.setForeground(new Color(60, 60, 60));
                 }
@@ -261,7 +292,7 @@ public class HomePanel extends JPanel {
             @Override
             public void focusLost(FocusEvent e) {
                 if (searchField.getText().isEmpty()) {
-                    searchField.setText("Search for events...");
+                    searchField.setText(SEARCH_PLACEHOLDER);
                     searchField.setForeground(new Color(180, 180, 180));
                 }
             }
@@ -269,6 +300,26 @@ public class HomePanel extends JPanel {
 
         searchField.addActionListener(e -> searchEvents());
 
+        // Search as the user types, once typing pauses
+        typeaheadTimer = new Timer(TYPEAHEAD_DELAY_MILLIS, e -> suggestEvents());
+        typeaheadTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                onSearchTextChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                onSearchTextChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes do not change the text
+            }
+        });
+
         // Modern search button with hover effect
         JButton searchButton = new JButton("Search");
         searchButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
@@ -336,9 +387,17 @@ public class HomePanel extends JPanel {
         filterPanel.add(filterLabel);
         filterPanel.add(filterComboBox);
 
+        // Thin progress bar shown while events are loading
+        loadingBar = new JProgressBar();
+        loadingBar.setIndeterminate(true);
+        loadingBar.setPreferredSize(new Dimension(0, 4));
+        loadingBar.setBorderPainted(false);
+        loadingBar.setVisible(false);
+
         // Add search and filter to main panel
         panel.add(searchPanel, BorderLayout.CENTER);
         panel.add(filterPanel, BorderLayout.EAST);
+        panel.add(loadingBar, BorderLayout.SOUTH);
 
         return panel;
     }
@@ -490,213 +549,89 @@ public class HomePanel extends JPanel {
     }
 
     /**
-     * Create events scroll pane
+     * Create events scroll pane with a list that only renders the visible cards
      */
     private JScrollPane createEventsScrollPane() {
-        // Create events container
-        eventsContainer = new JPanel();
-        eventsContainer.setLayout(new BoxLayout(eventsContainer, BoxLayout.Y_AXIS));
-        eventsContainer.setBackground(Color.WHITE);
-
-        // Create scroll pane
-        JScrollPane scrollPane = new JScrollPane(eventsContainer);
-        scrollPane.setBorder(null);
-        scrollPane.getVerticalScrollBar().setUnitIncrement(16);
-
-        return scrollPane;
-    }
-
-    /**
-     * Create an event card panel with modern design
-     */
-    private JPanel createEventCard(Event event) {
-        // Format date and time
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEE, MMM d, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-        String formattedDate = event.getDate().format(dateFormatter);
-        String formattedTime = event.getTime().format(timeFormatter);
-
-        // Create card panel with shadow effect
-        JPanel shadowPanel = new JPanel(new BorderLayout());
-        shadowPanel.setBackground(BACKGROUND_COLOR);
-        shadowPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 10, 5));
-        shadowPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 160));
-
-        JPanel cardPanel = new JPanel(new BorderLayout(15, 0)) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Draw card background
-                g2d.setColor(Color.WHITE);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
-            }
-        };
-
-        cardPanel.setBackground(Color.WHITE);
-        cardPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
-        cardPanel.setCursor(new Cursor(Cursor.HAND_CURSOR));
-
-        // Add mouse listener for selection and hover effects
-        cardPanel.addMouseListener(new MouseAdapter() {
+        eventListModel = new EventListModel();
+        cardRenderer = new EventCardRenderer();
+
+        // Fixed cell sizes let the list lay out any number of events without measuring them
+        eventList = new JList<>(eventListModel);
+        eventList.setCellRenderer(cardRenderer);
+        eventList.setFixedCellHeight(EventCardRenderer.CARD_HEIGHT);
+        eventList.setFixedCellWidth(600);
+        eventList.setBackground(BACKGROUND_COLOR);
+        eventList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        eventList.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        // Hover highlight and click to book, per row
+        MouseAdapter cardMouseListener = new MouseAdapter() {
             @Override
             public void mouseClicked(MouseEvent e) {
-                selectedEvent = event;
-                mainFrame.showBookingPanel(event.getId());
+                int index = rowAt(e.getPoint());
+                if (index >= 0) {
+                    selectedEvent = eventListModel.getElementAt(index);
+                    mainFrame.showBookingPanel(selectedEvent.getId());
+                }
             }
 
             @Override
-            public void mouseEntered(MouseEvent e) {
-                cardPanel.setBackground(CARD_HOVER_COLOR);
-                cardPanel.repaint();
+            public void mouseMoved(MouseEvent e) {
+                setHoveredRow(rowAt(e.getPoint()));
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
-                cardPanel.setBackground(Color.WHITE);
-                cardPanel.repaint();
-            }
-        });
-
-        // Create image panel with rounded corners
-        JPanel imagePanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                // Create a gradient background as placeholder for image
-                GradientPaint gp = new GradientPaint(
-                    0, 0, PRIMARY_COLOR.brighter(),
-                    0, getHeight(), PRIMARY_COLOR
-                );
-                g2d.setPaint(gp);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
-
-                // Draw event name initial as placeholder
-                g2d.setColor(Color.WHITE);
-                g2d.setFont(new Font("Segoe UI", Font.BOLD, 36));
-                String initial = event.getName().substring(0, 1).toUpperCase();
-                FontMetrics fm = g2d.getFontMetrics();
-                int x = (getWidth() - fm.stringWidth(initial)) / 2;
-                int y = ((getHeight() - fm.getHeight()) / 2) + fm.getAscent();
-                g2d.drawString(initial, x, y);
+                setHoveredRow(-1);
             }
         };
-        imagePanel.setPreferredSize(new Dimension(120, 120));
-
-        // Create info panel with modern styling
-        JPanel infoPanel = new JPanel(new BorderLayout(0, 8));
-        infoPanel.setOpaque(false);
-
-        // Event name with modern font
-        JLabel nameLabel = new JLabel(event.getName());
-        nameLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
-        nameLabel.setForeground(new Color(50, 50, 50));
-
-        // Event details with icons and modern layout
-        JPanel detailsPanel = new JPanel();
-        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
-        detailsPanel.setOpaque(false);
-
-        JLabel dateLabel = new JLabel("📅  " + formattedDate + " at " + formattedTime);
-        dateLabel.setFont(REGULAR_FONT);
-        dateLabel.setForeground(new Color(80, 80, 80));
-        dateLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
-
-        JLabel venueLabel = new JLabel("📍  " + event.getVenue());
-        venueLabel.setFont(REGULAR_FONT);
-        venueLabel.setForeground(new Color(80, 80, 80));
-        venueLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
-
-        // Create availability indicator with color based on seats
-        String availabilityText = event.getAvailableSeats() + " seats available";
-        Color availabilityColor;
-
-        if (event.getAvailableSeats() < 10) {
-            availabilityColor = new Color(220, 53, 69); // Danger red
-            availabilityText = "Only " + availabilityText + " - Book soon!";
-        } else if (event.getAvailableSeats() < 50) {
-            availabilityColor = new Color(255, 193, 7); // Warning yellow
-        } else {
-            availabilityColor = new Color(40, 167, 69); // Success green
-        }
+        eventList.addMouseListener(cardMouseListener);
+        eventList.addMouseMotionListener(cardMouseListener);
 
-        JLabel seatsLabel = new JLabel("🎟️  " + availabilityText);
-        seatsLabel.setFont(REGULAR_FONT);
-        seatsLabel.setForeground(availabilityColor);
-
-        detailsPanel.add(dateLabel);
-        detailsPanel.add(venueLabel);
-        detailsPanel.add(seatsLabel);
-
-        infoPanel.add(nameLabel, BorderLayout.NORTH);
-        infoPanel.add(detailsPanel, BorderLayout.CENTER);
-
-        // Create price panel with modern styling
-        JPanel pricePanel = new JPanel(new BorderLayout(0, 10));
-        pricePanel.setOpaque(false);
-
-        // Price with currency symbol
-        JLabel priceLabel = new JLabel("$" + event.getBasePrice());
-        priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 22));
-        priceLabel.setForeground(PRIMARY_COLOR);
-        priceLabel.setHorizontalAlignment(SwingConstants.RIGHT);
+        // Create scroll pane
+        eventsScrollPane = new JScrollPane(eventList);
+        eventsScrollPane.setBorder(null);
+        eventsScrollPane.getViewport().setBackground(BACKGROUND_COLOR);
+        eventsScrollPane.getVerticalScrollBar().setUnitIncrement(16);
 
-        // Modern button with hover effect
-        JButton bookButton = new JButton("Book Now");
-        bookButton.setFont(new Font("Segoe UI", Font.BOLD, 13));
-        bookButton.setBackground(ACCENT_COLOR);
-        bookButton.setForeground(Color.WHITE);
-        bookButton.setFocusPainted(false);
-        bookButton.setBorderPainted(false);
-        bookButton.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        bookButton.setBorder(BorderFactory.createEmptyBorder(8, 15, 8, 15));
+        return eventsScrollPane;
+    }
 
-        // Add hover effect to button
-        bookButton.addMouseListener(new MouseAdapter() {
-            @Override
-            public void mouseEntered(MouseEvent e) {
-                bookButton.setBackground(ACCENT_COLOR.darker());
-            }
+    /**
+     * Get the event list row at a point
+     * @return row index, or -1 if the point is not on a row
+     */
+    private int rowAt(Point point) {
+        int index = eventList.locationToIndex(point);
+        if (index < 0 || !eventList.getCellBounds(index, index).contains(point)) {
+            return -1;
+        }
+        return index;
+    }
 
-            @Override
-            public void mouseExited(MouseEvent e) {
-                bookButton.setBackground(ACCENT_COLOR);
+    /**
+     * Highlight the row under the mouse, repainting only the rows that changed
+     */
+    private void setHoveredRow(int index) {
+        int previous = cardRenderer.getHoveredIndex();
+        if (previous == index) {
+            return;
+        }
+        cardRenderer.setHoveredIndex(index);
+        for (int row : new int[]{previous, index}) {
+            if (row >= 0 && row < eventListModel.getSize()) {
+                eventList.repaint(eventList.getCellBounds(row, row));
             }
-        });
-
-        bookButton.addActionListener(e -> {
-            selectedEvent = event;
-            mainFrame.showBookingPanel(event.getId());
-        });
-
-        pricePanel.add(priceLabel, BorderLayout.NORTH);
-        pricePanel.add(bookButton, BorderLayout.SOUTH);
-
-        // Add components to card
-        cardPanel.add(imagePanel, BorderLayout.WEST);
-        cardPanel.add(infoPanel, BorderLayout.CENTER);
-        cardPanel.add(pricePanel, BorderLayout.EAST);
-
-        // Add card to shadow panel
-        shadowPanel.add(cardPanel, BorderLayout.CENTER);
-
-        return shadowPanel;
+        }
     }
 
     /**
      * Create a modern featured event card
      */
-    private JPanel createFeaturedEventCard(Event event) {
+    private JPanel createFeaturedEventCard(EventSummary event) {
         // Format date
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM d");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm a");
-        String formattedDate = event.getDate().format(dateFormatter);
-        String formattedTime = event.getTime().format(timeFormatter);
+        String formattedDate = event.getDate().format(FEATURED_DATE_FORMATTER);
+        String formattedTime = event.getTime().format(FEATURED_TIME_FORMATTER);
 
         // Create shadow panel for 3D effect
         JPanel shadowPanel = new JPanel(new BorderLayout());
@@ -787,7 +722,7 @@ public class HomePanel extends JPanel {
         pricePanel.setLayout(new BorderLayout());
         pricePanel.setOpaque(false);
 
-        JLabel priceLabel = new JLabel("$" + event.getBasePrice());
+        JLabel priceLabel = new JLabel(event.getBasePrice().format());
         priceLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
         priceLabel.setForeground(Color.WHITE);
         priceLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -853,68 +788,148 @@ public class HomePanel extends JPanel {
      * Search events based on search field text
      */
     private void searchEvents() {
-        String searchText = searchField.getText().trim().toLowerCase();
+        typeaheadTimer.stop();
+        String searchText = getSearchText().toLowerCase();
 
         if (searchText.isEmpty()) {
             refreshEventList(); // Reset to normal view if search is empty
             return;
         }
 
-        // Get all events and filter by search text
-        List<Event> allEvents = eventController.getAllEvents();
-        List<Event> filteredEvents = new ArrayList<>();
+        // Search the index in the background
+        setLoading(true);
+        asyncData.submitLatest(EVENTS_REQUEST, () -> eventController.searchEvents(searchText, SEARCH_LIMIT))
+            .whenCompleteAsync((filteredEvents, error) -> {
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                setLoading(false);
+                if (error != null) {
+                    logger.error("Error searching events", AsyncDataService.unwrap(error));
+                    return;
+                }
+
+                // Update UI with filtered events
+                updateEventsUI(filteredEvents);
+                logger.info("Events searched with query: {}, found {} results", searchText, filteredEvents.size());
+            }, AsyncDataService.EDT);
+    }
 
-        for (Event event : allEvents) {
-            if (event.getName().toLowerCase().contains(searchText) ||
-                event.getVenue().toLowerCase().contains(searchText) ||
-                event.getDescription().toLowerCase().contains(searchText)) {
-                filteredEvents.add(event);
-            }
+    /**
+     * Restart the typeahead delay after the search text was edited
+     */
+    private void onSearchTextChanged() {
+        if (!searchField.getText().equals(SEARCH_PLACEHOLDER)) {
+            typeaheadTimer.restart();
         }
+    }
 
-        // Update UI with filtered events
-        updateEventsUI(filteredEvents);
-        logger.info("Events searched with query: {}, found {} results", searchText, filteredEvents.size());
+    /**
+     * Show events whose name or venue match the search text typed so far
+     */
+    private void suggestEvents() {
+        String query = getSearchText();
+        if (query.isEmpty()) {
+            refreshEventList();
+            return;
+        }
+
+        // A newer keystroke or search cancels this request
+        setLoading(true);
+        asyncData.submitLatest(EVENTS_REQUEST, () -> eventController.suggestEvents(query, TYPEAHEAD_LIMIT))
+            .whenCompleteAsync((events, error) -> {
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                setLoading(false);
+                if (error != null) {
+                    logger.error("Error suggesting events", AsyncDataService.unwrap(error));
+                    return;
+                }
+
+                // Results for text that has since been edited are stale
+                if (query.equals(getSearchText())) {
+                    updateEventsUI(events);
+                }
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * @return trimmed search text, or an empty string while the placeholder is shown
+     */
+    private String getSearchText() {
+        String text = searchField.getText();
+        return text.equals(SEARCH_PLACEHOLDER) ? "" : text.trim();
     }
 
     /**
      * Refresh event list based on selected filter
      */
     public void refreshEventList() {
-        // Get events based on filter
-        List<Event> events;
         String filter = (String) filterComboBox.getSelectedItem();
 
+        // Load events in the background; a newer filter cancels this request
+        setLoading(true);
+        asyncData.submitLatest(EVENTS_REQUEST, () -> loadEvents(filter))
+            .whenCompleteAsync((events, error) -> {
+                if (AsyncDataService.isCancellation(error)) {
+                    return;
+                }
+                setLoading(false);
+                if (error != null) {
+                    logger.error("Error loading events with filter: {}", filter, AsyncDataService.unwrap(error));
+                    return;
+                }
+
+                // Update UI with events
+                updateEventsUI(events);
+                logger.info("Event list refreshed with filter: {}, found {} events", filter, events.size());
+            }, AsyncDataService.EDT);
+    }
+
+    /**
+     * Get events based on filter. Runs off the Event Dispatch Thread.
+     * @param filter selected filter option
+     * @return List of matching events
+     */
+    private List<EventSummary> loadEvents(String filter) {
         if ("Today".equals(filter)) {
             LocalDate today = LocalDate.now();
-            events = eventController.getEventsByDateRange(today, today);
+            return eventController.getEventSummariesByDateRange(today, today);
         } else if ("This Week".equals(filter)) {
             LocalDate today = LocalDate.now();
             LocalDate endOfWeek = today.plusDays(7);
-            events = eventController.getEventsByDateRange(today, endOfWeek);
+            return eventController.getEventSummariesByDateRange(today, endOfWeek);
         } else if ("This Month".equals(filter)) {
             LocalDate today = LocalDate.now();
             LocalDate endOfMonth = today.plusMonths(1);
-            events = eventController.getEventsByDateRange(today, endOfMonth);
+            return eventController.getEventSummariesByDateRange(today, endOfMonth);
         } else {
             // All Events
-            events = eventController.getAllEvents();
+            return eventController.getAllEventSummaries();
         }
+    }
 
-        // Update UI with events
-        updateEventsUI(events);
-        logger.info("Event list refreshed with filter: {}, found {} events", filter, events.size());
+    /**
+     * Show or hide the loading indicator
+     * @param loading true while a request is in progress
+     */
+    private void setLoading(boolean loading) {
+        loadingBar.setVisible(loading);
+        setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        revalidate();
     }
 
     /**
-     * Update UI with events using modern design
+     * Update UI with events using modern design. Featured cards of events that were
+     * already shown and have not changed are reused.
      */
-    private void updateEventsUI(List<Event> events) {
+    private void updateEventsUI(List<EventSummary> events) {
         // Store current events
         currentEvents = events;
 
-        // Clear containers
-        eventsContainer.removeAll();
+        Map<EventSummary, JPanel> previousFeatured = featuredCards;
+        featuredCards = new HashMap<>();
 
         // Find the carousel panel inside the navigation panel
         JPanel navigationPanel = (JPanel) featuredEventsPanel.getComponent(1);
@@ -940,8 +955,12 @@ public class HomePanel extends JPanel {
                 // Add up to 5 featured events to the carousel
                 int featuredCount = Math.min(events.size(), 5);
                 for (int i = 0; i < featuredCount; i++) {
-                    Event event = events.get(i);
-                    JPanel featuredCard = createFeaturedEventCard(event);
+                    EventSummary event = events.get(i);
+                    JPanel featuredCard = previousFeatured.get(event);
+                    if (featuredCard == null) {
+                        featuredCard = createFeaturedEventCard(event);
+                    }
+                    featuredCards.put(event, featuredCard);
 
                     // Add spacing between cards
                     carouselPanel.add(Box.createHorizontalStrut(15));
@@ -965,109 +984,149 @@ public class HomePanel extends JPanel {
             }
         }
 
-        // Add modern section header for all events
-        if (!events.isEmpty()) {
-            JPanel headerPanel = new JPanel(new BorderLayout());
-            headerPanel.setBackground(BACKGROUND_COLOR);
-            headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
-
-            // Create header with accent line
-            JPanel titlePanel = new JPanel(new BorderLayout(0, 5));
-            titlePanel.setBackground(BACKGROUND_COLOR);
-
-            JLabel allEventsLabel = new JLabel("All Events");
-            allEventsLabel.setFont(SUBTITLE_FONT);
-            allEventsLabel.setForeground(new Color(50, 50, 50));
-
-            // Add a decorative accent line
-            JPanel accentLine = new JPanel() {
-                @Override
-                protected void paintComponent(Graphics g) {
-                    super.paintComponent(g);
-                    Graphics2D g2d = (Graphics2D) g;
-                    g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                    // Draw gradient accent line
-                    GradientPaint gp = new GradientPaint(
-                        0, 0, PRIMARY_COLOR,
-                        getWidth(), 0, ACCENT_COLOR
-                    );
-                    g2d.setPaint(gp);
-                    g2d.fillRoundRect(0, 0, 60, 3, 3, 3);
-                }
-            };
-            accentLine.setPreferredSize(new Dimension(100, 3));
-            accentLine.setOpaque(false);
+        // The list renders only the visible cards, however many events there are
+        cardRenderer.setHoveredIndex(-1);
+        eventListModel.setEvents(events);
+        if (events.isEmpty()) {
+            eventsScrollPane.setColumnHeaderView(null);
+            eventsScrollPane.setViewportView(getNoEventsPanel());
+        } else {
+            eventsScrollPane.setColumnHeaderView(getAllEventsHeader());
+            if (eventsScrollPane.getViewport().getView() != eventList) {
+                eventsScrollPane.setViewportView(eventList);
+            }
+            eventList.ensureIndexIsVisible(0);
+        }
+
+        // Refresh UI
+        featuredEventsPanel.revalidate();
+        featuredEventsPanel.repaint();
+    }
 
-            titlePanel.add(allEventsLabel, BorderLayout.CENTER);
-            titlePanel.add(accentLine, BorderLayout.SOUTH);
+    /**
+     * Get the modern section header shown above the events list
+     */
+    private JPanel getAllEventsHeader() {
+        if (allEventsHeader != null) {
+            return allEventsHeader;
+        }
 
-            headerPanel.add(titlePanel, BorderLayout.WEST);
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(BACKGROUND_COLOR);
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
+
+        // Create header with accent line
+        JPanel titlePanel = new JPanel(new BorderLayout(0, 5));
+        titlePanel.setBackground(BACKGROUND_COLOR);
+
+        JLabel allEventsLabel = new JLabel("All Events");
+        allEventsLabel.setFont(SUBTITLE_FONT);
+        allEventsLabel.setForeground(new Color(50, 50, 50));
 
-            // Add to container with modern padding
-            JPanel headerWrapper = new JPanel(new BorderLayout());
-            headerWrapper.setBackground(BACKGROUND_COLOR);
-            headerWrapper.setBorder(BorderFactory.createEmptyBorder(10, 30, 10, 30));
-            headerWrapper.add(headerPanel, BorderLayout.CENTER);
+        // Add a decorative accent line
+        JPanel accentLine = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            eventsContainer.add(headerWrapper);
+                // Draw gradient accent line
+                GradientPaint gp = new GradientPaint(
+                    0, 0, PRIMARY_COLOR,
+                    getWidth(), 0, ACCENT_COLOR
+                );
+                g2d.setPaint(gp);
+                g2d.fillRoundRect(0, 0, 60, 3, 3, 3);
+            }
+        };
+        accentLine.setPreferredSize(new Dimension(100, 3));
+        accentLine.setOpaque(false);
+
+        titlePanel.add(allEventsLabel, BorderLayout.CENTER);
+        titlePanel.add(accentLine, BorderLayout.SOUTH);
+
+        headerPanel.add(titlePanel, BorderLayout.WEST);
+
+        // Add to container with modern padding
+        allEventsHeader = new JPanel(new BorderLayout());
+        allEventsHeader.setBackground(BACKGROUND_COLOR);
+        allEventsHeader.setBorder(BorderFactory.createEmptyBorder(10, 30, 10, 30));
+        allEventsHeader.add(headerPanel, BorderLayout.CENTER);
+        return allEventsHeader;
+    }
+
+    /**
+     * Get the empty message with modern styling shown when no events match
+     */
+    private JPanel getNoEventsPanel() {
+        if (noEventsPanel != null) {
+            return noEventsPanel;
         }
 
-        // Add event cards with modern styling
-        for (Event event : events) {
-            // Create event card with modern padding
-            JPanel cardWrapper = new JPanel(new BorderLayout());
-            cardWrapper.setBackground(BACKGROUND_COLOR);
-            cardWrapper.setBorder(BorderFactory.createEmptyBorder(0, 30, 15, 30));
-            cardWrapper.add(createEventCard(event), BorderLayout.CENTER);
+        noEventsPanel = new JPanel(new BorderLayout());
+        noEventsPanel.setBackground(BACKGROUND_COLOR);
+        noEventsPanel.setBorder(BorderFactory.createEmptyBorder(50, 30, 50, 30));
 
-            eventsContainer.add(cardWrapper);
+        // Create a visually appealing empty state
+        JPanel contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        contentPanel.setBackground(BACKGROUND_COLOR);
+        contentPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        // Empty icon (placeholder)
+        JLabel iconLabel = new JLabel("🔍");
+        iconLabel.setFont(new Font("Segoe UI", Font.PLAIN, 48));
+        iconLabel.setForeground(new Color(180, 180, 180));
+        iconLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        // Empty message
+        JLabel emptyLabel = new JLabel("No events found");
+        emptyLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        emptyLabel.setForeground(new Color(100, 100, 100));
+        emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        // Suggestion message
+        JLabel suggestionLabel = new JLabel("Try adjusting your search or filter criteria");
+        suggestionLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        suggestionLabel.setForeground(new Color(150, 150, 150));
+        suggestionLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        contentPanel.add(iconLabel);
+        contentPanel.add(Box.createVerticalStrut(15));
+        contentPanel.add(emptyLabel);
+        contentPanel.add(Box.createVerticalStrut(10));
+        contentPanel.add(suggestionLabel);
+
+        noEventsPanel.add(contentPanel, BorderLayout.CENTER);
+        return noEventsPanel;
+    }
+
+    /**
+     * List model of the events shown, replaced as a whole on each update
+     */
+    private static final class EventListModel extends AbstractListModel<EventSummary> {
+        private List<EventSummary> events = new ArrayList<>();
+
+        private void setEvents(List<EventSummary> newEvents) {
+            int oldSize = events.size();
+            events = newEvents;
+            if (oldSize > 0) {
+                fireIntervalRemoved(this, 0, oldSize - 1);
+            }
+            if (!events.isEmpty()) {
+                fireIntervalAdded(this, 0, events.size() - 1);
+            }
         }
 
-        // Add empty message with modern styling if no events
-        if (events.isEmpty()) {
-            JPanel emptyPanel = new JPanel(new BorderLayout());
-            emptyPanel.setBackground(BACKGROUND_COLOR);
-            emptyPanel.setBorder(BorderFactory.createEmptyBorder(50, 30, 50, 30));
-
-            // Create a visually appealing empty state
-            JPanel contentPanel = new JPanel();
-            contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-            contentPanel.setBackground(BACKGROUND_COLOR);
-            contentPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-            // Empty icon (placeholder)
-            JLabel iconLabel = new JLabel("🔍");
-            iconLabel.setFont(new Font("Segoe UI", Font.PLAIN, 48));
-            iconLabel.setForeground(new Color(180, 180, 180));
-            iconLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-            // Empty message
-            JLabel emptyLabel = new JLabel("No events found");
-            emptyLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
-            emptyLabel.setForeground(new Color(100, 100, 100));
-            emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-            // Suggestion message
-            JLabel suggestionLabel = new JLabel("Try adjusting your search or filter criteria");
-            suggestionLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
-            suggestionLabel.setForeground(new Color(150, 150, 150));
-            suggestionLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-            contentPanel.add(iconLabel);
-            contentPanel.add(Box.createVerticalStrut(15));
-            contentPanel.add(emptyLabel);
-            contentPanel.add(Box.createVerticalStrut(10));
-            contentPanel.add(suggestionLabel);
-
-            emptyPanel.add(contentPanel, BorderLayout.CENTER);
-            eventsContainer.add(emptyPanel);
+        @Override
+        public int getSize() {
+            return events.size();
         }
 
-        // Refresh UI
-        eventsContainer.revalidate();
-        eventsContainer.repaint();
-        featuredEventsPanel.revalidate();
-        featuredEventsPanel.repaint();
+        @Override
+        public EventSummary getElementAt(int index) {
+            return events.get(index);
+        }
     }
 }
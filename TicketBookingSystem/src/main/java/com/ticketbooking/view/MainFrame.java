@@ -1,6 +1,12 @@
 package com.ticketbooking.view;
 
+import com.ticketbooking.cache.EntityCaches;
+import com.ticketbooking.controller.AsyncDataService;
 import com.ticketbooking.controller.UserController;
+import com.ticketbooking.hold.SeatHoldService;
+import com.ticketbooking.inventory.GroupCommitWriter;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.ledger.LedgerService;
 import com.ticketbooking.model.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -86,6 +92,17 @@ public class MainFrame extends JFrame {
             @Override
             public void windowClosing(WindowEvent e) {
                 logger.info("Application closing");
+                EntityCaches.getInstance().logStats();
+                // Stop background data loading before the pool goes away
+                AsyncDataService.getInstance().shutdown();
+                // Write bookings still held by the seat inventory
+                SeatInventory.getInstance().shutdown();
+                // Seat holds stay stored and expire after the next start
+                SeatHoldService.getInstance().shutdown();
+                LedgerService.getInstance().shutdown();
+                if (GroupCommitWriter.isEnabled()) {
+                    GroupCommitWriter.getInstance().close();
+                }
                 // Close database connection
                 try {
                     com.ticketbooking.database.DBConnection.getInstance().closeConnection();
@@ -116,6 +133,11 @@ public class MainFrame extends JFrame {
     public void showPanel(String panelName) {
         cardLayout.show(contentPanel, panelName);
 
+        // Held seats and the waiting room place are given up once the customer leaves the booking page
+        if (!panelName.equals(BOOKING_PANEL)) {
+            bookingPanel.leave();
+        }
+
         // Refresh panel data if needed
         if (panelName.equals(HOME_PANEL)) {
             homePanel.refreshEventList();
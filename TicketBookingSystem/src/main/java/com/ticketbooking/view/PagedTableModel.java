@@ -0,0 +1,208 @@
+package com.ticketbooking.view;
+
+import com.ticketbooking.controller.AsyncDataService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Read-only table model that loads rows one page at a time.
+ * <p>
+ * The first page is loaded by {@link #reload()}; further pages are fetched when the
+ * user scrolls near the bottom of the scroll pane the model is attached to, so memory
+ * use and time to first paint do not depend on the total number of rows. Pages are
+ * loaded off the Event Dispatch Thread and appended on it.
+ * @param <T> type of the row objects
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    private static final Logger logger = LogManager.getLogger(PagedTableModel.class);
+
+    /**
+     * Loads the page that follows a given row
+     * @param <T> type of the row objects
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        /**
+         * @param lastRow last row of the previous page, or null for the first page
+         * @param limit maximum number of rows to return
+         * @return next page of rows; fewer than limit rows means there are no more,
+         *         and null means the page could not be loaded and may be tried again
+         */
+        List<T> loadPage(T lastRow, int limit);
+    }
+
+    private final PageLoader<T> pageLoader;
+    private final int pageSize;
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<Function<T, Object>> columnValues = new ArrayList<>();
+    private final List<T> rows = new ArrayList<>();
+
+    private boolean hasMore = true;
+    private boolean loading;
+    // Incremented on reload so pages requested before it are discarded
+    private int generation;
+    private CompletableFuture<List<T>> pendingPage;
+    private Consumer<Boolean> loadingListener = loading -> { };
+
+    /**
+     * Constructor
+     * @param pageLoader loader for the next page of rows
+     * @param pageSize number of rows to fetch per page
+     */
+    public PagedTableModel(PageLoader<T> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Add a column to the model
+     * @param name column header
+     * @param value function extracting the cell value from a row object
+     */
+    public void addColumn(String name, Function<T, Object> value) {
+        columnNames.add(name);
+        columnValues.add(value);
+        fireTableStructureChanged();
+    }
+
+    /**
+     * Set a listener notified when a page load starts or finishes
+     * @param loadingListener receives true when loading starts and false when it ends
+     */
+    public void setLoadingListener(Consumer<Boolean> loadingListener) {
+        this.loadingListener = loadingListener;
+    }
+
+    /**
+     * Load more rows whenever the scroll pane is scrolled close to the bottom
+     * @param scrollPane scroll pane containing the table that uses this model
+     */
+    public void attachTo(JScrollPane scrollPane) {
+        JScrollBar scrollBar = scrollPane.getVerticalScrollBar();
+        scrollBar.addAdjustmentListener(e -> {
+            int visible = scrollBar.getVisibleAmount();
+            // Ignore layout passes before the table has been given a size
+            if (visible <= 0) {
+                return;
+            }
+            if (scrollBar.getValue() + visible >= scrollBar.getMaximum() - visible / 2) {
+                loadNextPage();
+            }
+        });
+    }
+
+    /**
+     * Discard all loaded rows and load the first page again
+     */
+    public void reload() {
+        generation++;
+        if (pendingPage != null) {
+            pendingPage.cancel(false);
+            pendingPage = null;
+            setLoading(false);
+        }
+
+        int oldSize = rows.size();
+        rows.clear();
+        hasMore = true;
+        if (oldSize > 0) {
+            fireTableRowsDeleted(0, oldSize - 1);
+        }
+        loadNextPage();
+    }
+
+    /**
+     * Load the next page of rows in the background if there is one
+     */
+    public void loadNextPage() {
+        if (loading || !hasMore) {
+            return;
+        }
+
+        setLoading(true);
+        int requestGeneration = generation;
+        T lastRow = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+
+        pendingPage = AsyncDataService.getInstance().submit(() -> pageLoader.loadPage(lastRow, pageSize));
+        pendingPage.whenCompleteAsync((page, error) -> {
+            // Drop pages that belong to a list discarded by reload()
+            if (requestGeneration != generation) {
+                return;
+            }
+            pendingPage = null;
+            setLoading(false);
+
+            // Leave hasMore set so the next scroll tries the page again
+            if (error != null) {
+                logger.error("Error loading table page", AsyncDataService.unwrap(error));
+                return;
+            }
+            if (page == null) {
+                logger.error("Table page could not be loaded");
+                return;
+            }
+
+            hasMore = page.size() >= pageSize;
+            if (!page.isEmpty()) {
+                int firstRow = rows.size();
+                rows.addAll(page);
+                fireTableRowsInserted(firstRow, rows.size() - 1);
+            }
+            logger.debug("Loaded page of {} rows ({} total)", page.size(), rows.size());
+        }, AsyncDataService.EDT);
+    }
+
+    private void setLoading(boolean loading) {
+        this.loading = loading;
+        loadingListener.accept(loading);
+    }
+
+    /**
+     * Get the row object at a given index
+     * @param rowIndex model row index
+     * @return row object
+     */
+    public T getRow(int rowIndex) {
+        return rows.get(rowIndex);
+    }
+
+    /**
+     * @return true if more rows may be available beyond the loaded ones
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columnValues.get(columnIndex).apply(rows.get(rowIndex));
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+}
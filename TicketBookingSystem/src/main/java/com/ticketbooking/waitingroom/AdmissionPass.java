@@ -0,0 +1,50 @@
+package com.ticketbooking.waitingroom;
+
+import java.time.LocalDateTime;
+
+/**
+ * Short-lived permission to book seats for one event, given to a customer when they
+ * reach the front of the waiting room queue
+ */
+public class AdmissionPass {
+    private final String id;
+    private final int eventId;
+    private final LocalDateTime expiresAt;
+    // System.nanoTime at which the pass expires
+    private final long expiresAtNanos;
+
+    AdmissionPass(String id, int eventId, LocalDateTime expiresAt, long expiresAtNanos) {
+        this.id = id;
+        this.eventId = eventId;
+        this.expiresAt = expiresAt;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    /**
+     * @return time by which the customer must book
+     */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionPass{" +
+               "id='" + id + '\'' +
+               ", eventId=" + eventId +
+               ", expiresAt=" + expiresAt +
+               '}';
+    }
+}
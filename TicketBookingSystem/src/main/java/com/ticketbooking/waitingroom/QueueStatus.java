@@ -0,0 +1,54 @@
+package com.ticketbooking.waitingroom;
+
+/**
+ * Where a customer stands in the waiting room queue
+ */
+public class QueueStatus {
+    private final long position;
+    private final long etaSeconds;
+    private final AdmissionPass pass;
+
+    QueueStatus(long position, long etaSeconds, AdmissionPass pass) {
+        this.position = position;
+        this.etaSeconds = etaSeconds;
+        this.pass = pass;
+    }
+
+    /**
+     * @return place in the queue counting from 1, at most the number of customers
+     *         ahead plus one, or 0 once admitted
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return estimated seconds until admission, 0 once admitted
+     */
+    public long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    /**
+     * @return the admission pass, or null while still waiting or after leaving the queue
+     */
+    public AdmissionPass getPass() {
+        return pass;
+    }
+
+    /**
+     * @return true if the customer has been admitted
+     */
+    public boolean isAdmitted() {
+        return pass != null;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueStatus{" +
+               "position=" + position +
+               ", etaSeconds=" + etaSeconds +
+               ", pass=" + pass +
+               '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.ticketbooking.waitingroom;
+
+/**
+ * Place of a customer in the waiting room queue of an event. Tickets are numbered in
+ * the order customers joined, so the position of a ticket is the difference between
+ * its number and the number at the front of the queue.
+ */
+public class QueueTicket {
+    private final int eventId;
+    private final long number;
+
+    // Guarded by the lock of the event queue
+    long lastSeenNanos;
+    boolean left;
+    AdmissionPass pass;
+
+    QueueTicket(int eventId, long number, long nowNanos) {
+        this.eventId = eventId;
+        this.number = number;
+        this.lastSeenNanos = nowNanos;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public long getNumber() {
+        return number;
+    }
+
+    @Override
+    public String toString() {
+        return "QueueTicket{" +
+               "eventId=" + eventId +
+               ", number=" + number +
+               '}';
+    }
+}
@@ -0,0 +1,68 @@
+package com.ticketbooking.waitingroom;
+
+/**
+ * Token bucket that lets through a steady number of admissions per second, with
+ * bursts of up to its capacity after a quiet spell. Not thread-safe; callers hold
+ * the lock of the waiting room queue it belongs to.
+ */
+public class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * Create a full bucket
+     * @param tokensPerSecond tokens added per second
+     * @param capacity most tokens the bucket holds
+     * @param nowNanos current time from System.nanoTime
+     */
+    public TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Token rate and capacity must be greater than zero");
+        }
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refilledAt = nowNanos;
+    }
+
+    /**
+     * Take a token if one is available
+     * @param nowNanos current time from System.nanoTime
+     * @return true if a token was taken
+     */
+    public boolean tryTake(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param nowNanos current time from System.nanoTime
+     * @return nanoseconds until the next token is available, 0 if one is available now
+     */
+    public long nanosUntilToken(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    /**
+     * @return tokens added per second
+     */
+    public double getTokensPerSecond() {
+        return tokensPerNano * NANOS_PER_SECOND;
+    }
+
+    private void refill(long nowNanos) {
+        if (nowNanos > refilledAt) {
+            tokens = Math.min(capacity, tokens + (nowNanos - refilledAt) * tokensPerNano);
+            refilledAt = nowNanos;
+        }
+    }
+}
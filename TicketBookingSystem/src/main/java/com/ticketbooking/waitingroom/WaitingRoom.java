@@ -0,0 +1,199 @@
+package com.ticketbooking.waitingroom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Virtual waiting room in front of booking.
+ * <p>
+ * When an event goes on sale, customers join a first-come, first-served queue per
+ * event instead of all booking at once. Customers are let out of the front of the
+ * queue by a token bucket at the admission rate of the event, so bookings reach the
+ * database at a steady rate it can keep up with rather than as one burst of competing
+ * transactions. An admitted customer gets a short-lived {@link AdmissionPass}, which
+ * BookingController checks before it books.
+ * <p>
+ * The queue moves whenever a customer in it checks their status, so no background
+ * thread is needed. Customers who stop checking are dropped when they reach the front.
+ */
+public class WaitingRoom {
+    private static final Logger logger = LogManager.getLogger(WaitingRoom.class);
+    private static WaitingRoom instance;
+
+    private final WaitingRoomConfig config;
+    private final LongSupplier nanoClock;
+    private final Map<Integer, EventQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, AdmissionPass> passes = new ConcurrentHashMap<>();
+
+    WaitingRoom(WaitingRoomConfig config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Get singleton instance of WaitingRoom
+     * @return WaitingRoom instance
+     */
+    public static synchronized WaitingRoom getInstance() {
+        if (instance == null) {
+            WaitingRoomConfig config = WaitingRoomConfig.load();
+            instance = new WaitingRoom(config, System::nanoTime);
+            logger.info("Waiting room initialized with {}", config);
+        }
+        return instance;
+    }
+
+    /**
+     * @return true if customers must queue before booking
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Join the queue of an event. A customer who joins an empty queue while the
+     * admission rate allows it is admitted straight away.
+     * @param eventId event ID
+     * @return ticket to check the place in the queue with
+     */
+    public QueueTicket join(int eventId) {
+        EventQueue queue = queues.computeIfAbsent(eventId, id ->
+            new EventQueue(id, new TokenBucket(config.getAdmitPerSecond(id), config.getBurst(), nanoClock.getAsLong())));
+        return queue.join(nanoClock.getAsLong());
+    }
+
+    /**
+     * Check the place of a customer in the queue, letting out customers at the front
+     * whose turn has come
+     * @param ticket ticket from join
+     * @return status of the ticket; neither waiting nor admitted once the customer left
+     *         or their pass expired, after which they have to join again
+     */
+    public QueueStatus getStatus(QueueTicket ticket) {
+        EventQueue queue = queues.get(ticket.getEventId());
+        if (queue == null) {
+            return new QueueStatus(0, 0, null);
+        }
+        return queue.getStatus(ticket, nanoClock.getAsLong());
+    }
+
+    /**
+     * Leave the queue, giving up the pass if the customer was admitted
+     * @param ticket ticket from join
+     */
+    public void leave(QueueTicket ticket) {
+        EventQueue queue = queues.get(ticket.getEventId());
+        if (queue != null) {
+            queue.leave(ticket);
+        }
+    }
+
+    /**
+     * Check that a customer was admitted to book seats for an event
+     * @param eventId event ID
+     * @param pass pass given on admission, may be null
+     * @return true if the pass is for the event and has not expired or been used
+     */
+    public boolean isAdmitted(int eventId, AdmissionPass pass) {
+        return pass != null &&
+               pass.getEventId() == eventId &&
+               passes.get(pass.getId()) == pass &&
+               !pass.isExpired(nanoClock.getAsLong());
+    }
+
+    /**
+     * Use up a pass once its booking is made
+     * @param pass pass given on admission
+     */
+    public void complete(AdmissionPass pass) {
+        passes.remove(pass.getId(), pass);
+    }
+
+    /**
+     * Queue of one event
+     */
+    private class EventQueue {
+        private final int eventId;
+        private final TokenBucket bucket;
+        private final ArrayDeque<QueueTicket> waiting = new ArrayDeque<>();
+        // Passes in the order they were given, which is also the order they expire in
+        private final ArrayDeque<AdmissionPass> issued = new ArrayDeque<>();
+        private long nextNumber = 1;
+
+        EventQueue(int eventId, TokenBucket bucket) {
+            this.eventId = eventId;
+            this.bucket = bucket;
+        }
+
+        synchronized QueueTicket join(long now) {
+            QueueTicket ticket = new QueueTicket(eventId, nextNumber++, now);
+            waiting.add(ticket);
+            admit(now);
+            return ticket;
+        }
+
+        synchronized QueueStatus getStatus(QueueTicket ticket, long now) {
+            ticket.lastSeenNanos = now;
+            admit(now);
+
+            if (ticket.left) {
+                return new QueueStatus(0, 0, null);
+            }
+            if (ticket.pass != null) {
+                return new QueueStatus(0, 0, isAdmitted(eventId, ticket.pass) ? ticket.pass : null);
+            }
+
+            long position = ticket.getNumber() - waiting.peek().getNumber() + 1;
+            long etaNanos = bucket.nanosUntilToken(now) +
+                            (long) ((position - 1) / bucket.getTokensPerSecond() * TimeUnit.SECONDS.toNanos(1));
+            long etaSeconds = (etaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            return new QueueStatus(position, etaSeconds, null);
+        }
+
+        synchronized void leave(QueueTicket ticket) {
+            ticket.left = true;
+            if (ticket.pass != null) {
+                complete(ticket.pass);
+            }
+        }
+
+        /**
+         * Let out customers at the front of the queue while the bucket has tokens
+         */
+        private void admit(long now) {
+            while (!issued.isEmpty() && issued.peek().isExpired(now)) {
+                complete(issued.poll());
+            }
+
+            long abandonNanos = TimeUnit.SECONDS.toNanos(config.getAbandonSeconds());
+            while (!waiting.isEmpty()) {
+                QueueTicket head = waiting.peek();
+                if (head.left || now - head.lastSeenNanos > abandonNanos) {
+                    head.left = true;
+                    waiting.poll();
+                    continue;
+                }
+                if (!bucket.tryTake(now)) {
+                    break;
+                }
+
+                waiting.poll();
+                long passNanos = TimeUnit.SECONDS.toNanos(config.getPassSeconds());
+                head.pass = new AdmissionPass(UUID.randomUUID().toString(), eventId,
+                                              LocalDateTime.now().plusSeconds(config.getPassSeconds()),
+                                              now + passNanos);
+                passes.put(head.pass.getId(), head.pass);
+                issued.add(head.pass);
+                logger.debug("Admitted {} to book event ID: {}", head, eventId);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ticketbooking.waitingroom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Configuration settings for the waiting room
+ */
+public class WaitingRoomConfig {
+    private static final Logger logger = LogManager.getLogger(WaitingRoomConfig.class);
+
+    // Per-event admission rate, e.g. waitingroom.event.42.admitPerSecond=5
+    private static final Pattern EVENT_RATE_PROPERTY =
+        Pattern.compile("^waitingroom\\.event\\.(\\d+)\\.admitPerSecond$");
+
+    // Default values used when a property is missing
+    public static final boolean DEFAULT_ENABLED = false;
+    public static final double DEFAULT_ADMIT_PER_SECOND = 20;
+    public static final int DEFAULT_BURST = 20;
+    public static final long DEFAULT_PASS_SECONDS = 120;
+    public static final long DEFAULT_ABANDON_SECONDS = 30;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private double admitPerSecond = DEFAULT_ADMIT_PER_SECOND;
+    private int burst = DEFAULT_BURST;
+    private long passSeconds = DEFAULT_PASS_SECONDS;
+    private long abandonSeconds = DEFAULT_ABANDON_SECONDS;
+    private final Map<Integer, Double> eventAdmitPerSecond = new HashMap<>();
+
+    // Default constructor
+    public WaitingRoomConfig() {
+    }
+
+    /**
+     * Load the waiting room configuration from booking.properties
+     * @return WaitingRoomConfig with defaults for any missing property
+     */
+    public static WaitingRoomConfig load() {
+        Properties props = new Properties();
+        try (InputStream input = WaitingRoomConfig.class.getClassLoader().getResourceAsStream("booking.properties")) {
+            if (input != null) {
+                props.load(input);
+            } else {
+                logger.warn("Unable to find booking.properties, using default settings");
+            }
+        } catch (IOException e) {
+            logger.error("Error loading booking properties", e);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Build a waiting room configuration from waitingroom.* properties
+     * @param props properties loaded from booking.properties
+     * @return WaitingRoomConfig with defaults for any missing property
+     */
+    public static WaitingRoomConfig fromProperties(Properties props) {
+        WaitingRoomConfig config = new WaitingRoomConfig();
+        config.setEnabled(Boolean.parseBoolean(props.getProperty("waitingroom.enabled",
+            String.valueOf(DEFAULT_ENABLED))));
+        config.setAdmitPerSecond(Double.parseDouble(props.getProperty("waitingroom.admitPerSecond",
+            String.valueOf(DEFAULT_ADMIT_PER_SECOND))));
+        config.setBurst(Integer.parseInt(props.getProperty("waitingroom.burst",
+            String.valueOf(DEFAULT_BURST))));
+        config.setPassSeconds(Long.parseLong(props.getProperty("waitingroom.passSeconds",
+            String.valueOf(DEFAULT_PASS_SECONDS))));
+        config.setAbandonSeconds(Long.parseLong(props.getProperty("waitingroom.abandonSeconds",
+            String.valueOf(DEFAULT_ABANDON_SECONDS))));
+
+        for (String name : props.stringPropertyNames()) {
+            Matcher matcher = EVENT_RATE_PROPERTY.matcher(name);
+            if (matcher.matches()) {
+                config.setAdmitPerSecond(Integer.parseInt(matcher.group(1)),
+                                         Double.parseDouble(props.getProperty(name)));
+            }
+        }
+        return config;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getAdmitPerSecond() {
+        return admitPerSecond;
+    }
+
+    public void setAdmitPerSecond(double admitPerSecond) {
+        if (admitPerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be greater than zero");
+        }
+        this.admitPerSecond = admitPerSecond;
+    }
+
+    /**
+     * @param eventId event ID
+     * @return admissions per second for the event, the default rate unless set for the event
+     */
+    public double getAdmitPerSecond(int eventId) {
+        return eventAdmitPerSecond.getOrDefault(eventId, admitPerSecond);
+    }
+
+    public void setAdmitPerSecond(int eventId, double admitPerSecond) {
+        if (admitPerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be greater than zero");
+        }
+        eventAdmitPerSecond.put(eventId, admitPerSecond);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be greater than zero");
+        }
+        this.burst = burst;
+    }
+
+    public long getPassSeconds() {
+        return passSeconds;
+    }
+
+    public void setPassSeconds(long passSeconds) {
+        if (passSeconds <= 0) {
+            throw new IllegalArgumentException("Pass time must be greater than zero");
+        }
+        this.passSeconds = passSeconds;
+    }
+
+    public long getAbandonSeconds() {
+        return abandonSeconds;
+    }
+
+    public void setAbandonSeconds(long abandonSeconds) {
+        if (abandonSeconds <= 0) {
+            throw new IllegalArgumentException("Abandon time must be greater than zero");
+        }
+        this.abandonSeconds = abandonSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitingRoomConfig{" +
+               "enabled=" + enabled +
+               ", admitPerSecond=" + admitPerSecond +
+               ", burst=" + burst +
+               ", passSeconds=" + passSeconds +
+               ", abandonSeconds=" + abandonSeconds +
+               ", eventAdmitPerSecond=" + eventAdmitPerSecond +
+               '}';
+    }
+}
@@ -1,8 +1,20 @@
 -- Database schema for Ticket Booking System
 
 -- Drop tables if they exist (for clean setup)
+DROP VIEW IF EXISTS event_inventory;
+DROP TABLE IF EXISTS booking_ledger;
+DROP TABLE IF EXISTS ledger_snapshots;
+DROP TABLE IF EXISTS pricing_rules;
 DROP TABLE IF EXISTS bookings;
+-- The ledger triggers are dropped with bookings, which frees their function
+DROP FUNCTION IF EXISTS record_booking_changes();
+DROP TABLE IF EXISTS seat_holds;
+DROP TABLE IF EXISTS seat_leases;
+DROP TABLE IF EXISTS event_seat_occupancy;
+DROP TABLE IF EXISTS event_seat_stripes;
 DROP TABLE IF EXISTS events;
+DROP TABLE IF EXISTS seat_layout_rows;
+DROP TABLE IF EXISTS seat_layouts;
 DROP TABLE IF EXISTS users;
 
 -- Create users table
@@ -16,6 +28,24 @@ CREATE TABLE users (
     CONSTRAINT check_role CHECK (role IN ('user', 'admin'))
 );
 
+-- Seating plans of venues. Rows are ordered best first and seat_types holds one
+-- seat type code per seat: S (Standard), V (VIP) or P (Premium).
+CREATE TABLE seat_layouts (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE seat_layout_rows (
+    layout_id INTEGER NOT NULL REFERENCES seat_layouts(id) ON DELETE CASCADE,
+    row_index INTEGER NOT NULL,
+    section VARCHAR(50) NOT NULL,
+    row_label VARCHAR(20) NOT NULL,
+    seat_types VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (layout_id, row_index),
+    CONSTRAINT check_seat_types CHECK (seat_types ~ '^[SVP]+$')
+);
+
 -- Create events table
 CREATE TABLE events (
     id SERIAL PRIMARY KEY,
@@ -27,8 +57,62 @@ CREATE TABLE events (
     total_seats INTEGER NOT NULL,
     available_seats INTEGER NOT NULL,
     base_price NUMERIC(10, 2) NOT NULL,
+    seat_stripes INTEGER NOT NULL DEFAULT 1,
+    layout_id INTEGER REFERENCES seat_layouts(id),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT check_seats CHECK (available_seats <= total_seats)
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(venue, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED,
+    CONSTRAINT check_seats CHECK (available_seats <= total_seats),
+    CONSTRAINT check_seat_stripes CHECK (seat_stripes > 0),
+    CONSTRAINT check_layout_stripes CHECK (layout_id IS NULL OR seat_stripes = 1)
+);
+
+-- Seats of events with more than one seat stripe, split over several counter rows so
+-- concurrent bookings update different rows. available_seats of such events is unused.
+CREATE TABLE event_seat_stripes (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL,
+    available_seats INTEGER NOT NULL,
+    PRIMARY KEY (event_id, stripe),
+    CONSTRAINT check_stripe_seats CHECK (available_seats >= 0)
+);
+
+-- Blocks of seats leased from an event by the application nodes selling it. seats is
+-- the number of leased seats the node has not sold yet; they go back to the event when
+-- the node returns the lease or, if the node crashed, once the lease has expired.
+CREATE TABLE seat_leases (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    node_id VARCHAR(64) NOT NULL,
+    seats INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (event_id, node_id),
+    CONSTRAINT check_lease_seats CHECK (seats >= 0)
+);
+CREATE INDEX idx_seat_leases_expires ON seat_leases(expires_at);
+
+-- Events with available seats summed over the stripes of striped events, and counting
+-- the unsold seats leased by application nodes
+CREATE VIEW event_inventory AS
+SELECT e.id, e.name, e.description, e.date, e.time, e.venue, e.total_seats,
+       CASE WHEN e.seat_stripes > 1
+            THEN (SELECT COALESCE(SUM(s.available_seats), 0)::INTEGER
+                  FROM event_seat_stripes s WHERE s.event_id = e.id)
+            ELSE e.available_seats + (SELECT COALESCE(SUM(l.seats), 0)::INTEGER
+                                      FROM seat_leases l WHERE l.event_id = e.id)
+       END AS available_seats,
+       e.base_price, e.seat_stripes, e.created_at, e.search_vector, e.layout_id
+FROM events e;
+
+-- Booked seats of events with a seat layout, one bit per seat of each row. Rows are
+-- added when their first seat is booked.
+CREATE TABLE event_seat_occupancy (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    row_index INTEGER NOT NULL,
+    occupied BIT VARYING NOT NULL,
+    PRIMARY KEY (event_id, row_index)
 );
 
 -- Create bookings table
@@ -42,17 +126,129 @@ CREATE TABLE bookings (
     quantity INTEGER NOT NULL,
     total_price NUMERIC(10, 2) NOT NULL,
     booking_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Assigned seats of events with a seat layout: quantity seats from seat_start in seat_row
+    seat_row INTEGER,
+    seat_start INTEGER,
+    -- Key sent by the client with the booking request, so a retried request finds this booking
+    idempotency_key VARCHAR(64) UNIQUE,
     CONSTRAINT check_quantity CHECK (quantity > 0)
 );
 
+-- Seats set aside while a customer fills in a booking. The seats are taken from the
+-- event (or the stripe) when the hold is placed and returned when it is released.
+CREATE TABLE seat_holds (
+    id BIGSERIAL PRIMARY KEY,
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL DEFAULT 0,
+    seat_type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT check_hold_quantity CHECK (quantity > 0)
+);
+
+-- Append-only ledger of booking changes, written by the triggers on bookings below.
+-- Entries are never updated or deleted and outlive the bookings and events they
+-- refer to. The table is partitioned by month; the application adds the partitions
+-- of the coming months, and entries of months without one go to the default partition.
+CREATE TABLE booking_ledger (
+    id BIGSERIAL,
+    event_id INTEGER NOT NULL,
+    booking_id INTEGER NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    seat_delta INTEGER NOT NULL,
+    amount_delta NUMERIC(10, 2) NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, recorded_at),
+    CONSTRAINT check_entry_type CHECK (entry_type IN ('CREATED', 'CANCELLED', 'SEATS_CHANGED'))
+) PARTITION BY RANGE (recorded_at);
+CREATE TABLE booking_ledger_default PARTITION OF booking_ledger DEFAULT;
+
+-- Totals of each event up to ledger entry ledger_id. Rows are kept for deleted
+-- events, as the highest ledger_id marks where the next snapshot starts.
+CREATE TABLE ledger_snapshots (
+    event_id INTEGER PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    seats_booked INTEGER NOT NULL,
+    bookings INTEGER NOT NULL,
+    revenue NUMERIC(14, 2) NOT NULL,
+    taken_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Appends one ledger entry per booking changed, with one INSERT per statement
+CREATE OR REPLACE FUNCTION record_booking_changes() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT event_id, id, 'CREATED', quantity, total_price FROM new_rows ORDER BY id;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT event_id, id, 'CANCELLED', -quantity, -total_price FROM old_rows ORDER BY id;
+    ELSE
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT n.event_id, n.id, 'SEATS_CHANGED', n.quantity - o.quantity, n.total_price - o.total_price
+        FROM new_rows n JOIN old_rows o ON o.id = n.id
+        WHERE n.quantity <> o.quantity OR n.total_price <> o.total_price
+        ORDER BY n.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+CREATE TRIGGER bookings_ledger_insert AFTER INSERT ON bookings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();
+CREATE TRIGGER bookings_ledger_delete AFTER DELETE ON bookings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();
+CREATE TRIGGER bookings_ledger_update AFTER UPDATE ON bookings
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();
+
+-- Rules adjusting the ticket prices of an event, compiled into its price table.
+-- The meaning of threshold depends on the rule type, see the PricingRule class.
+CREATE TABLE pricing_rules (
+    id SERIAL PRIMARY KEY,
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    rule_type VARCHAR(20) NOT NULL,
+    seat_type VARCHAR(20),
+    threshold INTEGER NOT NULL DEFAULT 0,
+    factor NUMERIC(6, 4) NOT NULL,
+    CONSTRAINT check_rule_type CHECK (rule_type IN ('SEAT_TYPE', 'EARLY_BIRD', 'DEMAND', 'QUANTITY')),
+    CONSTRAINT check_rule_factor CHECK (factor > 0)
+);
+
 -- Create index for faster queries
 CREATE INDEX idx_event_date ON events(date);
 CREATE INDEX idx_bookings_event ON bookings(event_id);
+CREATE INDEX idx_pricing_rules_event ON pricing_rules(event_id);
+CREATE INDEX idx_booking_ledger_event ON booking_ledger(event_id, id);
+CREATE INDEX idx_booking_ledger_booking ON booking_ledger(booking_id);
+
+-- Indexes matching the keyset pagination order of the admin tables
+CREATE INDEX idx_events_date_time_id ON events(date, time, id);
+CREATE INDEX idx_bookings_time_id ON bookings((COALESCE(booking_time, '-infinity'::timestamp)) DESC, id DESC);
+
+-- Full-text search index of event name, venue and description
+CREATE INDEX idx_events_search ON events USING GIN (search_vector);
 
 -- Insert sample admin user
 INSERT INTO users (username, password, role)
 VALUES ('admin', 'admin123', 'admin');
 
+-- Insert sample seat layout: two rows of Premium seats, three rows with VIP seats in
+-- the middle and five rows of Standard seats
+INSERT INTO seat_layouts (name) VALUES ('Main Hall');
+INSERT INTO seat_layout_rows (layout_id, row_index, section, row_label, seat_types)
+SELECT l.id, r,
+       CASE WHEN r < 5 THEN 'Stalls' ELSE 'Circle' END,
+       chr(65 + r),
+       CASE WHEN r < 2 THEN repeat('P', 20)
+            WHEN r < 5 THEN repeat('S', 4) || repeat('V', 12) || repeat('S', 4)
+            ELSE repeat('S', 20)
+       END
+FROM seat_layouts l, generate_series(0, 9) AS r
+WHERE l.name = 'Main Hall';
+
 -- Insert sample events
 INSERT INTO events (name, description, date, time, venue, total_seats, available_seats, base_price)
 VALUES
@@ -0,0 +1,284 @@
+package com.ticketbooking.benchmark;
+
+import com.ticketbooking.controller.BookingController;
+import com.ticketbooking.dao.BookingDAO;
+import com.ticketbooking.dao.EventDAO;
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.inventory.SeatInventory;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.waitingroom.AdmissionPass;
+import com.ticketbooking.waitingroom.QueueStatus;
+import com.ticketbooking.waitingroom.QueueTicket;
+import com.ticketbooking.waitingroom.WaitingRoom;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless load generator that books tickets through {@link BookingController#createBooking}
+ * from many concurrent virtual users and reports throughput, latency percentiles and
+ * whether any event was oversold. When the waiting room is enabled in booking.properties,
+ * every booking queues for a pass first and its latency includes the time in the queue.
+ * <p>
+ * Needs the database configured in database.properties. Temporary events are created for
+ * each run and deleted afterwards together with their bookings. Settings are read from
+ * system properties:
+ * <ul>
+ *   <li>load.users - concurrent virtual users (default 64)</li>
+ *   <li>load.seconds - run duration in seconds (default 30)</li>
+ *   <li>load.events - number of events to book (default 20)</li>
+ *   <li>load.seats - seats per event (default 2000)</li>
+ *   <li>load.skew - Zipf exponent of event popularity, 0 for uniform (default 1.1)</li>
+ *   <li>load.seatMix - weights for Standard,VIP,Premium (default 70,20,10)</li>
+ *   <li>load.maxQuantity - largest number of tickets per booking (default 4)</li>
+ * </ul>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ticketbooking.benchmark.BookingLoadGenerator -Dload.users=200 -Dload.skew=1.5
+ * </pre>
+ */
+public class BookingLoadGenerator {
+    private static final String[] SEAT_TYPES = {
+        Booking.SEAT_TYPE_STANDARD, Booking.SEAT_TYPE_VIP, Booking.SEAT_TYPE_PREMIUM
+    };
+
+    // Latencies up to one minute are recorded with three significant digits
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    // How often a queued virtual user checks its place in the waiting room
+    private static final long QUEUE_POLL_MILLIS = 50;
+
+    private final int users;
+    private final long durationNanos;
+    private final int seatsPerEvent;
+    private final int maxQuantity;
+    private final double[] eventWeights;
+    private final double[] seatTypeWeights;
+
+    private final Recorder successLatency = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Recorder rejectedLatency = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong ticketsSold = new AtomicLong();
+
+    private BookingLoadGenerator(int users, int seconds, int events, int seatsPerEvent, double skew,
+                                 double[] seatMix, int maxQuantity) {
+        this.users = users;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+        this.seatsPerEvent = seatsPerEvent;
+        this.maxQuantity = maxQuantity;
+        this.eventWeights = cumulative(zipfWeights(events, skew));
+        this.seatTypeWeights = cumulative(seatMix);
+    }
+
+    public static void main(String[] args) throws Exception {
+        BookingLoadGenerator generator = new BookingLoadGenerator(
+            Integer.getInteger("load.users", 64),
+            Integer.getInteger("load.seconds", 30),
+            Integer.getInteger("load.events", 20),
+            Integer.getInteger("load.seats", 2000),
+            Double.parseDouble(System.getProperty("load.skew", "1.1")),
+            Arrays.stream(System.getProperty("load.seatMix", "70,20,10").split(","))
+                  .mapToDouble(Double::parseDouble).toArray(),
+            Integer.getInteger("load.maxQuantity", 4));
+
+        try {
+            generator.run();
+        } finally {
+            DBConnection.getInstance().closeConnection();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        EventDAO eventDAO = new EventDAO();
+        List<Event> events = createEvents(eventDAO);
+        System.out.printf("%d users, %d events x %d seats, %ds%n",
+                          users, events.size(), seatsPerEvent, TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+
+        try {
+            BookingController bookingController = new BookingController();
+            long start = System.nanoTime();
+            long deadline = start + durationNanos;
+
+            List<Thread> threads = new ArrayList<>(users);
+            for (int u = 0; u < users; u++) {
+                int user = u;
+                threads.add(Thread.ofVirtual().start(() -> bookUntil(deadline, user, events, bookingController)));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            // Bookings reserved in memory are only counted once they reach the database
+            SeatInventory inventory = SeatInventory.getInstance();
+            if (inventory.isEnabled()) {
+                inventory.flush();
+            }
+
+            report(seconds);
+            checkOversell(eventDAO, events);
+        } finally {
+            for (Event event : events) {
+                eventDAO.deleteEvent(event.getId());
+            }
+        }
+    }
+
+    private List<Event> createEvents(EventDAO eventDAO) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < eventWeights.length; i++) {
+            Event event = new Event("Load test event " + i, "Temporary load test event",
+                                    LocalDate.now().plusYears(1), LocalTime.NOON, "Load Test Arena",
+                                    seatsPerEvent, seatsPerEvent, Money.parse("25.00"));
+            if (!eventDAO.addEvent(event)) {
+                events.forEach(created -> eventDAO.deleteEvent(created.getId()));
+                throw new IllegalStateException("Could not create load test event");
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    private void bookUntil(long deadline, int user, List<Event> events, BookingController bookingController) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        WaitingRoom waitingRoom = WaitingRoom.getInstance();
+        while (System.nanoTime() < deadline) {
+            Event event = events.get(pick(eventWeights, random.nextDouble()));
+            String seatType = SEAT_TYPES[pick(seatTypeWeights, random.nextDouble())];
+            int quantity = 1 + random.nextInt(maxQuantity);
+
+            long start = System.nanoTime();
+            AdmissionPass pass = null;
+            if (waitingRoom.isEnabled()) {
+                pass = waitForPass(deadline, event.getId(), waitingRoom);
+                if (pass == null) {
+                    return;
+                }
+            }
+            boolean success = bookingController.createBooking("Load user " + user, "", "",
+                                                              event.getId(), seatType, quantity, pass, null);
+            long latency = Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS);
+
+            if (success) {
+                successLatency.recordValue(latency);
+                succeeded.incrementAndGet();
+                ticketsSold.addAndGet(quantity);
+            } else {
+                rejectedLatency.recordValue(latency);
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    private static AdmissionPass waitForPass(long deadline, int eventId, WaitingRoom waitingRoom) {
+        QueueTicket ticket = waitingRoom.join(eventId);
+        while (System.nanoTime() < deadline) {
+            QueueStatus status = waitingRoom.getStatus(ticket);
+            if (status.isAdmitted()) {
+                return status.getPass();
+            }
+            try {
+                Thread.sleep(QUEUE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        waitingRoom.leave(ticket);
+        return null;
+    }
+
+    private void report(double seconds) {
+        Histogram success = successLatency.getIntervalHistogram();
+        Histogram failure = rejectedLatency.getIntervalHistogram();
+        Histogram all = success.copy();
+        all.add(failure);
+
+        System.out.printf("bookings:   %d ok, %d rejected, %d tickets sold%n",
+                          succeeded.get(), rejected.get(), ticketsSold.get());
+        System.out.printf("throughput: %.1f bookings/sec, %.1f requests/sec%n",
+                          succeeded.get() / seconds, all.getTotalCount() / seconds);
+        printLatency("ok", success);
+        printLatency("rejected", failure);
+        printLatency("all", all);
+    }
+
+    private static void printLatency(String name, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        System.out.printf("latency %-9s p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n", name,
+                          histogram.getValueAtPercentile(50) / 1e6,
+                          histogram.getValueAtPercentile(99) / 1e6,
+                          histogram.getValueAtPercentile(99.9) / 1e6,
+                          histogram.getMaxValue() / 1e6);
+    }
+
+    /**
+     * Check every event: booked tickets plus available seats must equal the total,
+     * and available seats must never be negative
+     */
+    private void checkOversell(EventDAO eventDAO, List<Event> events) {
+        BookingDAO bookingDAO = new BookingDAO();
+        int oversold = 0;
+        long bookedTickets = 0;
+
+        for (Event event : events) {
+            Event current = eventDAO.getEventById(event.getId());
+            int booked = bookingDAO.getBookingsByEventId(event.getId()).stream()
+                                   .mapToInt(Booking::getQuantity).sum();
+            bookedTickets += booked;
+            if (current == null || current.getAvailableSeats() < 0
+                || booked + current.getAvailableSeats() != current.getTotalSeats()) {
+                oversold++;
+                System.out.printf("INCONSISTENT event %d: %d booked, %s available, %d total%n",
+                                  event.getId(), booked,
+                                  current != null ? current.getAvailableSeats() : "?", event.getTotalSeats());
+            }
+        }
+
+        if (bookedTickets != ticketsSold.get()) {
+            System.out.printf("MISMATCH: %d tickets reported sold, %d in the database%n",
+                              ticketsSold.get(), bookedTickets);
+        }
+        System.out.printf("oversell check: %s%n", oversold == 0 ? "passed" : oversold + " events inconsistent");
+    }
+
+    private static double[] zipfWeights(int count, double skew) {
+        double[] weights = new double[count];
+        for (int k = 0; k < count; k++) {
+            weights[k] = 1.0 / Math.pow(k + 1, skew);
+        }
+        return weights;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double total = Arrays.stream(weights).sum();
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i] / total;
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Pick an index from a cumulative distribution
+     */
+    private static int pick(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ticketbooking.benchmark;
+
+import com.ticketbooking.dao.BookingDAO;
+import com.ticketbooking.dao.EventDAO;
+import com.ticketbooking.database.DBConnection;
+import com.ticketbooking.inventory.GroupCommitWriter;
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Compares booking write throughput of {@link BookingDAO#addBooking} with the
+ * {@link GroupCommitWriter} when many callers book seats for the same event.
+ * <p>
+ * Needs the database configured in database.properties. A temporary event is
+ * created for each run and deleted afterwards together with its bookings.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ticketbooking.benchmark.BookingWriteBenchmark -Dexec.args="32 200"
+ * </pre>
+ */
+public class BookingWriteBenchmark {
+
+    /**
+     * @param args number of concurrent callers and bookings per caller
+     */
+    public static void main(String[] args) throws Exception {
+        int callers = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int bookingsPerCaller = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        BookingDAO bookingDAO = new BookingDAO();
+        System.out.printf("%d callers x %d bookings on one event%n", callers, bookingsPerCaller);
+
+        run("addBooking", callers, bookingsPerCaller, bookingDAO::addBooking);
+
+        try (GroupCommitWriter writer = new GroupCommitWriter(bookingDAO::addBookingGroup, 2, 64)) {
+            run("group commit", callers, bookingsPerCaller, writer::write);
+        }
+
+        DBConnection.getInstance().closeConnection();
+    }
+
+    private static void run(String name, int callers, int bookingsPerCaller, Predicate<Booking> write)
+            throws InterruptedException {
+        EventDAO eventDAO = new EventDAO();
+        int seats = callers * bookingsPerCaller;
+        Event event = new Event("Benchmark " + name, "Temporary benchmark event", LocalDate.now().plusYears(1),
+                                LocalTime.NOON, "Benchmark Hall", seats, seats, Money.parse("10.00"));
+        if (!eventDAO.addEvent(event)) {
+            throw new IllegalStateException("Could not create benchmark event");
+        }
+
+        AtomicInteger written = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < callers; c++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < bookingsPerCaller; i++) {
+                    Booking booking = new Booking("Benchmark", "", "", event.getId(),
+                                                  Booking.SEAT_TYPE_STANDARD, 1, event.getBasePrice());
+                    if (write.test(booking)) {
+                        written.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        Event after = eventDAO.getEventById(event.getId());
+        System.out.printf("%-14s %8.0f bookings/sec  (%d written in %.2fs, %d seats left)%n",
+                          name, written.get() / seconds, written.get(), seconds,
+                          after != null ? after.getAvailableSeats() : -1);
+
+        eventDAO.deleteEvent(event.getId());
+    }
+}
@@ -0,0 +1,135 @@
+package com.ticketbooking.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Unit tests for EntityCache class
+ */
+public class EntityCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private EntityCache<Integer, String> cache(long maxWeight, long ttlMillis) {
+        return new EntityCache<>("test", maxWeight, 100, ttlMillis, value -> 1, UnaryOperator.identity(),
+                                 now::get);
+    }
+
+    @Test
+    public void testLoaderRunsOnlyOnMiss() {
+        EntityCache<Integer, String> cache = cache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get(1, key -> { loads.incrementAndGet(); return "v" + key; }));
+        assertEquals("v1", cache.get(1, key -> { loads.incrementAndGet(); return "v" + key; }));
+
+        assertEquals(1, loads.get(), "Second lookup should be served from the cache");
+        CacheStats stats = cache.getStats();
+        assertEquals(1, stats.getHits(), "One hit should be counted");
+        assertEquals(1, stats.getMisses(), "One miss should be counted");
+    }
+
+    @Test
+    public void testNullIsNotCached() {
+        EntityCache<Integer, String> cache = cache(100, 60_000);
+
+        assertNull(cache.get(1, key -> null));
+        assertEquals(0, cache.getStats().getSize(), "Missing entities should not be cached");
+    }
+
+    @Test
+    public void testEntriesExpire() {
+        EntityCache<Integer, String> cache = cache(100, 1_000);
+        cache.put(1, "one");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+        assertEquals("one", cache.getIfPresent(1), "Entry should live until its time to live");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertNull(cache.getIfPresent(1), "Entry should expire after its time to live");
+        assertEquals(1, cache.getStats().getExpirations(), "Expiration should be counted");
+    }
+
+    @Test
+    public void testInvalidateRemovesEntry() {
+        EntityCache<Integer, String> cache = cache(100, 60_000);
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        cache.invalidate(1);
+        assertNull(cache.getIfPresent(1), "Invalidated entry should be gone");
+        assertEquals("two", cache.getIfPresent(2), "Other entries should remain");
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().getSize(), "All entries should be gone");
+    }
+
+    @Test
+    public void testInvalidationDuringLoadIsNotCached() {
+        EntityCache<Integer, String> cache = cache(100, 60_000);
+
+        cache.get(1, key -> {
+            // The entity changes while the old version is being loaded
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertNull(cache.getIfPresent(1), "Value loaded before an invalidation should not be cached");
+    }
+
+    @Test
+    public void testWeightIsBounded() {
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 100, 100, 60_000, String::length,
+                                                               UnaryOperator.identity(), now::get);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, "0123456789");
+        }
+
+        CacheStats stats = cache.getStats();
+        assertTrue(stats.getWeight() <= 100, "Total weight should stay within the maximum");
+        assertEquals(40, stats.getEvictions(), "Entries beyond the maximum weight should be evicted");
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        // The sketch is sized for the scan so hash collisions do not inflate the one-off keys
+        EntityCache<Integer, String> cache = new EntityCache<>("test", 100, 1000, 60_000, value -> 1,
+                                                               UnaryOperator.identity(), now::get);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "hot");
+        }
+        // Make the first ten entries popular
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.getIfPresent(i);
+            }
+        }
+
+        // A scan of one-off lookups should not push them out
+        for (int i = 1000; i < 2000; i++) {
+            cache.get(i, key -> "cold");
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("hot", cache.getIfPresent(i), "Popular entry " + i + " should still be cached");
+        }
+    }
+
+    @Test
+    public void testCallersGetTheirOwnCopy() {
+        EntityCache<Integer, StringBuilder> cache = new EntityCache<>("test", 100, 100, 60_000, value -> 1,
+                                                                      StringBuilder::new, now::get);
+        StringBuilder value = new StringBuilder("cached");
+        cache.put(1, value);
+
+        value.append(" and changed by its owner");
+        cache.getIfPresent(1).append(" and changed by a caller");
+
+        assertEquals("cached", cache.getIfPresent(1).toString(), "Changes outside the cache should not reach it");
+    }
+}
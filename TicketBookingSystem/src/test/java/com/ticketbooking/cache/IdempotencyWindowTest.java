@@ -0,0 +1,120 @@
+package com.ticketbooking.cache;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for IdempotencyWindow class
+ */
+public class IdempotencyWindowTest {
+
+    @Test
+    public void testRetryReturnsTheOriginalResult() {
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(10, 60_000);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals("booking-1", window.execute("key", () -> "booking-" + runs.incrementAndGet()));
+        assertEquals("booking-1", window.execute("key", () -> "booking-" + runs.incrementAndGet()),
+                     "Retry should get the original result");
+        assertEquals(1, runs.get(), "Request should only run once");
+        assertEquals("booking-2", window.execute("other", () -> "booking-" + runs.incrementAndGet()));
+    }
+
+    @Test
+    public void testFailedRequestCanBeRetried() {
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(10, 60_000);
+
+        assertNull(window.execute("key", () -> null));
+        assertThrows(IllegalStateException.class, () -> window.execute("key", () -> {
+            throw new IllegalStateException("Database down");
+        }));
+        assertEquals("booking", window.execute("key", () -> "booking"), "Failed requests should not be kept");
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    public void testConcurrentRetryWaitsForTheOriginal() throws Exception {
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(10, 60_000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> original = executor.submit(() -> window.execute("key", () -> {
+                runs.incrementAndGet();
+                started.countDown();
+                await(finish);
+                return "booking";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> retry = executor.submit(() -> window.execute("key", () -> {
+                runs.incrementAndGet();
+                return "duplicate";
+            }));
+
+            finish.countDown();
+            assertEquals("booking", original.get(5, TimeUnit.SECONDS));
+            assertEquals("booking", retry.get(5, TimeUnit.SECONDS), "Retry should wait for the original");
+            assertEquals(1, runs.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testOldestResultsLeaveTheWindow() {
+        AtomicLong clock = new AtomicLong();
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(2, 1_000, clock::get);
+
+        window.execute("a", () -> "a");
+        window.execute("b", () -> "b");
+        window.execute("c", () -> "c");
+        assertEquals(2, window.size(), "Window should hold at most its size");
+        assertEquals("a2", window.execute("a", () -> "a2"), "Oldest result should have been dropped");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        window.execute("d", () -> "d");
+        assertEquals(1, window.size(), "Results older than the window should be dropped");
+        assertEquals("c2", window.execute("c", () -> "c2"));
+    }
+
+    @Test
+    public void testKeyReusedWithOtherParametersIsRejected() {
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(10, 60_000);
+
+        assertEquals("booking", window.execute("key", "event 1, 2 seats", () -> "booking"));
+        assertNull(window.execute("key", "event 1, 4 seats", () -> "other booking"),
+                   "Key reused for another request should be rejected");
+        assertEquals("booking", window.execute("key", "event 1, 2 seats", () -> "duplicate"),
+                     "Retry with the same parameters should still get the original result");
+    }
+
+    @Test
+    public void testExpiredResultIsNotServed() {
+        AtomicLong clock = new AtomicLong();
+        IdempotencyWindow<String> window = new IdempotencyWindow<>(10, 1_000, clock::get);
+
+        window.execute("key", () -> "booking");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        // Nothing else was recorded since, so only the lookup can notice the expiry
+        assertEquals("rerun", window.execute("key", () -> "rerun"), "Expired result should not be served");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
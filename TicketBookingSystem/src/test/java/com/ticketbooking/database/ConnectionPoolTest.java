@@ -0,0 +1,144 @@
+package com.ticketbooking.database;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for ConnectionPool class
+ */
+public class ConnectionPoolTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicBoolean valid = new AtomicBoolean(true);
+
+    /**
+     * Create a stand-in physical connection that only tracks its closed state
+     */
+    private Connection fakeConnection() {
+        opened.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close": closed.set(true); return null;
+                    case "isClosed": return closed.get();
+                    case "isValid": return valid.get();
+                    case "getAutoCommit": return autoCommit.get();
+                    case "setAutoCommit": autoCommit.set((Boolean) args[0]); return null;
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    default: return null;
+                }
+            });
+    }
+
+    private PoolConfig config(int maxSize) {
+        PoolConfig config = new PoolConfig();
+        config.setMaxSize(maxSize);
+        config.setMinIdle(0);
+        config.setConnectionTimeoutMillis(100);
+        config.setValidationIntervalMillis(0);
+        config.setHousekeepingIntervalMillis(0);
+        return config;
+    }
+
+    @Test
+    public void testClosedConnectionIsReused() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(config(2), this::fakeConnection)) {
+            Connection first = pool.getConnection();
+            first.close();
+            Connection second = pool.getConnection();
+            second.close();
+
+            assertEquals(1, opened.get(), "Returned connection should be reused instead of reopened");
+            assertEquals(1, pool.getMetrics().getIdle(), "Connection should be idle after return");
+            assertEquals(0, pool.getMetrics().getActive(), "No connection should be active after return");
+        }
+    }
+
+    @Test
+    public void testPoolIsBounded() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(config(1), this::fakeConnection)) {
+            Connection held = pool.getConnection();
+
+            assertThrows(SQLTimeoutException.class, pool::getConnection,
+                "Borrowing beyond max size should time out");
+            assertEquals(1, pool.getMetrics().getBorrowTimeouts(), "Timeout should be counted");
+
+            held.close();
+            pool.getConnection().close();
+        }
+    }
+
+    @Test
+    public void testInvalidConnectionIsReplacedOnBorrow() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(config(2), this::fakeConnection)) {
+            pool.getConnection().close();
+            valid.set(false);
+            pool.getConnection().close();
+
+            assertEquals(2, opened.get(), "Invalid idle connection should be replaced");
+            assertEquals(1, pool.getMetrics().getTotalDestroyed(), "Invalid connection should be destroyed");
+        }
+    }
+
+    @Test
+    public void testReturnedHandleCannotBeUsed() throws SQLException {
+        try (ConnectionPool pool = new ConnectionPool(config(1), this::fakeConnection)) {
+            Connection conn = pool.getConnection();
+            conn.close();
+
+            assertTrue(conn.isClosed(), "Handle should report closed after return");
+            assertThrows(SQLException.class, () -> conn.setAutoCommit(false),
+                "Using a returned handle should fail");
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvictedAndLeaksReported() throws Exception {
+        PoolConfig config = config(2);
+        config.setIdleTimeoutMillis(1);
+        config.setLeakDetectionThresholdMillis(1);
+
+        try (ConnectionPool pool = new ConnectionPool(config, this::fakeConnection)) {
+            Connection leaked = pool.getConnection();
+            pool.getConnection().close();
+            Thread.sleep(5);
+            pool.housekeep();
+
+            PoolMetrics metrics = pool.getMetrics();
+            assertEquals(0, metrics.getIdle(), "Idle connection past timeout should be evicted");
+            assertEquals(1, metrics.getLeaksDetected(), "Long-held connection should be reported");
+            leaked.close();
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreToppedUpToMinIdle() throws SQLException {
+        PoolConfig config = config(3);
+        config.setMinIdle(2);
+
+        try (ConnectionPool pool = new ConnectionPool(config, this::fakeConnection)) {
+            Connection held = pool.getConnection();
+            pool.housekeep();
+
+            PoolMetrics metrics = pool.getMetrics();
+            assertEquals(2, metrics.getIdle(), "Idle connections should be opened up to minIdle");
+            assertEquals(3, metrics.getTotal(), "Borrowed connections should not count as idle");
+
+            held.close();
+            pool.housekeep();
+            assertEquals(3, pool.getMetrics().getTotal(), "Pool should not grow beyond max size");
+        }
+    }
+}
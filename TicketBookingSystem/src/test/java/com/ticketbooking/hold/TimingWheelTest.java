@@ -0,0 +1,87 @@
+package com.ticketbooking.hold;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for TimingWheel class
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void testItemExpiresAtItsDeadlineAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+        wheel.schedule("hold", 250);
+
+        assertTrue(wheel.advance(200).isEmpty(), "Item should not expire before its deadline");
+        assertEquals(List.of("hold"), wheel.advance(300), "Item should expire on the tick after its deadline");
+        assertEquals(0, wheel.size(), "Expired item should be removed");
+        assertTrue(wheel.advance(1_000).isEmpty(), "Item should only expire once");
+    }
+
+    @Test
+    public void testCancelledItemDoesNotExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 0);
+        TimingWheel<String>.Timeout first = wheel.schedule("first", 200);
+        wheel.schedule("second", 200);
+
+        assertTrue(first.cancel(), "Scheduled item should be cancelled");
+        assertFalse(first.cancel(), "Item should only be cancelled once");
+        assertEquals(List.of("second"), wheel.advance(200), "Only the remaining item should expire");
+    }
+
+    @Test
+    public void testItemsMoreThanOneTurnAwayWaitForTheirTurn() {
+        TimingWheel<String> wheel = new TimingWheel<>(4, 100, 0);
+        wheel.schedule("near", 100);
+        // Same slot as the near item, three turns later
+        wheel.schedule("far", 1_300);
+
+        assertEquals(List.of("near"), wheel.advance(100));
+        for (long now = 200; now < 1_300; now += 100) {
+            assertTrue(wheel.advance(now).isEmpty(), "Far item should not expire at " + now);
+        }
+        assertEquals(List.of("far"), wheel.advance(1_300));
+    }
+
+    @Test
+    public void testLongPauseExpiresEverythingDue() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(16, 10, 0);
+        for (int i = 0; i < 1_000; i++) {
+            wheel.schedule(i, i * 7L);
+        }
+
+        // Jumps far more than one turn of the wheel
+        Set<Integer> expired = new HashSet<>(wheel.advance(3_500));
+
+        assertEquals(501, expired.size(), "Every item due by the current time should expire");
+        for (int i = 0; i <= 500; i++) {
+            assertTrue(expired.contains(i), "Item " + i + " should have expired");
+        }
+        assertEquals(499, wheel.size(), "Items not yet due should stay scheduled");
+    }
+
+    @Test
+    public void testPastDeadlineExpiresOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, 100, 1_000);
+        wheel.advance(1_500);
+        wheel.schedule("late", 1_200);
+
+        assertTrue(wheel.advance(1_550).isEmpty(), "Tick in progress should not be revisited");
+        assertEquals(List.of("late"), wheel.advance(1_600));
+    }
+
+    @Test
+    public void testSlotCountIsRoundedUpToPowerOfTwo() {
+        TimingWheel<String> wheel = new TimingWheel<>(5, 100, 0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 900);
+
+        assertEquals(List.of("a"), wheel.advance(100));
+        assertEquals(List.of("b"), wheel.advance(900));
+    }
+}
@@ -0,0 +1,125 @@
+package com.ticketbooking.inventory;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Money;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for GroupCommitWriter class
+ */
+public class GroupCommitWriterTest {
+
+    private Booking booking(int quantity) {
+        return new Booking("Customer", "customer@example.com", "", 1,
+                           Booking.SEAT_TYPE_STANDARD, quantity, Money.parse("10.00"));
+    }
+
+    @Test
+    public void testConcurrentBookingsShareAGroup() {
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        GroupCommitWriter.GroupStore store = bookings -> {
+            groupSizes.add(bookings.size());
+            boolean[] accepted = new boolean[bookings.size()];
+            Arrays.fill(accepted, true);
+            return accepted;
+        };
+
+        try (GroupCommitWriter writer = new GroupCommitWriter(store, 200, 10)) {
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(writer.submit(booking(1)));
+            }
+
+            for (CompletableFuture<Boolean> result : results) {
+                assertTrue(result.join(), "Every booking should be accepted");
+            }
+            assertEquals(List.of(5), groupSizes, "Bookings within the window should be written together");
+        }
+    }
+
+    @Test
+    public void testEachCallerGetsItsOwnResult() {
+        // Reject every booking for more than two seats
+        GroupCommitWriter.GroupStore store = bookings -> {
+            boolean[] accepted = new boolean[bookings.size()];
+            for (int i = 0; i < bookings.size(); i++) {
+                accepted[i] = bookings.get(i).getQuantity() <= 2;
+            }
+            return accepted;
+        };
+
+        try (GroupCommitWriter writer = new GroupCommitWriter(store, 50, 10)) {
+            CompletableFuture<Boolean> small = writer.submit(booking(1));
+            CompletableFuture<Boolean> large = writer.submit(booking(3));
+
+            assertTrue(small.join(), "Booking that fits should be accepted");
+            assertFalse(large.join(), "Booking that does not fit should be rejected");
+        }
+    }
+
+    @Test
+    public void testFailedTransactionRejectsWholeGroup() {
+        try (GroupCommitWriter writer = new GroupCommitWriter(bookings -> null, 0, 10)) {
+            assertFalse(writer.write(booking(1)), "Booking in a failed group should be rejected");
+        }
+    }
+
+    @Test
+    public void testGroupSizeIsBounded() {
+        List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+        GroupCommitWriter.GroupStore store = bookings -> {
+            groupSizes.add(bookings.size());
+            return new boolean[bookings.size()];
+        };
+
+        try (GroupCommitWriter writer = new GroupCommitWriter(store, 100, 3)) {
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                results.add(writer.submit(booking(1)));
+            }
+            results.forEach(CompletableFuture::join);
+        }
+
+        assertEquals(7, groupSizes.stream().mapToInt(Integer::intValue).sum(), "Every booking should be written");
+        assertTrue(groupSizes.stream().allMatch(size -> size <= 3), "No group should exceed the maximum size");
+    }
+
+    @Test
+    public void testBookingsSubmittedDuringCloseAreCompleted() throws Exception {
+        GroupCommitWriter.GroupStore store = bookings -> new boolean[bookings.size()];
+        GroupCommitWriter writer = new GroupCommitWriter(store, 0, 10);
+
+        List<CompletableFuture<Boolean>> results = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                for (int j = 0; j < 2_000; j++) {
+                    results.add(writer.submit(booking(1)));
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+
+        started.await();
+        writer.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        for (CompletableFuture<Boolean> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS), "Every submitted booking should be completed");
+        }
+    }
+}
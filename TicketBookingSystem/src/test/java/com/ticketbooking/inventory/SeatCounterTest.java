@@ -0,0 +1,94 @@
+package com.ticketbooking.inventory;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for SeatCounter class
+ */
+public class SeatCounterTest {
+
+    @Test
+    public void testSeatsAreSpreadOverStripes() {
+        SeatCounter counter = new SeatCounter(10, 3);
+
+        assertEquals(10, counter.getAvailable(), "All seats should be available");
+    }
+
+    @Test
+    public void testReservationTakesFromOtherStripes() {
+        SeatCounter counter = new SeatCounter(9, 3);
+
+        assertTrue(counter.tryReserve(0, 7), "Reservation larger than one stripe should succeed");
+        assertEquals(2, counter.getAvailable(), "Reserved seats should be removed");
+    }
+
+    @Test
+    public void testReservationFailsWhenNotEnoughSeats() {
+        SeatCounter counter = new SeatCounter(5, 3);
+
+        assertFalse(counter.tryReserve(1, 6), "Reservation beyond available seats should fail");
+        assertEquals(5, counter.getAvailable(), "Failed reservation should not take any seats");
+    }
+
+    @Test
+    public void testAddedSeatsCanBeReservedAndDrained() {
+        SeatCounter counter = new SeatCounter(0, 3);
+        assertFalse(counter.tryReserve(0, 1), "Empty counter should have no seats");
+
+        counter.add(7);
+        assertEquals(7, counter.getAvailable(), "Added seats should be available");
+        assertTrue(counter.tryReserve(1, 3));
+
+        assertEquals(4, counter.drain(), "Drain should take the remaining seats");
+        assertEquals(0, counter.getAvailable());
+        assertFalse(counter.tryReserve(0, 1), "Drained counter should have no seats");
+    }
+
+    @Test
+    public void testReleaseReturnsSeats() {
+        SeatCounter counter = new SeatCounter(3, 3);
+        assertTrue(counter.tryReserve(2, 3));
+
+        counter.release(2, 2);
+
+        assertEquals(2, counter.getAvailable(), "Released seats should be available again");
+        assertTrue(counter.tryReserve(0, 2), "Released seats should be reservable from any stripe");
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws InterruptedException {
+        SeatCounter counter = new SeatCounter(1000, 3);
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int stripe = t;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (counter.tryReserve(stripe, 1 + i % 3)) {
+                        reserved.addAndGet(1 + i % 3);
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1000, reserved.get() + counter.getAvailable(), "Reserved and available seats should add up");
+        assertTrue(counter.getAvailable() >= 0, "Available seats should never be negative");
+    }
+}
@@ -3,7 +3,6 @@ package com.ticketbooking.model;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -85,7 +84,7 @@ public class EventTest {
         String venue = "Test Venue";
         int totalSeats = 100;
         int availableSeats = 100;
-        BigDecimal basePrice = new BigDecimal("50.00");
+        Money basePrice = Money.parse("50.00");
         
         Event event = new Event(name, description, date, time, venue, totalSeats, availableSeats, basePrice);
         
@@ -96,17 +95,17 @@ public class EventTest {
         assertEquals(venue, event.getVenue(), "Event venue should match constructor parameter");
         assertEquals(totalSeats, event.getTotalSeats(), "Event total seats should match constructor parameter");
         assertEquals(availableSeats, event.getAvailableSeats(), "Event available seats should match constructor parameter");
-        assertEquals(0, basePrice.compareTo(event.getBasePrice()), "Event base price should match constructor parameter");
+        assertEquals(basePrice, event.getBasePrice(), "Event base price should match constructor parameter");
     }
     
     @Test
     public void testEventEqualsAndHashCode() {
         Event event1 = new Event(1, "Test Event", "Description", LocalDate.now(), LocalTime.now(),
-                                "Venue", 100, 100, new BigDecimal("50.00"));
+                                "Venue", 100, 100, Money.parse("50.00"));
         Event event2 = new Event(1, "Test Event", "Description", LocalDate.now(), LocalTime.now(),
-                                "Venue", 100, 100, new BigDecimal("50.00"));
+                                "Venue", 100, 100, Money.parse("50.00"));
         Event event3 = new Event(2, "Different Event", "Description", LocalDate.now(), LocalTime.now(),
-                                "Venue", 100, 100, new BigDecimal("50.00"));
+                                "Venue", 100, 100, Money.parse("50.00"));
         
         assertEquals(event1, event2, "Events with same properties should be equal");
         assertNotEquals(event1, event3, "Events with different IDs should not be equal");
@@ -0,0 +1,51 @@
+package com.ticketbooking.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Unit tests for Money class
+ */
+public class MoneyTest {
+
+    @Test
+    public void testConvertsToAndFromDecimal() {
+        Money price = Money.of(new BigDecimal("49.99"));
+
+        assertEquals(4999, price.getCents());
+        assertEquals(new BigDecimal("49.99"), price.toBigDecimal());
+        assertEquals(Money.ofCents(5000), Money.of(new BigDecimal("49.995")), "Should round half up to cents");
+        assertEquals(Money.ofCents(1200), Money.of(new BigDecimal("12")));
+    }
+
+    @Test
+    public void testParseRejectsFractionsOfCents() {
+        assertEquals(Money.ofCents(2550), Money.parse(" 25.5 "));
+        assertEquals(Money.ofCents(2550), Money.parse("25.5000"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("25.555"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("abc"));
+    }
+
+    @Test
+    public void testArithmetic() {
+        Money price = Money.ofCents(1999);
+
+        assertEquals(Money.ofCents(5997), price.times(3));
+        assertEquals(Money.ofCents(2999), price.plus(Money.ofCents(1000)));
+        assertEquals(Money.ofCents(-1), price.minus(Money.ofCents(2000)));
+        assertTrue(price.compareTo(Money.ofCents(2000)) < 0);
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+        assertThrows(IllegalArgumentException.class, () -> price.plus(Money.ofCents(1999, "EUR")));
+    }
+
+    @Test
+    public void testFormat() {
+        assertEquals("49.99", Money.ofCents(4999).toString());
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertEquals("-1.50", Money.ofCents(-150).toString());
+        assertEquals("$1234.00", Money.ofCents(123400).format());
+        assertEquals("$0.00", Money.ZERO.format());
+    }
+}
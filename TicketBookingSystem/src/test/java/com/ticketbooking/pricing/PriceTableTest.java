@@ -0,0 +1,85 @@
+package com.ticketbooking.pricing;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import com.ticketbooking.model.PricingRule;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for PriceTable class
+ */
+public class PriceTableTest {
+
+    private static final LocalDate EVENT_DATE = LocalDate.of(2030, 6, 1);
+
+    private Event createEvent() {
+        return new Event(1, "Concert", "Description", EVENT_DATE, LocalTime.of(20, 0),
+                         "Arena", 100, 100, Money.parse("50.00"));
+    }
+
+    @Test
+    public void testWithoutRulesMatchesBookingPrice() {
+        PriceTable table = PriceTable.compile(createEvent(), List.of());
+        LocalDate today = EVENT_DATE.minusDays(3);
+
+        for (String seatType : new String[] {Booking.SEAT_TYPE_STANDARD, Booking.SEAT_TYPE_VIP,
+                                             Booking.SEAT_TYPE_PREMIUM, null, "Invalid"}) {
+            for (int quantity = 1; quantity <= PriceTable.MAX_TABULATED_QUANTITY + 2; quantity++) {
+                BigDecimal expected = Booking.calculateTotalPrice(new BigDecimal("50.00"), seatType, quantity);
+                assertEquals(Money.of(expected), table.quote(seatType, quantity, today, 100),
+                             "Price of " + quantity + " " + seatType + " seats should match");
+            }
+        }
+    }
+
+    @Test
+    public void testRulesCombine() {
+        List<PricingRule> rules = Arrays.asList(
+            PricingRule.seatType(Booking.SEAT_TYPE_VIP, new BigDecimal("2.0")),
+            PricingRule.earlyBird(30, new BigDecimal("0.80")),
+            PricingRule.earlyBird(7, new BigDecimal("0.90")),
+            PricingRule.demand(50, new BigDecimal("1.20")),
+            PricingRule.quantity(4, new BigDecimal("0.95")));
+        PriceTable table = PriceTable.compile(createEvent(), rules);
+
+        // No rule applies the day before the event with most seats left
+        assertEquals(Money.parse("100.00"), table.quote(Booking.SEAT_TYPE_VIP, 1, EVENT_DATE.minusDays(1), 90));
+        // Only the longest early-bird window reached applies
+        assertEquals(Money.parse("40.00"), table.quote(Booking.SEAT_TYPE_STANDARD, 1, EVENT_DATE.minusDays(60), 90));
+        assertEquals(Money.parse("45.00"), table.quote(Booking.SEAT_TYPE_STANDARD, 1, EVENT_DATE.minusDays(7), 90));
+        // Half the seats sold raises the price
+        assertEquals(Money.parse("60.00"), table.quote(Booking.SEAT_TYPE_STANDARD, 1, EVENT_DATE, 50));
+        // 50 * 0.9 * 1.2 * 4 * 0.95
+        assertEquals(Money.parse("205.20"), table.quote(Booking.SEAT_TYPE_STANDARD, 4, EVENT_DATE.minusDays(10), 40));
+    }
+
+    @Test
+    public void testLargeQuantityComputedLikeTabulated() {
+        List<PricingRule> rules = Arrays.asList(PricingRule.quantity(10, new BigDecimal("0.90")));
+        PriceTable table = PriceTable.compile(createEvent(), rules);
+
+        assertEquals(Money.parse("450.00"), table.quote(Booking.SEAT_TYPE_STANDARD, 10, EVENT_DATE, 100));
+        assertEquals(Money.parse("1125.00"), table.quote(Booking.SEAT_TYPE_STANDARD, 25, EVENT_DATE, 100));
+    }
+
+    @Test
+    public void testIsForEvent() {
+        Event event = createEvent();
+        PriceTable table = PriceTable.compile(event, List.of());
+        assertTrue(table.isFor(event));
+
+        event.setAvailableSeats(10);
+        assertTrue(table.isFor(event), "Sold seats should not need a new table");
+
+        event.setBasePrice(Money.parse("55.00"));
+        assertFalse(table.isFor(event), "Changed base price should need a new table");
+    }
+}
@@ -0,0 +1,122 @@
+package com.ticketbooking.search;
+
+import com.ticketbooking.model.Event;
+import com.ticketbooking.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for EventSearchIndex class
+ */
+public class EventSearchIndexTest {
+
+    private EventSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new EventSearchIndex();
+        index.rebuild(Arrays.asList(
+            event(1, "Summer Music Festival", "Annual music festival featuring top artists", "Central Park", 10),
+            event(2, "Comedy Night", null, "Laugh Factory", 5),
+            event(3, "Tech Conference", "Conference for software developers", "Convention Center", 20),
+            event(4, "Jazz Evening", "An evening of live music", "Central Hall", 15)));
+    }
+
+    private static Event event(int id, String name, String description, String venue, int daysAhead) {
+        Event event = new Event(name, description, LocalDate.now().plusDays(daysAhead), LocalTime.of(19, 0),
+                                venue, 100, 100, Money.parse("25.00"));
+        event.setId(id);
+        return event;
+    }
+
+    private static int[] ids(List<Event> events) {
+        return events.stream().mapToInt(Event::getId).toArray();
+    }
+
+    @Test
+    public void testSearchIsCaseInsensitive() {
+        assertArrayEquals(new int[]{2}, ids(index.search("COMEDY", 10)));
+    }
+
+    @Test
+    public void testEventWithoutDescriptionIsSearchable() {
+        assertArrayEquals(new int[]{2}, ids(index.search("laugh", 10)), "Null description should not break indexing");
+    }
+
+    @Test
+    public void testAllTermsMustMatch() {
+        assertArrayEquals(new int[]{1}, ids(index.search("central music festival", 10)));
+        assertEquals(0, index.search("central comedy", 10).size(), "Events missing a term should not match");
+        assertEquals(0, index.search("opera", 10).size(), "Unknown terms should not match");
+    }
+
+    @Test
+    public void testNameMatchesRankFirst() {
+        // "music" is in the name of event 1 but only in the description of event 4
+        assertArrayEquals(new int[]{1, 4}, ids(index.search("music", 10)));
+    }
+
+    @Test
+    public void testEqualRanksOrderedByDate() {
+        // Both venues contain "central" once
+        assertArrayEquals(new int[]{1, 4}, ids(index.search("central", 10)));
+    }
+
+    @Test
+    public void testLimitKeepsBestMatches() {
+        assertArrayEquals(new int[]{1}, ids(index.search("music", 1)));
+    }
+
+    @Test
+    public void testPutAndRemoveUpdateIndex() {
+        Event renamed = event(2, "Improv Night", null, "Laugh Factory", 5);
+        index.put(renamed);
+        assertEquals(0, index.search("comedy", 10).size(), "Old terms should be removed");
+        assertArrayEquals(new int[]{2}, ids(index.search("improv", 10)));
+
+        index.remove(2);
+        assertEquals(0, index.search("improv", 10).size(), "Removed event should not match");
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testChangedEventKeepsItsSlot() {
+        // Event 1 has the first slot, so its new terms go before event 4 in the posting lists
+        for (int i = 0; i < 3; i++) {
+            index.put(event(1, "Live Music Festival", null, "Central Park", 10));
+        }
+        assertEquals(4, index.size());
+        assertArrayEquals(new int[]{1, 4}, ids(index.search("live music", 10)));
+        assertArrayEquals(new int[]{1, 4}, ids(index.search("central music", 10)));
+        assertEquals(0, index.search("summer", 10).size(), "Old terms should be removed");
+    }
+
+    @Test
+    public void testPrefixMatchesLastWord() {
+        assertArrayEquals(new int[]{1}, ids(index.searchPrefix("summer fest", 10)));
+        assertArrayEquals(new int[]{1, 4, 3}, ids(index.searchPrefix("cen", 10)),
+                          "Prefix should match both central and center");
+        assertEquals(0, index.search("fest", 10).size(), "Full search should not match prefixes");
+    }
+
+    @Test
+    public void testTrailingSpaceCompletesWord() {
+        assertEquals(0, index.searchPrefix("fest ", 10).size(), "A finished word should match exactly");
+    }
+
+    @Test
+    public void testIndexWithoutDescriptions() {
+        EventSearchIndex namesOnly = new EventSearchIndex(false);
+        namesOnly.rebuild(Arrays.asList(
+            event(1, "Summer Music Festival", "Annual music festival featuring top artists", "Central Park", 10),
+            event(4, "Jazz Evening", "An evening of live music", "Central Hall", 15)));
+
+        assertArrayEquals(new int[]{1}, ids(namesOnly.searchPrefix("mus", 10)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.ticketbooking.seating;
+
+import com.ticketbooking.model.Booking;
+import com.ticketbooking.model.SeatAssignment;
+import com.ticketbooking.model.SeatLayout;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+/**
+ * Unit tests for SeatMap class
+ */
+public class SeatMapTest {
+
+    private static SeatLayout layout(String... rows) {
+        SeatLayout layout = new SeatLayout("Test Hall");
+        for (int i = 0; i < rows.length; i++) {
+            layout.addRow("A", String.valueOf(i + 1), rows[i]);
+        }
+        return layout;
+    }
+
+    @Test
+    public void testAllocatesCentredSeatsInFrontRow() {
+        SeatMap seatMap = new SeatMap(layout("SSSSSSSSSS", "SSSSSSSSSS"));
+
+        SeatAssignment seats = seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 4);
+
+        assertEquals(new SeatAssignment(0, 3, 4), seats, "Seats should be in the middle of the front row");
+        assertEquals(16, seatMap.getAvailableSeats(Booking.SEAT_TYPE_STANDARD), "Allocated seats should be taken");
+    }
+
+    @Test
+    public void testAllocatesOnlySeatsOfRequestedType() {
+        SeatMap seatMap = new SeatMap(layout("SSVVVVSS"));
+
+        assertEquals(new SeatAssignment(0, 2, 4), seatMap.allocate(Booking.SEAT_TYPE_VIP, 4));
+        assertNull(seatMap.allocate(Booking.SEAT_TYPE_VIP, 1), "No VIP seats should be left");
+        assertNull(seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 3),
+                   "Standard seats on either side of the VIP seats are not contiguous");
+        assertNull(seatMap.allocate(Booking.SEAT_TYPE_PREMIUM, 1), "Row has no premium seats");
+    }
+
+    @Test
+    public void testMovesBackWhenFrontRowHasNoBlockLargeEnough() {
+        SeatMap seatMap = new SeatMap(layout("SSSSSS", "SSSSSS"));
+        BitSet taken = new BitSet();
+        taken.set(2);
+        seatMap.markOccupied(0, taken);
+
+        assertEquals(new SeatAssignment(0, 3, 3), seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 3),
+                     "Block right of the taken seat should fit");
+        assertEquals(new SeatAssignment(1, 1, 4), seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 4),
+                     "Front row is too fragmented for four seats");
+    }
+
+    @Test
+    public void testReleasedSeatsCanBeAllocatedAgain() {
+        SeatMap seatMap = new SeatMap(layout("SSSS"));
+        SeatAssignment seats = seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 4);
+
+        assertNull(seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 1), "Row should be full");
+        seatMap.release(seats);
+        assertEquals(seats, seatMap.allocate(Booking.SEAT_TYPE_STANDARD, 4), "Released seats should be free");
+    }
+
+    @Test
+    public void testFindBlockPrefersBlockClosestToIdealSeat() {
+        BitSet free = new BitSet();
+        free.set(0, 3);
+        free.set(10, 13);
+        free.set(18, 20);
+
+        assertEquals(10, SeatMap.findBlock(free, 3, 9));
+        assertEquals(2, SeatMap.findBlock(free, 1, 2));
+        assertEquals(18, SeatMap.findBlock(free, 2, 19));
+        assertEquals(-1, SeatMap.findBlock(free, 4, 9));
+    }
+
+    @Test
+    public void testBitStringRoundTrip() {
+        BitSet seats = new BitSet();
+        seats.set(1);
+        seats.set(4, 6);
+
+        String bits = SeatMap.toBitString(seats, 8);
+
+        assertEquals("01001100", bits);
+        assertEquals(seats, SeatMap.fromBitString(bits));
+    }
+}
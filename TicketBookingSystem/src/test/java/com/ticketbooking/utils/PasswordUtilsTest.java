@@ -0,0 +1,58 @@
+package com.ticketbooking.utils;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Base64;
+
+/**
+ * Unit tests for PasswordUtils class
+ */
+public class PasswordUtilsTest {
+
+    @Test
+    public void testHashAndVerify() {
+        String hash = PasswordUtils.hashPassword("secret123");
+
+        assertNotNull(hash, "Hash should be created");
+        assertTrue(hash.startsWith(Pbkdf2PasswordHasher.ID + ":"), "Hash should name its algorithm");
+        assertTrue(PasswordUtils.verifyPassword("secret123", hash), "Correct password should verify");
+        assertFalse(PasswordUtils.verifyPassword("secret124", hash), "Wrong password should not verify");
+        assertFalse(PasswordUtils.needsRehash(hash), "Fresh hash should not need rehashing");
+    }
+
+    @Test
+    public void testSamePasswordGetsDifferentSalts() {
+        assertNotEquals(PasswordUtils.hashPassword("secret123"), PasswordUtils.hashPassword("secret123"),
+            "Each hash should use a new salt");
+    }
+
+    @Test
+    public void testLegacyHashVerifiesAndNeedsRehash() {
+        byte[] salt = new byte[16];
+        byte[] hash = new LegacySha256PasswordHasher().derive("secret123".toCharArray(), salt, 10000);
+        String legacy = "10000:" + Base64.getEncoder().encodeToString(salt) + ":" +
+                        Base64.getEncoder().encodeToString(hash);
+
+        assertTrue(PasswordUtils.verifyPassword("secret123", legacy), "Legacy hash should still verify");
+        assertFalse(PasswordUtils.verifyPassword("wrong", legacy), "Wrong password should not verify");
+        assertTrue(PasswordUtils.needsRehash(legacy), "Legacy hash should be replaced");
+    }
+
+    @Test
+    public void testWeakOrUnknownHashesNeedRehash() {
+        String weak = Pbkdf2PasswordHasher.ID + ":1000:AAAAAAAAAAAAAAAAAAAAAA==:AAAA";
+
+        assertTrue(PasswordUtils.needsRehash(weak), "Hash below the current iteration count should be replaced");
+        assertTrue(PasswordUtils.needsRehash("plaintext"), "Plain text password should be replaced");
+        assertFalse(PasswordUtils.verifyPassword("x", "unknown:1:AA==:AA=="), "Unknown algorithm should not verify");
+    }
+
+    @Test
+    public void testCalibrationStaysWithinBounds() {
+        int iterations = PasswordUtils.calibrate(new Pbkdf2PasswordHasher(), 1);
+
+        assertTrue(iterations >= PasswordUtils.MIN_ITERATIONS, "Iterations should not drop below the minimum");
+        assertTrue(iterations <= PasswordUtils.MAX_ITERATIONS, "Iterations should not exceed the maximum");
+    }
+}
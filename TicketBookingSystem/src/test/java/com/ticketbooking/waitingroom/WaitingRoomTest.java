@@ -0,0 +1,93 @@
+package com.ticketbooking.waitingroom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for WaitingRoom and TokenBucket classes
+ */
+public class WaitingRoomTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(SECOND);
+
+    private WaitingRoom createWaitingRoom(double admitPerSecond, int burst) {
+        WaitingRoomConfig config = new WaitingRoomConfig();
+        config.setEnabled(true);
+        config.setAdmitPerSecond(admitPerSecond);
+        config.setBurst(burst);
+        config.setPassSeconds(60);
+        config.setAbandonSeconds(10);
+        return new WaitingRoom(config, clock::get);
+    }
+
+    @Test
+    public void testTokenBucketRefillsAtItsRate() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+        assertFalse(bucket.tryTake(0), "Bucket should be empty after its burst");
+        assertEquals(SECOND / 2, bucket.nanosUntilToken(0), "Next token should arrive after half a second");
+        assertTrue(bucket.tryTake(SECOND / 2));
+        assertTrue(bucket.tryTake(10 * SECOND));
+        assertTrue(bucket.tryTake(10 * SECOND));
+        assertFalse(bucket.tryTake(10 * SECOND), "Bucket should not fill beyond its capacity");
+    }
+
+    @Test
+    public void testCustomersAreAdmittedInOrderAtTheAdmissionRate() {
+        WaitingRoom room = createWaitingRoom(1, 1);
+        QueueTicket first = room.join(1);
+        QueueTicket second = room.join(1);
+        QueueTicket third = room.join(1);
+
+        assertTrue(room.getStatus(first).isAdmitted(), "First customer should use the burst");
+        QueueStatus status = room.getStatus(third);
+        assertEquals(2, status.getPosition());
+        assertEquals(2, status.getEtaSeconds(), "Third customer should wait two seconds");
+
+        clock.addAndGet(SECOND);
+        assertFalse(room.getStatus(third).isAdmitted(), "Third customer should not overtake the second");
+        assertTrue(room.getStatus(second).isAdmitted());
+        assertEquals(1, room.getStatus(third).getPosition());
+    }
+
+    @Test
+    public void testCustomersWhoLeaveOrStopCheckingAreSkipped() {
+        WaitingRoom room = createWaitingRoom(1, 1);
+        room.join(1);
+        QueueTicket leaving = room.join(1);
+        QueueTicket abandoning = room.join(1);
+        clock.addAndGet(5 * SECOND);
+        QueueTicket waiting = room.join(1);
+        room.leave(leaving);
+
+        // The abandoning customer has not checked for eleven seconds when their turn comes
+        clock.addAndGet(6 * SECOND);
+        assertTrue(room.getStatus(waiting).isAdmitted(), "Customers ahead who left should be skipped");
+        QueueStatus status = room.getStatus(abandoning);
+        assertFalse(status.isAdmitted());
+        assertEquals(0, status.getPosition(), "Abandoning customer should have lost their place");
+    }
+
+    @Test
+    public void testPassIsOnlyValidForItsEventUntilUsedOrExpired() {
+        WaitingRoom room = createWaitingRoom(10, 10);
+        AdmissionPass used = room.getStatus(room.join(1)).getPass();
+        AdmissionPass expiring = room.getStatus(room.join(1)).getPass();
+
+        assertTrue(room.isAdmitted(1, used));
+        assertFalse(room.isAdmitted(2, used), "Pass should only admit to its own event");
+        assertFalse(room.isAdmitted(1, null), "Customers without a pass should not be admitted");
+
+        room.complete(used);
+        assertFalse(room.isAdmitted(1, used), "Pass should only be used once");
+
+        clock.addAndGet(60 * SECOND);
+        assertFalse(room.isAdmitted(1, expiring), "Pass should expire");
+    }
+}
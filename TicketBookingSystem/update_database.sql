@@ -47,3 +47,186 @@ CREATE TABLE IF NOT EXISTS payment_transactions (
 -- Create indexes for new tables
 CREATE INDEX IF NOT EXISTS idx_user_activity_user ON user_activity(user_id);
 CREATE INDEX IF NOT EXISTS idx_payment_booking ON payment_transactions(booking_id);
+
+-- Indexes matching the keyset pagination order of the admin tables
+CREATE INDEX IF NOT EXISTS idx_events_date_time_id ON events(date, time, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_time_id ON bookings(booking_time DESC, id DESC);
+
+-- Full-text search vector of event name, venue and description
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(venue, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_events_search ON events USING GIN (search_vector);
+
+-- Seats of popular events split over several counter rows
+ALTER TABLE events ADD COLUMN IF NOT EXISTS seat_stripes INTEGER NOT NULL DEFAULT 1;
+CREATE TABLE IF NOT EXISTS event_seat_stripes (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL,
+    available_seats INTEGER NOT NULL,
+    PRIMARY KEY (event_id, stripe),
+    CONSTRAINT check_stripe_seats CHECK (available_seats >= 0)
+);
+CREATE OR REPLACE VIEW event_inventory AS
+SELECT e.id, e.name, e.description, e.date, e.time, e.venue, e.total_seats,
+       CASE WHEN e.seat_stripes > 1
+            THEN (SELECT COALESCE(SUM(s.available_seats), 0)::INTEGER
+                  FROM event_seat_stripes s WHERE s.event_id = e.id)
+            ELSE e.available_seats
+       END AS available_seats,
+       e.base_price, e.seat_stripes, e.created_at, e.search_vector
+FROM events e;
+
+-- Time-limited seat holds
+CREATE TABLE IF NOT EXISTS seat_holds (
+    id BIGSERIAL PRIMARY KEY,
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    stripe INTEGER NOT NULL DEFAULT 0,
+    seat_type VARCHAR(20) NOT NULL,
+    quantity INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT check_hold_quantity CHECK (quantity > 0)
+);
+
+-- Reserved seating: venue seat layouts, per-event seat occupancy and assigned seats
+CREATE TABLE IF NOT EXISTS seat_layouts (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE TABLE IF NOT EXISTS seat_layout_rows (
+    layout_id INTEGER NOT NULL REFERENCES seat_layouts(id) ON DELETE CASCADE,
+    row_index INTEGER NOT NULL,
+    section VARCHAR(50) NOT NULL,
+    row_label VARCHAR(20) NOT NULL,
+    seat_types VARCHAR(1000) NOT NULL,
+    PRIMARY KEY (layout_id, row_index),
+    CONSTRAINT check_seat_types CHECK (seat_types ~ '^[SVP]+$')
+);
+ALTER TABLE events ADD COLUMN IF NOT EXISTS layout_id INTEGER REFERENCES seat_layouts(id);
+ALTER TABLE events DROP CONSTRAINT IF EXISTS check_layout_stripes;
+ALTER TABLE events ADD CONSTRAINT check_layout_stripes CHECK (layout_id IS NULL OR seat_stripes = 1);
+CREATE OR REPLACE VIEW event_inventory AS
+SELECT e.id, e.name, e.description, e.date, e.time, e.venue, e.total_seats,
+       CASE WHEN e.seat_stripes > 1
+            THEN (SELECT COALESCE(SUM(s.available_seats), 0)::INTEGER
+                  FROM event_seat_stripes s WHERE s.event_id = e.id)
+            ELSE e.available_seats
+       END AS available_seats,
+       e.base_price, e.seat_stripes, e.created_at, e.search_vector, e.layout_id
+FROM events e;
+CREATE TABLE IF NOT EXISTS event_seat_occupancy (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    row_index INTEGER NOT NULL,
+    occupied BIT VARYING NOT NULL,
+    PRIMARY KEY (event_id, row_index)
+);
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS seat_row INTEGER;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS seat_start INTEGER;
+
+-- Idempotency keys of booking requests, so a retried request finds its original booking
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(64);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_bookings_idempotency_key ON bookings(idempotency_key);
+
+-- Seat blocks leased by application nodes, counted as available in event_inventory
+CREATE TABLE IF NOT EXISTS seat_leases (
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    node_id VARCHAR(64) NOT NULL,
+    seats INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (event_id, node_id),
+    CONSTRAINT check_lease_seats CHECK (seats >= 0)
+);
+CREATE INDEX IF NOT EXISTS idx_seat_leases_expires ON seat_leases(expires_at);
+CREATE OR REPLACE VIEW event_inventory AS
+SELECT e.id, e.name, e.description, e.date, e.time, e.venue, e.total_seats,
+       CASE WHEN e.seat_stripes > 1
+            THEN (SELECT COALESCE(SUM(s.available_seats), 0)::INTEGER
+                  FROM event_seat_stripes s WHERE s.event_id = e.id)
+            ELSE e.available_seats + (SELECT COALESCE(SUM(l.seats), 0)::INTEGER
+                                      FROM seat_leases l WHERE l.event_id = e.id)
+       END AS available_seats,
+       e.base_price, e.seat_stripes, e.created_at, e.search_vector, e.layout_id
+FROM events e;
+-- Rules adjusting the ticket prices of an event, compiled into its price table.
+-- The meaning of threshold depends on the rule type, see the PricingRule class.
+CREATE TABLE IF NOT EXISTS pricing_rules (
+    id SERIAL PRIMARY KEY,
+    event_id INTEGER NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    rule_type VARCHAR(20) NOT NULL,
+    seat_type VARCHAR(20),
+    threshold INTEGER NOT NULL DEFAULT 0,
+    factor NUMERIC(6, 4) NOT NULL,
+    CONSTRAINT check_rule_type CHECK (rule_type IN ('SEAT_TYPE', 'EARLY_BIRD', 'DEMAND', 'QUANTITY')),
+    CONSTRAINT check_rule_factor CHECK (factor > 0)
+);
+CREATE INDEX IF NOT EXISTS idx_pricing_rules_event ON pricing_rules(event_id);
+-- Append-only ledger of booking changes, written by the triggers on bookings below.
+-- Entries are never updated or deleted and outlive the bookings and events they
+-- refer to. The table is partitioned by month; the application adds the partitions
+-- of the coming months, and entries of months without one go to the default partition.
+CREATE TABLE IF NOT EXISTS booking_ledger (
+    id BIGSERIAL,
+    event_id INTEGER NOT NULL,
+    booking_id INTEGER NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    seat_delta INTEGER NOT NULL,
+    amount_delta NUMERIC(10, 2) NOT NULL,
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, recorded_at),
+    CONSTRAINT check_entry_type CHECK (entry_type IN ('CREATED', 'CANCELLED', 'SEATS_CHANGED'))
+) PARTITION BY RANGE (recorded_at);
+CREATE TABLE IF NOT EXISTS booking_ledger_default PARTITION OF booking_ledger DEFAULT;
+
+-- Totals of each event up to ledger entry ledger_id. Rows are kept for deleted
+-- events, as the highest ledger_id marks where the next snapshot starts.
+CREATE TABLE IF NOT EXISTS ledger_snapshots (
+    event_id INTEGER PRIMARY KEY,
+    ledger_id BIGINT NOT NULL,
+    seats_booked INTEGER NOT NULL,
+    bookings INTEGER NOT NULL,
+    revenue NUMERIC(14, 2) NOT NULL,
+    taken_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_booking_ledger_event ON booking_ledger(event_id, id);
+CREATE INDEX IF NOT EXISTS idx_booking_ledger_booking ON booking_ledger(booking_id);
+-- Start the ledger with the existing bookings, before the triggers record new ones
+INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta, recorded_at)
+SELECT event_id, id, 'CREATED', quantity, total_price, COALESCE(booking_time, CURRENT_TIMESTAMP)
+FROM bookings
+WHERE NOT EXISTS (SELECT 1 FROM booking_ledger)
+ORDER BY id;
+-- Appends one ledger entry per booking changed, with one INSERT per statement
+CREATE OR REPLACE FUNCTION record_booking_changes() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT event_id, id, 'CREATED', quantity, total_price FROM new_rows ORDER BY id;
+    ELSIF TG_OP = 'DELETE' THEN
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT event_id, id, 'CANCELLED', -quantity, -total_price FROM old_rows ORDER BY id;
+    ELSE
+        INSERT INTO booking_ledger (event_id, booking_id, entry_type, seat_delta, amount_delta)
+        SELECT n.event_id, n.id, 'SEATS_CHANGED', n.quantity - o.quantity, n.total_price - o.total_price
+        FROM new_rows n JOIN old_rows o ON o.id = n.id
+        WHERE n.quantity <> o.quantity OR n.total_price <> o.total_price
+        ORDER BY n.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+DROP TRIGGER IF EXISTS bookings_ledger_insert ON bookings;
+CREATE TRIGGER bookings_ledger_insert AFTER INSERT ON bookings
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();
+DROP TRIGGER IF EXISTS bookings_ledger_delete ON bookings;
+CREATE TRIGGER bookings_ledger_delete AFTER DELETE ON bookings
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();
+DROP TRIGGER IF EXISTS bookings_ledger_update ON bookings;
+CREATE TRIGGER bookings_ledger_update AFTER UPDATE ON bookings
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION record_booking_changes();